@@ -2,9 +2,13 @@ package com.gamerecs.gamerecs_backend;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcTransactionManagerAutoConfiguration;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 
-@SpringBootApplication
+// The R2DBC connection is built by ReactiveDataConfig; an auto-configured ConnectionFactory would register
+// a reactive transaction manager and take @Transactional away from JPA
+@SpringBootApplication(exclude = {R2dbcAutoConfiguration.class, R2dbcTransactionManagerAutoConfiguration.class})
 @EnableJpaRepositories
 public class GameRecsBackendApplication {
 
@@ -0,0 +1,71 @@
+package com.gamerecs.gamerecs_backend.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.util.Collection;
+import java.util.Map;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Slice;
+
+/**
+ * Enables Spring's cache abstraction backed by Caffeine.
+ * Each named cache is built from {@link CacheProperties} and records statistics,
+ * which actuator publishes as {@code cache.gets} metrics and through the cache statistics endpoint.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    private static final org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(CacheConfig.class);
+
+    @Bean
+    public CacheManager cacheManager(CacheProperties cacheProperties) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(newBuilder(cacheProperties.getDefaults()));
+        for (String cacheName : cacheProperties.getNames()) {
+            CacheProperties.Spec spec = cacheProperties.resolve(cacheName);
+            log.info("Configuring cache '{}' (maximumSize={}, maximumWeight={}, expireAfterWrite={})",
+                    cacheName, spec.getMaximumSize(), spec.getMaximumWeight(), spec.getExpireAfterWrite());
+            cacheManager.registerCustomCache(cacheName, newBuilder(spec).build());
+        }
+        return cacheManager;
+    }
+
+    private static Caffeine<Object, Object> newBuilder(CacheProperties.Spec spec) {
+        if (spec.getMaximumSize() != null && spec.getMaximumWeight() != null) {
+            throw new IllegalStateException("A cache cannot define both maximumSize and maximumWeight");
+        }
+        Caffeine<Object, Object> builder = Caffeine.newBuilder().recordStats();
+        if (spec.getMaximumSize() != null) {
+            builder.maximumSize(spec.getMaximumSize());
+        }
+        if (spec.getMaximumWeight() != null) {
+            builder.maximumWeight(spec.getMaximumWeight()).weigher(CacheConfig::weigh);
+        }
+        if (spec.getExpireAfterWrite() != null) {
+            builder.expireAfterWrite(spec.getExpireAfterWrite());
+        }
+        return builder;
+    }
+
+    /**
+     * Estimate the weight of a cached value by the number of elements it holds.
+     * @param key the cache key
+     * @param value the cached value
+     * @return the entry weight
+     */
+    static int weigh(Object key, Object value) {
+        int elements = 0;
+        if (value instanceof Slice<?> slice) {
+            elements = slice.getNumberOfElements();
+        } else if (value instanceof Collection<?> collection) {
+            elements = collection.size();
+        } else if (value instanceof Map<?, ?> map) {
+            elements = map.size();
+        }
+        return 1 + elements;
+    }
+}
@@ -0,0 +1,118 @@
+package com.gamerecs.gamerecs_backend.config;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Predicate;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Removes cache entries scoped to a single owner instead of clearing whole caches.
+ * Keys are scoped by their owner ID: string keys take the form {@code <ownerId>:<rest>}.
+ * When called inside a transaction, eviction is deferred until after commit so that
+ * concurrent readers cannot repopulate an entry with uncommitted state.
+ */
+@Component
+public class CacheInvalidator {
+
+    private final CacheManager cacheManager;
+
+    public CacheInvalidator(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Evict a single key from a cache
+     * @param cacheName the cache name
+     * @param key the key to evict
+     */
+    public void evict(String cacheName, Object key) {
+        runAfterCommit(() -> {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null) {
+                cache.evict(key);
+            }
+        });
+    }
+
+    /**
+     * Evict several keys from a cache
+     * @param cacheName the cache name
+     * @param keys the keys to evict
+     */
+    public void evictAll(String cacheName, Collection<?> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        runAfterCommit(() -> {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null) {
+                keys.forEach(cache::evict);
+            }
+        });
+    }
+
+    /**
+     * Evict every entry of a cache that belongs to the given owner
+     * @param cacheName the cache name
+     * @param ownerId the ID the keys are scoped to (e.g. a user or game ID)
+     */
+    public void evictScope(String cacheName, Object ownerId) {
+        String scope = String.valueOf(ownerId);
+        runAfterCommit(() -> evictIf(cacheName, key -> scope.equals(scopeOf(key))));
+    }
+
+    /**
+     * Evict every entry of a cache that belongs to any of the given owners, in a single pass over the cache
+     * @param cacheName the cache name
+     * @param ownerIds the IDs the keys are scoped to
+     */
+    public void evictScopes(String cacheName, Collection<?> ownerIds) {
+        if (ownerIds.isEmpty()) {
+            return;
+        }
+        Set<String> scopes = new HashSet<>();
+        ownerIds.forEach(ownerId -> scopes.add(String.valueOf(ownerId)));
+        runAfterCommit(() -> evictIf(cacheName, key -> scopes.contains(scopeOf(key))));
+    }
+
+    /**
+     * Extract the owner scope of a cache key
+     * @param key the cache key
+     * @return the owner scope, or null if the key is not scoped
+     */
+    static String scopeOf(Object key) {
+        if (key instanceof String stringKey) {
+            int separator = stringKey.indexOf(':');
+            return separator < 0 ? stringKey : stringKey.substring(0, separator);
+        }
+        return null;
+    }
+
+    private void evictIf(String cacheName, Predicate<Object> keyFilter) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache instanceof CaffeineCache caffeineCache) {
+            caffeineCache.getNativeCache().asMap().keySet().removeIf(keyFilter);
+        } else if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    private void runAfterCommit(Runnable eviction) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        } else {
+            eviction.run();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.gamerecs.gamerecs_backend.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Configuration properties for the application caches.
+ * Every named cache gets the default spec unless an entry under {@code app.cache.caches.<name>} overrides it.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.cache")
+@Getter
+@Setter
+public class CacheProperties {
+
+    /**
+     * Caches created at startup so that their statistics are registered with actuator.
+     */
+    private List<String> names = new ArrayList<>(Arrays.asList(
+            "userRatings", "gameRatings", "averageRatings", "userBacklog", "backlogStats", "userRatingHistograms",
+            "usersByUsername"));
+
+    /**
+     * Spec applied to every cache that does not define its own value for a setting.
+     */
+    private Spec defaults = new Spec(1000L, null, Duration.ofMinutes(10));
+
+    /**
+     * Per-cache overrides keyed by cache name.
+     * Paged caches are bounded by weight, i.e. by the total number of cached rows rather than entries.
+     */
+    private Map<String, Spec> caches = new LinkedHashMap<>(Map.of(
+            "userRatings", new Spec(null, 50_000L, null),
+            "gameRatings", new Spec(null, 50_000L, null),
+            "userBacklog", new Spec(null, 50_000L, null),
+            "userRatingHistograms", new Spec(10_000L, null, Duration.ofMinutes(30)),
+            "usersByUsername", new Spec(10_000L, null, Duration.ofMinutes(10))));
+
+    /**
+     * Limits on which pages of paged queries are cached.
+     */
+    private Paged paged = new Paged();
+
+    /**
+     * Resolve the effective spec for a cache by filling unset values from the defaults.
+     * Size and weight bounds are inherited together since Caffeine accepts only one of them.
+     * @param cacheName the cache name
+     * @return the merged spec
+     */
+    public Spec resolve(String cacheName) {
+        Spec override = caches.get(cacheName);
+        if (override == null) {
+            return defaults;
+        }
+        Spec merged = new Spec();
+        if (override.getMaximumSize() != null || override.getMaximumWeight() != null) {
+            merged.setMaximumSize(override.getMaximumSize());
+            merged.setMaximumWeight(override.getMaximumWeight());
+        } else {
+            merged.setMaximumSize(defaults.getMaximumSize());
+            merged.setMaximumWeight(defaults.getMaximumWeight());
+        }
+        merged.setExpireAfterWrite(override.getExpireAfterWrite() != null
+                ? override.getExpireAfterWrite() : defaults.getExpireAfterWrite());
+        return merged;
+    }
+
+    @Getter
+    @Setter
+    public static class Paged {
+        /**
+         * Number of leading pages that are cached; deeper pages always hit the database.
+         */
+        private int hotPages = 3;
+
+        /**
+         * Largest page size that is cached.
+         */
+        private int maxPageSize = 50;
+    }
+
+    @Getter
+    @Setter
+    public static class Spec {
+        /**
+         * Maximum number of entries. Mutually exclusive with {@link #maximumWeight}.
+         */
+        private Long maximumSize;
+
+        /**
+         * Maximum total weight, where a cached page or collection weighs one plus its element count.
+         */
+        private Long maximumWeight;
+
+        private Duration expireAfterWrite;
+
+        public Spec() {
+        }
+
+        public Spec(Long maximumSize, Long maximumWeight, Duration expireAfterWrite) {
+            this.maximumSize = maximumSize;
+            this.maximumWeight = maximumWeight;
+            this.expireAfterWrite = expireAfterWrite;
+        }
+    }
+}
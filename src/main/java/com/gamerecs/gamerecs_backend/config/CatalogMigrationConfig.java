@@ -0,0 +1,24 @@
+package com.gamerecs.gamerecs_backend.config;
+
+import com.gamerecs.gamerecs_backend.repository.CatalogMigration;
+import javax.sql.DataSource;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Runs {@link CatalogMigration} on startup, before the entity manager factory and its schema update.
+ */
+@Configuration
+public class CatalogMigrationConfig {
+
+    @Bean(initMethod = "migrate")
+    public CatalogMigration catalogMigration(DataSource dataSource) {
+        return new CatalogMigration(dataSource);
+    }
+
+    @Bean
+    public static EntityManagerFactoryDependsOnPostProcessor catalogMigrationDependency() {
+        return new EntityManagerFactoryDependsOnPostProcessor(CatalogMigration.class);
+    }
+}
@@ -0,0 +1,52 @@
+package com.gamerecs.gamerecs_backend.config;
+
+import com.gamerecs.gamerecs_backend.model.Game;
+import com.gamerecs.gamerecs_backend.model.User;
+import java.lang.reflect.Method;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Key generator for paged queries.
+ * Keys have the form {@code <ownerId>:<method>:<filters...>:page:<n>:size:<n>:sort:<sort>}, where the owner is the
+ * first argument, so that {@link CacheInvalidator#evictScope} can drop every page of a single user or game.
+ */
+@Component("pagedKeyGenerator")
+public class PagedCacheKeyGenerator implements KeyGenerator {
+
+    @Override
+    public Object generate(Object target, Method method, Object... params) {
+        StringBuilder key = new StringBuilder();
+        key.append(params.length > 0 ? idOf(params[0]) : "").append(':').append(method.getName());
+        for (int i = 1; i < params.length; i++) {
+            key.append(':');
+            if (params[i] instanceof Pageable pageable) {
+                appendPageable(key, pageable);
+            } else {
+                key.append(idOf(params[i]));
+            }
+        }
+        return key.toString();
+    }
+
+    private static void appendPageable(StringBuilder key, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            key.append("unpaged:sort:").append(pageable.getSort());
+            return;
+        }
+        key.append("page:").append(pageable.getPageNumber())
+            .append(":size:").append(pageable.getPageSize())
+            .append(":sort:").append(pageable.getSort());
+    }
+
+    private static Object idOf(Object param) {
+        if (param instanceof User user) {
+            return user.getUserId();
+        }
+        if (param instanceof Game game) {
+            return game.getGameId();
+        }
+        return param;
+    }
+}
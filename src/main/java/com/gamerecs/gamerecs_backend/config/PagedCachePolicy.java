@@ -0,0 +1,33 @@
+package com.gamerecs.gamerecs_backend.config;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Decides which pages of a paged query are worth caching.
+ * Only the first few pages with a bounded size are cached; deeper or larger pages go straight to the database.
+ * Referenced from {@code @Cacheable} conditions as {@code @pagedCachePolicy.isCacheable(#pageable)}.
+ */
+@Component("pagedCachePolicy")
+public class PagedCachePolicy {
+
+    private final CacheProperties cacheProperties;
+
+    public PagedCachePolicy(CacheProperties cacheProperties) {
+        this.cacheProperties = cacheProperties;
+    }
+
+    /**
+     * Check whether a page request should be cached
+     * @param pageable pagination information
+     * @return true if the page is one of the hot pages and within the size limit
+     */
+    public boolean isCacheable(Pageable pageable) {
+        if (pageable == null || pageable.isUnpaged()) {
+            return false;
+        }
+        CacheProperties.Paged paged = cacheProperties.getPaged();
+        return pageable.getPageNumber() < paged.getHotPages()
+                && pageable.getPageSize() <= paged.getMaxPageSize();
+    }
+}
@@ -0,0 +1,13 @@
+package com.gamerecs.gamerecs_backend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables scheduled maintenance jobs.
+ * Jobs whose cron property is unset default to {@code -} and stay disabled.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
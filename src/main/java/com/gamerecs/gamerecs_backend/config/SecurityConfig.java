@@ -83,7 +83,9 @@ public class SecurityConfig {
                     
                     // Rating endpoints - Read operations
                     .requestMatchers(HttpMethod.GET, "/api/ratings/games/*/average").permitAll()
+                    .requestMatchers(HttpMethod.GET, "/api/ratings/games/*/scroll").permitAll()
                     .requestMatchers(HttpMethod.GET, "/api/ratings/games/*").permitAll()
+                    .requestMatchers(HttpMethod.GET, "/api/ratings/users/*/scroll").permitAll()
                     .requestMatchers(HttpMethod.GET, "/api/ratings/users/*").permitAll()
                     
                     // Rating endpoints - Write operations (require authentication)
@@ -92,6 +94,9 @@ public class SecurityConfig {
                     .requestMatchers(HttpMethod.DELETE, "/api/ratings/**").authenticated()
                     .requestMatchers("/api/ratings/users/me/**").authenticated()
                     
+                    // Reactive read API
+                    .requestMatchers(HttpMethod.GET, "/api/reactive/**").permitAll()
+                    
                     // Any other request requires authentication
                     .anyRequest().authenticated();
             })
@@ -1,5 +1,6 @@
 package com.gamerecs.gamerecs_backend.controller;
 
+import com.gamerecs.gamerecs_backend.dto.BacklogBatchUpdateResult;
 import com.gamerecs.gamerecs_backend.exception.BacklogException;
 import com.gamerecs.gamerecs_backend.exception.ErrorResponse;
 import com.gamerecs.gamerecs_backend.model.BacklogItem;
@@ -9,6 +10,7 @@ import com.gamerecs.gamerecs_backend.model.User;
 import com.gamerecs.gamerecs_backend.security.UserDetailsImpl;
 import com.gamerecs.gamerecs_backend.service.GameService;
 import com.gamerecs.gamerecs_backend.service.IBacklogItemService;
+import com.gamerecs.gamerecs_backend.util.KeysetCursor;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -139,6 +141,38 @@ public class BacklogItemController {
         }
     }
 
+    @Operation(summary = "Batch update backlog statuses",
+               description = "Update the status of several games in user's backlog, reporting the outcome per game")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Batch processed; see the per-game results"),
+        @ApiResponse(responseCode = "400", description = "Invalid batch"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PutMapping("/batch")
+    public ResponseEntity<?> batchUpdateStatus(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestBody Map<Long, BacklogStatus> statusByGameId) {
+        try {
+            User user = ((UserDetailsImpl) userDetails).getUser();
+            BacklogBatchUpdateResult result = backlogItemService.batchUpdateStatus(user, statusByGameId);
+            return ResponseEntity.ok(result);
+        } catch (BacklogException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorResponse(
+                        HttpStatus.BAD_REQUEST.value(),
+                        "Bad Request",
+                        e.getMessage()
+                    ));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ErrorResponse(
+                        HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                        "Internal Server Error",
+                        "An error occurred while updating backlog statuses"
+                    ));
+        }
+    }
+
     @Operation(summary = "Remove game from backlog", description = "Remove a game from user's backlog")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "204", description = "Game removed successfully"),
@@ -212,6 +246,41 @@ public class BacklogItemController {
         }
     }
 
+    @Operation(summary = "Scroll through user's backlog", description = "Get user's backlog in the order games " +
+            "were added, with keyset pagination: each response carries an opaque cursor for the next page and no " +
+            "total count is computed")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Backlog retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/scroll")
+    public ResponseEntity<?> scrollUserBacklog(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @Parameter(description = "Optional status filter") @RequestParam(required = false) BacklogStatus status,
+            @Parameter(description = "Cursor from the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, at most " + KeysetCursor.MAX_SIZE)
+            @RequestParam(defaultValue = "20") int size) {
+        try {
+            User user = ((UserDetailsImpl) userDetails).getUser();
+            return ResponseEntity.ok(backlogItemService.scrollUserBacklog(user, status, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorResponse(
+                        HttpStatus.BAD_REQUEST.value(),
+                        "Bad Request",
+                        e.getMessage()
+                    ));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ErrorResponse(
+                        HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                        "Internal Server Error",
+                        "An error occurred while retrieving backlog"
+                    ));
+        }
+    }
+
     @Operation(summary = "Get backlog statistics", description = "Get statistics about user's backlog")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Statistics retrieved successfully"),
@@ -1,10 +1,17 @@
 package com.gamerecs.gamerecs_backend.controller;
 
 import com.gamerecs.gamerecs_backend.dto.GameDTO;
+import com.gamerecs.gamerecs_backend.dto.GameFilterResult;
+import com.gamerecs.gamerecs_backend.dto.GameRatingSummary;
 import com.gamerecs.gamerecs_backend.exception.ErrorResponse;
 import com.gamerecs.gamerecs_backend.model.Game;
+import com.gamerecs.gamerecs_backend.search.FacetIndex;
+import com.gamerecs.gamerecs_backend.service.GameFacetService;
 import com.gamerecs.gamerecs_backend.service.GameService;
+import com.gamerecs.gamerecs_backend.service.GameSuggestionService;
 import com.gamerecs.gamerecs_backend.service.RatingService;
+import com.gamerecs.gamerecs_backend.util.IdBatch;
+import com.gamerecs.gamerecs_backend.util.KeysetCursor;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -12,6 +19,10 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -28,11 +39,16 @@ public class GameController {
 
     private final GameService gameService;
     private final RatingService ratingService;
+    private final GameSuggestionService gameSuggestionService;
+    private final GameFacetService gameFacetService;
 
     @Autowired
-    public GameController(GameService gameService, RatingService ratingService) {
+    public GameController(GameService gameService, RatingService ratingService,
+            GameSuggestionService gameSuggestionService, GameFacetService gameFacetService) {
         this.gameService = gameService;
         this.ratingService = ratingService;
+        this.gameSuggestionService = gameSuggestionService;
+        this.gameFacetService = gameFacetService;
     }
 
     @Operation(summary = "Get game by ID", description = "Retrieves a game by its ID with detailed information")
@@ -66,6 +82,114 @@ public class GameController {
         }
     }
 
+    @Operation(
+        summary = "Get games by IDs",
+        description = "Retrieves several games with their ratings in one request, in the order of the given IDs. " +
+                "Unknown IDs are skipped and at most " + IdBatch.MAX_SIZE + " distinct IDs are accepted."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Games retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Too many IDs requested"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/batch")
+    public ResponseEntity<?> getGamesByIds(
+            @RequestParam @Parameter(description = "Comma-separated IDs of the games to retrieve") List<Long> ids) {
+        try {
+            return ResponseEntity.ok(convertToDTOs(gameService.findAllByIdInOrder(ids)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorResponse(
+                        HttpStatus.BAD_REQUEST.value(),
+                        "Bad Request",
+                        e.getMessage()
+                    ));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ErrorResponse(
+                        HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                        "Internal Server Error",
+                        "An error occurred while retrieving the games"
+                    ));
+        }
+    }
+
+    @Operation(
+        summary = "Suggest games",
+        description = "Typeahead suggestions for games whose title words, developer or publisher start with the " +
+                "given prefix, most rated first. Served from memory without database access."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Suggestions retrieved successfully"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/suggest")
+    public ResponseEntity<?> suggestGames(
+            @RequestParam @Parameter(description = "Typed prefix") String q,
+            @RequestParam(defaultValue = "10") @Parameter(description = "Maximum number of suggestions, at most " +
+                    GameSuggestionService.MAX_SUGGESTIONS) int limit) {
+        try {
+            return ResponseEntity.ok(gameSuggestionService.suggest(q, limit));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ErrorResponse(
+                        HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                        "Internal Server Error",
+                        "An error occurred while suggesting games"
+                    ));
+        }
+    }
+
+    @Operation(
+        summary = "Filter games",
+        description = "Filters games by genre, platform, developer and publisher, with the number of games each " +
+                "facet value would match. Several values of a facet match games with any of them, or with all of " +
+                "them for genres and platforms when match=all; different facets must all match. Games are " +
+                "returned in ID order, at most " + GameFacetService.MAX_PAGE_SIZE + " per page."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Games retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid match parameter"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/filter")
+    public ResponseEntity<?> filterGames(
+            @RequestParam(required = false) @Parameter(description = "Genres to filter by") List<String> genre,
+            @RequestParam(required = false) @Parameter(description = "Platforms to filter by") List<String> platform,
+            @RequestParam(required = false) @Parameter(description = "Developers to filter by") List<String> developer,
+            @RequestParam(required = false) @Parameter(description = "Publishers to filter by") List<String> publisher,
+            @RequestParam(defaultValue = "any") @Parameter(description = "any or all") String match,
+            @RequestParam(defaultValue = "0") @Parameter(description = "Zero-based page number") int page,
+            @RequestParam(defaultValue = "20") @Parameter(description = "Page size") int size) {
+        if (!"any".equalsIgnoreCase(match) && !"all".equalsIgnoreCase(match)) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorResponse(
+                        HttpStatus.BAD_REQUEST.value(),
+                        "Bad Request",
+                        "match must be 'any' or 'all'"
+                    ));
+        }
+        try {
+            FacetIndex.Result result = gameFacetService.filter(genre, platform, developer, publisher,
+                    "all".equalsIgnoreCase(match), page, size);
+            Map<String, Map<String, Long>> facets = new LinkedHashMap<>();
+            result.counts().forEach((facet, counts) -> facets.put(facet.name().toLowerCase(Locale.ROOT), counts));
+            return ResponseEntity.ok(new GameFilterResult(
+                    convertToDTOs(gameService.findAllByIdInOrder(result.gameIds())),
+                    result.total(),
+                    Math.max(page, 0),
+                    Math.min(Math.max(size, 1), GameFacetService.MAX_PAGE_SIZE),
+                    facets));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ErrorResponse(
+                        HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                        "Internal Server Error",
+                        "An error occurred while filtering games"
+                    ));
+        }
+    }
+
     @Operation(
         summary = "Search games by title",
         description = "Searches for games with titles containing the search term, with pagination support"
@@ -81,7 +205,7 @@ public class GameController {
             @Parameter(description = "Pagination parameters (page, size, sort)") Pageable pageable) {
         try {
             Page<Game> games = gameService.searchByTitle(title, pageable);
-            Page<GameDTO> gameDTOs = games.map(this::convertToDTO);
+            Page<GameDTO> gameDTOs = convertToDTOPage(games);
             return ResponseEntity.ok(gameDTOs);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -108,7 +232,7 @@ public class GameController {
             @Parameter(description = "Pagination parameters (page, size, sort)") Pageable pageable) {
         try {
             Page<Game> games = gameService.findByGenre(genre, pageable);
-            Page<GameDTO> gameDTOs = games.map(this::convertToDTO);
+            Page<GameDTO> gameDTOs = convertToDTOPage(games);
             return ResponseEntity.ok(gameDTOs);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -135,7 +259,7 @@ public class GameController {
             @Parameter(description = "Pagination parameters (page, size, sort)") Pageable pageable) {
         try {
             Page<Game> games = gameService.findByPlatform(platform, pageable);
-            Page<GameDTO> gameDTOs = games.map(this::convertToDTO);
+            Page<GameDTO> gameDTOs = convertToDTOPage(games);
             return ResponseEntity.ok(gameDTOs);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -162,7 +286,7 @@ public class GameController {
             @Parameter(description = "Pagination parameters (page, size, sort)") Pageable pageable) {
         try {
             Page<Game> games = gameService.findByDeveloper(developer, pageable);
-            Page<GameDTO> gameDTOs = games.map(this::convertToDTO);
+            Page<GameDTO> gameDTOs = convertToDTOPage(games);
             return ResponseEntity.ok(gameDTOs);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -234,7 +358,7 @@ public class GameController {
             @Parameter(description = "Pagination parameters (page, size, sort)") Pageable pageable) {
         try {
             Page<Game> games = gameService.getAllGames(pageable);
-            Page<GameDTO> gameDTOs = games.map(this::convertToDTO);
+            Page<GameDTO> gameDTOs = convertToDTOPage(games);
             return ResponseEntity.ok(gameDTOs);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -246,7 +370,76 @@ public class GameController {
         }
     }
 
+    @Operation(
+        summary = "Scroll through all games",
+        description = "Retrieves games with keyset pagination: each response carries an opaque cursor for the next " +
+                "page, which costs the same at any depth. No total count is computed."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Games retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid sort or cursor"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/scroll")
+    public ResponseEntity<?> scrollGames(
+            @RequestParam(defaultValue = "id") @Parameter(description = "Sort order: id or title") String sort,
+            @RequestParam(required = false) @Parameter(description = "Cursor from the previous page") String cursor,
+            @RequestParam(defaultValue = "20") @Parameter(description = "Page size, at most " +
+                    KeysetCursor.MAX_SIZE) int size) {
+        try {
+            return ResponseEntity.ok(gameService.scrollGames(sort, cursor, size).map(this::convertToDTOs));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorResponse(
+                        HttpStatus.BAD_REQUEST.value(),
+                        "Bad Request",
+                        e.getMessage()
+                    ));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ErrorResponse(
+                        HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                        "Internal Server Error",
+                        "An error occurred while retrieving games"
+                    ));
+        }
+    }
+
+    /**
+     * Convert a page of games, loading the rating figures of the whole page with one grouped query
+     */
+    private Page<GameDTO> convertToDTOPage(Page<Game> games) {
+        List<Long> gameIds = games.getContent().stream()
+                .map(Game::getGameId)
+                .toList();
+        Map<Long, GameRatingSummary> summaries = ratingService.getRatingSummaries(gameIds);
+        return games.map(game -> convertToDTO(game, summaries.get(game.getGameId())));
+    }
+
+    /**
+     * Convert a list of games, loading the rating figures of all of them with one grouped query
+     */
+    private List<GameDTO> convertToDTOs(List<Game> games) {
+        if (games.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, GameRatingSummary> summaries = ratingService.getRatingSummaries(games.stream()
+                .map(Game::getGameId)
+                .toList());
+        return games.stream()
+                .map(game -> convertToDTO(game, summaries.get(game.getGameId())))
+                .toList();
+    }
+
     private GameDTO convertToDTO(Game game) {
+        if (game.getGameId() == null) {
+            return convertToDTO(game, null);
+        }
+        Map<Long, GameRatingSummary> summaries = ratingService.getRatingSummaries(List.of(game.getGameId()));
+        return convertToDTO(game, summaries.get(game.getGameId()));
+    }
+
+    private GameDTO convertToDTO(Game game, GameRatingSummary summary) {
         return GameDTO.builder()
                 .gameId(game.getGameId())
                 .igdbId(game.getIgdbId())
@@ -258,8 +451,8 @@ public class GameController {
                 .coverImageURL(game.getCoverImageURL())
                 .developer(game.getDeveloper())
                 .publisher(game.getPublisher())
-                .averageRating(ratingService.getAverageRating(game.getGameId()))
-                .totalRatings(ratingService.getRatingCount(game.getGameId()))
+                .averageRating(summary != null ? summary.getAverageRating() : null)
+                .totalRatings(summary != null ? summary.getRatingCount() : 0L)
                 .build();
     }
 
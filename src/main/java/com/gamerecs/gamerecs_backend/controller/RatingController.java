@@ -1,5 +1,6 @@
 package com.gamerecs.gamerecs_backend.controller;
 
+import com.gamerecs.gamerecs_backend.dto.UserGameRating;
 import com.gamerecs.gamerecs_backend.exception.ErrorResponse;
 import com.gamerecs.gamerecs_backend.model.Game;
 import com.gamerecs.gamerecs_backend.model.Rating;
@@ -8,6 +9,8 @@ import com.gamerecs.gamerecs_backend.security.UserDetailsImpl;
 import com.gamerecs.gamerecs_backend.service.GameService;
 import com.gamerecs.gamerecs_backend.service.RatingService;
 import com.gamerecs.gamerecs_backend.service.UserService;
+import com.gamerecs.gamerecs_backend.util.IdBatch;
+import com.gamerecs.gamerecs_backend.util.KeysetCursor;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -15,6 +18,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -114,6 +118,42 @@ public class RatingController {
         }
     }
 
+    @GetMapping("/games/{gameId}/scroll")
+    @Operation(
+        summary = "Scroll through game ratings",
+        description = "Get the ratings for a game with keyset pagination, most recent or highest first. Each " +
+                "response carries an opaque cursor for the next page; no total count is computed."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved game ratings"),
+        @ApiResponse(responseCode = "400", description = "Invalid sort or cursor"),
+        @ApiResponse(responseCode = "404", description = "Game not found"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<?> scrollGameRatings(
+            @PathVariable @Parameter(description = "ID of the game to get ratings for") Long gameId,
+            @RequestParam(defaultValue = "date") @Parameter(description = "Sort order: date or value") String sort,
+            @RequestParam(required = false) @Parameter(description = "Cursor from the previous page") String cursor,
+            @RequestParam(defaultValue = "20") @Parameter(description = "Page size, at most " +
+                    KeysetCursor.MAX_SIZE) int size) {
+        try {
+            Optional<Game> game = gameService.findById(gameId);
+            if (game.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(new ErrorResponse(HttpStatus.NOT_FOUND.value(), "Game Not Found",
+                                "Game with ID " + gameId + " not found"));
+            }
+            return ResponseEntity.ok(ratingService.scrollGameRatings(game.get(), sort, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorResponse(HttpStatus.BAD_REQUEST.value(), "Bad Request", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ErrorResponse(HttpStatus.INTERNAL_SERVER_ERROR.value(), 
+                            "Internal Server Error", "An error occurred while retrieving ratings"));
+        }
+    }
+
     @GetMapping("/games/{gameId}/average")
     @Operation(
         summary = "Get average game rating",
@@ -171,6 +211,72 @@ public class RatingController {
         }
     }
 
+    @GetMapping("/users/{username}/scroll")
+    @Operation(
+        summary = "Scroll through user ratings",
+        description = "Get the ratings by a user with keyset pagination, most recent or highest first. Each " +
+                "response carries an opaque cursor for the next page; no total count is computed."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved user ratings"),
+        @ApiResponse(responseCode = "400", description = "Invalid sort or cursor"),
+        @ApiResponse(responseCode = "404", description = "User not found"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<?> scrollUserRatings(
+            @PathVariable @Parameter(description = "Username of the user to get ratings for") String username,
+            @RequestParam(defaultValue = "date") @Parameter(description = "Sort order: date or value") String sort,
+            @RequestParam(required = false) @Parameter(description = "Cursor from the previous page") String cursor,
+            @RequestParam(defaultValue = "20") @Parameter(description = "Page size, at most " +
+                    KeysetCursor.MAX_SIZE) int size) {
+        try {
+            UserDetailsImpl userDetailsImpl = (UserDetailsImpl) userService.loadUserByUsername(username);
+            User user = userDetailsImpl.getUser();
+            return ResponseEntity.ok(ratingService.scrollUserRatings(user, sort, cursor, size));
+        } catch (UsernameNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new ErrorResponse(HttpStatus.NOT_FOUND.value(), "User Not Found", e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorResponse(HttpStatus.BAD_REQUEST.value(), "Bad Request", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ErrorResponse(HttpStatus.INTERNAL_SERVER_ERROR.value(), 
+                            "Internal Server Error", "An error occurred while retrieving user ratings"));
+        }
+    }
+
+    @GetMapping("/users/me/games")
+    @Operation(
+        summary = "Get user's ratings for several games",
+        description = "Get the authenticated user's rating and percentile rank for each of the given games, " +
+                "in the order of the given IDs. Unrated and unknown games are skipped and at most " +
+                IdBatch.MAX_SIZE + " distinct IDs are accepted."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved ratings"),
+        @ApiResponse(responseCode = "400", description = "Too many game IDs requested"),
+        @ApiResponse(responseCode = "401", description = "User not authenticated"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<?> getUserRatingsForGames(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestParam @Parameter(description = "Comma-separated IDs of the games to get ratings for") List<Long> ids) {
+        
+        try {
+            Long userId = ((UserDetailsImpl) userDetails).getUser().getUserId();
+            List<UserGameRating> ratings = ratingService.getUserRatingsForGames(userId, ids);
+            return ResponseEntity.ok(ratings);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorResponse(HttpStatus.BAD_REQUEST.value(), "Bad Request", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ErrorResponse(HttpStatus.INTERNAL_SERVER_ERROR.value(), 
+                            "Internal Server Error", "An error occurred while retrieving the ratings"));
+        }
+    }
+
     @GetMapping("/users/me/games/{gameId}")
     @Operation(
         summary = "Get user's game rating",
@@ -0,0 +1,71 @@
+package com.gamerecs.gamerecs_backend.controller;
+
+import com.gamerecs.gamerecs_backend.exception.ErrorResponse;
+import com.gamerecs.gamerecs_backend.service.ReactiveCatalogService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.function.RouterFunction;
+import org.springframework.web.servlet.function.RouterFunctions;
+import org.springframework.web.servlet.function.ServerRequest;
+import org.springframework.web.servlet.function.ServerResponse;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking read endpoints for games and game ratings under {@code /api/reactive}, enabled with
+ * {@code app.reactive.enabled=true}.
+ * Routes are served asynchronously on the servlet stack: the request thread is released while R2DBC reads
+ * the data, and the response is written when the reactive pipeline completes.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.reactive.enabled", havingValue = "true")
+public class ReactiveCatalogRouter {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveCatalogRouter.class);
+
+    static final int DEFAULT_PAGE_SIZE = 20;
+    static final int MAX_PAGE_SIZE = 100;
+
+    @Bean
+    public RouterFunction<ServerResponse> reactiveCatalogRoutes(ReactiveCatalogService catalogService) {
+        return RouterFunctions.route()
+                .GET("/api/reactive/games", request ->
+                        respond(catalogService.getGames(pageable(request)), "Games not found"))
+                .GET("/api/reactive/games/{gameId}", request -> {
+                    Long gameId = Long.valueOf(request.pathVariable("gameId"));
+                    return respond(catalogService.getGame(gameId), "Game with ID " + gameId + " not found");
+                })
+                .GET("/api/reactive/ratings/games/{gameId}", request -> {
+                    Long gameId = Long.valueOf(request.pathVariable("gameId"));
+                    return respond(catalogService.getGameRatings(gameId, pageable(request)),
+                            "Game with ID " + gameId + " not found");
+                })
+                .onError(NumberFormatException.class, (e, request) -> ServerResponse.badRequest()
+                        .body(new ErrorResponse(HttpStatus.BAD_REQUEST.value(), "Bad Request", e.getMessage())))
+                .build();
+    }
+
+    private static ServerResponse respond(Mono<?> body, String notFoundMessage) {
+        return ServerResponse.async(body
+                .map(value -> ServerResponse.ok().body(value))
+                .defaultIfEmpty(ServerResponse.status(HttpStatus.NOT_FOUND)
+                        .body(new ErrorResponse(HttpStatus.NOT_FOUND.value(), "Not Found", notFoundMessage)))
+                .onErrorResume(e -> {
+                    log.error("Reactive catalog read failed", e);
+                    return Mono.just(ServerResponse.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                            .body(new ErrorResponse(HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                                    "Internal Server Error", "An error occurred while reading the catalog")));
+                }));
+    }
+
+    private static Pageable pageable(ServerRequest request) {
+        int page = request.param("page").map(Integer::parseInt).orElse(0);
+        int size = request.param("size").map(Integer::parseInt).orElse(DEFAULT_PAGE_SIZE);
+        return PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE));
+    }
+}
@@ -0,0 +1,94 @@
+package com.gamerecs.gamerecs_backend.controller;
+
+import com.gamerecs.gamerecs_backend.exception.ErrorResponse;
+import com.gamerecs.gamerecs_backend.model.User;
+import com.gamerecs.gamerecs_backend.security.UserDetailsImpl;
+import com.gamerecs.gamerecs_backend.service.FactorRecommendationService;
+import com.gamerecs.gamerecs_backend.service.RecommendationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for game recommendations.
+ */
+@RestController
+@RequestMapping("/api/recommendations")
+@Tag(name = "Recommendations", description = "Game recommendation APIs")
+@CrossOrigin(origins = "${app.cors.allowed-origins}", maxAge = 3600)
+public class RecommendationController {
+
+    private final RecommendationService recommendationService;
+    private final FactorRecommendationService factorRecommendationService;
+
+    @Autowired
+    public RecommendationController(RecommendationService recommendationService,
+                                    FactorRecommendationService factorRecommendationService) {
+        this.recommendationService = recommendationService;
+        this.factorRecommendationService = factorRecommendationService;
+    }
+
+    @Operation(
+        summary = "Recommend games to the current user",
+        description = "Games similar to those the user rated above their own average, from the item similarity " +
+                "index trained periodically over all ratings. Rated games are excluded; the list is empty until " +
+                "the user has rated games that others rated too."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Recommendations retrieved successfully"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/me")
+    public ResponseEntity<?> getMyRecommendations(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestParam(defaultValue = "10") @Parameter(description = "Maximum number of recommendations, at most " +
+                    RecommendationService.MAX_RECOMMENDATIONS) int limit) {
+        try {
+            User user = ((UserDetailsImpl) userDetails).getUser();
+            return ResponseEntity.ok(recommendationService.recommend(user.getUserId(), limit));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ErrorResponse(
+                        HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                        "Internal Server Error",
+                        "An error occurred while recommending games"
+                    ));
+        }
+    }
+
+    @Operation(
+        summary = "Recommend games to the current user from the factor model",
+        description = "The unrated games with the highest predicted score, from the matrix factorization model " +
+                "trained periodically over all ratings. The list is empty for users who had no ratings when " +
+                "the model was last trained."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Recommendations retrieved successfully"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/me/factors")
+    public ResponseEntity<?> getMyFactorRecommendations(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestParam(defaultValue = "10") @Parameter(description = "Maximum number of recommendations, at most " +
+                    RecommendationService.MAX_RECOMMENDATIONS) int limit) {
+        try {
+            User user = ((UserDetailsImpl) userDetails).getUser();
+            return ResponseEntity.ok(factorRecommendationService.recommend(user.getUserId(), limit));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ErrorResponse(
+                        HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                        "Internal Server Error",
+                        "An error occurred while recommending games"
+                    ));
+        }
+    }
+}
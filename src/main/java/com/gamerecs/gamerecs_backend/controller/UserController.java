@@ -1,12 +1,16 @@
 package com.gamerecs.gamerecs_backend.controller;
 
 import com.gamerecs.gamerecs_backend.dto.AuthenticationResponse;
+import com.gamerecs.gamerecs_backend.dto.ChangePasswordDTO;
 import com.gamerecs.gamerecs_backend.dto.LoginDTO;
 import com.gamerecs.gamerecs_backend.dto.UserProfileDTO;
 import com.gamerecs.gamerecs_backend.dto.UserRegistrationDTO;
 import com.gamerecs.gamerecs_backend.exception.ErrorResponse;
 import com.gamerecs.gamerecs_backend.exception.UserRegistrationException;
+import com.gamerecs.gamerecs_backend.security.BoundedPasswordEncoder;
 import com.gamerecs.gamerecs_backend.security.JwtService;
+import com.gamerecs.gamerecs_backend.security.TokenRevocationCache;
+import com.gamerecs.gamerecs_backend.security.UserDetailsImpl;
 import com.gamerecs.gamerecs_backend.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -14,6 +18,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import java.util.concurrent.CompletableFuture;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -33,12 +38,17 @@ public class UserController {
     private final UserService userService;
     private final AuthenticationManager authenticationManager;
     private final JwtService jwtService;
+    private final BoundedPasswordEncoder passwordEncoder;
+    private final TokenRevocationCache tokenRevocationCache;
 
     @Autowired
-    public UserController(UserService userService, AuthenticationManager authenticationManager, JwtService jwtService) {
+    public UserController(UserService userService, AuthenticationManager authenticationManager, JwtService jwtService,
+                          BoundedPasswordEncoder passwordEncoder, TokenRevocationCache tokenRevocationCache) {
         this.userService = userService;
         this.authenticationManager = authenticationManager;
         this.jwtService = jwtService;
+        this.passwordEncoder = passwordEncoder;
+        this.tokenRevocationCache = tokenRevocationCache;
     }
 
     @Operation(summary = "Register a new user", description = "Creates a new user account with the provided details")
@@ -73,15 +83,26 @@ public class UserController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully authenticated"),
             @ApiResponse(responseCode = "401", description = "Invalid credentials"),
-            @ApiResponse(responseCode = "400", description = "Invalid input data")
+            @ApiResponse(responseCode = "400", description = "Invalid input data"),
+            @ApiResponse(responseCode = "503", description = "Too many concurrent logins")
     })
     @PostMapping("/login")
-    public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginDTO loginDTO) {
+    public CompletableFuture<ResponseEntity<?>> authenticateUser(@Valid @RequestBody LoginDTO loginDTO) {
+        // Authentication is dominated by BCrypt, so run it on the password encoder's bounded executor and release
+        // the request thread while it waits; a saturated executor completes the future with a 503
+        return passwordEncoder.submit(() -> authenticate(loginDTO));
+    }
+
+    private ResponseEntity<?> authenticate(LoginDTO loginDTO) {
         try {
             Authentication authentication = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(loginDTO.getUsername(), loginDTO.getPassword()));
 
             UserDetails userDetails = (UserDetails) authentication.getPrincipal();
+            if (userDetails instanceof UserDetailsImpl details) {
+                // A token issued in the second of a password change would be rejected as revoked
+                tokenRevocationCache.awaitNewTokens(details.getUser().getUserId());
+            }
             String jwt = jwtService.generateToken(userDetails);
 
             AuthenticationResponse response = AuthenticationResponse.builder()
@@ -102,6 +123,30 @@ public class UserController {
         }
     }
 
+    @Operation(summary = "Change password", description = "Changes the password of the currently authenticated user and revokes the tokens issued so far", security = {
+            @SecurityRequirement(name = "bearerAuth") })
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Password changed"),
+            @ApiResponse(responseCode = "400", description = "Invalid input data or wrong current password"),
+            @ApiResponse(responseCode = "401", description = "Not authenticated")
+    })
+    @PutMapping("/password")
+    public ResponseEntity<?> changePassword(@AuthenticationPrincipal UserDetails userDetails,
+                                            @Valid @RequestBody ChangePasswordDTO changePasswordDTO) {
+        try {
+            userService.changePassword(userDetails.getUsername(),
+                    changePasswordDTO.getCurrentPassword(), changePasswordDTO.getNewPassword());
+            return ResponseEntity.noContent().build();
+        } catch (IllegalArgumentException e) {
+            ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.BAD_REQUEST.value(),
+                "Validation Error",
+                e.getMessage()
+            );
+            return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+        }
+    }
+
     @Operation(summary = "Get current user profile", description = "Retrieves the profile of the currently authenticated user", security = {
             @SecurityRequirement(name = "bearerAuth") })
     @ApiResponses(value = {
@@ -0,0 +1,53 @@
+package com.gamerecs.gamerecs_backend.dto;
+
+import com.gamerecs.gamerecs_backend.model.BacklogStatus;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of a batch status update, with one entry per requested game in request order.
+ */
+@Data
+@NoArgsConstructor
+public class BacklogBatchUpdateResult {
+    private List<ItemResult> results = new ArrayList<>();
+    private int updatedCount;
+    private int failedCount;
+
+    /**
+     * Record a game whose status was applied
+     * @param gameId the ID of the game
+     * @param status the new status
+     */
+    public void addSuccess(Long gameId, BacklogStatus status) {
+        results.add(new ItemResult(gameId, status, true, null));
+        updatedCount++;
+    }
+
+    /**
+     * Record a game whose status could not be applied
+     * @param gameId the ID of the game
+     * @param status the requested status
+     * @param error the reason the update was rejected
+     */
+    public void addFailure(Long gameId, BacklogStatus status, String error) {
+        results.add(new ItemResult(gameId, status, false, error));
+        failedCount++;
+    }
+
+    /**
+     * Outcome for a single game of the batch.
+     */
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class ItemResult {
+        private Long gameId;
+        private BacklogStatus status;
+        private boolean success;
+        private String error;
+    }
+}
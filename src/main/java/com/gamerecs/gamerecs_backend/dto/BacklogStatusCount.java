@@ -0,0 +1,17 @@
+package com.gamerecs.gamerecs_backend.dto;
+
+import com.gamerecs.gamerecs_backend.model.BacklogStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Number of backlog items of a user in a single status.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BacklogStatusCount {
+    private BacklogStatus status;
+    private Long count;
+}
@@ -0,0 +1,22 @@
+package com.gamerecs.gamerecs_backend.dto;
+
+import java.util.List;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A page of games matching genre, platform, developer and publisher filters, with facet counts.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class GameFilterResult {
+    private List<GameDTO> games;
+    private Long totalElements;
+    private Integer page;
+    private Integer size;
+    /** Per facet (genre, platform, developer, publisher), the number of games each value would match */
+    private Map<String, Map<String, Long>> facets;
+}
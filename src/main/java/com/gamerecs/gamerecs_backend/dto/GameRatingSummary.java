@@ -0,0 +1,17 @@
+package com.gamerecs.gamerecs_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Aggregated rating figures for a single game.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class GameRatingSummary {
+    private Long gameId;
+    private Double averageRating;
+    private Long ratingCount;
+}
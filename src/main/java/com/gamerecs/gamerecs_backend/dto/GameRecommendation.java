@@ -0,0 +1,22 @@
+package com.gamerecs.gamerecs_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A game recommended to a user from their ratings.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class GameRecommendation {
+    private Long gameId;
+    private String title;
+    private String coverImageURL;
+    private String developer;
+    /** Relevance of the game to the user; only comparable between recommendations of the same response */
+    private Double score;
+    /** The rated game the recommendation is most similar to, or null for factor model recommendations */
+    private Long becauseYouRatedGameId;
+}
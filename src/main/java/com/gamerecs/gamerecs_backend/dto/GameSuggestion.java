@@ -0,0 +1,21 @@
+package com.gamerecs.gamerecs_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A typeahead suggestion for the game search box.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class GameSuggestion {
+    private Long gameId;
+    private String title;
+    private String developer;
+    private String publisher;
+    /** The field whose text starts with the typed prefix: title, developer or publisher */
+    private String matchedField;
+    private Long ratingCount;
+}
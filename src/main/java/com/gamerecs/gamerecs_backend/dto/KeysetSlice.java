@@ -0,0 +1,46 @@
+package com.gamerecs.gamerecs_backend.dto;
+
+import com.gamerecs.gamerecs_backend.util.KeysetCursor;
+import java.util.List;
+import java.util.function.Function;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Slice;
+
+/**
+ * One page of a keyset-paginated listing, without a total count.
+ * @param <T> the type of the listed items
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class KeysetSlice<T> {
+    private List<T> content;
+    /** Token to pass as {@code cursor} for the next page, or null on the last page */
+    private String nextCursor;
+    private boolean hasNext;
+
+    /**
+     * Build a page from a slice read with a seek predicate
+     * @param slice the rows read
+     * @param cursorOf the cursor positioned at a row
+     * @return the page, with the cursor of its last row if there are more rows
+     */
+    public static <T> KeysetSlice<T> of(Slice<T> slice, Function<T, KeysetCursor> cursorOf) {
+        List<T> content = slice.getContent();
+        String nextCursor = slice.hasNext() && !content.isEmpty()
+                ? cursorOf.apply(content.get(content.size() - 1)).encode()
+                : null;
+        return new KeysetSlice<>(content, nextCursor, nextCursor != null);
+    }
+
+    /**
+     * Convert the items of the page
+     * @param mapper the conversion of the whole list
+     * @return the page with the converted items and the same cursor
+     */
+    public <R> KeysetSlice<R> map(Function<List<T>, List<R>> mapper) {
+        return new KeysetSlice<>(mapper.apply(content), nextCursor, hasNext);
+    }
+}
@@ -0,0 +1,23 @@
+package com.gamerecs.gamerecs_backend.dto;
+
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Read-only view of a rating, as served by the reactive read API.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RatingView {
+    private Long ratingId;
+    private Long userId;
+    private Long gameId;
+    private Integer ratingValue;
+    private Integer percentileRank;
+    private LocalDateTime dateUpdated;
+}
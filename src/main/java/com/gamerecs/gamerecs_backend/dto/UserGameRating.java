@@ -0,0 +1,19 @@
+package com.gamerecs.gamerecs_backend.dto;
+
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A user's rating of a single game, without the user or game entities.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserGameRating {
+    private Long gameId;
+    private Integer ratingValue;
+    private Integer percentileRank;
+    private LocalDateTime dateUpdated;
+}
@@ -0,0 +1,15 @@
+package com.gamerecs.gamerecs_backend.exception;
+
+/**
+ * Thrown when password hashing or verification is rejected because its executor is saturated.
+ */
+public class PasswordEncoderBusyException extends RuntimeException {
+
+    public PasswordEncoderBusyException(String message) {
+        super(message);
+    }
+
+    public PasswordEncoderBusyException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
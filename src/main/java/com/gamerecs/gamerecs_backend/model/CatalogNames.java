@@ -0,0 +1,40 @@
+package com.gamerecs.gamerecs_backend.model;
+
+/**
+ * Lookup of the genre and platform dictionaries used to store the genres and platforms of a game as IDs.
+ * Lookups never write: a name must be resolved to an ID before the game that has it is flushed.
+ */
+public interface CatalogNames {
+
+    /**
+     * Get the ID of a resolved genre name
+     * @param name the genre name
+     * @return the ID, or null for a null name
+     * @throws IllegalStateException if the name has not been resolved
+     */
+    Integer genreId(String name);
+
+    /**
+     * Get the name of a genre ID
+     * @param id the genre ID
+     * @return the shared instance of the name, or null for a null ID
+     * @throws IllegalStateException if the ID is not in the dictionary table
+     */
+    String genreName(Integer id);
+
+    /**
+     * Get the ID of a resolved platform name
+     * @param name the platform name
+     * @return the ID, or null for a null name
+     * @throws IllegalStateException if the name has not been resolved
+     */
+    Integer platformId(String name);
+
+    /**
+     * Get the name of a platform ID
+     * @param id the platform ID
+     * @return the shared instance of the name, or null for a null ID
+     * @throws IllegalStateException if the ID is not in the dictionary table
+     */
+    String platformName(Integer id);
+}
@@ -1,11 +1,17 @@
 package com.gamerecs.gamerecs_backend.model;
 
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.CollectionTable;
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Converter;
 import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
@@ -14,12 +20,18 @@ import jakarta.validation.constraints.Size;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Objects;
+import org.hibernate.annotations.BatchSize;
 
 /**
  * Entity class representing a game in the system.
+ * Genres and platforms are stored as IDs into the Genre and Platform dictionary tables and read back as the
+ * shared names held by {@link CatalogNames}; their names must be resolved to IDs before the game is saved.
  */
 @Entity
-@Table(name = "Game")
+@Table(name = "Game", indexes = {
+    // Seek index for keyset pagination by title
+    @Index(name = "idx_game_title_id", columnList = "Title, GameID")
+})
 public class Game {
 
     @Id
@@ -37,12 +49,18 @@ public class Game {
 
     @NotEmpty(message = "At least one genre must be specified")
     @ElementCollection
-    @Column(name = "Genres")
+    @BatchSize(size = 100)
+    @CollectionTable(name = "GameGenres", joinColumns = @JoinColumn(name = "GameID"))
+    @Column(name = "GenreID", nullable = false)
+    @Convert(converter = GenreConverter.class)
     private List<String> genres;
 
     @NotEmpty(message = "At least one platform must be specified")
     @ElementCollection
-    @Column(name = "Platforms")
+    @BatchSize(size = 100)
+    @CollectionTable(name = "GamePlatforms", joinColumns = @JoinColumn(name = "GameID"))
+    @Column(name = "PlatformID", nullable = false)
+    @Convert(converter = PlatformConverter.class)
     private List<String> platforms;
 
     @PastOrPresent(message = "Release date cannot be in the future")
@@ -183,4 +201,50 @@ public class Game {
                 ", publisher='" + publisher + '\'' +
                 '}';
     }
-} 
\ No newline at end of file
+
+    /**
+     * Stores a genre name as its dictionary ID. Created by Spring, which supplies the dictionary.
+     */
+    @Converter
+    public static class GenreConverter implements AttributeConverter<String, Integer> {
+
+        private final CatalogNames names;
+
+        public GenreConverter(CatalogNames names) {
+            this.names = names;
+        }
+
+        @Override
+        public Integer convertToDatabaseColumn(String genre) {
+            return names.genreId(genre);
+        }
+
+        @Override
+        public String convertToEntityAttribute(Integer genreId) {
+            return names.genreName(genreId);
+        }
+    }
+
+    /**
+     * Stores a platform name as its dictionary ID. Created by Spring, which supplies the dictionary.
+     */
+    @Converter
+    public static class PlatformConverter implements AttributeConverter<String, Integer> {
+
+        private final CatalogNames names;
+
+        public PlatformConverter(CatalogNames names) {
+            this.names = names;
+        }
+
+        @Override
+        public Integer convertToDatabaseColumn(String platform) {
+            return names.platformId(platform);
+        }
+
+        @Override
+        public String convertToEntityAttribute(Integer platformId) {
+            return names.platformName(platformId);
+        }
+    }
+}
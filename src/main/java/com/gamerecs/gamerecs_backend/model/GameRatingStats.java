@@ -0,0 +1,237 @@
+package com.gamerecs.gamerecs_backend.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Converter;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+/**
+ * Denormalized rating summary of a single game.
+ * Holds the sum, count, minimum and maximum of the game's ratings plus a histogram with one bucket per
+ * rating value (0-100), so that the average can be read without scanning the Rating table and the
+ * minimum and maximum can be recomputed when a rating is removed.
+ */
+@Entity
+@Table(name = "GameRatingStats")
+public class GameRatingStats {
+
+    public static final int BUCKETS = 101;
+
+    @Id
+    @Column(name = "GameID")
+    private Long gameId;
+
+    @Column(name = "RatingSum", nullable = false)
+    private long ratingSum;
+
+    @Column(name = "RatingCount", nullable = false)
+    private long ratingCount;
+
+    @Column(name = "MinRating")
+    private Integer minRating;
+
+    @Column(name = "MaxRating")
+    private Integer maxRating;
+
+    @Convert(converter = HistogramConverter.class)
+    @Column(name = "Histogram", nullable = false, length = BUCKETS * Integer.BYTES)
+    private int[] histogram = new int[BUCKETS];
+
+    @Version
+    @Column(name = "Version")
+    private Long version;
+
+    // Default constructor
+    public GameRatingStats() {
+    }
+
+    // Constructor with required fields
+    public GameRatingStats(Long gameId) {
+        this.gameId = gameId;
+    }
+
+    /**
+     * Record a new rating
+     * @param ratingValue the rating value (0-100)
+     */
+    public void add(int ratingValue) {
+        checkRange(ratingValue);
+        histogram[ratingValue]++;
+        ratingSum += ratingValue;
+        ratingCount++;
+        minRating = minRating == null ? ratingValue : Math.min(minRating, ratingValue);
+        maxRating = maxRating == null ? ratingValue : Math.max(maxRating, ratingValue);
+    }
+
+    /**
+     * Record the removal of a rating
+     * @param ratingValue the value of the removed rating
+     * @throws IllegalStateException if no rating with this value is recorded
+     */
+    public void remove(int ratingValue) {
+        checkRange(ratingValue);
+        if (histogram[ratingValue] == 0) {
+            throw new IllegalStateException("No rating of " + ratingValue + " recorded for game " + gameId);
+        }
+        histogram[ratingValue]--;
+        ratingSum -= ratingValue;
+        ratingCount--;
+        if (ratingCount == 0) {
+            minRating = null;
+            maxRating = null;
+            return;
+        }
+        if (ratingValue == minRating && histogram[ratingValue] == 0) {
+            int value = ratingValue;
+            while (histogram[value] == 0) {
+                value++;
+            }
+            minRating = value;
+        }
+        if (ratingValue == maxRating && histogram[ratingValue] == 0) {
+            int value = ratingValue;
+            while (histogram[value] == 0) {
+                value--;
+            }
+            maxRating = value;
+        }
+    }
+
+    /**
+     * Record a change of an existing rating's value
+     * @param oldValue the previous rating value
+     * @param newValue the new rating value
+     */
+    public void replace(int oldValue, int newValue) {
+        if (oldValue == newValue) {
+            return;
+        }
+        checkRange(newValue);
+        remove(oldValue);
+        add(newValue);
+    }
+
+    /**
+     * Reset the summary to the given histogram, deriving every other field from it
+     * @param counts number of ratings per rating value
+     */
+    public void resetTo(int[] counts) {
+        if (counts.length != BUCKETS) {
+            throw new IllegalArgumentException("Histogram must have " + BUCKETS + " buckets");
+        }
+        histogram = new int[BUCKETS];
+        ratingSum = 0;
+        ratingCount = 0;
+        minRating = null;
+        maxRating = null;
+        for (int value = 0; value < BUCKETS; value++) {
+            int count = counts[value];
+            if (count == 0) {
+                continue;
+            }
+            histogram[value] = count;
+            ratingSum += (long) value * count;
+            ratingCount += count;
+            if (minRating == null) {
+                minRating = value;
+            }
+            maxRating = value;
+        }
+    }
+
+    /**
+     * Get the average rating
+     * @return the average rating value, or null if the game has no ratings
+     */
+    public Double getAverageRating() {
+        return ratingCount == 0 ? null : (double) ratingSum / ratingCount;
+    }
+
+    private static void checkRange(int ratingValue) {
+        if (ratingValue < 0 || ratingValue >= BUCKETS) {
+            throw new IllegalArgumentException("Rating value must be between 0 and 100");
+        }
+    }
+
+    // Getters
+    public Long getGameId() {
+        return gameId;
+    }
+
+    public long getRatingSum() {
+        return ratingSum;
+    }
+
+    public long getRatingCount() {
+        return ratingCount;
+    }
+
+    public Integer getMinRating() {
+        return minRating;
+    }
+
+    public Integer getMaxRating() {
+        return maxRating;
+    }
+
+    public int[] getHistogram() {
+        return histogram.clone();
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        GameRatingStats that = (GameRatingStats) o;
+        return Objects.equals(gameId, that.gameId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(gameId);
+    }
+
+    @Override
+    public String toString() {
+        return "GameRatingStats{" +
+                "gameId=" + gameId +
+                ", ratingSum=" + ratingSum +
+                ", ratingCount=" + ratingCount +
+                ", minRating=" + minRating +
+                ", maxRating=" + maxRating +
+                '}';
+    }
+
+    /**
+     * Stores the histogram as a fixed-size binary column of big-endian ints.
+     */
+    @Converter
+    public static class HistogramConverter implements AttributeConverter<int[], byte[]> {
+
+        @Override
+        public byte[] convertToDatabaseColumn(int[] histogram) {
+            ByteBuffer buffer = ByteBuffer.allocate(BUCKETS * Integer.BYTES);
+            buffer.asIntBuffer().put(histogram, 0, BUCKETS);
+            return buffer.array();
+        }
+
+        @Override
+        public int[] convertToEntityAttribute(byte[] bytes) {
+            int[] histogram = new int[BUCKETS];
+            if (bytes != null) {
+                ByteBuffer.wrap(bytes).asIntBuffer().get(histogram, 0, Math.min(BUCKETS, bytes.length / Integer.BYTES));
+            }
+            return histogram;
+        }
+    }
+}
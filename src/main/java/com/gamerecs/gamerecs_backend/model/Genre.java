@@ -0,0 +1,50 @@
+package com.gamerecs.gamerecs_backend.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Dictionary entry for a genre name, referenced by ID from the genres of a game.
+ */
+@Entity
+@Table(name = "Genre")
+public class Genre {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "GenreID")
+    private Integer genreId;
+
+    @Column(name = "Name", nullable = false, unique = true, length = 255)
+    private String name;
+
+    // Default constructor
+    public Genre() {
+    }
+
+    // Constructor with required fields
+    public Genre(String name) {
+        this.name = name;
+    }
+
+    // Getters and Setters
+    public Integer getGenreId() {
+        return genreId;
+    }
+
+    public void setGenreId(Integer genreId) {
+        this.genreId = genreId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+}
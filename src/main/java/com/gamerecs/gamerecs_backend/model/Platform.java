@@ -0,0 +1,50 @@
+package com.gamerecs.gamerecs_backend.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Dictionary entry for a platform name, referenced by ID from the platforms of a game.
+ */
+@Entity
+@Table(name = "Platform")
+public class Platform {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "PlatformID")
+    private Integer platformId;
+
+    @Column(name = "Name", nullable = false, unique = true, length = 255)
+    private String name;
+
+    // Default constructor
+    public Platform() {
+    }
+
+    // Constructor with required fields
+    public Platform(String name) {
+        this.name = name;
+    }
+
+    // Getters and Setters
+    public Integer getPlatformId() {
+        return platformId;
+    }
+
+    public void setPlatformId(Integer platformId) {
+        this.platformId = platformId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+}
@@ -6,6 +6,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -22,7 +23,13 @@ import java.util.Objects;
  * PercentileRank must be between 0 and 99 (inclusive) when set.
  */
 @Entity
-@Table(name = "Rating")
+@Table(name = "Rating", indexes = {
+    // Seek indexes for keyset pagination of a game's or a user's ratings by date or value
+    @Index(name = "idx_rating_game_date", columnList = "GameID, DateUpdated, RatingID"),
+    @Index(name = "idx_rating_game_value", columnList = "GameID, RatingValue, RatingID"),
+    @Index(name = "idx_rating_user_date", columnList = "UserID, DateUpdated, RatingID"),
+    @Index(name = "idx_rating_user_value", columnList = "UserID, RatingValue, RatingID")
+})
 public class Rating {
 
     @Id
@@ -0,0 +1,131 @@
+package com.gamerecs.gamerecs_backend.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Denormalized count of a user's backlog items per status.
+ * Maintained alongside every backlog change so that statistics are read from a single row
+ * instead of counting the BacklogItem table.
+ */
+@Entity
+@Table(name = "UserBacklogStats")
+public class UserBacklogStats {
+
+    @Id
+    @Column(name = "UserID")
+    private Long userId;
+
+    @Column(name = "ToPlayCount", nullable = false)
+    private long toPlayCount;
+
+    @Column(name = "InProgressCount", nullable = false)
+    private long inProgressCount;
+
+    @Column(name = "CompletedCount", nullable = false)
+    private long completedCount;
+
+    @Column(name = "AbandonedCount", nullable = false)
+    private long abandonedCount;
+
+    @Version
+    @Column(name = "Version")
+    private Long version;
+
+    // Default constructor
+    public UserBacklogStats() {
+    }
+
+    // Constructor with required fields
+    public UserBacklogStats(Long userId) {
+        this.userId = userId;
+    }
+
+    /**
+     * Adjust the count of a status
+     * @param status the status
+     * @param delta the change in the number of items
+     */
+    public void adjust(BacklogStatus status, long delta) {
+        switch (status) {
+            case TO_PLAY -> toPlayCount += delta;
+            case IN_PROGRESS -> inProgressCount += delta;
+            case COMPLETED -> completedCount += delta;
+            case ABANDONED -> abandonedCount += delta;
+        }
+    }
+
+    /**
+     * Reset every count to the given values
+     * @param counts the number of items per status; missing statuses are reset to zero
+     */
+    public void resetTo(Map<BacklogStatus, Long> counts) {
+        for (BacklogStatus status : BacklogStatus.values()) {
+            adjust(status, counts.getOrDefault(status, 0L) - getCount(status));
+        }
+    }
+
+    /**
+     * Get the count of a status
+     * @param status the status
+     * @return the number of items in that status
+     */
+    public long getCount(BacklogStatus status) {
+        return switch (status) {
+            case TO_PLAY -> toPlayCount;
+            case IN_PROGRESS -> inProgressCount;
+            case COMPLETED -> completedCount;
+            case ABANDONED -> abandonedCount;
+        };
+    }
+
+    /**
+     * Get the counts of every status
+     * @return map containing the count of each status, including zero counts
+     */
+    public Map<BacklogStatus, Long> toMap() {
+        Map<BacklogStatus, Long> counts = new EnumMap<>(BacklogStatus.class);
+        for (BacklogStatus status : BacklogStatus.values()) {
+            counts.put(status, getCount(status));
+        }
+        return counts;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        UserBacklogStats that = (UserBacklogStats) o;
+        return Objects.equals(userId, that.userId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(userId);
+    }
+
+    @Override
+    public String toString() {
+        return "UserBacklogStats{" +
+                "userId=" + userId +
+                ", toPlayCount=" + toPlayCount +
+                ", inProgressCount=" + inProgressCount +
+                ", completedCount=" + completedCount +
+                ", abandonedCount=" + abandonedCount +
+                '}';
+    }
+}
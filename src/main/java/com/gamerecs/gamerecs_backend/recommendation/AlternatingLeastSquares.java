@@ -0,0 +1,216 @@
+package com.gamerecs.gamerecs_backend.recommendation;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Trains a {@link FactorModel} from a {@link RatingMatrix} by alternating least squares.
+ * Each iteration fixes the game factors and solves every user's factors exactly, then the reverse. A user's
+ * factors depend only on the game factors and that user's ratings, so the rows of each half-iteration are
+ * solved in fork-join shards, each with its own normal-equation scratch space.
+ * <p>
+ * In explicit mode the ratings are fitted directly, with a regularization weighted by each row's number of
+ * ratings. In implicit mode every rating means a preference of 1, held with confidence
+ * {@code 1 + alpha * rating}, and every unrated game a preference of 0 with confidence 1; the term for the
+ * unrated games is shared by all rows and computed once per half-iteration.
+ */
+public final class AlternatingLeastSquares {
+
+    /** Shards per worker, so that rows with many ratings still balance across the pool */
+    private static final int SHARDS_PER_WORKER = 8;
+
+    private static final long SEED = 42L;
+
+    private AlternatingLeastSquares() {
+    }
+
+    /**
+     * Training parameters.
+     * @param rank the number of factors per user and game
+     * @param iterations the number of user and game passes
+     * @param regularization the weight of the squared factor norms
+     * @param implicit whether to train on implicit preferences rather than on the rating values
+     * @param alpha the confidence added per unit of rating in implicit mode
+     */
+    public record Settings(int rank, int iterations, float regularization, boolean implicit, float alpha) {
+
+        public Settings {
+            if (rank <= 0 || iterations <= 0 || regularization <= 0f || alpha < 0f) {
+                throw new IllegalArgumentException("Invalid training settings");
+            }
+        }
+    }
+
+    /**
+     * Train the model
+     * @param matrix the ratings; non-negative in implicit mode
+     * @param settings the training parameters
+     * @param pool the pool running the shards
+     * @return the model, on the heap
+     */
+    public static FactorModel train(RatingMatrix matrix, Settings settings, ForkJoinPool pool) {
+        int rank = settings.rank();
+        float[] userFactors = new float[matrix.users() * rank];
+        float[] gameFactors = new float[matrix.games() * rank];
+        Random random = new Random(SEED);
+        for (int i = 0; i < gameFactors.length; i++) {
+            gameFactors[i] = random.nextFloat() / rank;
+        }
+        int userShard = Math.max(1, matrix.users() / (pool.getParallelism() * SHARDS_PER_WORKER));
+        int gameShard = Math.max(1, matrix.games() / (pool.getParallelism() * SHARDS_PER_WORKER));
+        for (int iteration = 0; iteration < settings.iterations(); iteration++) {
+            pool.invoke(new Shard(settings, gram(gameFactors, rank, settings.implicit()),
+                    matrix.userOffsets, matrix.userGames, matrix.userValues, gameFactors, userFactors,
+                    userShard, 0, matrix.users()));
+            pool.invoke(new Shard(settings, gram(userFactors, rank, settings.implicit()),
+                    matrix.gameOffsets, matrix.gameUsers, matrix.gameValues, userFactors, gameFactors,
+                    gameShard, 0, matrix.games()));
+        }
+        return FactorModel.of(matrix.userIds, matrix.gameIds, rank, userFactors, gameFactors);
+    }
+
+    /** The lower triangle of the Gram matrix of the fixed factors, needed only in implicit mode */
+    private static double[] gram(float[] factors, int rank, boolean implicit) {
+        if (!implicit) {
+            return null;
+        }
+        double[] gram = new double[rank * rank];
+        for (int base = 0; base < factors.length; base += rank) {
+            for (int r = 0; r < rank; r++) {
+                double value = factors[base + r];
+                for (int c = 0; c <= r; c++) {
+                    gram[r * rank + c] += value * factors[base + c];
+                }
+            }
+        }
+        return gram;
+    }
+
+    /**
+     * Solve {@code a x = b} in place for a symmetric positive definite {@code a}, reading only its lower
+     * triangle; {@code a} is overwritten with its Cholesky factor and {@code b} with {@code x}
+     */
+    static void solve(double[] a, double[] b, int rank) {
+        for (int j = 0; j < rank; j++) {
+            double diagonal = a[j * rank + j];
+            for (int p = 0; p < j; p++) {
+                diagonal -= a[j * rank + p] * a[j * rank + p];
+            }
+            diagonal = Math.sqrt(Math.max(diagonal, 1e-12));
+            a[j * rank + j] = diagonal;
+            for (int i = j + 1; i < rank; i++) {
+                double sum = a[i * rank + j];
+                for (int p = 0; p < j; p++) {
+                    sum -= a[i * rank + p] * a[j * rank + p];
+                }
+                a[i * rank + j] = sum / diagonal;
+            }
+        }
+        for (int i = 0; i < rank; i++) {
+            double sum = b[i];
+            for (int p = 0; p < i; p++) {
+                sum -= a[i * rank + p] * b[p];
+            }
+            b[i] = sum / a[i * rank + i];
+        }
+        for (int i = rank - 1; i >= 0; i--) {
+            double sum = b[i];
+            for (int p = i + 1; p < rank; p++) {
+                sum -= a[p * rank + i] * b[p];
+            }
+            b[i] = sum / a[i * rank + i];
+        }
+    }
+
+    /**
+     * Solves the rows in {@code [from, to)} of one side against the fixed factors of the other side,
+     * splitting the range while it exceeds a shard.
+     */
+    private static final class Shard extends RecursiveAction {
+
+        private final Settings settings;
+        private final double[] gram;
+        private final int[] offsets;
+        private final int[] columns;
+        private final float[] values;
+        private final float[] fixed;
+        private final float[] solved;
+        private final int shardSize;
+        private final int from;
+        private final int to;
+
+        Shard(Settings settings, double[] gram, int[] offsets, int[] columns, float[] values, float[] fixed,
+              float[] solved, int shardSize, int from, int to) {
+            this.settings = settings;
+            this.gram = gram;
+            this.offsets = offsets;
+            this.columns = columns;
+            this.values = values;
+            this.fixed = fixed;
+            this.solved = solved;
+            this.shardSize = shardSize;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > shardSize) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new Shard(settings, gram, offsets, columns, values, fixed, solved, shardSize, from, middle),
+                        new Shard(settings, gram, offsets, columns, values, fixed, solved, shardSize, middle, to));
+                return;
+            }
+            int rank = settings.rank();
+            double[] a = new double[rank * rank];
+            double[] b = new double[rank];
+            for (int row = from; row < to; row++) {
+                int start = offsets[row];
+                int end = offsets[row + 1];
+                if (settings.implicit()) {
+                    System.arraycopy(gram, 0, a, 0, a.length);
+                } else {
+                    Arrays.fill(a, 0d);
+                }
+                Arrays.fill(b, 0d);
+                for (int slot = start; slot < end; slot++) {
+                    int base = columns[slot] * rank;
+                    double weight;
+                    double target;
+                    if (settings.implicit()) {
+                        // Confidence c on a preference of 1, on top of the weight 1 already in the Gram matrix
+                        double confidence = 1d + settings.alpha() * values[slot];
+                        weight = confidence - 1d;
+                        target = confidence;
+                    } else {
+                        weight = 1d;
+                        target = values[slot];
+                    }
+                    for (int r = 0; r < rank; r++) {
+                        double value = fixed[base + r];
+                        b[r] += target * value;
+                        if (weight != 0d) {
+                            double weighted = weight * value;
+                            for (int c = 0; c <= r; c++) {
+                                a[r * rank + c] += weighted * fixed[base + c];
+                            }
+                        }
+                    }
+                }
+                double lambda = settings.implicit()
+                        ? settings.regularization()
+                        : settings.regularization() * Math.max(end - start, 1);
+                for (int r = 0; r < rank; r++) {
+                    a[r * rank + r] += lambda;
+                }
+                solve(a, b, rank);
+                int base = row * rank;
+                for (int r = 0; r < rank; r++) {
+                    solved[base + r] = (float) b[r];
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package com.gamerecs.gamerecs_backend.recommendation;
+
+import com.gamerecs.gamerecs_backend.util.ScratchPool;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Immutable user and game factor matrices of a matrix factorization model, scored by dot product.
+ * A saved model is mapped read-only: the IDs are searched in place and the factors are copied to the heap
+ * with one bulk read per matrix, so a node restarting on a saved model is ready in milliseconds without
+ * parsing anything. The factors are not scored through the mapping, because reads through a mapped buffer
+ * cost several times more than array reads in the scoring loop.
+ * <p>
+ * The model file is little-endian: a 32-byte header (magic, version, rank, user count, game count), the
+ * sorted user IDs, the sorted game IDs, then the user and game factors, one row of {@code rank} floats per
+ * user or game in ID order.
+ */
+public final class FactorModel {
+
+    private static final int MAGIC = 0x4752464D;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 32;
+
+    private final int rank;
+    private final LongBuffer userIds;
+    private final LongBuffer gameIds;
+    private final float[] userFactors;
+    private final float[] gameFactors;
+    private final ScratchPool<TopK> scratch = ScratchPool.perProcessor(() -> new TopK(0));
+
+    private FactorModel(int rank, LongBuffer userIds, LongBuffer gameIds, float[] userFactors,
+                        float[] gameFactors) {
+        this.rank = rank;
+        this.userIds = userIds;
+        this.gameIds = gameIds;
+        this.userFactors = userFactors;
+        this.gameFactors = gameFactors;
+    }
+
+    /**
+     * Wrap trained factors held on the heap
+     * @param userIds the sorted user IDs
+     * @param gameIds the sorted game IDs
+     * @param rank the number of factors per user and game
+     * @param userFactors the user factors, {@code rank} per user
+     * @param gameFactors the game factors, {@code rank} per game
+     * @return the model
+     */
+    public static FactorModel of(long[] userIds, long[] gameIds, int rank, float[] userFactors,
+                                 float[] gameFactors) {
+        if (userFactors.length != userIds.length * rank || gameFactors.length != gameIds.length * rank) {
+            throw new IllegalArgumentException("Expected " + rank + " factors per user and game");
+        }
+        return new FactorModel(rank, LongBuffer.wrap(userIds), LongBuffer.wrap(gameIds), userFactors, gameFactors);
+    }
+
+    /**
+     * Map a model file saved with {@link #save(Path)}
+     * @param path the model file
+     * @return the model
+     * @throws IOException if the file cannot be read or is not a model file
+     */
+    public static FactorModel load(Path path) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // The mapping stays valid once the channel is closed
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a factor model file: " + path);
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IOException("Unsupported factor model version " + buffer.getInt(4) + ": " + path);
+        }
+        int rank = buffer.getInt(8);
+        int users = buffer.getInt(12);
+        int games = buffer.getInt(16);
+        if (buffer.capacity() != fileSize(rank, users, games)) {
+            throw new IOException("Truncated factor model file: " + path);
+        }
+        int position = HEADER_BYTES;
+        LongBuffer userIds = slice(buffer, position, users * 8L).asLongBuffer();
+        position += users * 8;
+        LongBuffer gameIds = slice(buffer, position, games * 8L).asLongBuffer();
+        position += games * 8;
+        float[] userFactors = new float[users * rank];
+        slice(buffer, position, userFactors.length * 4L).asFloatBuffer().get(userFactors);
+        position += users * rank * 4;
+        float[] gameFactors = new float[games * rank];
+        slice(buffer, position, gameFactors.length * 4L).asFloatBuffer().get(gameFactors);
+        return new FactorModel(rank, userIds, gameIds, userFactors, gameFactors);
+    }
+
+    /**
+     * Write the model to a file, replacing it atomically so that nodes never map a partial file
+     * @param path the model file
+     * @throws IOException if the file cannot be written
+     */
+    public void save(Path path) throws IOException {
+        int users = users();
+        int games = games();
+        Path directory = path.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                        fileSize(rank, users, games));
+                buffer.order(ByteOrder.LITTLE_ENDIAN);
+                buffer.putInt(MAGIC).putInt(VERSION).putInt(rank).putInt(users).putInt(games);
+                buffer.position(HEADER_BYTES);
+                for (int i = 0; i < users; i++) {
+                    buffer.putLong(userIds.get(i));
+                }
+                for (int i = 0; i < games; i++) {
+                    buffer.putLong(gameIds.get(i));
+                }
+                buffer.slice().order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer().put(userFactors).put(gameFactors);
+                buffer.force();
+            }
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    public int rank() {
+        return rank;
+    }
+
+    public int users() {
+        return userIds.capacity();
+    }
+
+    public int games() {
+        return gameIds.capacity();
+    }
+
+    /**
+     * Find the row of a user
+     * @param userId the ID of the user
+     * @return the index of the user, or -1 if the user had no ratings when the model was trained
+     */
+    public int userIndex(long userId) {
+        return binarySearch(userIds, userId);
+    }
+
+    /**
+     * Find the row of a game
+     * @param gameId the ID of the game
+     * @return the index of the game, or -1 if the game had no ratings when the model was trained
+     */
+    public int gameIndex(long gameId) {
+        return binarySearch(gameIds, gameId);
+    }
+
+    public long gameId(int gameIndex) {
+        return gameIds.get(gameIndex);
+    }
+
+    /**
+     * Predict how much a user likes a game
+     * @param userIndex the index of the user
+     * @param gameIndex the index of the game
+     * @return the dot product of their factors
+     */
+    public float score(int userIndex, int gameIndex) {
+        int user = userIndex * rank;
+        int game = gameIndex * rank;
+        float sum = 0f;
+        for (int k = 0; k < rank; k++) {
+            sum += userFactors[user + k] * gameFactors[game + k];
+        }
+        return sum;
+    }
+
+    /**
+     * Score candidate games for a user and keep the best ones, without allocating beyond a pooled scratch heap
+     * that is reused across calls
+     * @param userIndex the index of the user
+     * @param candidates the indexes of the candidate games, or null for every game of the model
+     * @param candidateCount the number of candidates to read from {@code candidates}; ignored when it is null
+     * @param limit the maximum number of games kept
+     * @param gameIndexesOut receives the indexes of the kept games, best first
+     * @param scoresOut receives the scores of the kept games
+     * @return the number of games written, at most {@code limit}
+     */
+    public int topCandidates(int userIndex, int[] candidates, int candidateCount, int limit,
+                             int[] gameIndexesOut, float[] scoresOut) {
+        TopK top = scratch.acquire();
+        try {
+            top.reset(limit);
+            return topCandidates(userIndex, candidates, candidateCount, top, gameIndexesOut, scoresOut);
+        } finally {
+            scratch.release(top);
+        }
+    }
+
+    private int topCandidates(int userIndex, int[] candidates, int candidateCount, TopK top, int[] gameIndexesOut,
+                              float[] scoresOut) {
+        int user = userIndex * rank;
+        int count = candidates != null ? candidateCount : games();
+        for (int c = 0; c < count; c++) {
+            int game = candidates != null ? candidates[c] : c;
+            int base = game * rank;
+            float sum = 0f;
+            for (int k = 0; k < rank; k++) {
+                sum += userFactors[user + k] * gameFactors[base + k];
+            }
+            top.offer(game, sum);
+        }
+        return top.drainDescending(gameIndexesOut, scoresOut, 0);
+    }
+
+    private static long fileSize(int rank, int users, int games) {
+        return HEADER_BYTES + (users + (long) games) * 8 + (users + (long) games) * rank * 4;
+    }
+
+    private static ByteBuffer slice(ByteBuffer buffer, int position, long length) {
+        return buffer.slice(position, Math.toIntExact(length)).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static int binarySearch(LongBuffer ids, long id) {
+        int low = 0;
+        int high = ids.capacity() - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            long value = ids.get(middle);
+            if (value < id) {
+                low = middle + 1;
+            } else if (value > id) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,152 @@
+package com.gamerecs.gamerecs_backend.recommendation;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Computes the adjusted cosine similarity between games and keeps the top K neighbours of each.
+ * Ratings come centered on each user's mean from the {@link RatingMatrix}, so the similarity of games i and j
+ * is the dot product of their centered rating columns over the users who rated both, divided by the norms of
+ * the full columns. Dividing by the full norms rather than the co-rated ones damps similarities that rest on
+ * a few common users. Only positive similarities are kept.
+ * <p>
+ * The games are split into shards that run as fork-join tasks. Each shard accumulates the dot products of one
+ * game at a time against every co-rated game in dense scratch arrays, visiting only the games reached through
+ * the users of the game, and writes its results into its own slots of the shared neighbour arrays.
+ */
+public final class ItemSimilarity {
+
+    /** Shards per worker, so that shards of uneven cost still balance across the pool */
+    private static final int SHARDS_PER_WORKER = 8;
+
+    private ItemSimilarity() {
+    }
+
+    /**
+     * Compute the neighbour index of a rating matrix
+     * @param matrix the centered ratings
+     * @param neighbours the maximum number of neighbours kept per game
+     * @param minCommonUsers the minimum number of users who rated both games for a similarity to count
+     * @param pool the pool running the shards
+     * @return the neighbour index
+     */
+    public static NeighbourIndex compute(RatingMatrix matrix, int neighbours, int minCommonUsers, ForkJoinPool pool) {
+        if (neighbours <= 0) {
+            throw new IllegalArgumentException("neighbours must be positive");
+        }
+        int games = matrix.games();
+        float[] norms = new float[games];
+        for (int game = 0; game < games; game++) {
+            double sum = 0;
+            for (int slot = matrix.gameOffsets[game]; slot < matrix.gameOffsets[game + 1]; slot++) {
+                sum += (double) matrix.gameValues[slot] * matrix.gameValues[slot];
+            }
+            norms[game] = (float) Math.sqrt(sum);
+        }
+
+        int[] counts = new int[games];
+        int[] candidates = new int[games * neighbours];
+        float[] similarities = new float[games * neighbours];
+        int shardSize = Math.max(1, games / (pool.getParallelism() * SHARDS_PER_WORKER));
+        pool.invoke(new Shard(matrix, norms, neighbours, Math.max(minCommonUsers, 1), shardSize,
+                0, games, counts, candidates, similarities));
+        return compact(matrix.gameIds, neighbours, counts, candidates, similarities);
+    }
+
+    private static NeighbourIndex compact(long[] gameIds, int neighbours, int[] counts, int[] candidates,
+                                          float[] similarities) {
+        int[] offsets = new int[gameIds.length + 1];
+        for (int game = 0; game < gameIds.length; game++) {
+            offsets[game + 1] = offsets[game] + counts[game];
+        }
+        int[] compactNeighbours = new int[offsets[gameIds.length]];
+        float[] compactSimilarities = new float[offsets[gameIds.length]];
+        for (int game = 0; game < gameIds.length; game++) {
+            System.arraycopy(candidates, game * neighbours, compactNeighbours, offsets[game], counts[game]);
+            System.arraycopy(similarities, game * neighbours, compactSimilarities, offsets[game], counts[game]);
+        }
+        return new NeighbourIndex(gameIds, offsets, compactNeighbours, compactSimilarities);
+    }
+
+    /**
+     * Computes the neighbours of the games in {@code [from, to)}, splitting the range while it exceeds a shard.
+     */
+    private static final class Shard extends RecursiveAction {
+
+        private final RatingMatrix matrix;
+        private final float[] norms;
+        private final int neighbours;
+        private final int minCommonUsers;
+        private final int shardSize;
+        private final int from;
+        private final int to;
+        private final int[] counts;
+        private final int[] candidates;
+        private final float[] similarities;
+
+        Shard(RatingMatrix matrix, float[] norms, int neighbours, int minCommonUsers, int shardSize,
+              int from, int to, int[] counts, int[] candidates, float[] similarities) {
+            this.matrix = matrix;
+            this.norms = norms;
+            this.neighbours = neighbours;
+            this.minCommonUsers = minCommonUsers;
+            this.shardSize = shardSize;
+            this.from = from;
+            this.to = to;
+            this.counts = counts;
+            this.candidates = candidates;
+            this.similarities = similarities;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > shardSize) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new Shard(matrix, norms, neighbours, minCommonUsers, shardSize,
+                                from, middle, counts, candidates, similarities),
+                        new Shard(matrix, norms, neighbours, minCommonUsers, shardSize,
+                                middle, to, counts, candidates, similarities));
+                return;
+            }
+            int games = matrix.games();
+            float[] dots = new float[games];
+            int[] common = new int[games];
+            int[] touched = new int[games];
+            TopK top = new TopK(neighbours);
+            for (int game = from; game < to; game++) {
+                if (norms[game] == 0f) {
+                    continue;
+                }
+                int touchedCount = 0;
+                for (int slot = matrix.gameOffsets[game]; slot < matrix.gameOffsets[game + 1]; slot++) {
+                    int user = matrix.gameUsers[slot];
+                    float value = matrix.gameValues[slot];
+                    for (int other = matrix.userOffsets[user]; other < matrix.userOffsets[user + 1]; other++) {
+                        int otherGame = matrix.userGames[other];
+                        if (otherGame == game) {
+                            continue;
+                        }
+                        if (common[otherGame]++ == 0) {
+                            touched[touchedCount++] = otherGame;
+                        }
+                        dots[otherGame] += value * matrix.userValues[other];
+                    }
+                }
+
+                top.clear();
+                for (int t = 0; t < touchedCount; t++) {
+                    int otherGame = touched[t];
+                    if (common[otherGame] >= minCommonUsers && norms[otherGame] > 0f) {
+                        float similarity = dots[otherGame] / (norms[game] * norms[otherGame]);
+                        if (similarity > 0f) {
+                            top.offer(otherGame, similarity);
+                        }
+                    }
+                    dots[otherGame] = 0f;
+                    common[otherGame] = 0;
+                }
+                counts[game] = top.drainDescending(candidates, similarities, game * neighbours);
+            }
+        }
+    }
+}
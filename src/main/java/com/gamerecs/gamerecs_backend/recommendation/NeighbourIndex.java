@@ -0,0 +1,193 @@
+package com.gamerecs.gamerecs_backend.recommendation;
+
+import com.gamerecs.gamerecs_backend.util.ScratchPool;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable top-K nearest neighbours of every game, stored as one compressed sparse row matrix.
+ * The neighbours of a game are sorted by descending similarity. Recommendations for a user are scored by
+ * summing, over the games the user rated, the similarity to each neighbour times the user's centered rating,
+ * so a recommendation costs one pass over the neighbour lists of the rated games. The catalog-sized accumulators
+ * are reused from a pool holding at most one set per processor.
+ */
+public final class NeighbourIndex {
+
+    /**
+     * Index without any game, used until the first training completes
+     */
+    public static final NeighbourIndex EMPTY = new NeighbourIndex(new long[0], new int[1], new int[0], new float[0]);
+
+    private final long[] gameIds;
+    private final int[] offsets;
+    private final int[] neighbours;
+    private final float[] similarities;
+    private final ScratchPool<Scratch> scratch;
+
+    NeighbourIndex(long[] gameIds, int[] offsets, int[] neighbours, float[] similarities) {
+        this.gameIds = gameIds;
+        this.offsets = offsets;
+        this.neighbours = neighbours;
+        this.similarities = similarities;
+        this.scratch = ScratchPool.perProcessor(() -> new Scratch(gameIds.length));
+    }
+
+    /**
+     * A similar game.
+     * @param gameId the ID of the game
+     * @param similarity the adjusted cosine similarity, in (0, 1]
+     */
+    public record Neighbour(long gameId, float similarity) {
+    }
+
+    /**
+     * A recommended game.
+     * @param gameId the ID of the game
+     * @param score the sum of similarity-weighted centered ratings; higher is better
+     * @param becauseOfGameId the rated game that contributed most to the score
+     */
+    public record Recommendation(long gameId, float score, long becauseOfGameId) {
+    }
+
+    public int games() {
+        return gameIds.length;
+    }
+
+    /**
+     * Get the number of stored neighbour entries over all games
+     * @return the number of entries
+     */
+    public int size() {
+        return neighbours.length;
+    }
+
+    /**
+     * Get the neighbours of a game
+     * @param gameId the ID of the game
+     * @return the neighbours, most similar first; empty if the game is unknown
+     */
+    public List<Neighbour> neighboursOf(long gameId) {
+        int game = Arrays.binarySearch(gameIds, gameId);
+        if (game < 0) {
+            return List.of();
+        }
+        List<Neighbour> result = new ArrayList<>(offsets[game + 1] - offsets[game]);
+        for (int slot = offsets[game]; slot < offsets[game + 1]; slot++) {
+            result.add(new Neighbour(gameIds[neighbours[slot]], similarities[slot]));
+        }
+        return result;
+    }
+
+    /**
+     * Recommend games similar to those a user rated highly compared to their other ratings
+     * @param ratedGameIds the IDs of the games the user rated
+     * @param centeredRatings the user's normalized rating of each game minus the mean of those ratings
+     * @param limit the maximum number of recommendations
+     * @return the recommendations with a positive score, best first, excluding rated games
+     */
+    public List<Recommendation> recommend(long[] ratedGameIds, float[] centeredRatings, int limit) {
+        if (ratedGameIds.length != centeredRatings.length) {
+            throw new IllegalArgumentException("Expected one rating per game");
+        }
+        if (limit <= 0 || gameIds.length == 0) {
+            return List.of();
+        }
+        Scratch s = scratch.acquire();
+        try {
+            return recommend(s, ratedGameIds, centeredRatings, limit);
+        } finally {
+            scratch.release(s);
+        }
+    }
+
+    private List<Recommendation> recommend(Scratch s, long[] ratedGameIds, float[] centeredRatings, int limit) {
+        int round = s.nextRound();
+        int[] rated = new int[ratedGameIds.length];
+        float[] weights = new float[ratedGameIds.length];
+        int ratedCount = 0;
+        for (int i = 0; i < ratedGameIds.length; i++) {
+            int game = Arrays.binarySearch(gameIds, ratedGameIds[i]);
+            if (game >= 0) {
+                s.excluded[game] = round;
+                rated[ratedCount] = game;
+                weights[ratedCount++] = centeredRatings[i];
+            }
+        }
+
+        int touched = 0;
+        for (int r = 0; r < ratedCount; r++) {
+            int game = rated[r];
+            float weight = weights[r];
+            if (weight == 0f) {
+                continue;
+            }
+            for (int slot = offsets[game]; slot < offsets[game + 1]; slot++) {
+                int candidate = neighbours[slot];
+                if (s.excluded[candidate] == round) {
+                    continue;
+                }
+                float contribution = similarities[slot] * weight;
+                if (s.seen[candidate] != round) {
+                    s.seen[candidate] = round;
+                    s.scores[candidate] = 0f;
+                    s.best[candidate] = Float.NEGATIVE_INFINITY;
+                    s.touched[touched++] = candidate;
+                }
+                s.scores[candidate] += contribution;
+                if (contribution > s.best[candidate]) {
+                    s.best[candidate] = contribution;
+                    s.because[candidate] = game;
+                }
+            }
+        }
+
+        TopK top = new TopK(Math.min(limit, touched));
+        for (int t = 0; t < touched; t++) {
+            int candidate = s.touched[t];
+            if (s.scores[candidate] > 0f) {
+                top.offer(candidate, s.scores[candidate]);
+            }
+        }
+        int[] items = new int[top.size()];
+        float[] scores = new float[top.size()];
+        int count = top.drainDescending(items, scores, 0);
+        List<Recommendation> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(new Recommendation(gameIds[items[i]], scores[i], gameIds[s.because[items[i]]]));
+        }
+        return result;
+    }
+
+    /**
+     * Accumulators sized to the catalog, reset in O(1) by stamping entries with the current round.
+     */
+    private static final class Scratch {
+
+        final int[] seen;
+        final int[] excluded;
+        final float[] scores;
+        final float[] best;
+        final int[] because;
+        final int[] touched;
+        int round;
+
+        Scratch(int games) {
+            seen = new int[games];
+            excluded = new int[games];
+            scores = new float[games];
+            best = new float[games];
+            because = new int[games];
+            touched = new int[games];
+        }
+
+        int nextRound() {
+            if (++round == Integer.MAX_VALUE) {
+                Arrays.fill(seen, 0);
+                Arrays.fill(excluded, 0);
+                round = 1;
+            }
+            return round;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.gamerecs.gamerecs_backend.recommendation;
+
+import java.util.Arrays;
+
+/**
+ * Sparse user by game matrix of ratings, by default centered on each user's mean, held in primitive arrays.
+ * The matrix is stored twice, by user and by game in compressed sparse row form, so that both the games of a
+ * user and the users of a game are contiguous. Users and games are addressed by dense indexes assigned in
+ * ascending ID order.
+ */
+public final class RatingMatrix {
+
+    final long[] userIds;
+    final long[] gameIds;
+
+    /** The ratings of user {@code u} are at {@code userOffsets[u]} up to {@code userOffsets[u + 1]} */
+    final int[] userOffsets;
+    final int[] userGames;
+    final float[] userValues;
+
+    /** The ratings of game {@code g} are at {@code gameOffsets[g]} up to {@code gameOffsets[g + 1]} */
+    final int[] gameOffsets;
+    final int[] gameUsers;
+    final float[] gameValues;
+
+    private RatingMatrix(long[] userIds, long[] gameIds, int[] userOffsets, int[] userGames, float[] userValues,
+                         int[] gameOffsets, int[] gameUsers, float[] gameValues) {
+        this.userIds = userIds;
+        this.gameIds = gameIds;
+        this.userOffsets = userOffsets;
+        this.userGames = userGames;
+        this.userValues = userValues;
+        this.gameOffsets = gameOffsets;
+        this.gameUsers = gameUsers;
+        this.gameValues = gameValues;
+    }
+
+    /**
+     * Start a matrix
+     * @param expectedRatings the expected number of ratings, used to size the buffers
+     * @return a builder for the matrix
+     */
+    public static Builder builder(int expectedRatings) {
+        return new Builder(expectedRatings);
+    }
+
+    public int users() {
+        return userIds.length;
+    }
+
+    public int games() {
+        return gameIds.length;
+    }
+
+    public int ratings() {
+        return userGames.length;
+    }
+
+    /**
+     * Collects (user, game, value) triples before they are sorted into a matrix.
+     */
+    public static final class Builder {
+
+        private long[] users;
+        private long[] games;
+        private float[] values;
+        private int size;
+
+        private Builder(int expectedRatings) {
+            int capacity = Math.max(expectedRatings, 16);
+            users = new long[capacity];
+            games = new long[capacity];
+            values = new float[capacity];
+        }
+
+        /**
+         * Add a rating; each (user, game) pair must be added at most once
+         * @param userId the ID of the user
+         * @param gameId the ID of the game
+         * @param value the user-normalized rating
+         * @return this builder
+         */
+        public Builder add(long userId, long gameId, float value) {
+            if (size == users.length) {
+                int capacity = size + (size >> 1);
+                users = Arrays.copyOf(users, capacity);
+                games = Arrays.copyOf(games, capacity);
+                values = Arrays.copyOf(values, capacity);
+            }
+            users[size] = userId;
+            games[size] = gameId;
+            values[size] = value;
+            size++;
+            return this;
+        }
+
+        /**
+         * Sort the ratings into a matrix, centering them on each user's mean
+         * @return the matrix
+         */
+        public RatingMatrix build() {
+            return build(true);
+        }
+
+        /**
+         * Sort the ratings into a matrix
+         * @param centerOnUserMean whether to subtract each user's mean from their ratings
+         * @return the matrix
+         */
+        public RatingMatrix build(boolean centerOnUserMean) {
+            long[] userIds = distinct(users, size);
+            long[] gameIds = distinct(games, size);
+            int[] userOf = new int[size];
+            int[] gameOf = new int[size];
+            for (int i = 0; i < size; i++) {
+                userOf[i] = Arrays.binarySearch(userIds, users[i]);
+                gameOf[i] = Arrays.binarySearch(gameIds, games[i]);
+            }
+
+            int[] userOffsets = offsets(userOf, userIds.length, size);
+            int[] userGames = new int[size];
+            float[] userValues = new float[size];
+            int[] next = Arrays.copyOf(userOffsets, userIds.length);
+            for (int i = 0; i < size; i++) {
+                int slot = next[userOf[i]]++;
+                userGames[slot] = gameOf[i];
+                userValues[slot] = values[i];
+            }
+            if (centerOnUserMean) {
+                center(userOffsets, userValues, userIds.length);
+            }
+
+            int[] gameOffsets = offsets(gameOf, gameIds.length, size);
+            int[] gameUsers = new int[size];
+            float[] gameValues = new float[size];
+            next = Arrays.copyOf(gameOffsets, gameIds.length);
+            // Walking users in index order leaves the users of each game sorted
+            for (int u = 0; u < userIds.length; u++) {
+                for (int slot = userOffsets[u]; slot < userOffsets[u + 1]; slot++) {
+                    int target = next[userGames[slot]]++;
+                    gameUsers[target] = u;
+                    gameValues[target] = userValues[slot];
+                }
+            }
+            return new RatingMatrix(userIds, gameIds, userOffsets, userGames, userValues,
+                    gameOffsets, gameUsers, gameValues);
+        }
+
+        private static void center(int[] userOffsets, float[] userValues, int users) {
+            for (int u = 0; u < users; u++) {
+                int from = userOffsets[u];
+                int to = userOffsets[u + 1];
+                double sum = 0;
+                for (int slot = from; slot < to; slot++) {
+                    sum += userValues[slot];
+                }
+                float mean = (float) (sum / (to - from));
+                for (int slot = from; slot < to; slot++) {
+                    userValues[slot] -= mean;
+                }
+            }
+        }
+
+        private static long[] distinct(long[] ids, int size) {
+            long[] sorted = Arrays.copyOf(ids, size);
+            Arrays.sort(sorted);
+            int count = 0;
+            for (int i = 0; i < size; i++) {
+                if (count == 0 || sorted[count - 1] != sorted[i]) {
+                    sorted[count++] = sorted[i];
+                }
+            }
+            return Arrays.copyOf(sorted, count);
+        }
+
+        private static int[] offsets(int[] indexes, int rows, int size) {
+            int[] offsets = new int[rows + 1];
+            for (int i = 0; i < size; i++) {
+                offsets[indexes[i] + 1]++;
+            }
+            for (int row = 0; row < rows; row++) {
+                offsets[row + 1] += offsets[row];
+            }
+            return offsets;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.gamerecs.gamerecs_backend.recommendation;
+
+/**
+ * Bounded min-heap keeping the highest-scoring items offered to it, held in primitive arrays.
+ * Equal scores are ordered by ascending item so that results are deterministic.
+ * An instance is reused across rounds with {@link #clear()} and is not thread-safe.
+ */
+final class TopK {
+
+    private int[] items;
+    private float[] scores;
+    private int limit;
+    private int size;
+
+    TopK(int capacity) {
+        items = new int[capacity];
+        scores = new float[capacity];
+        limit = capacity;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    /**
+     * Empty the heap and change the number of items it keeps, growing it if needed
+     * @param limit the number of items to keep
+     */
+    void reset(int limit) {
+        if (limit > items.length) {
+            items = new int[limit];
+            scores = new float[limit];
+        }
+        this.limit = limit;
+        size = 0;
+    }
+
+    /**
+     * Offer an item, keeping it if it ranks among the best seen since the last clear
+     * @param item the item
+     * @param score the score of the item
+     */
+    void offer(int item, float score) {
+        if (limit == 0) {
+            return;
+        }
+        if (size < limit) {
+            items[size] = item;
+            scores[size] = score;
+            siftUp(size++);
+        } else if (worse(0, item, score)) {
+            items[0] = item;
+            scores[0] = score;
+            siftDown(0);
+        }
+    }
+
+    /**
+     * Empty the heap into arrays, best first
+     * @param itemsOut the array receiving the items
+     * @param scoresOut the array receiving the scores
+     * @param offset the position of the best item in the arrays
+     * @return the number of items written
+     */
+    int drainDescending(int[] itemsOut, float[] scoresOut, int offset) {
+        int count = size;
+        while (size > 0) {
+            int last = --size;
+            itemsOut[offset + last] = items[0];
+            scoresOut[offset + last] = scores[0];
+            items[0] = items[last];
+            scores[0] = scores[last];
+            siftDown(0);
+        }
+        return count;
+    }
+
+    /** Whether the entry at a heap position ranks below the given item */
+    private boolean worse(int position, int item, float score) {
+        float other = scores[position];
+        return other < score || (other == score && items[position] > item);
+    }
+
+    private void siftUp(int position) {
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (!worse(position, items[parent], scores[parent])) {
+                return;
+            }
+            swap(position, parent);
+            position = parent;
+        }
+    }
+
+    private void siftDown(int position) {
+        while (true) {
+            int child = 2 * position + 1;
+            if (child >= size) {
+                return;
+            }
+            if (child + 1 < size && worse(child + 1, items[child], scores[child])) {
+                child++;
+            }
+            if (!worse(child, items[position], scores[position])) {
+                return;
+            }
+            swap(position, child);
+            position = child;
+        }
+    }
+
+    private void swap(int a, int b) {
+        int item = items[a];
+        items[a] = items[b];
+        items[b] = item;
+        float score = scores[a];
+        scores[a] = scores[b];
+        scores[b] = score;
+    }
+}
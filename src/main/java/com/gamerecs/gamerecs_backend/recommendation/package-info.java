@@ -0,0 +1,5 @@
+/**
+ * Contains the collaborative filtering model behind game recommendations.
+ * The model is trained in memory from the Rating table by the recommendation service.
+ */
+package com.gamerecs.gamerecs_backend.recommendation;
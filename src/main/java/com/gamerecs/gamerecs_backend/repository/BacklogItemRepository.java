@@ -1,14 +1,18 @@
 package com.gamerecs.gamerecs_backend.repository;
 
+import com.gamerecs.gamerecs_backend.dto.BacklogStatusCount;
 import com.gamerecs.gamerecs_backend.model.BacklogItem;
 import com.gamerecs.gamerecs_backend.model.BacklogStatus;
 import com.gamerecs.gamerecs_backend.model.Game;
 import com.gamerecs.gamerecs_backend.model.User;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -36,6 +40,31 @@ public interface BacklogItemRepository extends JpaRepository<BacklogItem, Long>
      */
     Page<BacklogItem> findByUserAndStatus(User user, BacklogStatus status, Pageable pageable);
 
+    /**
+     * Find a user's backlog items after an item in ID order, with their games, without counting them
+     * @param user the user whose backlog items to find
+     * @param backlogItemId the ID of the last item already returned, 0 to start
+     * @param pageable the number of items to return, unsorted
+     * @return Slice of backlog items in ascending ID order
+     */
+    @Query("SELECT bi FROM BacklogItem bi JOIN FETCH bi.game WHERE bi.user = :user " +
+           "AND bi.backlogItemId > :backlogItemId ORDER BY bi.backlogItemId")
+    Slice<BacklogItem> findByUserAfterId(@Param("user") User user, @Param("backlogItemId") Long backlogItemId,
+                                         Pageable pageable);
+
+    /**
+     * Find a user's backlog items with a status after an item in ID order, with their games, without counting them
+     * @param user the user whose backlog items to find
+     * @param status the status to filter by
+     * @param backlogItemId the ID of the last item already returned, 0 to start
+     * @param pageable the number of items to return, unsorted
+     * @return Slice of backlog items in ascending ID order
+     */
+    @Query("SELECT bi FROM BacklogItem bi JOIN FETCH bi.game WHERE bi.user = :user AND bi.status = :status " +
+           "AND bi.backlogItemId > :backlogItemId ORDER BY bi.backlogItemId")
+    Slice<BacklogItem> findByUserAndStatusAfterId(@Param("user") User user, @Param("status") BacklogStatus status,
+                                                  @Param("backlogItemId") Long backlogItemId, Pageable pageable);
+
     /**
      * Find a specific backlog item by user and game
      * @param user the user
@@ -44,6 +73,28 @@ public interface BacklogItemRepository extends JpaRepository<BacklogItem, Long>
      */
     Optional<BacklogItem> findByUserAndGame(User user, Game game);
 
+    /**
+     * Find the IDs, game IDs and statuses of a user's backlog items for the given games, without loading entities
+     * @param user the user
+     * @param gameIds the IDs of the games
+     * @return List of Object arrays containing [backlogItemId, gameId, status]
+     */
+    @Query("SELECT bi.backlogItemId, bi.game.gameId, bi.status FROM BacklogItem bi " +
+           "WHERE bi.user = :user AND bi.game.gameId IN :gameIds")
+    List<Object[]> findItemStatusesByUserAndGameIds(@Param("user") User user,
+                                                    @Param("gameIds") Collection<Long> gameIds);
+
+    /**
+     * Set the status of several backlog items with one bulk update
+     * @param backlogItemIds the IDs of the backlog items
+     * @param status the new status
+     * @return the number of updated items
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE BacklogItem bi SET bi.status = :status WHERE bi.backlogItemId IN :backlogItemIds")
+    int updateStatusByIds(@Param("backlogItemIds") Collection<Long> backlogItemIds,
+                          @Param("status") BacklogStatus status);
+
     /**
      * Count backlog items for a user with a specific status
      * @param user the user
@@ -52,6 +103,31 @@ public interface BacklogItemRepository extends JpaRepository<BacklogItem, Long>
      */
     long countByUserAndStatus(User user, BacklogStatus status);
 
+    /**
+     * Count backlog items for a user per status in one grouped query
+     * @param user the user
+     * @return one count per status that has at least one item
+     */
+    @Query("SELECT new com.gamerecs.gamerecs_backend.dto.BacklogStatusCount(bi.status, COUNT(bi)) " +
+           "FROM BacklogItem bi WHERE bi.user = :user GROUP BY bi.status")
+    List<BacklogStatusCount> countByUserGroupByStatus(@Param("user") User user);
+
+    /**
+     * Count backlog items for a user per status in one grouped query
+     * @param userId the ID of the user
+     * @return one count per status that has at least one item
+     */
+    @Query("SELECT new com.gamerecs.gamerecs_backend.dto.BacklogStatusCount(bi.status, COUNT(bi)) " +
+           "FROM BacklogItem bi WHERE bi.user.userId = :userId GROUP BY bi.status")
+    List<BacklogStatusCount> countByUserIdGroupByStatus(@Param("userId") Long userId);
+
+    /**
+     * Count the backlog items of every user per status
+     * @return List of {userId, status, count} rows
+     */
+    @Query("SELECT bi.user.userId, bi.status, COUNT(bi) FROM BacklogItem bi GROUP BY bi.user.userId, bi.status")
+    List<Object[]> countGroupByUserAndStatus();
+
     /**
      * Find backlog items for a user with any of the specified statuses
      * @param user the user
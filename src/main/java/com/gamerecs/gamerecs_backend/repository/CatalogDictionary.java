@@ -0,0 +1,317 @@
+package com.gamerecs.gamerecs_backend.repository;
+
+import com.gamerecs.gamerecs_backend.model.CatalogNames;
+import com.gamerecs.gamerecs_backend.model.Game;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * In-memory copy of the genre and platform dictionaries, mapping names to their integer IDs and back.
+ * Each name is held once and shared by every game that has it. The dictionaries are loaded on first use and
+ * reloaded when an unknown ID is read. New names are added by {@link #resolve(Game)} in the transaction that
+ * saves the game, and become visible to other transactions once it commits. Databases holding genres and
+ * platforms as strings are moved to the dictionary tables on startup by {@link CatalogMigration}.
+ */
+@Component
+public class CatalogDictionary implements CatalogNames {
+
+    private final Dictionary genres;
+    private final Dictionary platforms;
+
+    /**
+     * The repositories are looked up on first use, since the game converters that use this dictionary are
+     * created with the entity manager factory the repositories need.
+     */
+    @Autowired
+    public CatalogDictionary(ObjectProvider<GenreRepository> genreRepository,
+                             ObjectProvider<PlatformRepository> platformRepository) {
+        genres = new Dictionary("genre",
+                () -> genreRepository.getObject().findAllNames(),
+                name -> {
+                    GenreRepository repository = genreRepository.getObject();
+                    repository.insertIfAbsent(name);
+                    return repository.findIdByName(name);
+                });
+        platforms = new Dictionary("platform",
+                () -> platformRepository.getObject().findAllNames(),
+                name -> {
+                    PlatformRepository repository = platformRepository.getObject();
+                    repository.insertIfAbsent(name);
+                    return repository.findIdByName(name);
+                });
+    }
+
+    /**
+     * Add the genres and platforms of a game that are not in the dictionaries yet, so that the game can be saved.
+     * Runs in the caller's transaction; the new names are visible to other transactions once it commits.
+     * @param game the game about to be saved
+     */
+    @Transactional
+    public void resolve(Game game) {
+        genres.resolve(game.getGenres());
+        platforms.resolve(game.getPlatforms());
+    }
+
+    /**
+     * Get the genre dictionary
+     * @return the genre dictionary
+     */
+    public Dictionary genres() {
+        return genres;
+    }
+
+    /**
+     * Get the platform dictionary
+     * @return the platform dictionary
+     */
+    public Dictionary platforms() {
+        return platforms;
+    }
+
+    @Override
+    public Integer genreId(String name) {
+        return genres.idOf(name);
+    }
+
+    @Override
+    public String genreName(Integer id) {
+        return genres.nameOf(id);
+    }
+
+    @Override
+    public Integer platformId(String name) {
+        return platforms.idOf(name);
+    }
+
+    @Override
+    public String platformName(Integer id) {
+        return platforms.nameOf(id);
+    }
+
+    /**
+     * The names and IDs of one dictionary table.
+     */
+    public static final class Dictionary {
+
+        private final String kind;
+        private final Supplier<List<Object[]>> loader;
+        private final Function<String, Integer> inserter;
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile Entries entries;
+
+        Dictionary(String kind, Supplier<List<Object[]>> loader, Function<String, Integer> inserter) {
+            this.kind = kind;
+            this.loader = loader;
+            this.inserter = inserter;
+        }
+
+        /**
+         * Get the ID of a name
+         * @param name the name
+         * @return the ID of the name, or null for a null name
+         * @throws IllegalStateException if the name has not been resolved
+         */
+        public Integer idOf(String name) {
+            if (name == null) {
+                return null;
+            }
+            Integer id = entries().ids.get(name);
+            if (id == null) {
+                Pending pending = pending();
+                id = pending != null ? pending.ids.get(name) : null;
+                if (id == null) {
+                    throw new IllegalStateException("Unresolved " + kind + ": " + name);
+                }
+            }
+            return id;
+        }
+
+        /**
+         * Get the name of an ID
+         * @param id the ID
+         * @return the shared instance of the name, or null for a null ID
+         * @throws IllegalStateException if the ID is not in the dictionary table
+         */
+        public String nameOf(Integer id) {
+            if (id == null) {
+                return null;
+            }
+            String name = entries().nameOf(id);
+            if (name == null) {
+                Pending pending = pending();
+                name = pending != null ? pending.nameOf(id) : null;
+            }
+            if (name == null) {
+                // Added by another instance since the dictionary was loaded
+                name = reload().nameOf(id);
+                if (name == null) {
+                    throw new IllegalStateException("Unknown " + kind + " ID: " + id);
+                }
+            }
+            return name;
+        }
+
+        /**
+         * Find the names equal to a name ignoring case
+         * @param name the name to look for
+         * @return the matching names, empty if there are none
+         */
+        public List<String> namesMatching(String name) {
+            List<String> matches = new ArrayList<>(1);
+            for (String candidate : entries().ids.keySet()) {
+                if (candidate.equalsIgnoreCase(name)) {
+                    matches.add(candidate);
+                }
+            }
+            return matches;
+        }
+
+        /**
+         * Add the names that are not in the dictionary yet, in the current transaction
+         * @param names the names, may be null
+         */
+        void resolve(Collection<String> names) {
+            if (names == null) {
+                return;
+            }
+            Map<String, Integer> added = new HashMap<>();
+            Pending pending = pending();
+            for (String name : names) {
+                if (name == null || entries().ids.containsKey(name) || added.containsKey(name)
+                        || (pending != null && pending.ids.containsKey(name))) {
+                    continue;
+                }
+                Integer id = inserter.apply(name);
+                if (id == null) {
+                    throw new IllegalStateException("Could not add " + kind + ": " + name);
+                }
+                added.put(name, id);
+            }
+            if (added.isEmpty()) {
+                return;
+            }
+            if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+                publish(added);
+                return;
+            }
+            if (pending == null) {
+                pending = new Pending(this);
+                TransactionSynchronizationManager.registerSynchronization(pending);
+            }
+            pending.ids.putAll(added);
+        }
+
+        /**
+         * Find the names added by the current transaction; they are registered with it, so that they are
+         * suspended with it too
+         */
+        private Pending pending() {
+            if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+                return null;
+            }
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                if (synchronization instanceof Pending pending && pending.dictionary == this) {
+                    return pending;
+                }
+            }
+            return null;
+        }
+
+        private void publish(Map<String, Integer> added) {
+            lock.lock();
+            try {
+                Map<String, Integer> ids = new HashMap<>(entries().ids);
+                ids.putAll(added);
+                entries = new Entries(ids);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private Entries entries() {
+            Entries current = entries;
+            return current != null ? current : reload();
+        }
+
+        private Entries reload() {
+            lock.lock();
+            try {
+                Map<String, Integer> ids = new HashMap<>();
+                for (Object[] row : loader.get()) {
+                    ids.put((String) row[1], (Integer) row[0]);
+                }
+                // The current transaction reads its own new names, which must not be shared before it commits
+                Pending pending = pending();
+                if (pending != null) {
+                    ids.keySet().removeAll(pending.ids.keySet());
+                }
+                Entries loaded = new Entries(ids);
+                entries = loaded;
+                return loaded;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Names added by one transaction, shared once it commits.
+     */
+    private static final class Pending implements TransactionSynchronization {
+
+        final Dictionary dictionary;
+        final Map<String, Integer> ids = new HashMap<>();
+
+        Pending(Dictionary dictionary) {
+            this.dictionary = dictionary;
+        }
+
+        String nameOf(int id) {
+            for (Map.Entry<String, Integer> entry : ids.entrySet()) {
+                if (entry.getValue() == id) {
+                    return entry.getKey();
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            if (status == STATUS_COMMITTED) {
+                dictionary.publish(ids);
+            }
+        }
+    }
+
+    /**
+     * Immutable snapshot of a dictionary, with the names indexed by ID in a plain array.
+     */
+    private static final class Entries {
+
+        final Map<String, Integer> ids;
+        final String[] names;
+
+        Entries(Map<String, Integer> ids) {
+            this.ids = ids;
+            int maxId = ids.values().stream().mapToInt(Integer::intValue).max().orElse(0);
+            names = new String[maxId + 1];
+            ids.forEach((name, id) -> names[id] = name);
+        }
+
+        String nameOf(int id) {
+            return id >= 0 && id < names.length ? names[id] : null;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.gamerecs.gamerecs_backend.repository;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * One-time move of game genres and platforms from the string collection tables used before the Genre and
+ * Platform dictionaries to the ID tables the entities map now.
+ * <p>
+ * Before: {@code game_genres (game_game_id, genres)}. After: {@code genre (genre_id, name)} and
+ * {@code game_genres (game_id, genre_id)}; platforms alike. The migration runs before Hibernate builds the
+ * entity manager factory, so a schema update never sees the old layout, and does nothing on a database that
+ * does not have it, including a new one. The old rows are kept in {@code game_genres_legacy} and
+ * {@code game_platforms_legacy}, to be dropped by hand once the migration is checked.
+ * Table and column names assume Spring Boot's default naming strategy (Game.GameID -> game.game_id).
+ */
+public class CatalogMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogMigration.class);
+
+    private final DataSource dataSource;
+
+    public CatalogMigration(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * Migrate the genres and platforms if the database still has the old layout, in one transaction
+     * @throws IllegalStateException if the migration fails; nothing is changed where DDL is transactional
+     */
+    public void migrate() {
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                int genres = migrate(connection, "game_genres", "genres", "genre", "genre_id");
+                int platforms = migrate(connection, "game_platforms", "platforms", "platform", "platform_id");
+                connection.commit();
+                if (genres >= 0 || platforms >= 0) {
+                    log.info("Migrated {} game genres and {} game platforms to the dictionary tables; the old " +
+                            "rows are kept in the *_legacy tables", Math.max(genres, 0), Math.max(platforms, 0));
+                }
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not migrate game genres and platforms to the dictionary tables", e);
+        }
+    }
+
+    /**
+     * @return the number of migrated rows, or -1 if the collection table does not have the old layout
+     */
+    private static int migrate(Connection connection, String collection, String value, String dictionary,
+                               String dictionaryId) throws SQLException {
+        if (!hasColumn(connection.getMetaData(), collection, value)) {
+            return -1;
+        }
+        String legacy = collection + "_legacy";
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS " + dictionary + " (" +
+                    dictionaryId + " INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, " +
+                    "name VARCHAR(255) NOT NULL UNIQUE)");
+            statement.executeUpdate("INSERT INTO " + dictionary + " (name) " +
+                    "SELECT DISTINCT l." + value + " FROM " + collection + " l WHERE l." + value + " IS NOT NULL " +
+                    "AND NOT EXISTS (SELECT 1 FROM " + dictionary + " d WHERE d.name = l." + value + ")");
+            statement.execute("ALTER TABLE " + collection + " RENAME TO " + legacy);
+            statement.execute("CREATE TABLE " + collection + " (game_id BIGINT NOT NULL, " +
+                    dictionaryId + " INTEGER NOT NULL)");
+            int rows = statement.executeUpdate("INSERT INTO " + collection + " (game_id, " + dictionaryId + ") " +
+                    "SELECT l.game_game_id, d." + dictionaryId + " FROM " + legacy + " l " +
+                    "JOIN " + dictionary + " d ON d.name = l." + value);
+            statement.execute("CREATE INDEX idx_" + collection + "_game_id ON " + collection + " (game_id)");
+            return rows;
+        }
+    }
+
+    private static boolean hasColumn(DatabaseMetaData metaData, String table, String column) throws SQLException {
+        // Unquoted names are stored lower case by PostgreSQL and upper case by H2
+        return hasExactColumn(metaData, table, column)
+                || hasExactColumn(metaData, table.toUpperCase(Locale.ROOT), column.toUpperCase(Locale.ROOT));
+    }
+
+    private static boolean hasExactColumn(DatabaseMetaData metaData, String table, String column)
+            throws SQLException {
+        try (ResultSet columns = metaData.getColumns(null, null, table, column)) {
+            return columns.next();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.gamerecs.gamerecs_backend.repository;
+
+import com.gamerecs.gamerecs_backend.model.GameRatingStats;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for GameRatingStats entity operations.
+ */
+@Repository
+public interface GameRatingStatsRepository extends JpaRepository<GameRatingStats, Long>, GameRatingStatsRepositoryCustom {
+
+    /**
+     * Find the rating summary of a game and lock it until the end of the transaction
+     * @param gameId the ID of the game
+     * @return Optional containing the locked summary if it exists
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM GameRatingStats s WHERE s.gameId = :gameId")
+    Optional<GameRatingStats> findByIdForUpdate(@Param("gameId") Long gameId);
+
+    /**
+     * Find the histograms of the summaries in a range of game IDs without loading the entities
+     * @param fromGameId the first game ID of the range
+     * @param toGameId the last game ID of the range
+     * @return List of {gameId, histogram} pairs
+     */
+    @Query("SELECT s.gameId, s.histogram FROM GameRatingStats s WHERE s.gameId BETWEEN :fromGameId AND :toGameId")
+    List<Object[]> findHistogramsBetween(@Param("fromGameId") Long fromGameId, @Param("toGameId") Long toGameId);
+
+    /**
+     * Find the highest game ID with a summary
+     * @return the highest game ID, or null if there are no summaries
+     */
+    @Query("SELECT MAX(s.gameId) FROM GameRatingStats s")
+    Long findMaxGameId();
+}
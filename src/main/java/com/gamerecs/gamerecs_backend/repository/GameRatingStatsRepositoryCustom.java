@@ -0,0 +1,16 @@
+package com.gamerecs.gamerecs_backend.repository;
+
+/**
+ * Custom rating summary operations that cannot be expressed as derived or annotated queries.
+ */
+public interface GameRatingStatsRepositoryCustom {
+
+    /**
+     * Create an empty summary row for a game unless one exists.
+     * Uses {@code INSERT ... ON CONFLICT DO NOTHING}, so two transactions creating the row at once do not fail:
+     * the second waits for the first to commit and then inserts nothing.
+     * @param gameId the ID of the game
+     * @return 1 if the row was created by this call, 0 if it already existed
+     */
+    int insertIfAbsent(Long gameId);
+}
@@ -0,0 +1,47 @@
+package com.gamerecs.gamerecs_backend.repository;
+
+import com.gamerecs.gamerecs_backend.model.GameRatingStats;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Implementation of {@link GameRatingStatsRepositoryCustom}, picked up by Spring Data through the {@code Impl} suffix.
+ */
+public class GameRatingStatsRepositoryImpl implements GameRatingStatsRepositoryCustom {
+
+    private static final byte[] EMPTY_HISTOGRAM =
+            new GameRatingStats.HistogramConverter().convertToDatabaseColumn(new int[GameRatingStats.BUCKETS]);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final String insertSql;
+
+    @Autowired
+    public GameRatingStatsRepositoryImpl(EntityManagerFactory entityManagerFactory) {
+        // Column names follow the configured naming strategy, so they are taken from the mapping
+        AbstractEntityPersister persister = (AbstractEntityPersister) entityManagerFactory
+                .unwrap(SessionFactoryImplementor.class)
+                .getMappingMetamodel()
+                .getEntityDescriptor(GameRatingStats.class);
+        this.insertSql = "INSERT INTO " + persister.getTableName() + " ("
+                + persister.getIdentifierColumnNames()[0] + ", "
+                + persister.getPropertyColumnNames("ratingSum")[0] + ", "
+                + persister.getPropertyColumnNames("ratingCount")[0] + ", "
+                + persister.getPropertyColumnNames("histogram")[0] + ", "
+                + persister.getPropertyColumnNames("version")[0] + ")"
+                + " VALUES (:gameId, 0, 0, :histogram, 0) ON CONFLICT DO NOTHING";
+    }
+
+    @Override
+    public int insertIfAbsent(Long gameId) {
+        return entityManager.createNativeQuery(insertSql)
+                .setParameter("gameId", gameId)
+                .setParameter("histogram", EMPTY_HISTOGRAM)
+                .executeUpdate();
+    }
+}
@@ -1,9 +1,12 @@
 package com.gamerecs.gamerecs_backend.repository;
 
 import com.gamerecs.gamerecs_backend.model.Game;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -32,22 +35,22 @@ public interface GameRepository extends JpaRepository<Game, Long> {
     Page<Game> findByTitleContainingIgnoreCase(String title, Pageable pageable);
     
     /**
-     * Find games by genre
-     * @param genre the genre to search for
+     * Find games by genre. Genres are compared by dictionary ID, so the names must be spelled as stored.
+     * @param genres the genre names to search for
      * @param pageable pagination information
-     * @return Page of games with the specified genre
+     * @return Page of games with any of the specified genres
      */
-    @Query("SELECT g FROM Game g JOIN g.genres genre WHERE LOWER(genre) = LOWER(:genre)")
-    Page<Game> findByGenre(@Param("genre") String genre, Pageable pageable);
+    @Query("SELECT DISTINCT g FROM Game g JOIN g.genres genre WHERE genre IN :genres")
+    Page<Game> findByGenreIn(@Param("genres") Collection<String> genres, Pageable pageable);
     
     /**
-     * Find games by platform
-     * @param platform the platform to search for
+     * Find games by platform. Platforms are compared by dictionary ID, so the names must be spelled as stored.
+     * @param platforms the platform names to search for
      * @param pageable pagination information
-     * @return Page of games available on the specified platform
+     * @return Page of games available on any of the specified platforms
      */
-    @Query("SELECT g FROM Game g JOIN g.platforms platform WHERE LOWER(platform) = LOWER(:platform)")
-    Page<Game> findByPlatform(@Param("platform") String platform, Pageable pageable);
+    @Query("SELECT DISTINCT g FROM Game g JOIN g.platforms platform WHERE platform IN :platforms")
+    Page<Game> findByPlatformIn(@Param("platforms") Collection<String> platforms, Pageable pageable);
     
     /**
      * Find games by developer
@@ -65,6 +68,62 @@ public interface GameRepository extends JpaRepository<Game, Long> {
      */
     Page<Game> findByPublisherIgnoreCase(String publisher, Pageable pageable);
     
+    /**
+     * Find the games after a game in ID order, without counting them
+     * @param gameId the ID of the last game already returned, 0 to start
+     * @param pageable the number of games to return, unsorted
+     * @return Slice of games in ascending ID order
+     */
+    @Query("SELECT g FROM Game g WHERE g.gameId > :gameId ORDER BY g.gameId")
+    Slice<Game> findAfterId(@Param("gameId") Long gameId, Pageable pageable);
+
+    /**
+     * Find the games after a game in title order, without counting them
+     * @param title the title of the last game already returned, empty to start
+     * @param gameId the ID of the last game already returned, 0 to start
+     * @param pageable the number of games to return, unsorted
+     * @return Slice of games in ascending title then ID order
+     */
+    @Query("SELECT g FROM Game g WHERE g.title > :title OR (g.title = :title AND g.gameId > :gameId) " +
+           "ORDER BY g.title, g.gameId")
+    Slice<Game> findAfterTitle(@Param("title") String title, @Param("gameId") Long gameId, Pageable pageable);
+
+    /**
+     * Find the ID and title of every game, without loading the games
+     * @return List of {gameId, title} pairs
+     */
+    @Query("SELECT g.gameId, g.title FROM Game g")
+    List<Object[]> findAllIdsAndTitles();
+    
+    /**
+     * Find the searchable names and the rating count of every game, without loading the games
+     * @return List of {gameId, title, developer, publisher, ratingCount} rows
+     */
+    @Query("SELECT g.gameId, g.title, g.developer, g.publisher, COALESCE(s.ratingCount, 0) " +
+           "FROM Game g LEFT JOIN GameRatingStats s ON s.gameId = g.gameId")
+    List<Object[]> findSuggestionRows();
+
+    /**
+     * Find the developer and publisher of every game, without loading the games
+     * @return List of {gameId, developer, publisher} rows
+     */
+    @Query("SELECT g.gameId, g.developer, g.publisher FROM Game g")
+    List<Object[]> findCompanyRows();
+
+    /**
+     * Find every genre of every game, without loading the games
+     * @return List of {gameId, genre} pairs
+     */
+    @Query("SELECT g.gameId, genre FROM Game g JOIN g.genres genre")
+    List<Object[]> findGenreRows();
+
+    /**
+     * Find every platform of every game, without loading the games
+     * @return List of {gameId, platform} pairs
+     */
+    @Query("SELECT g.gameId, platform FROM Game g JOIN g.platforms platform")
+    List<Object[]> findPlatformRows();
+
     /**
      * Check if a game exists by IGDB ID
      * @param igdbId the IGDB ID to check
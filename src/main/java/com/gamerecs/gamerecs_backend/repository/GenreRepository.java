@@ -0,0 +1,36 @@
+package com.gamerecs.gamerecs_backend.repository;
+
+import com.gamerecs.gamerecs_backend.model.Genre;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import jakarta.persistence.QueryHint;
+import java.util.List;
+
+/**
+ * Repository interface for the Genre dictionary.
+ */
+@Repository
+public interface GenreRepository extends JpaRepository<Genre, Integer>, GenreRepositoryCustom {
+
+    /**
+     * Find the ID of a genre name
+     * @param name the genre name
+     * @return the ID, or null if the name is not in the dictionary
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT"))
+    @Query("SELECT e.genreId FROM Genre e WHERE e.name = :name")
+    Integer findIdByName(@Param("name") String name);
+
+    /**
+     * Find the ID and name of every genre, without flushing pending changes first
+     * @return List of {id, name} pairs
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT"))
+    @Query("SELECT e.genreId, e.name FROM Genre e")
+    List<Object[]> findAllNames();
+}
@@ -0,0 +1,23 @@
+package com.gamerecs.gamerecs_backend.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.FlushModeType;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Implementation of {@link GenreRepositoryCustom}, picked up by Spring Data through the {@code Impl} suffix.
+ */
+public class GenreRepositoryImpl implements GenreRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int insertIfAbsent(String name) {
+        // Hibernate renders the conflict clause for the dialect; Spring Data's query parser rejects it
+        return entityManager.createQuery("INSERT INTO Genre (name) VALUES (:name) ON CONFLICT DO NOTHING")
+                .setParameter("name", name)
+                .setFlushMode(FlushModeType.COMMIT)
+                .executeUpdate();
+    }
+}
@@ -0,0 +1,36 @@
+package com.gamerecs.gamerecs_backend.repository;
+
+import com.gamerecs.gamerecs_backend.model.Platform;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import jakarta.persistence.QueryHint;
+import java.util.List;
+
+/**
+ * Repository interface for the Platform dictionary.
+ */
+@Repository
+public interface PlatformRepository extends JpaRepository<Platform, Integer>, PlatformRepositoryCustom {
+
+    /**
+     * Find the ID of a platform name
+     * @param name the platform name
+     * @return the ID, or null if the name is not in the dictionary
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT"))
+    @Query("SELECT e.platformId FROM Platform e WHERE e.name = :name")
+    Integer findIdByName(@Param("name") String name);
+
+    /**
+     * Find the ID and name of every platform, without flushing pending changes first
+     * @return List of {id, name} pairs
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT"))
+    @Query("SELECT e.platformId, e.name FROM Platform e")
+    List<Object[]> findAllNames();
+}
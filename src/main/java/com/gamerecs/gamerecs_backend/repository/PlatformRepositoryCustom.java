@@ -0,0 +1,16 @@
+package com.gamerecs.gamerecs_backend.repository;
+
+/**
+ * Custom platform dictionary operations that cannot be expressed as derived or annotated queries.
+ */
+public interface PlatformRepositoryCustom {
+
+    /**
+     * Insert a platform name unless it is in the dictionary already, including when another transaction inserts it
+     * concurrently. Pending changes are not flushed first, since they may reference names not resolved yet.
+     * Must run in a transaction.
+     * @param name the platform name
+     * @return the number of inserted rows, 0 or 1
+     */
+    int insertIfAbsent(String name);
+}
@@ -0,0 +1,23 @@
+package com.gamerecs.gamerecs_backend.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.FlushModeType;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Implementation of {@link PlatformRepositoryCustom}, picked up by Spring Data through the {@code Impl} suffix.
+ */
+public class PlatformRepositoryImpl implements PlatformRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int insertIfAbsent(String name) {
+        // Hibernate renders the conflict clause for the dialect; Spring Data's query parser rejects it
+        return entityManager.createQuery("INSERT INTO Platform (name) VALUES (:name) ON CONFLICT DO NOTHING")
+                .setParameter("name", name)
+                .setFlushMode(FlushModeType.COMMIT)
+                .executeUpdate();
+    }
+}
@@ -1,24 +1,32 @@
 package com.gamerecs.gamerecs_backend.repository;
 
+import com.gamerecs.gamerecs_backend.dto.UserGameRating;
 import com.gamerecs.gamerecs_backend.model.Rating;
 import com.gamerecs.gamerecs_backend.model.User;
 import com.gamerecs.gamerecs_backend.model.Game;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Rating entity operations.
  * Extends JpaRepository to inherit basic CRUD operations and pagination support.
  */
 @Repository
-public interface RatingRepository extends JpaRepository<Rating, Long> {
+public interface RatingRepository extends JpaRepository<Rating, Long>, RatingRepositoryCustom {
     
     /**
      * Find a rating by user and game
@@ -28,6 +36,17 @@ public interface RatingRepository extends JpaRepository<Rating, Long> {
      */
     Optional<Rating> findByUserAndGame(User user, Game game);
     
+    /**
+     * Find a user's ratings of several games with a single query, without loading the games
+     * @param userId the ID of the user
+     * @param gameIds the IDs of the games
+     * @return the ratings of those games the user has rated
+     */
+    @Query("SELECT new com.gamerecs.gamerecs_backend.dto.UserGameRating(r.game.gameId, r.ratingValue, " +
+           "r.percentileRank, r.dateUpdated) FROM Rating r WHERE r.user.userId = :userId AND r.game.gameId IN :gameIds")
+    List<UserGameRating> findUserRatingsForGames(@Param("userId") Long userId,
+                                                 @Param("gameIds") Collection<Long> gameIds);
+    
     /**
      * Find all ratings by user ordered by rating value in ascending order
      * @param user the user whose ratings to find
@@ -51,6 +70,58 @@ public interface RatingRepository extends JpaRepository<Rating, Long> {
      */
     Page<Rating> findByGame(Game game, Pageable pageable);
     
+    /**
+     * Find the ratings of a game after a rating, most recently updated first, without counting them
+     * @param game the game
+     * @param dateUpdated the update date of the last rating already returned
+     * @param ratingId the ID of the last rating already returned
+     * @param pageable the number of ratings to return, unsorted
+     * @return Slice of ratings by descending update date then ID
+     */
+    @Query("SELECT r FROM Rating r WHERE r.game = :game AND (r.dateUpdated < :dateUpdated " +
+           "OR (r.dateUpdated = :dateUpdated AND r.ratingId < :ratingId)) ORDER BY r.dateUpdated DESC, r.ratingId DESC")
+    Slice<Rating> findByGameBeforeDate(@Param("game") Game game, @Param("dateUpdated") LocalDateTime dateUpdated,
+                                       @Param("ratingId") Long ratingId, Pageable pageable);
+
+    /**
+     * Find the ratings of a game after a rating, highest first, without counting them
+     * @param game the game
+     * @param ratingValue the value of the last rating already returned
+     * @param ratingId the ID of the last rating already returned
+     * @param pageable the number of ratings to return, unsorted
+     * @return Slice of ratings by descending value then ID
+     */
+    @Query("SELECT r FROM Rating r WHERE r.game = :game AND (r.ratingValue < :ratingValue " +
+           "OR (r.ratingValue = :ratingValue AND r.ratingId < :ratingId)) ORDER BY r.ratingValue DESC, r.ratingId DESC")
+    Slice<Rating> findByGameBeforeValue(@Param("game") Game game, @Param("ratingValue") Integer ratingValue,
+                                        @Param("ratingId") Long ratingId, Pageable pageable);
+
+    /**
+     * Find the ratings of a user after a rating, most recently updated first, without counting them
+     * @param user the user
+     * @param dateUpdated the update date of the last rating already returned
+     * @param ratingId the ID of the last rating already returned
+     * @param pageable the number of ratings to return, unsorted
+     * @return Slice of ratings by descending update date then ID
+     */
+    @Query("SELECT r FROM Rating r WHERE r.user = :user AND (r.dateUpdated < :dateUpdated " +
+           "OR (r.dateUpdated = :dateUpdated AND r.ratingId < :ratingId)) ORDER BY r.dateUpdated DESC, r.ratingId DESC")
+    Slice<Rating> findByUserBeforeDate(@Param("user") User user, @Param("dateUpdated") LocalDateTime dateUpdated,
+                                       @Param("ratingId") Long ratingId, Pageable pageable);
+
+    /**
+     * Find the ratings of a user after a rating, highest first, without counting them
+     * @param user the user
+     * @param ratingValue the value of the last rating already returned
+     * @param ratingId the ID of the last rating already returned
+     * @param pageable the number of ratings to return, unsorted
+     * @return Slice of ratings by descending value then ID
+     */
+    @Query("SELECT r FROM Rating r WHERE r.user = :user AND (r.ratingValue < :ratingValue " +
+           "OR (r.ratingValue = :ratingValue AND r.ratingId < :ratingId)) ORDER BY r.ratingValue DESC, r.ratingId DESC")
+    Slice<Rating> findByUserBeforeValue(@Param("user") User user, @Param("ratingValue") Integer ratingValue,
+                                        @Param("ratingId") Long ratingId, Pageable pageable);
+
     /**
      * Calculate the average rating for a game
      * @param gameId the ID of the game
@@ -75,6 +146,73 @@ public interface RatingRepository extends JpaRepository<Rating, Long> {
      */
     Page<Rating> findByUserAndRatingValueGreaterThanEqual(User user, Integer threshold, Pageable pageable);
     
+    /**
+     * Find the IDs of all users who rated a game
+     * @param game the game
+     * @return List of distinct user IDs
+     */
+    @Query("SELECT DISTINCT r.user.userId FROM Rating r WHERE r.game = :game")
+    List<Long> findUserIdsByGame(@Param("game") Game game);
+    
+    /**
+     * Find the game ID and rating value of every rating by a user
+     * @param user the user
+     * @return List of {gameId, ratingValue} pairs
+     */
+    @Query("SELECT r.game.gameId, r.ratingValue FROM Rating r WHERE r.user = :user")
+    List<Object[]> findGameIdsAndValuesByUser(@Param("user") User user);
+    
+    /**
+     * Find the game ID, rating value and percentile rank of every rating by a user
+     * @param userId the ID of the user
+     * @return List of {gameId, ratingValue, percentileRank} triples
+     */
+    @Query("SELECT r.game.gameId, r.ratingValue, r.percentileRank FROM Rating r WHERE r.user.userId = :userId")
+    List<Object[]> findRatingSignalsByUser(@Param("userId") Long userId);
+    
+    /**
+     * Stream the user ID, game ID, rating value and percentile rank of every rating, without loading the ratings.
+     * The stream must be consumed inside a transaction and closed.
+     * @return Stream of {userId, gameId, ratingValue, percentileRank} rows
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT r.user.userId, r.game.gameId, r.ratingValue, r.percentileRank FROM Rating r")
+    Stream<Object[]> streamRatingSignals();
+    
+    /**
+     * Count the ratings of a game per rating value
+     * @param gameId the ID of the game
+     * @return List of {ratingValue, count} pairs
+     */
+    @Query("SELECT r.ratingValue, COUNT(r) FROM Rating r WHERE r.game.gameId = :gameId GROUP BY r.ratingValue")
+    List<Object[]> countRatingsByValueForGame(@Param("gameId") Long gameId);
+    
+    /**
+     * Count the ratings of a user per rating value
+     * @param userId the ID of the user
+     * @return List of {ratingValue, count} pairs
+     */
+    @Query("SELECT r.ratingValue, COUNT(r) FROM Rating r WHERE r.user.userId = :userId GROUP BY r.ratingValue")
+    List<Object[]> countRatingsByValueForUser(@Param("userId") Long userId);
+    
+    /**
+     * Count the ratings of the games in a range of game IDs per game and rating value
+     * @param fromGameId the first game ID of the range
+     * @param toGameId the last game ID of the range
+     * @return List of {gameId, ratingValue, count} triples
+     */
+    @Query("SELECT r.game.gameId, r.ratingValue, COUNT(r) FROM Rating r " +
+           "WHERE r.game.gameId BETWEEN :fromGameId AND :toGameId GROUP BY r.game.gameId, r.ratingValue")
+    List<Object[]> countRatingsByGameAndValueBetween(@Param("fromGameId") Long fromGameId,
+                                                     @Param("toGameId") Long toGameId);
+
+    /**
+     * Find the highest ID of a rated game
+     * @return the highest game ID, or null if there are no ratings
+     */
+    @Query("SELECT MAX(r.game.gameId) FROM Rating r")
+    Long findMaxRatedGameId();
+    
     /**
      * Delete all ratings for a specific game
      * @param game the game whose ratings should be deleted
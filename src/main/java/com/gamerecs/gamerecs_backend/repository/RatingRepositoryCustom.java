@@ -0,0 +1,19 @@
+package com.gamerecs.gamerecs_backend.repository;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Custom rating operations that cannot be expressed as derived or annotated queries.
+ */
+public interface RatingRepositoryCustom {
+
+    /**
+     * Set the percentile rank of a user's ratings by rating value in a single bulk update.
+     * Only rows whose rank actually changes are written.
+     * @param userId the ID of the user whose ratings to update
+     * @param ranksByValue the new percentile rank for each rating value
+     * @return the IDs of the games whose rating by the user was updated
+     */
+    List<Long> updatePercentileRanks(Long userId, Map<Integer, Integer> ranksByValue);
+}
@@ -0,0 +1,56 @@
+package com.gamerecs.gamerecs_backend.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementation of {@link RatingRepositoryCustom}, picked up by Spring Data through the {@code Impl} suffix.
+ */
+public class RatingRepositoryImpl implements RatingRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Long> updatePercentileRanks(Long userId, Map<Integer, Integer> ranksByValue) {
+        if (ranksByValue.isEmpty()) {
+            return List.of();
+        }
+        // Values and ranks are bound, and the CASE is padded to a power of two branches, so only a handful
+        // of distinct statements reach the query plan cache
+        int branches = ranksByValue.size() == 1 ? 1 : Integer.highestOneBit(ranksByValue.size() - 1) << 1;
+        StringBuilder rankByValue = new StringBuilder("CASE r.ratingValue");
+        for (int i = 0; i < branches; i++) {
+            rankByValue.append(" WHEN :value").append(i).append(" THEN :rank").append(i);
+        }
+        rankByValue.append(" END");
+        String where = " WHERE r.user.userId = :userId AND r.ratingValue IN :values" +
+                " AND (r.percentileRank IS NULL OR r.percentileRank <> " + rankByValue + ")";
+
+        List<Long> gameIds = bind(entityManager.createQuery("SELECT r.game.gameId FROM Rating r" + where, Long.class),
+                userId, ranksByValue, branches).getResultList();
+        if (!gameIds.isEmpty()) {
+            bind(entityManager.createQuery("UPDATE Rating r SET r.percentileRank = " + rankByValue + where),
+                    userId, ranksByValue, branches).executeUpdate();
+        }
+        return gameIds;
+    }
+
+    private static <Q extends Query> Q bind(Q query, Long userId, Map<Integer, Integer> ranksByValue, int branches) {
+        List<Map.Entry<Integer, Integer>> entries = new ArrayList<>(ranksByValue.entrySet());
+        for (int i = 0; i < branches; i++) {
+            // Padding branches repeat the last entry, which leaves the result unchanged
+            Map.Entry<Integer, Integer> entry = entries.get(Math.min(i, entries.size() - 1));
+            query.setParameter("value" + i, entry.getKey());
+            query.setParameter("rank" + i, entry.getValue());
+        }
+        query.setParameter("userId", userId);
+        query.setParameter("values", ranksByValue.keySet());
+        return query;
+    }
+}
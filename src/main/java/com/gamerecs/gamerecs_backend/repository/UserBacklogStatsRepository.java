@@ -0,0 +1,26 @@
+package com.gamerecs.gamerecs_backend.repository;
+
+import com.gamerecs.gamerecs_backend.model.UserBacklogStats;
+import jakarta.persistence.LockModeType;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for UserBacklogStats entity operations.
+ */
+@Repository
+public interface UserBacklogStatsRepository extends JpaRepository<UserBacklogStats, Long>, UserBacklogStatsRepositoryCustom {
+
+    /**
+     * Find the backlog counters of a user and lock them until the end of the transaction
+     * @param userId the ID of the user
+     * @return Optional containing the locked counters if they exist
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM UserBacklogStats s WHERE s.userId = :userId")
+    Optional<UserBacklogStats> findByIdForUpdate(@Param("userId") Long userId);
+}
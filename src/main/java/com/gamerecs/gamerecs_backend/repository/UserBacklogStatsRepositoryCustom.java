@@ -0,0 +1,16 @@
+package com.gamerecs.gamerecs_backend.repository;
+
+/**
+ * Custom backlog counter operations that cannot be expressed as derived or annotated queries.
+ */
+public interface UserBacklogStatsRepositoryCustom {
+
+    /**
+     * Create zeroed backlog counters for a user unless they exist.
+     * Uses {@code INSERT ... ON CONFLICT DO NOTHING}, so two transactions creating the row at once do not fail:
+     * the second waits for the first to commit and then inserts nothing.
+     * @param userId the ID of the user
+     * @return 1 if the row was created by this call, 0 if it already existed
+     */
+    int insertIfAbsent(Long userId);
+}
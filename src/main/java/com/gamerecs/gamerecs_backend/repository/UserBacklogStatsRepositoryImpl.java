@@ -0,0 +1,44 @@
+package com.gamerecs.gamerecs_backend.repository;
+
+import com.gamerecs.gamerecs_backend.model.UserBacklogStats;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Implementation of {@link UserBacklogStatsRepositoryCustom}, picked up by Spring Data through the {@code Impl} suffix.
+ */
+public class UserBacklogStatsRepositoryImpl implements UserBacklogStatsRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final String insertSql;
+
+    @Autowired
+    public UserBacklogStatsRepositoryImpl(EntityManagerFactory entityManagerFactory) {
+        // Column names follow the configured naming strategy, so they are taken from the mapping
+        AbstractEntityPersister persister = (AbstractEntityPersister) entityManagerFactory
+                .unwrap(SessionFactoryImplementor.class)
+                .getMappingMetamodel()
+                .getEntityDescriptor(UserBacklogStats.class);
+        this.insertSql = "INSERT INTO " + persister.getTableName() + " ("
+                + persister.getIdentifierColumnNames()[0] + ", "
+                + persister.getPropertyColumnNames("toPlayCount")[0] + ", "
+                + persister.getPropertyColumnNames("inProgressCount")[0] + ", "
+                + persister.getPropertyColumnNames("completedCount")[0] + ", "
+                + persister.getPropertyColumnNames("abandonedCount")[0] + ", "
+                + persister.getPropertyColumnNames("version")[0] + ")"
+                + " VALUES (:userId, 0, 0, 0, 0, 0) ON CONFLICT DO NOTHING";
+    }
+
+    @Override
+    public int insertIfAbsent(Long userId) {
+        return entityManager.createNativeQuery(insertSql)
+                .setParameter("userId", userId)
+                .executeUpdate();
+    }
+}
@@ -0,0 +1,127 @@
+package com.gamerecs.gamerecs_backend.repository.reactive;
+
+import com.gamerecs.gamerecs_backend.model.Game;
+import com.gamerecs.gamerecs_backend.model.GameRatingStats;
+import com.gamerecs.gamerecs_backend.model.Genre;
+import com.gamerecs.gamerecs_backend.model.Platform;
+import com.gamerecs.gamerecs_backend.model.Rating;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.metamodel.spi.MappingMetamodelImplementor;
+import org.hibernate.persister.collection.AbstractCollectionPersister;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Table and column names of the catalog as mapped by Hibernate.
+ * The reactive repositories write plain SQL; reading the names from the JPA mapping keeps that SQL in line
+ * with the entities and whatever physical naming strategy is configured.
+ */
+@Component
+@ConditionalOnProperty(name = "app.reactive.enabled", havingValue = "true")
+public class CatalogTables {
+
+    final String game;
+    final String gameId;
+    final String gameIgdbId;
+    final String gameTitle;
+    final String gameReleaseDate;
+    final String gameDescription;
+    final String gameCoverImageUrl;
+    final String gameDeveloper;
+    final String gamePublisher;
+
+    final String genres;
+    final String genresGameId;
+    final String genresValue;
+    final String genre;
+    final String genreId;
+    final String genreName;
+
+    final String platforms;
+    final String platformsGameId;
+    final String platformsValue;
+    final String platform;
+    final String platformId;
+    final String platformName;
+
+    final String rating;
+    final String ratingId;
+    final String ratingUserId;
+    final String ratingGameId;
+    final String ratingValue;
+    final String ratingPercentileRank;
+    final String ratingDateUpdated;
+
+    final String stats;
+    final String statsGameId;
+    final String statsRatingSum;
+    final String statsRatingCount;
+
+    @Autowired
+    public CatalogTables(EntityManagerFactory entityManagerFactory) {
+        MappingMetamodelImplementor metamodel = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getMappingMetamodel();
+
+        AbstractEntityPersister gamePersister = entity(metamodel, Game.class);
+        game = gamePersister.getTableName();
+        gameId = gamePersister.getIdentifierColumnNames()[0];
+        gameIgdbId = column(gamePersister, "igdbId");
+        gameTitle = column(gamePersister, "title");
+        gameReleaseDate = column(gamePersister, "releaseDate");
+        gameDescription = column(gamePersister, "description");
+        gameCoverImageUrl = column(gamePersister, "coverImageURL");
+        gameDeveloper = column(gamePersister, "developer");
+        gamePublisher = column(gamePersister, "publisher");
+
+        AbstractCollectionPersister genresPersister = collection(metamodel, Game.class, "genres");
+        genres = genresPersister.getTableName();
+        genresGameId = genresPersister.getKeyColumnNames()[0];
+        genresValue = genresPersister.getElementColumnNames()[0];
+
+        AbstractEntityPersister genrePersister = entity(metamodel, Genre.class);
+        genre = genrePersister.getTableName();
+        genreId = genrePersister.getIdentifierColumnNames()[0];
+        genreName = column(genrePersister, "name");
+
+        AbstractCollectionPersister platformsPersister = collection(metamodel, Game.class, "platforms");
+        platforms = platformsPersister.getTableName();
+        platformsGameId = platformsPersister.getKeyColumnNames()[0];
+        platformsValue = platformsPersister.getElementColumnNames()[0];
+
+        AbstractEntityPersister platformPersister = entity(metamodel, Platform.class);
+        platform = platformPersister.getTableName();
+        platformId = platformPersister.getIdentifierColumnNames()[0];
+        platformName = column(platformPersister, "name");
+
+        AbstractEntityPersister ratingPersister = entity(metamodel, Rating.class);
+        rating = ratingPersister.getTableName();
+        ratingId = ratingPersister.getIdentifierColumnNames()[0];
+        ratingUserId = column(ratingPersister, "user");
+        ratingGameId = column(ratingPersister, "game");
+        ratingValue = column(ratingPersister, "ratingValue");
+        ratingPercentileRank = column(ratingPersister, "percentileRank");
+        ratingDateUpdated = column(ratingPersister, "dateUpdated");
+
+        AbstractEntityPersister statsPersister = entity(metamodel, GameRatingStats.class);
+        stats = statsPersister.getTableName();
+        statsGameId = statsPersister.getIdentifierColumnNames()[0];
+        statsRatingSum = column(statsPersister, "ratingSum");
+        statsRatingCount = column(statsPersister, "ratingCount");
+    }
+
+    private static AbstractEntityPersister entity(MappingMetamodelImplementor metamodel, Class<?> entityClass) {
+        return (AbstractEntityPersister) metamodel.getEntityDescriptor(entityClass);
+    }
+
+    private static AbstractCollectionPersister collection(MappingMetamodelImplementor metamodel,
+            Class<?> owner, String property) {
+        return (AbstractCollectionPersister) metamodel.getCollectionDescriptor(owner.getName() + "." + property);
+    }
+
+    private static String column(AbstractEntityPersister persister, String property) {
+        return persister.getPropertyColumnNames(property)[0];
+    }
+}
@@ -0,0 +1,9 @@
+package com.gamerecs.gamerecs_backend.repository.reactive;
+
+/**
+ * One genre or platform of a game.
+ * @param gameId the ID of the game
+ * @param value the genre or platform
+ */
+public record GameAttribute(Long gameId, String value) {
+}
@@ -0,0 +1,136 @@
+package com.gamerecs.gamerecs_backend.repository.reactive;
+
+import com.gamerecs.gamerecs_backend.dto.GameDTO;
+import com.gamerecs.gamerecs_backend.dto.GameRatingSummary;
+import io.r2dbc.spi.Readable;
+import java.time.LocalDate;
+import java.util.Collection;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking reads of games over R2DBC, mirroring the read side of
+ * {@link com.gamerecs.gamerecs_backend.repository.GameRepository}.
+ * Games are returned without genres, platforms or ratings; those are read for a whole page at once with
+ * {@link #findGenres}, {@link #findPlatforms} and {@link #findRatingSummaries}.
+ */
+@Repository
+@ConditionalOnProperty(name = "app.reactive.enabled", havingValue = "true")
+public class ReactiveGameRepository {
+
+    private final DatabaseClient databaseClient;
+    private final CatalogTables tables;
+    private final String selectGames;
+
+    @Autowired
+    public ReactiveGameRepository(DatabaseClient databaseClient, CatalogTables tables) {
+        this.databaseClient = databaseClient;
+        this.tables = tables;
+        this.selectGames = "SELECT " + String.join(", ", tables.gameId, tables.gameIgdbId, tables.gameTitle,
+                tables.gameReleaseDate, tables.gameDescription, tables.gameCoverImageUrl, tables.gameDeveloper,
+                tables.gamePublisher) + " FROM " + tables.game;
+    }
+
+    /**
+     * Find one page of games, ordered by ID
+     * @param offset the number of games to skip
+     * @param limit the maximum number of games to return
+     * @return the games
+     */
+    public Flux<GameDTO> findPage(long offset, int limit) {
+        return databaseClient.sql(selectGames + " ORDER BY " + tables.gameId + " LIMIT :limit OFFSET :offset")
+                .bind("limit", limit)
+                .bind("offset", offset)
+                .map(this::toGame)
+                .all();
+    }
+
+    public Mono<GameDTO> findById(Long gameId) {
+        return databaseClient.sql(selectGames + " WHERE " + tables.gameId + " = :gameId")
+                .bind("gameId", gameId)
+                .map(this::toGame)
+                .one();
+    }
+
+    public Mono<Boolean> existsById(Long gameId) {
+        return databaseClient.sql("SELECT 1 FROM " + tables.game + " WHERE " + tables.gameId + " = :gameId")
+                .bind("gameId", gameId)
+                .map(row -> Boolean.TRUE)
+                .first()
+                .defaultIfEmpty(Boolean.FALSE);
+    }
+
+    public Mono<Long> count() {
+        return databaseClient.sql("SELECT COUNT(*) FROM " + tables.game)
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+
+    /**
+     * Find the genres of several games with one query
+     * @param gameIds the IDs of the games
+     * @return the genres, one element per game and genre
+     */
+    public Flux<GameAttribute> findGenres(Collection<Long> gameIds) {
+        return findAttributes(tables.genres, tables.genresGameId, tables.genresValue,
+                tables.genre, tables.genreId, tables.genreName, gameIds);
+    }
+
+    /**
+     * Find the platforms of several games with one query
+     * @param gameIds the IDs of the games
+     * @return the platforms, one element per game and platform
+     */
+    public Flux<GameAttribute> findPlatforms(Collection<Long> gameIds) {
+        return findAttributes(tables.platforms, tables.platformsGameId, tables.platformsValue,
+                tables.platform, tables.platformId, tables.platformName, gameIds);
+    }
+
+    /**
+     * Find the rating summaries of several games with one query against the maintained aggregates
+     * @param gameIds the IDs of the games
+     * @return the summaries of the games that have been rated
+     */
+    public Flux<GameRatingSummary> findRatingSummaries(Collection<Long> gameIds) {
+        return databaseClient.sql("SELECT " + tables.statsGameId + ", " + tables.statsRatingSum + ", "
+                        + tables.statsRatingCount + " FROM " + tables.stats
+                        + " WHERE " + tables.statsGameId + " IN (:gameIds) AND " + tables.statsRatingCount + " > 0")
+                .bind("gameIds", gameIds)
+                .map(row -> {
+                    long sum = row.get(tables.statsRatingSum, Long.class);
+                    long count = row.get(tables.statsRatingCount, Long.class);
+                    return new GameRatingSummary(row.get(tables.statsGameId, Long.class), (double) sum / count, count);
+                })
+                .all();
+    }
+
+    /**
+     * Read the values of a game collection, resolving the stored dictionary IDs to names in the same query
+     */
+    private Flux<GameAttribute> findAttributes(String table, String gameIdColumn, String valueColumn,
+            String dictionary, String dictionaryId, String dictionaryName, Collection<Long> gameIds) {
+        return databaseClient.sql("SELECT v." + gameIdColumn + " AS game_id, d." + dictionaryName + " AS name"
+                        + " FROM " + table + " v JOIN " + dictionary + " d ON d." + dictionaryId + " = v." + valueColumn
+                        + " WHERE v." + gameIdColumn + " IN (:gameIds)")
+                .bind("gameIds", gameIds)
+                .map(row -> new GameAttribute(row.get("game_id", Long.class), row.get("name", String.class)))
+                .all();
+    }
+
+    private GameDTO toGame(Readable row) {
+        return GameDTO.builder()
+                .gameId(row.get(tables.gameId, Long.class))
+                .igdbId(row.get(tables.gameIgdbId, Long.class))
+                .title(row.get(tables.gameTitle, String.class))
+                .releaseDate(row.get(tables.gameReleaseDate, LocalDate.class))
+                .description(row.get(tables.gameDescription, String.class))
+                .coverImageURL(row.get(tables.gameCoverImageUrl, String.class))
+                .developer(row.get(tables.gameDeveloper, String.class))
+                .publisher(row.get(tables.gamePublisher, String.class))
+                .build();
+    }
+}
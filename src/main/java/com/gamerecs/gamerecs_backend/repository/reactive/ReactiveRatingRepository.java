@@ -0,0 +1,63 @@
+package com.gamerecs.gamerecs_backend.repository.reactive;
+
+import com.gamerecs.gamerecs_backend.dto.RatingView;
+import java.time.LocalDateTime;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking reads of ratings over R2DBC, mirroring the read side of
+ * {@link com.gamerecs.gamerecs_backend.repository.RatingRepository}.
+ */
+@Repository
+@ConditionalOnProperty(name = "app.reactive.enabled", havingValue = "true")
+public class ReactiveRatingRepository {
+
+    private final DatabaseClient databaseClient;
+    private final CatalogTables tables;
+
+    @Autowired
+    public ReactiveRatingRepository(DatabaseClient databaseClient, CatalogTables tables) {
+        this.databaseClient = databaseClient;
+        this.tables = tables;
+    }
+
+    /**
+     * Find one page of the ratings of a game, most recently updated first
+     * @param gameId the ID of the game
+     * @param offset the number of ratings to skip
+     * @param limit the maximum number of ratings to return
+     * @return the ratings
+     */
+    public Flux<RatingView> findByGameId(Long gameId, long offset, int limit) {
+        return databaseClient.sql("SELECT " + String.join(", ", tables.ratingId, tables.ratingUserId,
+                        tables.ratingGameId, tables.ratingValue, tables.ratingPercentileRank, tables.ratingDateUpdated)
+                        + " FROM " + tables.rating + " WHERE " + tables.ratingGameId + " = :gameId"
+                        + " ORDER BY " + tables.ratingDateUpdated + " DESC, " + tables.ratingId + " DESC"
+                        + " LIMIT :limit OFFSET :offset")
+                .bind("gameId", gameId)
+                .bind("limit", limit)
+                .bind("offset", offset)
+                .map(row -> RatingView.builder()
+                        .ratingId(row.get(tables.ratingId, Long.class))
+                        .userId(row.get(tables.ratingUserId, Long.class))
+                        .gameId(row.get(tables.ratingGameId, Long.class))
+                        .ratingValue(row.get(tables.ratingValue, Integer.class))
+                        .percentileRank(row.get(tables.ratingPercentileRank, Integer.class))
+                        .dateUpdated(row.get(tables.ratingDateUpdated, LocalDateTime.class))
+                        .build())
+                .all();
+    }
+
+    public Mono<Long> countByGameId(Long gameId) {
+        return databaseClient.sql("SELECT COUNT(*) FROM " + tables.rating
+                        + " WHERE " + tables.ratingGameId + " = :gameId")
+                .bind("gameId", gameId)
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+}
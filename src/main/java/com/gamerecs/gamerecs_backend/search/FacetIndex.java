@@ -0,0 +1,329 @@
+package com.gamerecs.gamerecs_backend.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.roaringbitmap.RoaringBitmap;
+
+/**
+ * In-memory facet index over games, with one compressed bitmap of game IDs per genre, platform, developer
+ * and publisher.
+ * Values are matched case-insensitively. A filter ORs the bitmaps of the values given for a facet (or ANDs
+ * them when every value must match) and ANDs the facets together, so any combination costs a few bitmap
+ * operations whatever the catalog size. Facet counts are computed for the other facets' filters only, so a
+ * client can show how many games each additional value of the same facet would bring in. Counting visits the
+ * values by descending number of games and stops once no further value can reach the top counts, or counts
+ * the values of the matching games directly when they are fewer than the facet's values.
+ * Game IDs are stored as ints and must fit in one.
+ */
+public class FacetIndex {
+
+    /**
+     * Maximum number of values per facet whose counts are returned, most frequent first
+     */
+    static final int MAX_FACET_VALUES = 20;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Facet, Map<String, RoaringBitmap>> bitmaps = new EnumMap<>(Facet.class);
+    private final Map<Facet, Map<String, String>> displayNames = new EnumMap<>(Facet.class);
+    private final Map<Integer, Map<Facet, Set<String>>> valuesByGame = new HashMap<>();
+    private final RoaringBitmap allGames = new RoaringBitmap();
+    /** Per facet, the values by descending number of games; computed on first use after a change */
+    private final AtomicReferenceArray<String[]> rankedValues = new AtomicReferenceArray<>(Facet.values().length);
+
+    public FacetIndex() {
+        for (Facet facet : Facet.values()) {
+            bitmaps.put(facet, new HashMap<>());
+            displayNames.put(facet, new HashMap<>());
+        }
+    }
+
+    /**
+     * Add a game or replace its facet values
+     * @param gameId the ID of the game
+     * @param values the values of each facet; missing facets have no value
+     */
+    public void put(long gameId, Map<Facet, ? extends Collection<String>> values) {
+        int game = Math.toIntExact(gameId);
+        lock.writeLock().lock();
+        try {
+            removeValues(game);
+            Map<Facet, Set<String>> normalizedValues = new EnumMap<>(Facet.class);
+            values.forEach((facet, facetValues) -> {
+                Set<String> normalized = new TreeSet<>();
+                for (String value : facetValues) {
+                    String key = normalize(value);
+                    if (!key.isEmpty()) {
+                        normalized.add(key);
+                        displayNames.get(facet).putIfAbsent(key, value.trim());
+                        bitmaps.get(facet).computeIfAbsent(key, k -> new RoaringBitmap()).add(game);
+                    }
+                }
+                normalizedValues.put(facet, normalized);
+            });
+            valuesByGame.put(game, normalizedValues);
+            allGames.add(game);
+            invalidateRankedValues();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Compress the bitmaps after a bulk load
+     */
+    public void optimize() {
+        lock.writeLock().lock();
+        try {
+            bitmaps.values().forEach(facetBitmaps -> facetBitmaps.values().forEach(RoaringBitmap::runOptimize));
+            allGames.runOptimize();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove every game from the index
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            bitmaps.values().forEach(Map::clear);
+            displayNames.values().forEach(Map::clear);
+            valuesByGame.clear();
+            allGames.clear();
+            invalidateRankedValues();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replace the whole index and compress it; filters see either the old or the new contents, never a part
+     * @param valuesByGame the facet values of every game, by game ID
+     */
+    public void rebuild(Map<Long, ? extends Map<Facet, ? extends Collection<String>>> valuesByGame) {
+        lock.writeLock().lock();
+        try {
+            clear();
+            valuesByGame.forEach(this::put);
+            optimize();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Filter games and count facet values
+     * @param filters the filters to apply, at most one per facet
+     * @param offset the number of matching games to skip
+     * @param limit the maximum number of game IDs to return
+     * @return the matching game IDs in ascending order, their total and the facet counts
+     */
+    public Result filter(Collection<Filter> filters, long offset, int limit) {
+        lock.readLock().lock();
+        try {
+            Map<Facet, RoaringBitmap> matches = new EnumMap<>(Facet.class);
+            for (Filter filter : filters) {
+                matches.put(filter.facet(), match(filter));
+            }
+            RoaringBitmap result = intersect(matches, null);
+
+            List<Long> gameIds = new ArrayList<>(limit);
+            long total = result.getLongCardinality();
+            for (long rank = offset; rank < Math.min(total, offset + limit); rank++) {
+                gameIds.add((long) result.select((int) rank));
+            }
+
+            Map<Facet, Map<String, Long>> counts = new EnumMap<>(Facet.class);
+            for (Facet facet : Facet.values()) {
+                RoaringBitmap base = matches.containsKey(facet) ? intersect(matches, facet) : result;
+                counts.put(facet, count(facet, base));
+            }
+            return new Result(gameIds, total, counts);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private RoaringBitmap match(Filter filter) {
+        Map<String, RoaringBitmap> facetBitmaps = bitmaps.get(filter.facet());
+        RoaringBitmap match = null;
+        for (String value : filter.values()) {
+            RoaringBitmap bitmap = facetBitmaps.getOrDefault(normalize(value), new RoaringBitmap());
+            if (match == null) {
+                match = bitmap.clone();
+            } else if (filter.matchAll()) {
+                match.and(bitmap);
+            } else {
+                match.or(bitmap);
+            }
+        }
+        return match != null ? match : allGames.clone();
+    }
+
+    /**
+     * AND the matches of every facet but one
+     */
+    private RoaringBitmap intersect(Map<Facet, RoaringBitmap> matches, Facet excluded) {
+        RoaringBitmap result = allGames.clone();
+        matches.forEach((facet, match) -> {
+            if (facet != excluded) {
+                result.and(match);
+            }
+        });
+        return result;
+    }
+
+    private Map<String, Long> count(Facet facet, RoaringBitmap base) {
+        Map<String, RoaringBitmap> facetBitmaps = bitmaps.get(facet);
+        Map<String, String> names = displayNames.get(facet);
+        TopCounts top = new TopCounts();
+        long matching = base.getLongCardinality();
+        if (matching < facetBitmaps.size()) {
+            // Fewer matching games than values: count the values of those games instead of probing every bitmap
+            Map<String, Long> counts = new HashMap<>();
+            base.forEach((int game) -> {
+                Set<String> values = valuesByGame.get(game).get(facet);
+                if (values != null) {
+                    values.forEach(value -> counts.merge(value, 1L, Long::sum));
+                }
+            });
+            counts.forEach((value, count) -> top.offer(names.get(value), count));
+        } else {
+            boolean unfiltered = matching == allGames.getLongCardinality();
+            for (String value : rankedValues(facet)) {
+                RoaringBitmap bitmap = facetBitmaps.get(value);
+                long games = bitmap.getLongCardinality();
+                // A value matches at most all of its games, and the rest have fewer
+                if (games < top.threshold()) {
+                    break;
+                }
+                long count = unfiltered ? games : RoaringBitmap.andCardinality(bitmap, base);
+                if (count > 0) {
+                    top.offer(names.get(value), count);
+                }
+            }
+        }
+        return top.toMap();
+    }
+
+    /**
+     * Get the values of a facet by descending number of games.
+     * Called under the read lock; concurrent readers may compute it twice, but always to the same result.
+     */
+    private String[] rankedValues(Facet facet) {
+        String[] ranked = rankedValues.get(facet.ordinal());
+        if (ranked == null) {
+            Map<String, RoaringBitmap> facetBitmaps = bitmaps.get(facet);
+            Map<String, Long> games = new HashMap<>(facetBitmaps.size() * 2);
+            facetBitmaps.forEach((value, bitmap) -> games.put(value, bitmap.getLongCardinality()));
+            ranked = games.keySet().toArray(new String[0]);
+            Arrays.sort(ranked, Comparator.comparing(games::get, Comparator.reverseOrder()));
+            rankedValues.set(facet.ordinal(), ranked);
+        }
+        return ranked;
+    }
+
+    private void invalidateRankedValues() {
+        for (int i = 0; i < rankedValues.length(); i++) {
+            rankedValues.set(i, null);
+        }
+    }
+
+    private void removeValues(int game) {
+        Map<Facet, Set<String>> previous = valuesByGame.remove(game);
+        if (previous == null) {
+            return;
+        }
+        previous.forEach((facet, values) -> {
+            Map<String, RoaringBitmap> facetBitmaps = bitmaps.get(facet);
+            for (String value : values) {
+                RoaringBitmap bitmap = facetBitmaps.get(value);
+                bitmap.remove(game);
+                if (bitmap.isEmpty()) {
+                    facetBitmaps.remove(value);
+                    displayNames.get(facet).remove(value);
+                }
+            }
+        });
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * The {@link #MAX_FACET_VALUES} highest counts offered so far, by descending count and then by name.
+     */
+    private static final class TopCounts {
+
+        private static final Comparator<Map.Entry<String, Long>> ORDER = Map.Entry.<String, Long>comparingByValue()
+                .reversed()
+                .thenComparing(Map.Entry.comparingByKey(Comparator.comparing(name -> name.toLowerCase(Locale.ROOT))));
+
+        private final PriorityQueue<Map.Entry<String, Long>> worstFirst = new PriorityQueue<>(ORDER.reversed());
+
+        void offer(String name, long count) {
+            Map.Entry<String, Long> entry = Map.entry(name, count);
+            if (worstFirst.size() < MAX_FACET_VALUES) {
+                worstFirst.add(entry);
+            } else if (ORDER.compare(entry, worstFirst.peek()) < 0) {
+                worstFirst.poll();
+                worstFirst.add(entry);
+            }
+        }
+
+        /**
+         * Get the count a value needs to possibly enter the top counts
+         */
+        long threshold() {
+            return worstFirst.size() < MAX_FACET_VALUES ? 1 : worstFirst.peek().getValue();
+        }
+
+        Map<String, Long> toMap() {
+            List<Map.Entry<String, Long>> sorted = new ArrayList<>(worstFirst);
+            sorted.sort(ORDER);
+            Map<String, Long> top = new LinkedHashMap<>();
+            sorted.forEach(entry -> top.put(entry.getKey(), entry.getValue()));
+            return top;
+        }
+    }
+
+    /**
+     * The attributes games can be filtered on.
+     */
+    public enum Facet {
+        GENRE, PLATFORM, DEVELOPER, PUBLISHER
+    }
+
+    /**
+     * A filter on one facet.
+     * @param facet the facet
+     * @param values the accepted values
+     * @param matchAll true if a game must have every value, false if any value is enough
+     */
+    public record Filter(Facet facet, List<String> values, boolean matchAll) {
+    }
+
+    /**
+     * A page of filtered games with facet counts.
+     * @param gameIds the IDs of the matching games on the page, in ascending order
+     * @param total the number of matching games
+     * @param counts per facet, the number of games each value would match, most frequent first
+     */
+    public record Result(List<Long> gameIds, long total, Map<Facet, Map<String, Long>> counts) {
+    }
+}
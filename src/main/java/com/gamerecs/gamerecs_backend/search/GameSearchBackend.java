@@ -0,0 +1,30 @@
+package com.gamerecs.gamerecs_backend.search;
+
+import com.gamerecs.gamerecs_backend.model.Game;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Searches games by title.
+ * The implementation is selected with {@code app.search.backend}: {@code like} (default, a substring match
+ * that scans the Game table), {@code postgres} (ranked, served by a {@code pg_trgm} index) or {@code trigram}
+ * (ranked, served by an in-process trigram index built from the Game table).
+ */
+public interface GameSearchBackend {
+
+    /**
+     * Search games by title
+     * @param title the text to search for
+     * @param pageable pagination information; ranked backends order by relevance and ignore its sort
+     * @return page of matching games
+     */
+    Page<Game> search(String title, Pageable pageable);
+
+    /**
+     * Record a committed insert or update of a game.
+     * Backends that query the Game table directly have nothing to do.
+     * @param game the saved game
+     */
+    default void gameSaved(Game game) {
+    }
+}
@@ -0,0 +1,59 @@
+package com.gamerecs.gamerecs_backend.search;
+
+import com.gamerecs.gamerecs_backend.model.Game;
+import com.gamerecs.gamerecs_backend.repository.GameRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Ranked title search served by a {@link TrigramIndex} held in this JVM.
+ * The index is built from the Game table once the application is ready (or on first use) and is kept current
+ * with every committed save through {@link #gameSaved}, so a search never touches the Game table except to
+ * load the games of the requested page. Saves made by other nodes are only seen after a restart.
+ */
+@Component
+@ConditionalOnProperty(name = "app.search.backend", havingValue = "trigram")
+public class InMemoryTrigramGameSearchBackend implements GameSearchBackend {
+
+    private static final Logger log = LoggerFactory.getLogger(InMemoryTrigramGameSearchBackend.class);
+
+    private final GameRepository gameRepository;
+    private final TrigramIndex index = new TrigramIndex();
+    private final IndexRefreshLock loadLock = new IndexRefreshLock();
+
+    @Autowired
+    public InMemoryTrigramGameSearchBackend(GameRepository gameRepository) {
+        this.gameRepository = gameRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        loadLock.buildOnce(() -> {
+            long start = System.nanoTime();
+            index.clear();
+            for (Object[] row : gameRepository.findAllIdsAndTitles()) {
+                index.put((Long) row[0], (String) row[1]);
+            }
+            log.info("Indexed {} game titles in {} ms", index.size(), (System.nanoTime() - start) / 1_000_000);
+        });
+    }
+
+    @Override
+    public Page<Game> search(String title, Pageable pageable) {
+        load();
+        TrigramIndex.Result result = index.search(title, pageable.getOffset(), pageable.getPageSize());
+        return RankedGamePages.load(gameRepository, result.gameIds(), pageable, result.total());
+    }
+
+    @Override
+    public void gameSaved(Game game) {
+        loadLock.applySave(() -> index.put(game.getGameId(), game.getTitle()));
+    }
+}
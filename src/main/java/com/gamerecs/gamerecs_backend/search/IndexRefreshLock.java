@@ -0,0 +1,63 @@
+package com.gamerecs.gamerecs_backend.search;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Orders the rebuilds of an in-memory index from the database with the committed saves applied to it.
+ * A save committed while a rebuild reads the tables waits for the rebuild and is then applied on top of it,
+ * so a rebuild that read the rows before the save committed cannot drop it. Saves committed before the first
+ * build are skipped, since that build reads them from the tables.
+ */
+public final class IndexRefreshLock {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile boolean built;
+
+    /**
+     * Rebuild the index
+     * @param rebuild reads the tables and replaces the index contents
+     */
+    public void refresh(Runnable rebuild) {
+        lock.lock();
+        try {
+            rebuild.run();
+            built = true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Build the index unless it has been built already
+     * @param build reads the tables and fills the index
+     */
+    public void buildOnce(Runnable build) {
+        if (built) {
+            return;
+        }
+        lock.lock();
+        try {
+            if (!built) {
+                build.run();
+                built = true;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Apply a committed save, after any rebuild in progress
+     * @param update applies the save to the index
+     */
+    public void applySave(Runnable update) {
+        lock.lock();
+        try {
+            if (built) {
+                update.run();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.gamerecs.gamerecs_backend.search;
+
+import com.gamerecs.gamerecs_backend.model.Game;
+import com.gamerecs.gamerecs_backend.repository.GameRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Case-insensitive substring match of titles with {@code LIKE '%title%'}.
+ * Works on any database but cannot use a B-tree index, so every search scans the Game table.
+ */
+@Component
+@ConditionalOnProperty(name = "app.search.backend", havingValue = "like", matchIfMissing = true)
+public class LikeGameSearchBackend implements GameSearchBackend {
+
+    private final GameRepository gameRepository;
+
+    @Autowired
+    public LikeGameSearchBackend(GameRepository gameRepository) {
+        this.gameRepository = gameRepository;
+    }
+
+    @Override
+    public Page<Game> search(String title, Pageable pageable) {
+        return gameRepository.findByTitleContainingIgnoreCase(title, pageable);
+    }
+}
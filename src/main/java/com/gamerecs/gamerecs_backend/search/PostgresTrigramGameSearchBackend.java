@@ -0,0 +1,78 @@
+package com.gamerecs.gamerecs_backend.search;
+
+import com.gamerecs.gamerecs_backend.model.Game;
+import com.gamerecs.gamerecs_backend.repository.GameRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import java.util.List;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Ranked title search served by a PostgreSQL {@code pg_trgm} GIN index, see {@code db/search/pg_trgm.sql}.
+ * A game matches if its title contains the search text or is similar to it by the {@code %} operator,
+ * which also catches misspellings. Substring matches come first, then games by descending
+ * {@code similarity}; only the IDs of one page are ranked in SQL, and the page's games are loaded by ID.
+ */
+@Component
+@ConditionalOnProperty(name = "app.search.backend", havingValue = "postgres")
+public class PostgresTrigramGameSearchBackend implements GameSearchBackend {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final GameRepository gameRepository;
+    private final String searchSql;
+    private final String countSql;
+
+    @Autowired
+    public PostgresTrigramGameSearchBackend(GameRepository gameRepository, EntityManagerFactory entityManagerFactory) {
+        this.gameRepository = gameRepository;
+
+        // Column names follow the configured naming strategy, so they are taken from the mapping
+        AbstractEntityPersister persister = (AbstractEntityPersister) entityManagerFactory
+                .unwrap(SessionFactoryImplementor.class)
+                .getMappingMetamodel()
+                .getEntityDescriptor(Game.class);
+        String table = persister.getTableName();
+        String id = persister.getIdentifierColumnNames()[0];
+        String title = persister.getPropertyColumnNames("title")[0];
+
+        String where = " FROM " + table + " WHERE " + title + " ILIKE :pattern OR " + title + " % :title";
+        this.searchSql = "SELECT " + id + where
+                + " ORDER BY (" + title + " ILIKE :pattern) DESC, similarity(" + title + ", :title) DESC, " + id
+                + " LIMIT :limit OFFSET :offset";
+        this.countSql = "SELECT COUNT(*)" + where;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Game> search(String title, Pageable pageable) {
+        String pattern = "%" + escapeLike(title) + "%";
+        List<?> rows = entityManager.createNativeQuery(searchSql)
+                .setParameter("pattern", pattern)
+                .setParameter("title", title)
+                .setParameter("limit", pageable.getPageSize())
+                .setParameter("offset", pageable.getOffset())
+                .getResultList();
+        List<Long> gameIds = rows.stream()
+                .map(row -> ((Number) row).longValue())
+                .toList();
+        long total = ((Number) entityManager.createNativeQuery(countSql)
+                .setParameter("pattern", pattern)
+                .setParameter("title", title)
+                .getSingleResult()).longValue();
+        return RankedGamePages.load(gameRepository, gameIds, pageable, total);
+    }
+
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
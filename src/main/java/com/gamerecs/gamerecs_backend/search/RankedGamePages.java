@@ -0,0 +1,45 @@
+package com.gamerecs.gamerecs_backend.search;
+
+import com.gamerecs.gamerecs_backend.model.Game;
+import com.gamerecs.gamerecs_backend.repository.GameRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Turns a ranked page of game IDs into a page of games.
+ */
+final class RankedGamePages {
+
+    private RankedGamePages() {
+    }
+
+    /**
+     * Load the games of a page with one query, keeping the rank order
+     * @param gameRepository the repository to load from
+     * @param gameIds the IDs of the page, most relevant first
+     * @param pageable the requested page
+     * @param total the number of matches over all pages
+     * @return the page; games deleted since they were ranked are left out
+     */
+    static Page<Game> load(GameRepository gameRepository, List<Long> gameIds, Pageable pageable, long total) {
+        if (gameIds.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, total);
+        }
+        Map<Long, Game> gamesById = gameRepository.findAllById(gameIds).stream()
+                .collect(Collectors.toMap(Game::getGameId, Function.identity()));
+        List<Game> games = new ArrayList<>(gameIds.size());
+        for (Long gameId : gameIds) {
+            Game game = gamesById.get(gameId);
+            if (game != null) {
+                games.add(game);
+            }
+        }
+        return new PageImpl<>(games, pageable, total);
+    }
+}
@@ -0,0 +1,428 @@
+package com.gamerecs.gamerecs_backend.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory prefix index for typeahead over game titles, developers and publishers, ranked by popularity.
+ * Every word start of a title and the start of the developer and publisher names is a key. Keys are kept
+ * as one sorted {@code long[]} of (text, offset) pairs pointing into the normalized texts, so no suffix
+ * string is ever copied; the keys matching a prefix form one contiguous range found by binary search, and
+ * the most popular games of that range are taken with a max segment tree in O(k log n).
+ * Saves go to a small delta buffer, scanned linearly, with the game's older entries masked; once the buffer
+ * is full the sorted array is rebuilt from memory. Readers use an immutable snapshot and never lock.
+ */
+public class SuggestionIndex {
+
+    /**
+     * Number of saved games buffered before the sorted keys are rebuilt
+     */
+    static final int DELTA_LIMIT = 1024;
+
+    private static final int OFFSET_BITS = 16;
+    private static final int MAX_OFFSET = (1 << OFFSET_BITS) - 1;
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile Snapshot snapshot = Snapshot.build(List.of());
+
+    /**
+     * Replace the whole index
+     * @param documents the games to index
+     */
+    public void rebuild(Collection<Document> documents) {
+        writeLock.lock();
+        try {
+            snapshot = Snapshot.build(documents);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Add a game or replace its entry
+     * @param document the game
+     */
+    public void put(Document document) {
+        writeLock.lock();
+        try {
+            Snapshot current = snapshot;
+            Map<Long, DeltaEntry> delta = new LinkedHashMap<>(current.delta);
+            delta.put(document.gameId(), new DeltaEntry(document));
+            if (delta.size() > DELTA_LIMIT) {
+                Map<Long, Document> all = new LinkedHashMap<>();
+                for (int game = 0; game < current.gameIds.length; game++) {
+                    all.put(current.gameIds[game], current.documents[game]);
+                }
+                delta.forEach((gameId, entry) -> all.put(gameId, entry.document()));
+                snapshot = Snapshot.build(all.values());
+            } else {
+                snapshot = new Snapshot(current, delta);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Get the popularity the index holds for a game
+     * @param gameId the ID of the game
+     * @return the popularity, or 0 if the game is not indexed
+     */
+    public long popularity(long gameId) {
+        Document document = snapshot.find(gameId);
+        return document != null ? document.popularity() : 0;
+    }
+
+    /**
+     * Get the number of games in the index
+     * @return the number of indexed games
+     */
+    public int size() {
+        Snapshot current = snapshot;
+        int size = current.delta.size();
+        for (long gameId : current.gameIds) {
+            if (!current.delta.containsKey(gameId)) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Suggest the most popular games with a title word, developer or publisher starting with a prefix
+     * @param prefix the typed text
+     * @param limit the maximum number of games to return
+     * @return the matching games, most popular first, each once with the field it matched on
+     */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String normalized = TrigramIndex.normalize(prefix);
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Snapshot current = snapshot;
+        List<Suggestion> suggestions = new ArrayList<>(current.topInRange(normalized, limit));
+        for (DeltaEntry entry : current.delta.values()) {
+            Field field = entry.matchedField(normalized);
+            if (field != null) {
+                suggestions.add(new Suggestion(entry.document(), field));
+            }
+        }
+        suggestions.sort(Suggestion.BY_POPULARITY);
+        return suggestions.size() > limit ? List.copyOf(suggestions.subList(0, limit)) : suggestions;
+    }
+
+    /**
+     * The field a suggestion matched on.
+     */
+    public enum Field {
+        TITLE, DEVELOPER, PUBLISHER
+    }
+
+    /**
+     * A game as indexed.
+     * @param gameId the ID of the game
+     * @param title the title of the game
+     * @param developer the developer, or null
+     * @param publisher the publisher, or null
+     * @param popularity the ranking weight, e.g. the number of ratings
+     */
+    public record Document(long gameId, String title, String developer, String publisher, long popularity) {
+
+        String text(Field field) {
+            return TrigramIndex.normalize(switch (field) {
+                case TITLE -> title;
+                case DEVELOPER -> developer;
+                case PUBLISHER -> publisher;
+            });
+        }
+    }
+
+    /**
+     * A suggested game.
+     * @param document the game
+     * @param matchedField the field whose text starts with the prefix
+     */
+    public record Suggestion(Document document, Field matchedField) {
+
+        static final Comparator<Suggestion> BY_POPULARITY = Comparator
+                .comparingLong((Suggestion suggestion) -> suggestion.document().popularity()).reversed()
+                .thenComparing(suggestion -> suggestion.document().title(), Comparator.nullsLast(String::compareTo))
+                .thenComparingLong(suggestion -> suggestion.document().gameId());
+    }
+
+    /**
+     * A game saved since the last build, with its texts normalized once.
+     */
+    private record DeltaEntry(Document document, String title, String developer, String publisher) {
+
+        DeltaEntry(Document document) {
+            this(document, document.text(Field.TITLE), document.text(Field.DEVELOPER),
+                    document.text(Field.PUBLISHER));
+        }
+
+        Field matchedField(String normalizedPrefix) {
+            if (title.startsWith(normalizedPrefix) || title.contains(" " + normalizedPrefix)) {
+                return Field.TITLE;
+            }
+            if (developer.startsWith(normalizedPrefix)) {
+                return Field.DEVELOPER;
+            }
+            if (publisher.startsWith(normalizedPrefix)) {
+                return Field.PUBLISHER;
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Immutable state read by suggestions: the sorted keys of the last build plus the delta since then.
+     */
+    private static final class Snapshot {
+
+        private static final int FIELDS = Field.values().length;
+
+        final long[] gameIds;
+        final Document[] documents;
+        final Map<Long, Integer> gamesById;
+        /** Normalized texts, {@link #FIELDS} per game in {@link Field} order */
+        final String[] texts;
+        /** Sorted keys, each the text index shifted left by {@link #OFFSET_BITS} plus the offset in the text */
+        final long[] keys;
+        /** Max segment tree over the popularity of the keys, holding key positions */
+        final int[] tree;
+        final Map<Long, DeltaEntry> delta;
+
+        private Snapshot(long[] gameIds, Document[] documents, Map<Long, Integer> gamesById, String[] texts,
+                long[] keys, int[] tree, Map<Long, DeltaEntry> delta) {
+            this.gameIds = gameIds;
+            this.documents = documents;
+            this.gamesById = gamesById;
+            this.texts = texts;
+            this.keys = keys;
+            this.tree = tree;
+            this.delta = delta;
+        }
+
+        Snapshot(Snapshot base, Map<Long, DeltaEntry> delta) {
+            this(base.gameIds, base.documents, base.gamesById, base.texts, base.keys, base.tree,
+                    Map.copyOf(delta));
+        }
+
+        static Snapshot build(Collection<Document> documents) {
+            int games = documents.size();
+            long[] gameIds = new long[games];
+            Document[] indexed = documents.toArray(new Document[0]);
+            Map<Long, Integer> gamesById = new HashMap<>(games * 2);
+            String[] texts = new String[games * FIELDS];
+            long[] keys = new long[games * 4];
+            int count = 0;
+            for (int game = 0; game < games; game++) {
+                gameIds[game] = indexed[game].gameId();
+                gamesById.put(indexed[game].gameId(), game);
+                for (Field field : Field.values()) {
+                    int textIndex = game * FIELDS + field.ordinal();
+                    String text = indexed[game].text(field);
+                    texts[textIndex] = text;
+                    if (text.isEmpty()) {
+                        continue;
+                    }
+                    if (count == keys.length) {
+                        keys = Arrays.copyOf(keys, keys.length * 2 + 1);
+                    }
+                    keys[count++] = (long) textIndex << OFFSET_BITS;
+                    if (field == Field.TITLE) {
+                        for (int offset = text.indexOf(' ') + 1; offset > 0 && offset <= MAX_OFFSET;
+                                offset = text.indexOf(' ', offset) + 1) {
+                            if (count == keys.length) {
+                                keys = Arrays.copyOf(keys, keys.length * 2 + 1);
+                            }
+                            keys[count++] = ((long) textIndex << OFFSET_BITS) | offset;
+                        }
+                    }
+                }
+            }
+            keys = Arrays.copyOf(keys, count);
+            sortKeys(texts, keys, keys.clone(), 0, count);
+            Snapshot snapshot = new Snapshot(gameIds, indexed, gamesById, texts, keys, new int[keys.length * 2],
+                    Map.of());
+            snapshot.buildTree();
+            return snapshot;
+        }
+
+        Document find(long gameId) {
+            DeltaEntry entry = delta.get(gameId);
+            if (entry != null) {
+                return entry.document();
+            }
+            Integer game = gamesById.get(gameId);
+            return game != null ? documents[game] : null;
+        }
+
+        /**
+         * Take the most popular games among the keys starting with a prefix, skipping games in the delta
+         */
+        List<Suggestion> topInRange(String prefix, int limit) {
+            int from = bound(prefix, false);
+            int to = bound(prefix, true);
+            if (from >= to) {
+                return List.of();
+            }
+            PriorityQueue<int[]> ranges = new PriorityQueue<>((a, b) -> compareByPopularity(a[2], b[2]));
+            ranges.add(new int[] {from, to, argMax(from, to)});
+            Set<Integer> seen = new HashSet<>();
+            List<Suggestion> suggestions = new ArrayList<>(limit);
+            while (!ranges.isEmpty() && suggestions.size() < limit) {
+                int[] range = ranges.poll();
+                int position = range[2];
+                int textIndex = (int) (keys[position] >>> OFFSET_BITS);
+                int game = textIndex / FIELDS;
+                if (!delta.containsKey(gameIds[game]) && seen.add(game)) {
+                    suggestions.add(new Suggestion(documents[game], Field.values()[textIndex % FIELDS]));
+                }
+                if (range[0] < position) {
+                    ranges.add(new int[] {range[0], position, argMax(range[0], position)});
+                }
+                if (position + 1 < range[1]) {
+                    ranges.add(new int[] {position + 1, range[1], argMax(position + 1, range[1])});
+                }
+            }
+            return suggestions;
+        }
+
+        /**
+         * Find the first key at or after the prefix, or with {@code after} the first key past the keys starting with it
+         */
+        private int bound(String prefix, boolean after) {
+            int low = 0;
+            int high = keys.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                int comparison = comparePrefix(keys[middle], prefix);
+                if (comparison < 0 || (after && comparison == 0)) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        private int comparePrefix(long key, String prefix) {
+            String text = texts[(int) (key >>> OFFSET_BITS)];
+            int offset = (int) (key & MAX_OFFSET);
+            int length = Math.min(text.length() - offset, prefix.length());
+            for (int i = 0; i < length; i++) {
+                int difference = text.charAt(offset + i) - prefix.charAt(i);
+                if (difference != 0) {
+                    return difference;
+                }
+            }
+            return length < prefix.length() ? -1 : 0;
+        }
+
+        private void buildTree() {
+            int n = keys.length;
+            for (int i = 0; i < n; i++) {
+                tree[n + i] = i;
+            }
+            for (int i = n - 1; i > 0; i--) {
+                tree[i] = better(tree[2 * i], tree[2 * i + 1]);
+            }
+        }
+
+        /**
+         * Find the position of the most popular key in [from, to)
+         */
+        private int argMax(int from, int to) {
+            int n = keys.length;
+            int best = -1;
+            for (int low = from + n, high = to + n; low < high; low >>= 1, high >>= 1) {
+                if ((low & 1) == 1) {
+                    best = better(best, tree[low++]);
+                }
+                if ((high & 1) == 1) {
+                    best = better(best, tree[--high]);
+                }
+            }
+            return best;
+        }
+
+        private int better(int a, int b) {
+            if (a < 0) {
+                return b;
+            }
+            if (b < 0) {
+                return a;
+            }
+            return compareByPopularity(a, b) <= 0 ? a : b;
+        }
+
+        /**
+         * Order key positions by descending popularity of their game, then by position
+         */
+        private int compareByPopularity(int a, int b) {
+            int comparison = Long.compare(popularityAt(b), popularityAt(a));
+            return comparison != 0 ? comparison : Integer.compare(a, b);
+        }
+
+        private long popularityAt(int position) {
+            return documents[(int) (keys[position] >>> OFFSET_BITS) / FIELDS].popularity();
+        }
+
+        /**
+         * Merge sort keys[from, to) by their text, with {@code buffer} holding the same keys on entry.
+         * The JDK only sorts primitive arrays by natural order, and boxing every key would double the build's garbage.
+         */
+        private static void sortKeys(String[] texts, long[] keys, long[] buffer, int from, int to) {
+            if (to - from <= 16) {
+                for (int i = from + 1; i < to; i++) {
+                    long key = keys[i];
+                    int j = i - 1;
+                    while (j >= from && compareKeys(texts, keys[j], key) > 0) {
+                        keys[j + 1] = keys[j];
+                        j--;
+                    }
+                    keys[j + 1] = key;
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            // Sort both halves into the buffer, then merge them back into keys
+            sortKeys(texts, buffer, keys, from, middle);
+            sortKeys(texts, buffer, keys, middle, to);
+            for (int i = from, left = from, right = middle; i < to; i++) {
+                if (right >= to || (left < middle && compareKeys(texts, buffer[left], buffer[right]) <= 0)) {
+                    keys[i] = buffer[left++];
+                } else {
+                    keys[i] = buffer[right++];
+                }
+            }
+        }
+
+        private static int compareKeys(String[] texts, long a, long b) {
+            String textA = texts[(int) (a >>> OFFSET_BITS)];
+            String textB = texts[(int) (b >>> OFFSET_BITS)];
+            int offsetA = (int) (a & MAX_OFFSET);
+            int offsetB = (int) (b & MAX_OFFSET);
+            int length = Math.min(textA.length() - offsetA, textB.length() - offsetB);
+            for (int i = 0; i < length; i++) {
+                int difference = textA.charAt(offsetA + i) - textB.charAt(offsetB + i);
+                if (difference != 0) {
+                    return difference;
+                }
+            }
+            int difference = (textA.length() - offsetA) - (textB.length() - offsetB);
+            return difference != 0 ? difference : Long.compare(a, b);
+        }
+    }
+}
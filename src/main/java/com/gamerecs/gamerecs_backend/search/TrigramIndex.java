@@ -0,0 +1,354 @@
+package com.gamerecs.gamerecs_backend.search;
+
+import com.gamerecs.gamerecs_backend.util.ScratchPool;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index from title trigrams to games, with relevance ranking.
+ * Titles are normalized to lower-case words and split into trigrams the way {@code pg_trgm} does (each word
+ * padded with two leading and one trailing space). A search counts the trigrams each title shares with the
+ * query through the posting lists, so only titles sharing at least one trigram are ever looked at; only queries
+ * too short to contain a whole trigram check every title, as a {@code LIKE} scan would.
+ * A title matches if it contains the query anywhere, as {@code LIKE '%query%'} does, or if its trigram similarity
+ * reaches {@link #MIN_SIMILARITY}; prefix matches rank first, then other substring matches, then titles by
+ * descending similarity.
+ * Updating a title leaves the old entry in place as a tombstone; once tombstones make up a quarter of the
+ * entries they are compacted away.
+ */
+public class TrigramIndex {
+
+    /**
+     * Minimum share of trigrams for a title to match without containing the query, as {@code pg_trgm} uses
+     */
+    static final double MIN_SIMILARITY = 0.3;
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int MIN_TOMBSTONES_TO_COMPACT = 64;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ScratchPool<Counter> counters = ScratchPool.perProcessor(Counter::new);
+    private final Map<Long, IntList> postings = new HashMap<>();
+    private final Map<Long, Integer> docsByGameId = new HashMap<>();
+    private final BitSet removed = new BitSet();
+    private long[] gameIds = new long[INITIAL_CAPACITY];
+    private String[] titles = new String[INITIAL_CAPACITY];
+    private int[] trigramCounts = new int[INITIAL_CAPACITY];
+    private int size;
+    private int tombstones;
+
+    /**
+     * Add a game or replace its title
+     * @param gameId the ID of the game
+     * @param title the title of the game
+     */
+    public void put(long gameId, String title) {
+        String normalized = normalize(title);
+        long[] trigrams = trigrams(normalized);
+        lock.writeLock().lock();
+        try {
+            Integer existing = docsByGameId.get(gameId);
+            if (existing != null) {
+                if (titles[existing].equals(normalized)) {
+                    return;
+                }
+                removed.set(existing);
+                tombstones++;
+            }
+            int doc = size++;
+            ensureCapacity(size);
+            gameIds[doc] = gameId;
+            titles[doc] = normalized;
+            trigramCounts[doc] = trigrams.length;
+            for (long trigram : trigrams) {
+                postings.computeIfAbsent(trigram, key -> new IntList()).add(doc);
+            }
+            docsByGameId.put(gameId, doc);
+            if (tombstones >= MIN_TOMBSTONES_TO_COMPACT && tombstones * 4 > size) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove every game from the index
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            docsByGameId.clear();
+            removed.clear();
+            gameIds = new long[INITIAL_CAPACITY];
+            titles = new String[INITIAL_CAPACITY];
+            trigramCounts = new int[INITIAL_CAPACITY];
+            size = 0;
+            tombstones = 0;
+            counters.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Get the number of games in the index
+     * @return the number of indexed games
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docsByGameId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Get the number of entries in the index, including tombstones of replaced titles
+     * @return the number of entries
+     */
+    int entries() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Search titles, most relevant first
+     * @param query the text to search for
+     * @param offset the number of matches to skip
+     * @param limit the maximum number of matches to return
+     * @return the IDs of the requested matches and the total number of matches
+     */
+    public Result search(String query, long offset, int limit) {
+        String normalized = normalize(query);
+        long[] queryTrigrams = trigrams(normalized);
+        if (queryTrigrams.length == 0) {
+            return new Result(List.of(), 0);
+        }
+        // Only the best offset + limit matches are kept while all matches are counted
+        int wanted = (int) Math.min(offset + limit, Integer.MAX_VALUE);
+        Comparator<Match> byRelevance = Match.BY_RELEVANCE;
+        PriorityQueue<Match> best = new PriorityQueue<>(byRelevance.reversed());
+        long total = 0;
+
+        // Trigrams every title containing the query has; a title sharing fewer cannot contain it
+        int required = trigrams(normalized, true).length;
+
+        Counter counter = counters.acquire();
+        lock.readLock().lock();
+        try {
+            int[] shared = counter.reserve(size);
+            IntList touched = counter.touched;
+            for (long trigram : queryTrigrams) {
+                IntList docs = postings.get(trigram);
+                if (docs == null) {
+                    continue;
+                }
+                for (int i = 0; i < docs.size; i++) {
+                    int doc = docs.values[i];
+                    if (shared[doc]++ == 0) {
+                        touched.add(doc);
+                    }
+                }
+            }
+            // A query too short to contain a whole trigram, like "ab" in "cabin", can occur in any title
+            int candidates = required == 0 ? size : touched.size;
+            for (int i = 0; i < candidates; i++) {
+                int doc = required == 0 ? i : touched.values[i];
+                if (removed.get(doc)) {
+                    continue;
+                }
+                int common = shared[doc];
+                boolean contains = common >= required && titles[doc].contains(normalized);
+                double similarity = (double) common / (queryTrigrams.length + trigramCounts[doc] - common);
+                if (!contains && similarity < MIN_SIMILARITY) {
+                    continue;
+                }
+                total++;
+                if (wanted == 0) {
+                    continue;
+                }
+                int tier = contains ? (titles[doc].startsWith(normalized) ? 2 : 1) : 0;
+                Match match = new Match(gameIds[doc], tier, similarity);
+                if (best.size() < wanted) {
+                    best.add(match);
+                } else if (byRelevance.compare(match, best.peek()) < 0) {
+                    best.poll();
+                    best.add(match);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+            counter.reset();
+            counters.release(counter);
+        }
+
+        List<Match> ranked = new ArrayList<>(best);
+        ranked.sort(byRelevance);
+        List<Long> page = ranked.stream()
+                .skip(offset)
+                .map(Match::gameId)
+                .toList();
+        return new Result(page, total);
+    }
+
+    /**
+     * Lower-case a title and reduce it to words separated by single spaces
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.toLowerCase(Locale.ROOT)
+                .replaceAll("[^\\p{L}\\p{N}]+", " ")
+                .trim();
+    }
+
+    /**
+     * Get the distinct trigrams of a normalized text, each encoded as three 16-bit chars in a long
+     */
+    static long[] trigrams(String normalized) {
+        return trigrams(normalized, false);
+    }
+
+    /**
+     * Get the distinct trigrams of a normalized text, optionally without the trigrams padding the start of the
+     * first word and the end of the last word, which a longer text containing this one need not have
+     */
+    private static long[] trigrams(String normalized, boolean openEnds) {
+        if (normalized.isEmpty()) {
+            return new long[0];
+        }
+        String[] words = normalized.split(" ");
+        long[] trigrams = new long[normalized.length() * 3];
+        int count = 0;
+        for (int w = 0; w < words.length; w++) {
+            String padded = "  " + words[w] + " ";
+            int first = openEnds && w == 0 ? 2 : 0;
+            int last = padded.length() - (openEnds && w == words.length - 1 ? 4 : 3);
+            for (int i = first; i <= last; i++) {
+                trigrams[count++] = ((long) padded.charAt(i) << 32) | ((long) padded.charAt(i + 1) << 16)
+                        | padded.charAt(i + 2);
+            }
+        }
+        return Arrays.stream(trigrams, 0, count).distinct().toArray();
+    }
+
+    /**
+     * Drop tombstones and renumber the live entries, keeping their order so posting lists stay sorted
+     */
+    private void compact() {
+        int[] remap = new int[size];
+        int live = 0;
+        for (int doc = 0; doc < size; doc++) {
+            if (removed.get(doc)) {
+                remap[doc] = -1;
+                continue;
+            }
+            remap[doc] = live;
+            gameIds[live] = gameIds[doc];
+            titles[live] = titles[doc];
+            trigramCounts[live] = trigramCounts[doc];
+            live++;
+        }
+        Arrays.fill(titles, live, size, null);
+        for (Iterator<IntList> it = postings.values().iterator(); it.hasNext(); ) {
+            IntList docs = it.next();
+            int kept = 0;
+            for (int i = 0; i < docs.size; i++) {
+                int doc = remap[docs.values[i]];
+                if (doc >= 0) {
+                    docs.values[kept++] = doc;
+                }
+            }
+            docs.size = kept;
+            if (kept == 0) {
+                it.remove();
+            }
+        }
+        docsByGameId.replaceAll((gameId, doc) -> remap[doc]);
+        removed.clear();
+        tombstones = 0;
+        size = live;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > gameIds.length) {
+            int newLength = Math.max(capacity, gameIds.length * 2);
+            gameIds = Arrays.copyOf(gameIds, newLength);
+            titles = Arrays.copyOf(titles, newLength);
+            trigramCounts = Arrays.copyOf(trigramCounts, newLength);
+        }
+    }
+
+    /**
+     * A page of search results.
+     * @param gameIds the IDs of the matching games on the page, most relevant first
+     * @param total the number of matches over all pages
+     */
+    public record Result(List<Long> gameIds, long total) {
+    }
+
+    private record Match(long gameId, int tier, double similarity) {
+
+        static final Comparator<Match> BY_RELEVANCE = Comparator.comparingInt(Match::tier).reversed()
+                .thenComparing(Comparator.comparingDouble(Match::similarity).reversed())
+                .thenComparingLong(Match::gameId);
+    }
+
+    /**
+     * Per-query count of shared trigrams by entry, reused through {@link #counters}.
+     * Only the touched entries are reset after a query, so reuse costs nothing per indexed title.
+     */
+    private static final class Counter {
+
+        private int[] shared = new int[0];
+        private final IntList touched = new IntList();
+
+        int[] reserve(int entries) {
+            if (shared.length < entries) {
+                // Leave room for titles added before the next query
+                shared = new int[Math.max(entries, shared.length + shared.length / 2)];
+            }
+            return shared;
+        }
+
+        void reset() {
+            for (int i = 0; i < touched.size; i++) {
+                shared[touched.values[i]] = 0;
+            }
+            touched.size = 0;
+        }
+    }
+
+    /**
+     * Growable list of ints, to keep posting lists free of boxing.
+     */
+    private static final class IntList {
+
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+}
@@ -0,0 +1,5 @@
+/**
+ * Contains the game title search backends.
+ * The backend used by the game service is selected with {@code app.search.backend}.
+ */
+package com.gamerecs.gamerecs_backend.search;
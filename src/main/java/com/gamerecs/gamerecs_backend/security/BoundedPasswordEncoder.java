@@ -0,0 +1,154 @@
+package com.gamerecs.gamerecs_backend.security;
+
+import com.gamerecs.gamerecs_backend.exception.PasswordEncoderBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Runs a CPU-heavy password encoder on a dedicated, bounded executor.
+ * At most {@code threads} hashes run at once and at most {@code queueCapacity} wait; further calls fail fast
+ * with {@link PasswordEncoderBusyException} instead of tying up request threads, so a burst of logins cannot
+ * starve the rest of the traffic. The executor is published to Micrometer as {@code passwordEncoder}.
+ * Synchronous calls still park the caller until the hash is done; callers that can answer asynchronously use
+ * {@link #submit(Supplier)} to hand the whole password-checking task over and release their thread.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    static final String EXECUTOR_NAME = "passwordEncoder";
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final Counter rejections;
+    private final AtomicInteger threadCounter = new AtomicInteger();
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, MeterRegistry meterRegistry) {
+        if (threads < 1 || queueCapacity < 0) {
+            throw new IllegalArgumentException("Password encoder needs at least one thread and a non-negative queue");
+        }
+        this.delegate = delegate;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                queueCapacity == 0 ? new SynchronousQueue<>() : new ArrayBlockingQueue<>(queueCapacity),
+                this::newThread, new ThreadPoolExecutor.AbortPolicy());
+        if (meterRegistry != null) {
+            new ExecutorServiceMetrics(executor, EXECUTOR_NAME, Tags.empty()).bindTo(meterRegistry);
+            this.rejections = Counter.builder("password.encoder.rejected")
+                    .description("Password hashing requests rejected because the executor was saturated")
+                    .register(meterRegistry);
+        } else {
+            this.rejections = null;
+        }
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Run a task that hashes or checks passwords on the encoder executor instead of the calling thread.
+     * Encoder calls made by the task run inline on the executor thread, so the task takes one slot in total.
+     * @param task the task, e.g. an authentication
+     * @return the result of the task, failed with {@link PasswordEncoderBusyException} if the executor is saturated
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                try {
+                    result.complete(task.get());
+                } catch (Throwable e) {
+                    result.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            result.completeExceptionally(rejected(e));
+        }
+        return result;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    private <T> T run(Callable<T> task) {
+        if (Thread.currentThread() instanceof EncoderThread thread && thread.owner == this) {
+            try {
+                return task.call();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IllegalStateException("Password encoding failed", e);
+            }
+        }
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw rejected(e);
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new PasswordEncoderBusyException("Interrupted while waiting for the password encoder", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password encoding failed", e.getCause());
+        }
+    }
+
+    private PasswordEncoderBusyException rejected(RejectedExecutionException e) {
+        if (rejections != null) {
+            rejections.increment();
+        }
+        return new PasswordEncoderBusyException("Too many concurrent password operations", e);
+    }
+
+    private Thread newThread(Runnable runnable) {
+        Thread thread = new EncoderThread(this, runnable, EXECUTOR_NAME + "-" + threadCounter.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /**
+     * Executor thread that remembers its encoder, so nested encoder calls can run inline.
+     */
+    private static final class EncoderThread extends Thread {
+
+        private final BoundedPasswordEncoder owner;
+
+        EncoderThread(BoundedPasswordEncoder owner, Runnable runnable, String name) {
+            super(runnable, name);
+            this.owner = owner;
+        }
+    }
+}
@@ -5,10 +5,15 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -16,6 +21,15 @@ import org.springframework.security.web.authentication.WebAuthenticationDetailsS
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+/**
+ * Authenticates requests carrying a bearer JWT.
+ * By default the user is loaded for every request. With {@code app.security.stateless-principal=true} the
+ * principal is built from the token's user ID and roles claims instead, and {@link TokenRevocationCache}
+ * is the only way to invalidate a token before it expires. Revocations are kept in memory on the instance that
+ * made them, so the stateless principal is only safe on a single instance: it is refused together with
+ * {@code app.rating.lock-strategy=advisory}, which is meant for several instances sharing the database, and must
+ * not be enabled on several instances with any other setting either.
+ */
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
@@ -23,10 +37,23 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final TokenRevocationCache tokenRevocationCache;
+    private final boolean statelessPrincipal;
 
-    public JwtAuthenticationFilter(JwtService jwtService, UserDetailsService userDetailsService) {
+    @Autowired
+    public JwtAuthenticationFilter(JwtService jwtService, UserDetailsService userDetailsService,
+                                   TokenRevocationCache tokenRevocationCache,
+                                   @Value("${app.security.stateless-principal:false}") boolean statelessPrincipal,
+                                   @Value("${app.rating.lock-strategy:striped}") String lockStrategy) {
+        if (statelessPrincipal && "advisory".equals(lockStrategy)) {
+            throw new IllegalStateException("app.security.stateless-principal=true requires a single instance, " +
+                    "since token revocations are not shared between instances, but app.rating.lock-strategy=advisory " +
+                    "is set for several instances");
+        }
         this.jwtService = jwtService;
         this.userDetailsService = userDetailsService;
+        this.tokenRevocationCache = tokenRevocationCache;
+        this.statelessPrincipal = statelessPrincipal;
     }
 
     @Override
@@ -35,7 +62,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             @NonNull HttpServletResponse response,
             @NonNull FilterChain filterChain) throws ServletException, IOException {
 
-        log.info("Processing request to: {}", request.getRequestURI());
+        log.debug("Processing request to: {}", request.getRequestURI());
         
         final String authHeader = request.getHeader("Authorization");
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
@@ -46,14 +73,30 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         try {
             final String jwt = authHeader.substring(7);
-            final String username = jwtService.extractUsername(jwt);
-            
+            final Optional<JwtService.VerifiedToken> verifiedToken = jwtService.verify(jwt);
+            if (verifiedToken.isEmpty()) {
+                log.warn("Invalid or expired JWT token");
+                filterChain.doFilter(request, response);
+                return;
+            }
+            final JwtService.VerifiedToken token = verifiedToken.get();
+            final String username = token.username();
+
             log.debug("JWT token found for user: {}", username);
 
-            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
-                
-                if (jwtService.isTokenValid(jwt, userDetails)) {
+            if (token.userId() != null && tokenRevocationCache.isRevoked(token.userId(), token.issuedAt())) {
+                log.warn("Revoked JWT token for user: {}", username);
+                filterChain.doFilter(request, response);
+                return;
+            }
+
+            if (SecurityContextHolder.getContext().getAuthentication() == null) {
+                UserDetails userDetails = statelessPrincipal ? principalFromClaims(token) : null;
+                if (userDetails == null) {
+                    userDetails = this.userDetailsService.loadUserByUsername(username);
+                }
+
+                if (username.equals(userDetails.getUsername())) {
                     log.debug("JWT token is valid for user: {}", username);
                     
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
@@ -63,7 +106,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                             
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authToken);
-                    log.info("Successfully authenticated user: {}", username);
+                    log.debug("Successfully authenticated user: {}", username);
                 } else {
                     log.warn("Invalid JWT token for user: {}", username);
                 }
@@ -74,4 +117,20 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * Build a principal from the claims of a token
+     * @param token the verified token
+     * @return the principal, or null if the token predates the user ID and roles claims
+     */
+    private UserDetails principalFromClaims(JwtService.VerifiedToken token) {
+        List<String> roles = token.roles();
+        if (token.userId() == null || roles == null) {
+            return null;
+        }
+        List<SimpleGrantedAuthority> authorities = roles.stream()
+                .map(SimpleGrantedAuthority::new)
+                .toList();
+        return UserDetailsImpl.fromClaims(token.userId(), token.username(), authorities);
+    }
 }
\ No newline at end of file
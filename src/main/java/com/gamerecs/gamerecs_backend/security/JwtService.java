@@ -1,29 +1,78 @@
 package com.gamerecs.gamerecs_backend.security;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 
+/**
+ * Issues and verifies the application's JWTs.
+ * The signing key and parser are built once at startup. Verified tokens are kept in a bounded cache keyed by
+ * the SHA-256 hash of the token until the token expires, so a client reusing its token skips signature
+ * verification and claim parsing on subsequent requests.
+ */
 @Service
 public class JwtService {
 
+    static final String CLAIM_USER_ID = "uid";
+    static final String CLAIM_ROLES = "roles";
+
     @Value("${jwt.secret}")
     private String secretKey;
 
     @Value("${jwt.expiration}")
     private long jwtExpiration;
 
+    /**
+     * Maximum number of verified tokens kept; 0 disables the cache.
+     */
+    @Value("${jwt.verified-token-cache-size:10000}")
+    private long verifiedTokenCacheSize;
+
+    private Key signingKey;
+    private JwtParser parser;
+    private Cache<String, VerifiedToken> verifiedTokens;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(secretKey.getBytes());
+        parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        if (verifiedTokenCacheSize > 0) {
+            verifiedTokens = Caffeine.newBuilder()
+                    .maximumSize(verifiedTokenCacheSize)
+                    .expireAfter(new UntilTokenExpires())
+                    .build();
+        }
+    }
+
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
@@ -42,34 +91,128 @@ public class JwtService {
     }
 
     public String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
+        // The user ID and roles let the filter build a principal without loading the user
+        Map<String, Object> claims = new HashMap<>(extraClaims);
+        if (userDetails instanceof UserDetailsImpl details && details.getUser().getUserId() != null) {
+            claims.put(CLAIM_USER_ID, details.getUser().getUserId());
+        }
+        claims.put(CLAIM_ROLES, userDetails.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList());
         return Jwts.builder()
-                .setClaims(extraClaims)
+                .setClaims(claims)
                 .setSubject(userDetails.getUsername())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + jwtExpiration))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+    /**
+     * Verify a token, parsing it at most once for as long as it stays cached
+     * @param token the compact JWT
+     * @return the verified token, or empty if the signature is invalid, the token is malformed or expired
+     */
+    public Optional<VerifiedToken> verify(String token) {
+        String cacheKey = verifiedTokens != null ? hash(token) : null;
+        if (cacheKey != null) {
+            VerifiedToken cached = verifiedTokens.getIfPresent(cacheKey);
+            if (cached != null) {
+                return cached.isExpired() ? Optional.empty() : Optional.of(cached);
+            }
+        }
+
+        Claims claims;
+        try {
+            claims = extractAllClaims(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        if (claims.getSubject() == null) {
+            return Optional.empty();
+        }
+        VerifiedToken verified = new VerifiedToken(claims.getSubject(), claims.getExpiration(), claims);
+        // Tokens without an expiration are accepted as before, but never cached
+        if (cacheKey != null && verified.expiration() != null) {
+            verifiedTokens.put(cacheKey, verified);
+        }
+        return Optional.of(verified);
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public boolean isTokenValid(String token, UserDetails userDetails) {
+        return verify(token)
+                .map(verified -> verified.username().equals(userDetails.getUsername()))
+                .orElse(false);
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * A token whose signature and expiration were checked.
+     * @param username the subject of the token
+     * @param expiration the expiration of the token, or null if it has none
+     * @param claims all claims of the token
+     */
+    public record VerifiedToken(String username, Date expiration, Claims claims) {
+
+        boolean isExpired() {
+            return expiration != null && expiration.before(new Date());
+        }
+
+        /**
+         * Get the ID of the user the token was issued to
+         * @return the user ID, or null for tokens issued without it
+         */
+        public Long userId() {
+            return claims.get(CLAIM_USER_ID) instanceof Number userId ? userId.longValue() : null;
+        }
+
+        /**
+         * Get the roles granted when the token was issued
+         * @return the roles, or null for tokens issued without them
+         */
+        public List<String> roles() {
+            if (!(claims.get(CLAIM_ROLES) instanceof Collection<?> roles)) {
+                return null;
+            }
+            return roles.stream().map(String::valueOf).toList();
+        }
+
+        public Date issuedAt() {
+            return claims.getIssuedAt();
+        }
     }
 
-    private Key getSigningKey() {
-        byte[] keyBytes = secretKey.getBytes();
-        return Keys.hmacShaKeyFor(keyBytes);
+    /**
+     * Expires each cached token at the token's own expiration time.
+     */
+    private static class UntilTokenExpires implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            long remainingMillis = value.expiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,75 @@
+package com.gamerecs.gamerecs_backend.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Record of users whose existing tokens must no longer be accepted, e.g. after a lockout or a password change.
+ * Token issue times have second precision, so an entry rejects every token of the user issued up to the end of
+ * the second it was made in, and a new token for the user must not be issued before that second is over, see
+ * {@link #awaitNewTokens(Long)}. Entries are kept for exactly one token lifetime, after which all such tokens have
+ * expired anyway. The cache is bounded by that lifetime only: a size cap would evict live revocations and
+ * silently accept the revoked tokens again.
+ * <p>
+ * Entries are local to this instance: other instances keep accepting the revoked tokens, which is why
+ * {@link JwtAuthenticationFilter} refuses a stateless principal on a deployment of several instances.
+ */
+@Component
+public class TokenRevocationCache {
+
+    private final Cache<Long, Instant> revokedBefore;
+
+    @Autowired
+    public TokenRevocationCache(@Value("${jwt.expiration}") long jwtExpiration) {
+        this.revokedBefore = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(jwtExpiration))
+                .build();
+    }
+
+    /**
+     * Reject every token of a user issued until the end of the current second
+     * @param userId the ID of the user
+     */
+    public void revoke(Long userId) {
+        revokedBefore.put(userId, Instant.now().truncatedTo(ChronoUnit.SECONDS).plusSeconds(1));
+    }
+
+    /**
+     * Wait until a new token of a user would no longer fall in the second of the user's last revocation, which
+     * takes at most a second and only right after a revocation
+     * @param userId the ID of the user about to be issued a token
+     */
+    public void awaitNewTokens(Long userId) {
+        Instant revoked = revokedBefore.getIfPresent(userId);
+        long wait = revoked != null ? revoked.toEpochMilli() - System.currentTimeMillis() : 0;
+        if (wait > 0) {
+            try {
+                Thread.sleep(wait);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting to issue a token", e);
+            }
+        }
+    }
+
+    /**
+     * Check whether a token was revoked
+     * @param userId the ID of the user the token was issued to
+     * @param issuedAt the issue time of the token, or null if unknown
+     * @return true if the token must be rejected
+     */
+    public boolean isRevoked(Long userId, Date issuedAt) {
+        Instant revoked = revokedBefore.getIfPresent(userId);
+        if (revoked == null) {
+            return false;
+        }
+        return issuedAt == null || issuedAt.toInstant().isBefore(revoked);
+    }
+}
@@ -9,14 +9,36 @@ import org.springframework.security.core.userdetails.UserDetails;
 
 public class UserDetailsImpl implements UserDetails {
     private final User user;
+    private final Collection<? extends GrantedAuthority> authorities;
 
     public UserDetailsImpl(User user) {
+        this(user, Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")));
+    }
+
+    public UserDetailsImpl(User user, Collection<? extends GrantedAuthority> authorities) {
         this.user = user;
+        this.authorities = authorities;
+    }
+
+    /**
+     * Create a principal from token claims without loading the user.
+     * The wrapped user only carries its ID and username, which is enough to reference it in queries.
+     * @param userId the ID of the user
+     * @param username the username
+     * @param authorities the granted authorities
+     * @return the principal
+     */
+    public static UserDetailsImpl fromClaims(Long userId, String username,
+                                             Collection<? extends GrantedAuthority> authorities) {
+        User user = new User();
+        user.setUserId(userId);
+        user.setUsername(username);
+        return new UserDetailsImpl(user, authorities);
     }
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER"));
+        return authorities;
     }
 
     @Override
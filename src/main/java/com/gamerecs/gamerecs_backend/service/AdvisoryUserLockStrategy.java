@@ -0,0 +1,65 @@
+package com.gamerecs.gamerecs_backend.service;
+
+import java.util.Collection;
+import java.util.TreeSet;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * User locks backed by PostgreSQL transaction-level advisory locks.
+ * {@code pg_advisory_xact_lock} is taken on the transaction's own connection and released by the database
+ * at commit or rollback, so writers on every node sharing the database are serialized and no lock
+ * state is kept in memory.
+ */
+@Component
+@ConditionalOnProperty(name = "app.rating.lock-strategy", havingValue = "advisory")
+public class AdvisoryUserLockStrategy implements UserLockStrategy {
+
+    /**
+     * First key of the two-key advisory lock form, reserving a namespace for rating writes.
+     */
+    static final int RATING_LOCK_NAMESPACE = 0x52415445;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public AdvisoryUserLockStrategy(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void lockForTransaction(Long userId) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("User locks can only be taken inside a transaction");
+        }
+        // Users whose IDs hash to the same int share a lock, which only costs some extra waiting
+        lockKey(Long.hashCode(userId));
+    }
+
+    @Override
+    public void lockAllForTransaction(Collection<Long> userIds) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("User locks can only be taken inside a transaction");
+        }
+        // Ordered by lock key rather than by user, since users in different order can share keys
+        TreeSet<Integer> keys = new TreeSet<>();
+        for (Long userId : userIds) {
+            keys.add(Long.hashCode(userId));
+        }
+        for (int key : keys) {
+            lockKey(key);
+        }
+    }
+
+    private void lockKey(int key) {
+        jdbcTemplate.queryForList("SELECT pg_advisory_xact_lock(?, ?)", RATING_LOCK_NAMESPACE, key);
+    }
+
+    @Override
+    public boolean isClusterWide() {
+        return true;
+    }
+}
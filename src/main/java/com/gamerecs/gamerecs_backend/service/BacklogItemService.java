@@ -1,22 +1,34 @@
 package com.gamerecs.gamerecs_backend.service;
 
+import com.gamerecs.gamerecs_backend.config.CacheInvalidator;
+import com.gamerecs.gamerecs_backend.dto.BacklogBatchUpdateResult;
+import com.gamerecs.gamerecs_backend.dto.BacklogStatusCount;
+import com.gamerecs.gamerecs_backend.dto.KeysetSlice;
 import com.gamerecs.gamerecs_backend.exception.BacklogException;
 import com.gamerecs.gamerecs_backend.model.BacklogItem;
 import com.gamerecs.gamerecs_backend.model.BacklogStatus;
 import com.gamerecs.gamerecs_backend.model.Game;
 import com.gamerecs.gamerecs_backend.model.User;
+import com.gamerecs.gamerecs_backend.model.UserBacklogStats;
 import com.gamerecs.gamerecs_backend.repository.BacklogItemRepository;
+import com.gamerecs.gamerecs_backend.repository.UserBacklogStatsRepository;
+import com.gamerecs.gamerecs_backend.util.KeysetCursor;
 import jakarta.validation.constraints.NotNull;
 import java.util.ArrayList;
 import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
@@ -24,24 +36,35 @@ import org.springframework.validation.annotation.Validated;
 /**
  * Service implementation for managing user's game backlog.
  * Implements business logic for backlog operations with proper validation and transaction management.
+ * Per-status counts are kept in a {@link UserBacklogStats} row per user, updated under its row lock with every
+ * backlog change and verified against the BacklogItem table on {@code app.backlog-stats.verify-cron} when set.
  */
 @Service
 @Validated
 @Transactional
 public class BacklogItemService implements IBacklogItemService {
 
+    private static final Logger log = LoggerFactory.getLogger(BacklogItemService.class);
+
+    static final int MAX_BATCH_SIZE = 500;
+
     private final BacklogItemRepository backlogItemRepository;
+    private final UserBacklogStatsRepository userBacklogStatsRepository;
     private final GameService gameService;
+    private final CacheInvalidator cacheInvalidator;
 
     @Autowired
-    public BacklogItemService(BacklogItemRepository backlogItemRepository, GameService gameService) {
+    public BacklogItemService(BacklogItemRepository backlogItemRepository,
+                              UserBacklogStatsRepository userBacklogStatsRepository, GameService gameService,
+                              CacheInvalidator cacheInvalidator) {
         this.backlogItemRepository = backlogItemRepository;
+        this.userBacklogStatsRepository = userBacklogStatsRepository;
         this.gameService = gameService;
+        this.cacheInvalidator = cacheInvalidator;
     }
 
     @Override
     @Transactional
-    @CacheEvict(value = "userBacklog", key = "#user.userId")
     public BacklogItem addToBacklog(@NotNull User user, @NotNull Game game, @NotNull BacklogStatus status) {
         // Validate game exists
         gameService.findById(game.getGameId())
@@ -54,14 +77,20 @@ public class BacklogItemService implements IBacklogItemService {
         }
 
         // Create and save new backlog item
+        UserBacklogStats stats = lockStats(user);
         BacklogItem backlogItem = new BacklogItem(user, game, status);
-        return backlogItemRepository.save(backlogItem);
+        BacklogItem savedItem = backlogItemRepository.save(backlogItem);
+        stats.adjust(status, 1);
+        evictUserBacklog(user);
+        return savedItem;
     }
 
     @Override
     @Transactional
-    @CacheEvict(value = "userBacklog", key = "#user.userId")
     public BacklogItem updateGameStatus(@NotNull User user, @NotNull Game game, @NotNull BacklogStatus newStatus) {
+        // Lock the counters first, so that the item is read after any concurrent change to it has committed
+        UserBacklogStats stats = lockStats(user);
+
         // Find existing backlog item
         BacklogItem backlogItem = backlogItemRepository.findByUserAndGame(user, game)
             .orElseThrow(() -> new BacklogException("Game not found in user's backlog"));
@@ -70,69 +99,204 @@ public class BacklogItemService implements IBacklogItemService {
         validateStatusTransition(backlogItem.getStatus(), newStatus);
 
         // Update status
+        BacklogStatus oldStatus = backlogItem.getStatus();
         backlogItem.setStatus(newStatus);
-        return backlogItemRepository.save(backlogItem);
+        BacklogItem savedItem = backlogItemRepository.save(backlogItem);
+        stats.adjust(oldStatus, -1);
+        stats.adjust(newStatus, 1);
+        evictUserBacklog(user);
+        return savedItem;
     }
 
     @Override
     @Transactional
-    @CacheEvict(value = "userBacklog", key = "#user.userId")
     public void removeFromBacklog(@NotNull User user, @NotNull Game game) {
+        UserBacklogStats stats = lockStats(user);
         BacklogItem backlogItem = backlogItemRepository.findByUserAndGame(user, game)
             .orElseThrow(() -> new BacklogException("Game not found in user's backlog"));
-        
+
         backlogItemRepository.delete(backlogItem);
+        stats.adjust(backlogItem.getStatus(), -1);
+        evictUserBacklog(user);
     }
 
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(value = "userBacklog", key = "{#user.userId, #status}")
+    @Cacheable(value = "userBacklog", keyGenerator = "pagedKeyGenerator",
+            condition = "@pagedCachePolicy.isCacheable(#pageable)")
     public Page<BacklogItem> getUserBacklog(@NotNull User user, BacklogStatus status, Pageable pageable) {
         return status == null ? 
             backlogItemRepository.findByUser(user, pageable) :
             backlogItemRepository.findByUserAndStatus(user, status, pageable);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetSlice<BacklogItem> scrollUserBacklog(@NotNull User user, BacklogStatus status, String cursor, int size) {
+        Pageable limit = PageRequest.of(0, KeysetCursor.limit(size));
+        KeysetCursor after = KeysetCursor.resume(cursor, new KeysetCursor("id", "", 0));
+        Slice<BacklogItem> items = status == null ?
+            backlogItemRepository.findByUserAfterId(user, after.id(), limit) :
+            backlogItemRepository.findByUserAndStatusAfterId(user, status, after.id(), limit);
+        return KeysetSlice.of(items, item -> new KeysetCursor("id", "", item.getBacklogItemId()));
+    }
+
     @Override
     @Transactional(readOnly = true)
     @Cacheable(value = "backlogStats", key = "#user.userId")
     public Map<BacklogStatus, Long> getBacklogStatistics(@NotNull User user) {
-        Map<BacklogStatus, Long> stats = new EnumMap<>(BacklogStatus.class);
-        
-        // Initialize all statuses with 0 count
-        for (BacklogStatus status : BacklogStatus.values()) {
-            stats.put(status, 0L);
-        }
-        
-        // Update counts for existing statuses
-        for (BacklogStatus status : BacklogStatus.values()) {
-            long count = backlogItemRepository.countByUserAndStatus(user, status);
-            stats.put(status, count);
-        }
-        
-        return stats;
+        // Counters are created on the user's first backlog change; until then count the items once
+        return userBacklogStatsRepository.findById(user.getUserId())
+            .map(UserBacklogStats::toMap)
+            .orElseGet(() -> countByStatus(user));
     }
 
     @Override
     @Transactional
-    @CacheEvict(value = {"userBacklog", "backlogStats"}, key = "#user.userId")
-    public List<BacklogItem> batchUpdateStatus(@NotNull User user, @NotNull Map<Game, BacklogStatus> gameStatusMap) {
-        List<BacklogItem> updatedItems = new ArrayList<>();
-        
-        for (Map.Entry<Game, BacklogStatus> entry : gameStatusMap.entrySet()) {
-            Game game = entry.getKey();
+    public BacklogBatchUpdateResult batchUpdateStatus(@NotNull User user,
+                                                      @NotNull Map<Long, BacklogStatus> statusByGameId) {
+        if (statusByGameId.size() > MAX_BATCH_SIZE) {
+            throw new BacklogException("Batch size must not exceed " + MAX_BATCH_SIZE + " games");
+        }
+        BacklogBatchUpdateResult result = new BacklogBatchUpdateResult();
+        if (statusByGameId.isEmpty()) {
+            return result;
+        }
+
+        UserBacklogStats stats = lockStats(user);
+
+        // Load the current status of every target item with one query
+        Map<Long, Object[]> itemsByGameId = new HashMap<>();
+        for (Object[] row : backlogItemRepository.findItemStatusesByUserAndGameIds(user, statusByGameId.keySet())) {
+            itemsByGameId.put((Long) row[1], row);
+        }
+
+        // Validate in memory and group the accepted changes by target status
+        Map<BacklogStatus, List<Long>> itemIdsByStatus = new EnumMap<>(BacklogStatus.class);
+        for (Map.Entry<Long, BacklogStatus> entry : statusByGameId.entrySet()) {
+            Long gameId = entry.getKey();
             BacklogStatus newStatus = entry.getValue();
-            
+            Object[] item = itemsByGameId.get(gameId);
+            if (newStatus == null) {
+                result.addFailure(gameId, null, "Status is required");
+                continue;
+            }
+            if (item == null) {
+                result.addFailure(gameId, newStatus, "Game not found in user's backlog");
+                continue;
+            }
+            BacklogStatus currentStatus = (BacklogStatus) item[2];
             try {
-                BacklogItem updated = updateGameStatus(user, game, newStatus);
-                updatedItems.add(updated);
+                validateStatusTransition(currentStatus, newStatus);
             } catch (BacklogException e) {
-                // Log error and continue with other updates
-                // Consider wrapping in a BatchUpdateException if needed
+                result.addFailure(gameId, newStatus, e.getMessage());
+                continue;
             }
+            if (currentStatus != newStatus) {
+                itemIdsByStatus.computeIfAbsent(newStatus, status -> new ArrayList<>()).add((Long) item[0]);
+                stats.adjust(currentStatus, -1);
+                stats.adjust(newStatus, 1);
+            }
+            result.addSuccess(gameId, newStatus);
         }
-        
-        return updatedItems;
+
+        // One bulk update per target status
+        itemIdsByStatus.forEach((status, itemIds) -> backlogItemRepository.updateStatusByIds(itemIds, status));
+
+        if (!itemIdsByStatus.isEmpty()) {
+            evictUserBacklog(user);
+        }
+        return result;
+    }
+
+    /**
+     * Evicts every cached backlog page and the statistics of a single user.
+     * @param user the user whose backlog changed
+     */
+    private void evictUserBacklog(User user) {
+        cacheInvalidator.evictScope("userBacklog", user.getUserId());
+        cacheInvalidator.evict("backlogStats", user.getUserId());
+    }
+
+    /**
+     * Compare every user's backlog counters against the BacklogItem table and recount the ones that drifted.
+     * Candidates are found with one grouped query; each is then recounted under its row lock so that
+     * concurrent backlog changes are not overwritten. Runs on {@code app.backlog-stats.verify-cron} when set.
+     * @return the number of counters that were repaired
+     */
+    @Scheduled(cron = "${app.backlog-stats.verify-cron:-}")
+    public int verifyAndRepair() {
+        Map<Long, Map<BacklogStatus, Long>> actual = new HashMap<>();
+        for (Object[] row : backlogItemRepository.countGroupByUserAndStatus()) {
+            actual.computeIfAbsent((Long) row[0], id -> new EnumMap<>(BacklogStatus.class))
+                .put((BacklogStatus) row[1], (Long) row[2]);
+        }
+
+        int repaired = 0;
+        for (UserBacklogStats stats : userBacklogStatsRepository.findAll()) {
+            Map<BacklogStatus, Long> counts = actual.getOrDefault(stats.getUserId(), Map.of());
+            for (BacklogStatus status : BacklogStatus.values()) {
+                if (stats.getCount(status) != counts.getOrDefault(status, 0L)) {
+                    recount(stats.getUserId());
+                    repaired++;
+                    break;
+                }
+            }
+        }
+
+        if (repaired > 0) {
+            log.warn("Repaired {} backlog counters that did not match the BacklogItem table", repaired);
+        } else {
+            log.debug("All backlog counters match the BacklogItem table");
+        }
+        return repaired;
+    }
+
+    /**
+     * Locks the backlog counters of a user for the rest of the transaction, creating them from the
+     * current backlog items if they do not exist yet. Must be called before the backlog items change.
+     * The row is created with an insert-if-absent, so two first changes at once do not collide on its key.
+     * @param user the user whose backlog is about to change
+     * @return the locked counters
+     */
+    private UserBacklogStats lockStats(User user) {
+        boolean created = userBacklogStatsRepository.insertIfAbsent(user.getUserId()) > 0;
+        UserBacklogStats stats = lock(user.getUserId());
+        if (created) {
+            stats.resetTo(countByStatus(user));
+        }
+        return stats;
+    }
+
+    private void recount(Long userId) {
+        UserBacklogStats stats = lock(userId);
+        Map<BacklogStatus, Long> counts = new EnumMap<>(BacklogStatus.class);
+        for (BacklogStatusCount statusCount : backlogItemRepository.countByUserIdGroupByStatus(userId)) {
+            counts.put(statusCount.getStatus(), statusCount.getCount());
+        }
+        stats.resetTo(counts);
+        cacheInvalidator.evict("backlogStats", userId);
+    }
+
+    private UserBacklogStats lock(Long userId) {
+        return userBacklogStatsRepository.findByIdForUpdate(userId)
+            .orElseThrow(() -> new IllegalStateException("No backlog counters for user " + userId));
+    }
+
+    /**
+     * Counts the backlog items of a user per status with a single grouped query.
+     * @param user the user
+     * @return map containing the count of each status, including zero counts
+     */
+    private Map<BacklogStatus, Long> countByStatus(User user) {
+        Map<BacklogStatus, Long> stats = new EnumMap<>(BacklogStatus.class);
+        for (BacklogStatus status : BacklogStatus.values()) {
+            stats.put(status, 0L);
+        }
+        for (BacklogStatusCount statusCount : backlogItemRepository.countByUserGroupByStatus(user)) {
+            stats.put(statusCount.getStatus(), statusCount.getCount());
+        }
+        return stats;
     }
 
     /**
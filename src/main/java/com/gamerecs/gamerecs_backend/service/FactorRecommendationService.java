@@ -0,0 +1,184 @@
+package com.gamerecs.gamerecs_backend.service;
+
+import com.gamerecs.gamerecs_backend.dto.GameRecommendation;
+import com.gamerecs.gamerecs_backend.model.Game;
+import com.gamerecs.gamerecs_backend.recommendation.AlternatingLeastSquares;
+import com.gamerecs.gamerecs_backend.recommendation.FactorModel;
+import com.gamerecs.gamerecs_backend.recommendation.RatingMatrix;
+import com.gamerecs.gamerecs_backend.repository.RatingRepository;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Matrix factorization recommendations, trained by alternating least squares over all ratings.
+ * When {@code app.recommendations.als.model-path} is set, the trained model is saved there and a starting node
+ * maps the saved model instead of training; otherwise it is trained on the application task executor once the
+ * application is ready, and users get no recommendations from it until training completes. The model
+ * is retrained on {@code app.recommendations.als.train-cron} when set. With
+ * {@code app.recommendations.als.implicit} the ratings are treated as implicit feedback, so that rating a game
+ * at all counts as interest.
+ */
+@Service
+public class FactorRecommendationService {
+
+    private static final Logger log = LoggerFactory.getLogger(FactorRecommendationService.class);
+
+    private final RatingRepository ratingRepository;
+    private final RatingMatrixLoader ratingMatrixLoader;
+    private final GameService gameService;
+    private final AlternatingLeastSquares.Settings settings;
+    private final int parallelism;
+    private final Path modelPath;
+    private final Executor trainingExecutor;
+    private final ReentrantLock trainLock = new ReentrantLock();
+    private volatile FactorModel model;
+
+    @Autowired
+    public FactorRecommendationService(RatingRepository ratingRepository,
+                                       RatingMatrixLoader ratingMatrixLoader,
+                                       GameService gameService,
+                                       @Value("${app.recommendations.als.rank:32}") int rank,
+                                       @Value("${app.recommendations.als.iterations:10}") int iterations,
+                                       @Value("${app.recommendations.als.regularization:0.1}") float regularization,
+                                       @Value("${app.recommendations.als.implicit:false}") boolean implicit,
+                                       @Value("${app.recommendations.als.alpha:40}") float alpha,
+                                       @Value("${app.recommendations.parallelism:0}") int parallelism,
+                                       @Value("${app.recommendations.als.model-path:}") String modelPath,
+                                       @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+                                       Executor trainingExecutor) {
+        this.ratingRepository = ratingRepository;
+        this.ratingMatrixLoader = ratingMatrixLoader;
+        this.gameService = gameService;
+        this.settings = new AlternatingLeastSquares.Settings(rank, iterations, regularization, implicit, alpha);
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.modelPath = modelPath.isBlank() ? null : Path.of(modelPath);
+        this.trainingExecutor = trainingExecutor;
+    }
+
+    /**
+     * Map the saved model if there is one, or start training a model in the background, so that training does not
+     * delay readiness
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (modelPath != null && Files.exists(modelPath)) {
+            try {
+                long start = System.nanoTime();
+                model = FactorModel.load(modelPath);
+                log.info("Loaded factor model of {} users and {} games from {} in {} ms", model.users(),
+                        model.games(), modelPath, (System.nanoTime() - start) / 1_000_000);
+                return;
+            } catch (IOException e) {
+                log.warn("Could not load factor model from {}, retraining", modelPath, e);
+            }
+        }
+        trainingExecutor.execute(() -> {
+            try {
+                train();
+            } catch (RuntimeException e) {
+                log.error("Factor model training failed", e);
+            }
+        });
+    }
+
+    /**
+     * Retrain the model from every rating and save it when a model path is set; a call made while training
+     * is in progress is skipped
+     */
+    @Scheduled(cron = "${app.recommendations.als.train-cron:-}")
+    public void train() {
+        if (!trainLock.tryLock()) {
+            log.info("Factor model training already in progress, skipping");
+            return;
+        }
+        try {
+            long start = System.nanoTime();
+            // Implicit confidences must not be negative, so only explicit ratings are centered
+            RatingMatrix matrix = ratingMatrixLoader.load(!settings.implicit());
+            long loaded = System.nanoTime();
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            FactorModel trained;
+            try {
+                trained = AlternatingLeastSquares.train(matrix, settings, pool);
+            } finally {
+                pool.shutdown();
+            }
+            if (modelPath != null) {
+                try {
+                    trained.save(modelPath);
+                    trained = FactorModel.load(modelPath);
+                } catch (IOException e) {
+                    log.warn("Could not save factor model to {}", modelPath, e);
+                }
+            }
+            model = trained;
+            log.info("Trained factor model of rank {} for {} users and {} games from {} ratings: " +
+                    "loaded in {} ms, trained in {} ms", settings.rank(), matrix.users(), matrix.games(),
+                    matrix.ratings(), (loaded - start) / 1_000_000, (System.nanoTime() - loaded) / 1_000_000);
+        } finally {
+            trainLock.unlock();
+        }
+    }
+
+    /**
+     * Recommend the games a user has not rated with the highest predicted score
+     * @param userId the ID of the user
+     * @param limit the maximum number of recommendations, capped at {@link RecommendationService#MAX_RECOMMENDATIONS}
+     * @return the recommendations, best first; empty if the user had no ratings when the model was trained
+     */
+    public List<GameRecommendation> recommend(Long userId, int limit) {
+        FactorModel current = model;
+        int user = current != null ? current.userIndex(userId) : -1;
+        if (user < 0) {
+            return List.of();
+        }
+        List<Object[]> rows = ratingRepository.findRatingSignalsByUser(userId);
+        long[] rated = new long[rows.size()];
+        for (int i = 0; i < rated.length; i++) {
+            rated[i] = (Long) rows.get(i)[0];
+        }
+        Arrays.sort(rated);
+
+        // Rank every game, keeping enough to still fill the limit once rated games are dropped
+        int wanted = Math.min(Math.max(limit, 1), RecommendationService.MAX_RECOMMENDATIONS);
+        int kept = Math.min(wanted + rated.length, current.games());
+        int[] gameIndexes = new int[kept];
+        float[] scores = new float[kept];
+        int count = current.topCandidates(user, null, 0, kept, gameIndexes, scores);
+
+        List<Long> ids = new ArrayList<>(wanted);
+        Map<Long, Float> scoresById = new HashMap<>();
+        for (int i = 0; i < count && ids.size() < wanted; i++) {
+            long gameId = current.gameId(gameIndexes[i]);
+            if (Arrays.binarySearch(rated, gameId) < 0) {
+                ids.add(gameId);
+                scoresById.put(gameId, scores[i]);
+            }
+        }
+        List<GameRecommendation> result = new ArrayList<>(ids.size());
+        for (Game game : gameService.findAllByIdInOrder(ids)) {
+            result.add(new GameRecommendation(game.getGameId(), game.getTitle(), game.getCoverImageURL(),
+                    game.getDeveloper(), (double) scoresById.get(game.getGameId()), null));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,149 @@
+package com.gamerecs.gamerecs_backend.service;
+
+import com.gamerecs.gamerecs_backend.model.Game;
+import com.gamerecs.gamerecs_backend.repository.GameRepository;
+import com.gamerecs.gamerecs_backend.search.FacetIndex;
+import com.gamerecs.gamerecs_backend.search.FacetIndex.Facet;
+import com.gamerecs.gamerecs_backend.search.IndexRefreshLock;
+import com.gamerecs.gamerecs_backend.util.IdBatch;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Filtering of games by genre, platform, developer and publisher, with facet counts.
+ * Filters are served from a {@link FacetIndex} held in memory without any database access.
+ * The index is built once the application is ready, rebuilt on {@code app.facets.refresh-cron} when set, and
+ * updated with every committed game save. Saves made by other nodes are only seen after the next rebuild.
+ */
+@Service
+public class GameFacetService {
+
+    private static final Logger log = LoggerFactory.getLogger(GameFacetService.class);
+
+    /**
+     * Maximum number of games returned per page
+     */
+    public static final int MAX_PAGE_SIZE = IdBatch.MAX_SIZE;
+
+    private final GameRepository gameRepository;
+    private final FacetIndex index = new FacetIndex();
+    private final IndexRefreshLock refreshLock = new IndexRefreshLock();
+
+    @Autowired
+    public GameFacetService(GameRepository gameRepository) {
+        this.gameRepository = gameRepository;
+    }
+
+    /**
+     * Rebuild the index from the Game table and its genre and platform collections
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.facets.refresh-cron:-}")
+    public void refresh() {
+        refreshLock.refresh(() -> {
+            long start = System.nanoTime();
+            Map<Long, Map<Facet, List<String>>> valuesByGame = new HashMap<>();
+            for (Object[] row : gameRepository.findCompanyRows()) {
+                Map<Facet, List<String>> values = valuesFor(valuesByGame, (Long) row[0]);
+                addIfPresent(values.get(Facet.DEVELOPER), (String) row[1]);
+                addIfPresent(values.get(Facet.PUBLISHER), (String) row[2]);
+            }
+            for (Object[] row : gameRepository.findGenreRows()) {
+                addIfPresent(valuesFor(valuesByGame, (Long) row[0]).get(Facet.GENRE), (String) row[1]);
+            }
+            for (Object[] row : gameRepository.findPlatformRows()) {
+                addIfPresent(valuesFor(valuesByGame, (Long) row[0]).get(Facet.PLATFORM), (String) row[1]);
+            }
+            index.rebuild(valuesByGame);
+            log.info("Indexed {} games for filtering in {} ms", valuesByGame.size(),
+                    (System.nanoTime() - start) / 1_000_000);
+        });
+    }
+
+    /**
+     * Filter games. Several values of one facet match games with any of them, or with all of them for genres
+     * and platforms when {@code matchAll} is set; different facets must all match.
+     * @param genres the accepted genres, or empty for any
+     * @param platforms the accepted platforms, or empty for any
+     * @param developers the accepted developers, or empty for any
+     * @param publishers the accepted publishers, or empty for any
+     * @param matchAll true if a game must have every requested genre and platform
+     * @param page the zero-based page number
+     * @param size the page size, capped at {@link #MAX_PAGE_SIZE}
+     * @return the IDs of the matching games on the page in ascending order, their total and the facet counts
+     */
+    public FacetIndex.Result filter(List<String> genres, List<String> platforms, List<String> developers,
+                                    List<String> publishers, boolean matchAll, int page, int size) {
+        List<FacetIndex.Filter> filters = new ArrayList<>();
+        addFilter(filters, Facet.GENRE, genres, matchAll);
+        addFilter(filters, Facet.PLATFORM, platforms, matchAll);
+        // A game has one developer and one publisher, so several of them can only be alternatives
+        addFilter(filters, Facet.DEVELOPER, developers, false);
+        addFilter(filters, Facet.PUBLISHER, publishers, false);
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        return index.filter(filters, (long) Math.max(page, 0) * pageSize, pageSize);
+    }
+
+    /**
+     * Record a committed insert or update of a game
+     * @param gameId the ID of the saved game
+     * @param values the facet values of the game, as captured by {@link #facetValues}
+     */
+    public void gameSaved(Long gameId, Map<Facet, List<String>> values) {
+        refreshLock.applySave(() -> index.put(gameId, values));
+    }
+
+    /**
+     * Copy the facet values of a game, so they can be indexed once its session is closed
+     * @param game the game
+     * @return the values of each facet
+     */
+    public static Map<Facet, List<String>> facetValues(Game game) {
+        Map<Facet, List<String>> values = emptyValues();
+        if (game.getGenres() != null) {
+            game.getGenres().forEach(genre -> addIfPresent(values.get(Facet.GENRE), genre));
+        }
+        if (game.getPlatforms() != null) {
+            game.getPlatforms().forEach(platform -> addIfPresent(values.get(Facet.PLATFORM), platform));
+        }
+        addIfPresent(values.get(Facet.DEVELOPER), game.getDeveloper());
+        addIfPresent(values.get(Facet.PUBLISHER), game.getPublisher());
+        return values;
+    }
+
+    private static void addFilter(List<FacetIndex.Filter> filters, Facet facet, List<String> values,
+                                  boolean matchAll) {
+        if (values != null && !values.isEmpty()) {
+            filters.add(new FacetIndex.Filter(facet, values, matchAll));
+        }
+    }
+
+    private static Map<Facet, List<String>> valuesFor(Map<Long, Map<Facet, List<String>>> valuesByGame,
+                                                      Long gameId) {
+        return valuesByGame.computeIfAbsent(gameId, id -> emptyValues());
+    }
+
+    private static Map<Facet, List<String>> emptyValues() {
+        Map<Facet, List<String>> values = new EnumMap<>(Facet.class);
+        for (Facet facet : Facet.values()) {
+            values.put(facet, new ArrayList<>());
+        }
+        return values;
+    }
+
+    private static void addIfPresent(List<String> values, String value) {
+        if (value != null && !value.isBlank()) {
+            values.add(value);
+        }
+    }
+}
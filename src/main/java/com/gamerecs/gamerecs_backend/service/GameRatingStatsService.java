@@ -0,0 +1,256 @@
+package com.gamerecs.gamerecs_backend.service;
+
+import com.gamerecs.gamerecs_backend.dto.GameRatingSummary;
+import com.gamerecs.gamerecs_backend.model.GameRatingStats;
+import com.gamerecs.gamerecs_backend.repository.GameRatingStatsRepository;
+import com.gamerecs.gamerecs_backend.repository.RatingRepository;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service maintaining the denormalized per-game rating summaries.
+ * Writes lock the game's summary row and run inside the caller's transaction, so a summary always commits
+ * or rolls back together with the rating change that produced it. Reads cost one primary key lookup
+ * regardless of how many ratings a game has.
+ * A missing row is created with an insert-if-absent and filled from the game's Rating rows, so games rated
+ * before the summaries existed are backfilled on their next rating change; every summary is also verified
+ * against the Rating table in the background once the application is ready.
+ */
+@Service
+@Transactional
+public class GameRatingStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(GameRatingStatsService.class);
+
+    private static final int[] EMPTY_HISTOGRAM = new int[GameRatingStats.BUCKETS];
+
+    private final GameRatingStatsRepository statsRepository;
+    private final RatingRepository ratingRepository;
+    private final TransactionTemplate batchTransaction;
+    private final int verifyBatchSize;
+    private final Executor verifyExecutor;
+
+    @Autowired
+    public GameRatingStatsService(GameRatingStatsRepository statsRepository,
+                                  RatingRepository ratingRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${app.rating-stats.verify-batch-size:1000}") int verifyBatchSize,
+                                  @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+                                  Executor verifyExecutor) {
+        if (verifyBatchSize < 1) {
+            throw new IllegalArgumentException("Verify batch size must be positive");
+        }
+        this.statsRepository = statsRepository;
+        this.ratingRepository = ratingRepository;
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+        this.verifyBatchSize = verifyBatchSize;
+        this.verifyExecutor = verifyExecutor;
+    }
+
+    /**
+     * Record a new rating of a game.
+     * Like the other record methods, must be called after the rating change has been made through the
+     * RatingRepository in the same transaction.
+     * @param gameId the ID of the game
+     * @param ratingValue the rating value
+     */
+    public void recordAdded(Long gameId, int ratingValue) {
+        update(gameId, stats -> stats.add(ratingValue));
+    }
+
+    /**
+     * Record a change of an existing rating of a game
+     * @param gameId the ID of the game
+     * @param oldValue the previous rating value
+     * @param newValue the new rating value
+     */
+    public void recordChanged(Long gameId, int oldValue, int newValue) {
+        if (oldValue == newValue) {
+            return;
+        }
+        update(gameId, stats -> stats.replace(oldValue, newValue));
+    }
+
+    /**
+     * Record the removal of a rating of a game
+     * @param gameId the ID of the game
+     * @param ratingValue the value of the removed rating
+     */
+    public void recordRemoved(Long gameId, int ratingValue) {
+        update(gameId, stats -> stats.remove(ratingValue));
+    }
+
+    /**
+     * Drop the summary of a game whose ratings were all deleted
+     * @param gameId the ID of the game
+     */
+    public void recordAllRemoved(Long gameId) {
+        statsRepository.findByIdForUpdate(gameId).ifPresent(statsRepository::delete);
+    }
+
+    /**
+     * Get the rating summary of a game
+     * @param gameId the ID of the game
+     * @return Optional containing the summary if the game has been rated
+     */
+    @Transactional(readOnly = true)
+    public Optional<GameRatingStats> getStats(Long gameId) {
+        return statsRepository.findById(gameId);
+    }
+
+    /**
+     * Get the average rating and rating count of several games with a single lookup
+     * @param gameIds the IDs of the games
+     * @return map of game ID to summary; games without ratings have no entry
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, GameRatingSummary> getSummaries(Collection<Long> gameIds) {
+        Map<Long, GameRatingSummary> summaries = new HashMap<>();
+        if (gameIds == null || gameIds.isEmpty()) {
+            return summaries;
+        }
+        for (GameRatingStats stats : statsRepository.findAllById(gameIds)) {
+            if (stats.getRatingCount() > 0) {
+                summaries.put(stats.getGameId(),
+                        new GameRatingSummary(stats.getGameId(), stats.getAverageRating(), stats.getRatingCount()));
+            }
+        }
+        return summaries;
+    }
+
+    /**
+     * Recompute the summary of a game from its Rating rows
+     * @param gameId the ID of the game
+     * @return the rebuilt summary
+     */
+    public GameRatingStats rebuild(Long gameId) {
+        statsRepository.insertIfAbsent(gameId);
+        GameRatingStats stats = lock(gameId);
+        stats.resetTo(countRatings(gameId));
+        return statsRepository.save(stats);
+    }
+
+    /**
+     * Start verifying every summary in the background, so that a large Rating table does not delay readiness
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void start() {
+        verifyExecutor.execute(() -> {
+            try {
+                verifyAndRepair();
+            } catch (RuntimeException e) {
+                log.error("Game rating summary verification failed", e);
+            }
+        });
+    }
+
+    /**
+     * Compare every summary against the Rating table and rebuild the ones that drifted.
+     * Games are checked in ranges of {@code app.rating-stats.verify-batch-size} IDs, each range with one grouped
+     * query per table in its own transaction, so neither the counts nor the locks of the whole table are held at
+     * once. Each candidate is rebuilt under its row lock so that concurrent rating changes are not overwritten.
+     * Runs in the background once the application is ready, and on {@code app.rating-stats.verify-cron} when set.
+     * @return the number of summaries that were repaired
+     */
+    @Scheduled(cron = "${app.rating-stats.verify-cron:-}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int verifyAndRepair() {
+        long maxGameId = Math.max(maxOrZero(statsRepository.findMaxGameId()),
+                maxOrZero(ratingRepository.findMaxRatedGameId()));
+        int repaired = 0;
+        for (long start = 0; start <= maxGameId; start += verifyBatchSize) {
+            long from = start;
+            long to = start + verifyBatchSize - 1;
+            repaired += batchTransaction.execute(status -> verifyAndRepair(from, to));
+        }
+
+        if (repaired > 0) {
+            log.warn("Repaired {} game rating summaries that did not match the Rating table", repaired);
+        } else {
+            log.debug("All game rating summaries match the Rating table");
+        }
+        return repaired;
+    }
+
+    private int verifyAndRepair(long fromGameId, long toGameId) {
+        Map<Long, int[]> actual = new HashMap<>();
+        for (Object[] row : ratingRepository.countRatingsByGameAndValueBetween(fromGameId, toGameId)) {
+            int[] histogram = actual.computeIfAbsent((Long) row[0], id -> new int[GameRatingStats.BUCKETS]);
+            histogram[(Integer) row[1]] = ((Long) row[2]).intValue();
+        }
+
+        int repaired = 0;
+        for (Object[] row : statsRepository.findHistogramsBetween(fromGameId, toGameId)) {
+            Long gameId = (Long) row[0];
+            int[] histogram = actual.remove(gameId);
+            if (!Arrays.equals((int[]) row[1], histogram != null ? histogram : EMPTY_HISTOGRAM)) {
+                rebuild(gameId);
+                repaired++;
+            }
+        }
+        for (Long gameId : actual.keySet()) {
+            rebuild(gameId);
+            repaired++;
+        }
+        return repaired;
+    }
+
+    private static long maxOrZero(Long gameId) {
+        return gameId != null ? gameId : 0;
+    }
+
+    /**
+     * Apply a rating change to the locked summary of a game.
+     * A summary created here is filled from the Rating rows, which already contain the change, so the change
+     * itself is then not applied.
+     */
+    private void update(Long gameId, Consumer<GameRatingStats> change) {
+        boolean created = statsRepository.insertIfAbsent(gameId) > 0;
+        GameRatingStats stats = lock(gameId);
+        if (created) {
+            ratingRepository.flush();
+            stats.resetTo(countRatings(gameId));
+        } else {
+            change.accept(stats);
+        }
+        statsRepository.save(stats);
+    }
+
+    private GameRatingStats lock(Long gameId) {
+        return statsRepository.findByIdForUpdate(gameId)
+                .orElseThrow(() -> new IllegalStateException("No rating summary for game " + gameId));
+    }
+
+    private int[] countRatings(Long gameId) {
+        return toHistogram(ratingRepository.countRatingsByValueForGame(gameId));
+    }
+
+    private static int[] toHistogram(List<Object[]> rows) {
+        int[] histogram = new int[GameRatingStats.BUCKETS];
+        for (Object[] row : rows) {
+            histogram[(Integer) row[0]] = ((Long) row[1]).intValue();
+        }
+        return histogram;
+    }
+}
@@ -1,15 +1,26 @@
 package com.gamerecs.gamerecs_backend.service;
 
 import com.gamerecs.gamerecs_backend.model.Game;
+import com.gamerecs.gamerecs_backend.repository.CatalogDictionary;
 import com.gamerecs.gamerecs_backend.repository.GameRepository;
 import com.gamerecs.gamerecs_backend.repository.RatingRepository;
 import com.gamerecs.gamerecs_backend.config.ApplicationConfig;
+import com.gamerecs.gamerecs_backend.dto.KeysetSlice;
+import com.gamerecs.gamerecs_backend.search.FacetIndex;
+import com.gamerecs.gamerecs_backend.search.GameSearchBackend;
+import com.gamerecs.gamerecs_backend.util.IdBatch;
+import com.gamerecs.gamerecs_backend.util.KeysetCursor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -22,13 +33,25 @@ public class GameService {
 
     private final GameRepository gameRepository;
     private final RatingRepository ratingRepository;
+    private final GameSearchBackend searchBackend;
+    private final GameSuggestionService gameSuggestionService;
+    private final GameFacetService gameFacetService;
+    private final CatalogDictionary catalogDictionary;
 
     @Autowired
     public GameService(GameRepository gameRepository, 
                       RatingRepository ratingRepository,
+                      GameSearchBackend searchBackend,
+                      GameSuggestionService gameSuggestionService,
+                      GameFacetService gameFacetService,
+                      CatalogDictionary catalogDictionary,
                       ApplicationConfig applicationConfig) {
         this.gameRepository = gameRepository;
         this.ratingRepository = ratingRepository;
+        this.searchBackend = searchBackend;
+        this.gameSuggestionService = gameSuggestionService;
+        this.gameFacetService = gameFacetService;
+        this.catalogDictionary = catalogDictionary;
     }
 
     /**
@@ -40,6 +63,17 @@ public class GameService {
         return gameRepository.findById(id);
     }
 
+    /**
+     * Find several games by ID with a single query
+     * @param ids the game IDs, in the order the games should be returned
+     * @return the games that exist, in request order; a repeated ID is returned once
+     * @throws IllegalArgumentException if more than {@link IdBatch#MAX_SIZE} distinct IDs are requested
+     */
+    @Transactional(readOnly = true)
+    public List<Game> findAllByIdInOrder(List<Long> ids) {
+        return IdBatch.load(ids, gameRepository::findAllById, Game::getGameId);
+    }
+
     /**
      * Find a game by its IGDB ID
      * @param igdbId the IGDB ID
@@ -50,33 +84,36 @@ public class GameService {
     }
 
     /**
-     * Search games by title (case-insensitive)
+     * Search games by title (case-insensitive) with the configured search backend
      * @param title the title to search for
      * @param pageable pagination information
      * @return Page of games matching the title
      */
+    @Transactional(readOnly = true)
     public Page<Game> searchByTitle(String title, Pageable pageable) {
-        return gameRepository.findByTitleContainingIgnoreCase(title, pageable);
+        return searchBackend.search(title, pageable);
     }
 
     /**
-     * Find games by genre
+     * Find games by genre (case-insensitive)
      * @param genre the genre to search for
      * @param pageable pagination information
      * @return Page of games with the specified genre
      */
     public Page<Game> findByGenre(String genre, Pageable pageable) {
-        return gameRepository.findByGenre(genre, pageable);
+        List<String> genres = catalogDictionary.genres().namesMatching(genre);
+        return genres.isEmpty() ? Page.empty(pageable) : gameRepository.findByGenreIn(genres, pageable);
     }
 
     /**
-     * Find games by platform
+     * Find games by platform (case-insensitive)
      * @param platform the platform to search for
      * @param pageable pagination information
      * @return Page of games available on the specified platform
      */
     public Page<Game> findByPlatform(String platform, Pageable pageable) {
-        return gameRepository.findByPlatform(platform, pageable);
+        List<String> platforms = catalogDictionary.platforms().namesMatching(platform);
+        return platforms.isEmpty() ? Page.empty(pageable) : gameRepository.findByPlatformIn(platforms, pageable);
     }
 
     /**
@@ -95,7 +132,16 @@ public class GameService {
      * @return the saved game
      */
     public Game saveGame(Game game) {
-        return gameRepository.save(game);
+        catalogDictionary.resolve(game);
+        Game savedGame = gameRepository.save(game);
+        // Genres and platforms are lazy, so they are read while the session is still open
+        Map<FacetIndex.Facet, List<String>> facetValues = GameFacetService.facetValues(savedGame);
+        afterCommit(() -> {
+            searchBackend.gameSaved(savedGame);
+            gameSuggestionService.gameSaved(savedGame);
+            gameFacetService.gameSaved(savedGame.getGameId(), facetValues);
+        });
+        return savedGame;
     }
 
     /**
@@ -137,4 +183,44 @@ public class GameService {
     public Page<Game> getAllGames(Pageable pageable) {
         return gameRepository.findAll(pageable);
     }
-} 
\ No newline at end of file
+
+    /**
+     * Retrieve games with keyset pagination, at the same cost at any depth and without a count query
+     * @param sort "id" for ID order or "title" for title then ID order
+     * @param cursor the cursor returned with the previous page, or null for the first page
+     * @param size the page size, at most {@link KeysetCursor#MAX_SIZE}
+     * @return the page of games with the cursor of the next page
+     * @throws IllegalArgumentException if the sort is unknown or the cursor is invalid
+     */
+    @Transactional(readOnly = true)
+    public KeysetSlice<Game> scrollGames(String sort, String cursor, int size) {
+        Pageable limit = PageRequest.of(0, KeysetCursor.limit(size));
+        switch (sort) {
+            case "id": {
+                KeysetCursor after = KeysetCursor.resume(cursor, new KeysetCursor("id", "", 0));
+                return KeysetSlice.of(gameRepository.findAfterId(after.id(), limit),
+                        game -> new KeysetCursor("id", "", game.getGameId()));
+            }
+            case "title": {
+                KeysetCursor after = KeysetCursor.resume(cursor, new KeysetCursor("title", "", 0));
+                return KeysetSlice.of(gameRepository.findAfterTitle(after.value(), after.id(), limit),
+                        game -> new KeysetCursor("title", game.getTitle(), game.getGameId()));
+            }
+            default:
+                throw new IllegalArgumentException("Unsupported sort: " + sort);
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
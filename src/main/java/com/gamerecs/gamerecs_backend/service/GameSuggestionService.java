@@ -0,0 +1,94 @@
+package com.gamerecs.gamerecs_backend.service;
+
+import com.gamerecs.gamerecs_backend.dto.GameSuggestion;
+import com.gamerecs.gamerecs_backend.model.Game;
+import com.gamerecs.gamerecs_backend.repository.GameRepository;
+import com.gamerecs.gamerecs_backend.search.IndexRefreshLock;
+import com.gamerecs.gamerecs_backend.search.SuggestionIndex;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Typeahead suggestions for game titles, developers and publishers, ranked by number of ratings.
+ * Suggestions are served from a {@link SuggestionIndex} held in memory without any database access.
+ * The index is built once the application is ready, refreshed on {@code app.suggest.refresh-cron} (every
+ * 15 minutes unless set; {@code -} disables it) so that rating counts catch up, and updated with every committed
+ * game save. Rating writes do not touch the index, so rankings lag rating counts by up to one refresh.
+ */
+@Service
+public class GameSuggestionService {
+
+    private static final Logger log = LoggerFactory.getLogger(GameSuggestionService.class);
+
+    /**
+     * Maximum number of suggestions returned for one prefix
+     */
+    public static final int MAX_SUGGESTIONS = 20;
+
+    private final GameRepository gameRepository;
+    private final SuggestionIndex index = new SuggestionIndex();
+    private final IndexRefreshLock refreshLock = new IndexRefreshLock();
+
+    @Autowired
+    public GameSuggestionService(GameRepository gameRepository) {
+        this.gameRepository = gameRepository;
+    }
+
+    /**
+     * Rebuild the index from the Game table and the current rating counts.
+     * Rating counts come from the rating summaries, which {@link GameRatingStatsService#verifyAndRepair} backfills
+     * in the background after startup, so games rated before the summaries existed rank by popularity from the
+     * next refresh on.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.suggest.refresh-cron:0 */15 * * * *}")
+    public void refresh() {
+        refreshLock.refresh(() -> {
+            long start = System.nanoTime();
+            List<Object[]> rows = gameRepository.findSuggestionRows();
+            List<SuggestionIndex.Document> documents = new ArrayList<>(rows.size());
+            for (Object[] row : rows) {
+                documents.add(new SuggestionIndex.Document((Long) row[0], (String) row[1], (String) row[2],
+                        (String) row[3], ((Number) row[4]).longValue()));
+            }
+            index.rebuild(documents);
+            log.info("Indexed {} games for suggestions in {} ms", documents.size(),
+                    (System.nanoTime() - start) / 1_000_000);
+        });
+    }
+
+    /**
+     * Suggest games for a typed prefix
+     * @param prefix the typed text
+     * @param limit the maximum number of suggestions, capped at {@link #MAX_SUGGESTIONS}
+     * @return the suggestions, most rated first
+     */
+    public List<GameSuggestion> suggest(String prefix, int limit) {
+        return index.suggest(prefix, Math.min(limit, MAX_SUGGESTIONS)).stream()
+                .map(suggestion -> new GameSuggestion(
+                        suggestion.document().gameId(),
+                        suggestion.document().title(),
+                        suggestion.document().developer(),
+                        suggestion.document().publisher(),
+                        suggestion.matchedField().name().toLowerCase(Locale.ROOT),
+                        suggestion.document().popularity()))
+                .toList();
+    }
+
+    /**
+     * Record a committed insert or update of a game, keeping its current rating count
+     * @param game the saved game
+     */
+    public void gameSaved(Game game) {
+        refreshLock.applySave(() -> index.put(new SuggestionIndex.Document(game.getGameId(), game.getTitle(),
+                game.getDeveloper(), game.getPublisher(), index.popularity(game.getGameId()))));
+    }
+}
@@ -1,10 +1,12 @@
 package com.gamerecs.gamerecs_backend.service;
 
+import com.gamerecs.gamerecs_backend.dto.BacklogBatchUpdateResult;
+import com.gamerecs.gamerecs_backend.dto.KeysetSlice;
+import com.gamerecs.gamerecs_backend.exception.BacklogException;
 import com.gamerecs.gamerecs_backend.model.BacklogItem;
 import com.gamerecs.gamerecs_backend.model.BacklogStatus;
 import com.gamerecs.gamerecs_backend.model.Game;
 import com.gamerecs.gamerecs_backend.model.User;
-import java.util.List;
 import java.util.Map;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -52,6 +54,17 @@ public interface IBacklogItemService {
      */
     Page<BacklogItem> getUserBacklog(User user, BacklogStatus status, Pageable pageable);
 
+    /**
+     * Get a user's backlog items with keyset pagination, in the order they were added, without a count query
+     * @param user the user whose backlog to retrieve
+     * @param status optional status filter
+     * @param cursor the cursor returned with the previous page, or null for the first page
+     * @param size the page size
+     * @return the page of backlog items with the cursor of the next page
+     * @throws IllegalArgumentException if the cursor is invalid
+     */
+    KeysetSlice<BacklogItem> scrollUserBacklog(User user, BacklogStatus status, String cursor, int size);
+
     /**
      * Get user's backlog statistics
      * @param user the user
@@ -60,11 +73,13 @@ public interface IBacklogItemService {
     Map<BacklogStatus, Long> getBacklogStatistics(User user);
 
     /**
-     * Batch update statuses for multiple games
+     * Batch update statuses for multiple games.
+     * Games that are not in the user's backlog or whose transition is not allowed are reported as failures
+     * and do not prevent the other updates.
      * @param user the user
-     * @param gameStatusMap map of games to their new statuses
-     * @return list of updated backlog items
-     * @throws IllegalArgumentException if any game is not in user's backlog
+     * @param statusByGameId map of game IDs to their new statuses
+     * @return the outcome for each requested game
+     * @throws BacklogException if the batch exceeds the maximum batch size
      */
-    List<BacklogItem> batchUpdateStatus(User user, Map<Game, BacklogStatus> gameStatusMap);
+    BacklogBatchUpdateResult batchUpdateStatus(User user, Map<Long, BacklogStatus> statusByGameId);
 } 
\ No newline at end of file
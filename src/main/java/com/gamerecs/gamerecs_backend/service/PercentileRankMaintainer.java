@@ -0,0 +1,75 @@
+package com.gamerecs.gamerecs_backend.service;
+
+import com.gamerecs.gamerecs_backend.repository.RatingRepository;
+import com.gamerecs.gamerecs_backend.util.RatingHistogram;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the stored percentile ranks of a user's ratings in line with the user's current rating distribution.
+ * After a rating is added, changed or removed, the ranks of the affected rating values are recomputed from
+ * the user's {@link UserRatingIndex} histogram and written with one bulk update, so no rating entity is
+ * loaded and only rows whose rank changes are touched. The games of those rows are returned so that their
+ * cached rating pages can be evicted.
+ */
+@Component
+public class PercentileRankMaintainer {
+
+    private final RatingRepository ratingRepository;
+    private final UserRatingIndex userRatingIndex;
+
+    @Autowired
+    public PercentileRankMaintainer(RatingRepository ratingRepository, UserRatingIndex userRatingIndex) {
+        this.ratingRepository = ratingRepository;
+        this.userRatingIndex = userRatingIndex;
+    }
+
+    /**
+     * Recompute the percentile ranks affected by a change of a user's ratings.
+     * Must be called once the change is recorded in the index; pending entity changes are flushed
+     * by the bulk update itself.
+     * @param userId the ID of the user
+     * @param removedValue the rating value that left the distribution, or null if a rating was added
+     * @param addedValue the rating value that entered the distribution, or null if a rating was removed
+     * @return the IDs of the games whose rating by the user changed rank
+     */
+    public List<Long> refresh(Long userId, Integer removedValue, Integer addedValue) {
+        int from = 0;
+        int to = RatingHistogram.BUCKETS - 1;
+        if (removedValue != null && addedValue != null) {
+            if (removedValue.equals(addedValue)) {
+                return List.of();
+            }
+            // The total is unchanged, so only values between the old and new rating move
+            from = Math.min(removedValue, addedValue);
+            to = Math.max(removedValue, addedValue);
+        }
+
+        RatingHistogram histogram = userRatingIndex.get(userId);
+        int total = histogram.total();
+        Map<Integer, Integer> ranksByValue = new LinkedHashMap<>();
+        for (int value = from; value <= to; value++) {
+            int equal = histogram.countEqual(value);
+            if (equal > 0) {
+                ranksByValue.put(value, percentileRank(histogram.countBelow(value), equal - 1, total));
+            }
+        }
+        return ratingRepository.updatePercentileRanks(userId, ranksByValue);
+    }
+
+    /**
+     * Calculate a percentile rank using the formula from the PRD:
+     * percentile = floor((num_lower + num_matching/2) / total_ratings * 100), capped to 0-99
+     * @param numLower the number of the user's other ratings below the rating
+     * @param numMatching the number of the user's other ratings equal to the rating
+     * @param totalRatings the number of the user's ratings, including the rating itself
+     * @return the percentile rank (0-99)
+     */
+    static int percentileRank(long numLower, long numMatching, long totalRatings) {
+        double percentile = Math.floor((numLower + (numMatching / 2.0)) / totalRatings * 100);
+        return (int) Math.min(Math.max(percentile, 0), 99);
+    }
+}
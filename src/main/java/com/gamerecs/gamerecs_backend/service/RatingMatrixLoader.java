@@ -0,0 +1,57 @@
+package com.gamerecs.gamerecs_backend.service;
+
+import com.gamerecs.gamerecs_backend.recommendation.RatingMatrix;
+import com.gamerecs.gamerecs_backend.repository.RatingRepository;
+import java.util.stream.Stream;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Reads every rating into a {@link RatingMatrix} for the recommenders, in one streamed pass over the Rating
+ * table that loads no entity. Ratings are compared by percentile rank, which already places each rating within
+ * its user's distribution, falling back to the raw value for ratings without a rank; both are scaled to 0..1.
+ */
+@Component
+public class RatingMatrixLoader {
+
+    /** Upper bound of both rating values and percentile ranks */
+    private static final float MAX_SIGNAL = 100f;
+
+    private final RatingRepository ratingRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    @Autowired
+    public RatingMatrixLoader(RatingRepository ratingRepository, PlatformTransactionManager transactionManager) {
+        this.ratingRepository = ratingRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Read all ratings
+     * @param centerOnUserMean whether to subtract each user's mean from their ratings
+     * @return the rating matrix
+     */
+    public RatingMatrix load(boolean centerOnUserMean) {
+        return readOnlyTransaction.execute(status -> {
+            RatingMatrix.Builder builder =
+                    RatingMatrix.builder((int) Math.min(ratingRepository.count(), Integer.MAX_VALUE));
+            try (Stream<Object[]> rows = ratingRepository.streamRatingSignals()) {
+                rows.forEach(row -> builder.add((Long) row[0], (Long) row[1], signal(row[2], row[3])));
+            }
+            return builder.build(centerOnUserMean);
+        });
+    }
+
+    /**
+     * Normalize one rating the way the matrix does
+     * @param ratingValue the rating value
+     * @param percentileRank the percentile rank of the rating among the user's ratings, or null
+     * @return the normalized rating, between 0 and 1
+     */
+    public static float signal(Object ratingValue, Object percentileRank) {
+        return ((Number) (percentileRank != null ? percentileRank : ratingValue)).floatValue() / MAX_SIGNAL;
+    }
+}
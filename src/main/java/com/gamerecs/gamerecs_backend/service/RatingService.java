@@ -1,21 +1,32 @@
 package com.gamerecs.gamerecs_backend.service;
 
+import com.gamerecs.gamerecs_backend.config.CacheInvalidator;
+import com.gamerecs.gamerecs_backend.dto.GameRatingSummary;
+import com.gamerecs.gamerecs_backend.dto.KeysetSlice;
+import com.gamerecs.gamerecs_backend.dto.UserGameRating;
 import com.gamerecs.gamerecs_backend.model.Game;
+import com.gamerecs.gamerecs_backend.model.GameRatingStats;
 import com.gamerecs.gamerecs_backend.model.Rating;
 import com.gamerecs.gamerecs_backend.model.User;
 import com.gamerecs.gamerecs_backend.repository.RatingRepository;
+import com.gamerecs.gamerecs_backend.util.IdBatch;
+import com.gamerecs.gamerecs_backend.util.KeysetCursor;
+import com.gamerecs.gamerecs_backend.util.RatingHistogram;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.Set;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -29,16 +40,27 @@ import org.springframework.transaction.annotation.Transactional;
 public class RatingService {
 
     private final RatingRepository ratingRepository;
-    private final Map<String, Lock> userLocks = new ConcurrentHashMap<>();
+    private final GameRatingStatsService gameRatingStatsService;
+    private final UserRatingIndex userRatingIndex;
+    private final PercentileRankMaintainer percentileRankMaintainer;
+    private final UserLockStrategy userLockStrategy;
+    private final CacheInvalidator cacheInvalidator;
 
     @Autowired
-    public RatingService(RatingRepository ratingRepository) {
+    public RatingService(RatingRepository ratingRepository, GameRatingStatsService gameRatingStatsService,
+            UserRatingIndex userRatingIndex, PercentileRankMaintainer percentileRankMaintainer,
+            UserLockStrategy userLockStrategy, CacheInvalidator cacheInvalidator) {
         this.ratingRepository = ratingRepository;
+        this.gameRatingStatsService = gameRatingStatsService;
+        this.userRatingIndex = userRatingIndex;
+        this.percentileRankMaintainer = percentileRankMaintainer;
+        this.userLockStrategy = userLockStrategy;
+        this.cacheInvalidator = cacheInvalidator;
     }
 
     /**
      * Add or update a rating for a game by a user, including percentile rank calculation
-     * This method ensures data consistency by using user-specific locks
+     * This method ensures data consistency by holding a per-user lock until the transaction completes
      * @param user the user giving the rating
      * @param game the game being rated
      * @param ratingValue the rating value (0-100)
@@ -46,42 +68,48 @@ public class RatingService {
      * @throws IllegalArgumentException if rating value is invalid or if user has insufficient rating history
      */
     @Transactional
-    @CacheEvict(value = {"userRatings", "gameRatings", "averageRatings"}, allEntries = true)
     public Rating addOrUpdateRating(User user, Game game, Integer ratingValue) {
         validateInputs(user, game, ratingValue);
         
-        // Get or create a lock for this user
-        Lock userLock = userLocks.computeIfAbsent(
-            user.getUserId().toString(),
-            k -> new ReentrantLock()
-        );
+        // Serialize writes of this user until commit
+        userLockStrategy.lockForTransaction(user.getUserId());
+        if (userLockStrategy.isClusterWide()) {
+            // Another node may have changed this user's ratings since the histogram was cached
+            userRatingIndex.evict(user.getUserId());
+        }
+        
+        Optional<Rating> existingRating = ratingRepository.findByUserAndGame(user, game);
+        Integer previousValue = existingRating.map(Rating::getRatingValue).orElse(null);
+
+        // Distribution of the user's other ratings, without loading them
+        RatingHistogram userRatings = userRatingIndex.get(user);
         
-        try {
-            userLock.lock();
-            
-            // Get all user's ratings ordered by value for percentile calculation
-            List<Rating> userRatings = getUserRatingsOrderedByValue(user);
-            
-            // Validate distinct ratings requirement
-            validateDistinctRatings(userRatings, game);
-
-            Optional<Rating> existingRating = ratingRepository.findByUserAndGame(user, game);
-            Rating rating;
-
-            if (existingRating.isPresent()) {
-                rating = updateExistingRating(existingRating.get(), ratingValue);
-            } else {
-                rating = createNewRating(user, game, ratingValue);
-            }
-
-            // Calculate and set the percentile rank
-            int percentileRank = calculatePercentileRank(ratingValue, userRatings);
-            rating.setPercentileRank(percentileRank);
-
-            return ratingRepository.save(rating);
-        } finally {
-            userLock.unlock();
+        // Validate distinct ratings requirement
+        validateDistinctRatings(userRatings, previousValue);
+
+        // Calculate the percentile rank before the index reflects the new value
+        int percentileRank = calculatePercentileRank(ratingValue, userRatings, previousValue);
+
+        Rating rating = existingRating.isPresent()
+                ? updateExistingRating(existingRating.get(), ratingValue)
+                : createNewRating(user, game, ratingValue);
+        rating.setPercentileRank(percentileRank);
+
+        Rating savedRating = ratingRepository.save(rating);
+        // The game's summary may be rebuilt from the Rating table, so it is updated after the save
+        if (previousValue != null) {
+            gameRatingStatsService.recordChanged(game.getGameId(), previousValue, ratingValue);
+            userRatingIndex.recordChanged(user, previousValue, ratingValue);
+        } else {
+            gameRatingStatsService.recordAdded(game.getGameId(), ratingValue);
+            userRatingIndex.recordAdded(user, ratingValue);
         }
+        // The shifted distribution changes the ranks of the user's other ratings too
+        List<Long> rerankedGameIds = percentileRankMaintainer.refresh(user.getUserId(), previousValue, ratingValue);
+        evictUserRatings(user.getUserId());
+        evictGameRatings(game.getGameId());
+        evictGameRatingPages(rerankedGameIds);
+        return savedRating;
     }
 
     private void validateInputs(User user, Game game, Integer ratingValue) {
@@ -96,12 +124,12 @@ public class RatingService {
         }
     }
 
-    private void validateDistinctRatings(List<Rating> userRatings, Game game) {
-        long distinctRatings = userRatings.stream()
-                .filter(r -> !r.getGame().equals(game))
-                .map(Rating::getRatingValue)
-                .distinct()
-                .count();
+    private void validateDistinctRatings(RatingHistogram userRatings, Integer previousValue) {
+        int distinctRatings = userRatings.distinctCount();
+        // The rating being replaced does not count towards the user's other ratings
+        if (previousValue != null && userRatings.countEqual(previousValue) == 1) {
+            distinctRatings--;
+        }
                 
         if (distinctRatings < 4) {
             throw new IllegalArgumentException("At least 5 distinct ratings are required to calculate percentiles");
@@ -123,28 +151,27 @@ public class RatingService {
     /**
      * Calculate the percentile rank for a rating value based on user's rating history
      * @param ratingValue the rating value to calculate percentile for
-     * @param userRatings list of user's ratings ordered by value
+     * @param userRatings histogram of the user's ratings
+     * @param previousValue the value of the rating being replaced, or null for a new rating
      * @return the calculated percentile rank (0-99)
      */
-    private int calculatePercentileRank(int ratingValue, List<Rating> userRatings) {
-        int totalRatings = userRatings.size() + 1; // Include the new rating
+    private int calculatePercentileRank(int ratingValue, RatingHistogram userRatings, Integer previousValue) {
+        // Include the new rating, excluding the one it replaces
+        int totalRatings = userRatings.total() + (previousValue == null ? 1 : 0);
         
         // Count ratings lower than the current rating
-        long numLower = userRatings.stream()
-                .filter(r -> r.getRatingValue() < ratingValue)
-                .count();
+        long numLower = userRatings.countBelow(ratingValue);
                 
         // Count ratings equal to the current rating
-        long numMatching = userRatings.stream()
-                .filter(r -> r.getRatingValue() == ratingValue)
-                .count();
-        
-        // Calculate percentile using the formula from PRD:
-        // percentile = floor((num_lower + num_matching/2) / total_ratings * 100)
-        double percentile = Math.floor((numLower + (numMatching / 2.0)) / totalRatings * 100);
+        long numMatching = userRatings.countEqual(ratingValue);
+
+        if (previousValue != null && previousValue < ratingValue) {
+            numLower--;
+        } else if (previousValue != null && previousValue == ratingValue) {
+            numMatching--;
+        }
         
-        // Ensure the result is between 0 and 99
-        return (int) Math.min(Math.max(percentile, 0), 99);
+        return PercentileRankMaintainer.percentileRank(numLower, numMatching, totalRatings);
     }
 
     /**
@@ -153,18 +180,32 @@ public class RatingService {
      * @param game the game
      * @return Optional containing the rating if found
      */
-    @Cacheable(value = "userRatings", key = "#user.id + '-' + #game.id")
+    @Cacheable(value = "userRatings", key = "#user.userId + ':game:' + #game.gameId")
     public Optional<Rating> getUserRatingForGame(User user, Game game) {
         return ratingRepository.findByUserAndGame(user, game);
     }
 
+    /**
+     * Get a user's ratings of several games with a single query
+     * @param userId the ID of the user
+     * @param gameIds the IDs of the games, in the order the ratings should be returned
+     * @return the ratings of the rated games, in request order; unrated games have no entry
+     * @throws IllegalArgumentException if more than {@link IdBatch#MAX_SIZE} distinct games are requested
+     */
+    @Transactional(readOnly = true)
+    public List<UserGameRating> getUserRatingsForGames(Long userId, List<Long> gameIds) {
+        return IdBatch.load(gameIds, distinctIds -> ratingRepository.findUserRatingsForGames(userId, distinctIds),
+                UserGameRating::getGameId);
+    }
+
     /**
      * Get all ratings by a user
      * @param user the user
      * @param pageable pagination information
      * @return Page of ratings from the user
      */
-    @Cacheable(value = "userRatings", key = "#user.id + '-' + #pageable.pageNumber")
+    @Cacheable(value = "userRatings", keyGenerator = "pagedKeyGenerator",
+            condition = "@pagedCachePolicy.isCacheable(#pageable)")
     public Page<Rating> getUserRatings(User user, Pageable pageable) {
         return ratingRepository.findByUser(user, pageable);
     }
@@ -175,11 +216,50 @@ public class RatingService {
      * @param pageable pagination information
      * @return Page of ratings for the game
      */
-    @Cacheable(value = "gameRatings", key = "#game.id + '-' + #pageable.pageNumber")
+    @Cacheable(value = "gameRatings", keyGenerator = "pagedKeyGenerator",
+            condition = "@pagedCachePolicy.isCacheable(#pageable)")
     public Page<Rating> getGameRatings(Game game, Pageable pageable) {
         return ratingRepository.findByGame(game, pageable);
     }
 
+    /**
+     * Get the ratings for a game with keyset pagination, at the same cost at any depth and without a count query
+     * @param game the game
+     * @param sort "date" for most recently updated first or "value" for highest first
+     * @param cursor the cursor returned with the previous page, or null for the first page
+     * @param size the page size, at most {@link KeysetCursor#MAX_SIZE}
+     * @return the page of ratings with the cursor of the next page
+     * @throws IllegalArgumentException if the sort is unknown or the cursor is invalid
+     */
+    @Transactional(readOnly = true)
+    public KeysetSlice<Rating> scrollGameRatings(Game game, String sort, String cursor, int size) {
+        Pageable limit = PageRequest.of(0, KeysetCursor.limit(size));
+        KeysetCursor after = KeysetCursor.resume(cursor, startOf(sort));
+        Slice<Rating> ratings = "date".equals(sort)
+                ? ratingRepository.findByGameBeforeDate(game, after.dateTimeValue(), after.id(), limit)
+                : ratingRepository.findByGameBeforeValue(game, after.intValue(), after.id(), limit);
+        return KeysetSlice.of(ratings, rating -> cursorAt(sort, rating));
+    }
+
+    /**
+     * Get the ratings by a user with keyset pagination, at the same cost at any depth and without a count query
+     * @param user the user
+     * @param sort "date" for most recently updated first or "value" for highest first
+     * @param cursor the cursor returned with the previous page, or null for the first page
+     * @param size the page size, at most {@link KeysetCursor#MAX_SIZE}
+     * @return the page of ratings with the cursor of the next page
+     * @throws IllegalArgumentException if the sort is unknown or the cursor is invalid
+     */
+    @Transactional(readOnly = true)
+    public KeysetSlice<Rating> scrollUserRatings(User user, String sort, String cursor, int size) {
+        Pageable limit = PageRequest.of(0, KeysetCursor.limit(size));
+        KeysetCursor after = KeysetCursor.resume(cursor, startOf(sort));
+        Slice<Rating> ratings = "date".equals(sort)
+                ? ratingRepository.findByUserBeforeDate(user, after.dateTimeValue(), after.id(), limit)
+                : ratingRepository.findByUserBeforeValue(user, after.intValue(), after.id(), limit);
+        return KeysetSlice.of(ratings, rating -> cursorAt(sort, rating));
+    }
+
     /**
      * Get average rating for a game
      * @param gameId the ID of the game
@@ -187,7 +267,9 @@ public class RatingService {
      */
     @Cacheable(value = "averageRatings", key = "#gameId")
     public Double getAverageRating(Long gameId) {
-        return ratingRepository.calculateAverageRatingByGameId(gameId);
+        return gameRatingStatsService.getStats(gameId)
+                .map(GameRatingStats::getAverageRating)
+                .orElse(null);
     }
 
     /**
@@ -196,7 +278,18 @@ public class RatingService {
      * @return the count of ratings
      */
     public long getRatingCount(Long gameId) {
-        return ratingRepository.countByGameGameId(gameId);
+        return gameRatingStatsService.getStats(gameId)
+                .map(GameRatingStats::getRatingCount)
+                .orElse(0L);
+    }
+
+    /**
+     * Get the average rating and rating count of several games with a single query
+     * @param gameIds the IDs of the games
+     * @return map of game ID to summary; games without ratings have no entry
+     */
+    public Map<Long, GameRatingSummary> getRatingSummaries(Collection<Long> gameIds) {
+        return gameRatingStatsService.getSummaries(gameIds);
     }
 
     /**
@@ -220,41 +313,118 @@ public class RatingService {
     }
 
     /**
-     * Delete a rating with proper cache eviction
+     * Delete a rating, evicting only the caches of its user and game
      * @param rating the rating to delete
      */
     @Transactional
-    @CacheEvict(value = {"userRatings", "gameRatings", "averageRatings"}, allEntries = true)
     public void deleteRating(Rating rating) {
         if (rating == null) {
             throw new IllegalArgumentException("Rating must not be null");
         }
+        userLockStrategy.lockForTransaction(rating.getUser().getUserId());
+        if (userLockStrategy.isClusterWide()) {
+            userRatingIndex.evict(rating.getUser().getUserId());
+        }
         ratingRepository.delete(rating);
+        gameRatingStatsService.recordRemoved(rating.getGame().getGameId(), rating.getRatingValue());
+        userRatingIndex.recordRemoved(rating.getUser(), rating.getRatingValue());
+        List<Long> rerankedGameIds =
+                percentileRankMaintainer.refresh(rating.getUser().getUserId(), rating.getRatingValue(), null);
+        evictUserRatings(rating.getUser().getUserId());
+        evictGameRatings(rating.getGame().getGameId());
+        evictGameRatingPages(rerankedGameIds);
     }
 
     /**
-     * Delete all ratings for a game with proper cache eviction
+     * Delete all ratings for a game, evicting the caches of the game and of every user who rated it.
+     * Every user who rated the game is locked first, since their ranks change; a user who rates the game while
+     * it is being deleted is not, so the game must no longer be open for rating.
      * @param game the game whose ratings should be deleted
      */
     @Transactional
-    @CacheEvict(value = {"userRatings", "gameRatings", "averageRatings"}, allEntries = true)
     public void deleteGameRatings(Game game) {
         if (game == null) {
             throw new IllegalArgumentException("Game must not be null");
         }
+        List<Long> affectedUserIds = ratingRepository.findUserIdsByGame(game);
+        userLockStrategy.lockAllForTransaction(affectedUserIds);
         ratingRepository.deleteByGame(game);
+        gameRatingStatsService.recordAllRemoved(game.getGameId());
+        Set<Long> changedGameIds = new HashSet<>();
+        changedGameIds.add(game.getGameId());
+        for (Long userId : affectedUserIds) {
+            userRatingIndex.evict(userId);
+            changedGameIds.addAll(percentileRankMaintainer.refresh(userId, null, null));
+        }
+        // One pass over each cache for all users and games, rather than one per user
+        cacheInvalidator.evictScopes("userRatings", affectedUserIds);
+        evictGameRatingPages(changedGameIds);
+        cacheInvalidator.evict("averageRatings", game.getGameId());
     }
 
     /**
-     * Delete all ratings by a user with proper cache eviction
+     * Delete all ratings by a user, evicting the caches of the user and of every game they rated
      * @param user the user whose ratings should be deleted
      */
     @Transactional
-    @CacheEvict(value = {"userRatings", "gameRatings", "averageRatings"}, allEntries = true)
     public void deleteUserRatings(User user) {
         if (user == null) {
             throw new IllegalArgumentException("User must not be null");
         }
+        userLockStrategy.lockForTransaction(user.getUserId());
+        // Sorted by game so that concurrent deletions lock the summary rows in the same order
+        List<Object[]> removed = new ArrayList<>(ratingRepository.findGameIdsAndValuesByUser(user));
+        removed.sort(Comparator.comparing(row -> (Long) row[0]));
         ratingRepository.deleteByUser(user);
+        for (Object[] row : removed) {
+            gameRatingStatsService.recordRemoved((Long) row[0], (Integer) row[1]);
+        }
+        userRatingIndex.evict(user.getUserId());
+        evictUserRatings(user.getUserId());
+        // One pass over the rating pages for all games, rather than one per game
+        List<Long> gameIds = removed.stream().map(row -> (Long) row[0]).distinct().toList();
+        evictGameRatingPages(gameIds);
+        cacheInvalidator.evictAll("averageRatings", gameIds);
+    }
+
+    /**
+     * Evict the cached ratings of a single user, leaving other users' entries intact
+     * @param userId the ID of the user whose ratings changed
+     */
+    private void evictUserRatings(Long userId) {
+        cacheInvalidator.evictScope("userRatings", userId);
+    }
+
+    /**
+     * Evict the cached rating pages and average of a single game
+     * @param gameId the ID of the game whose ratings changed
+     */
+    private void evictGameRatings(Long gameId) {
+        cacheInvalidator.evictScope("gameRatings", gameId);
+        cacheInvalidator.evict("averageRatings", gameId);
+    }
+
+    /**
+     * Evict the cached rating pages of games whose ratings changed percentile rank, in one pass over the cache
+     * @param gameIds the IDs of the games
+     */
+    private void evictGameRatingPages(Collection<Long> gameIds) {
+        cacheInvalidator.evictScopes("gameRatings", gameIds);
+    }
+
+    /**
+     * Position before the first rating of a descending sort
+     */
+    private static KeysetCursor startOf(String sort) {
+        return switch (sort) {
+            case "date" -> new KeysetCursor(sort, KeysetCursor.LATEST.toString(), Long.MAX_VALUE);
+            case "value" -> new KeysetCursor(sort, String.valueOf(Integer.MAX_VALUE), Long.MAX_VALUE);
+            default -> throw new IllegalArgumentException("Unsupported sort: " + sort);
+        };
+    }
+
+    private static KeysetCursor cursorAt(String sort, Rating rating) {
+        String value = "date".equals(sort) ? rating.getDateUpdated().toString() : rating.getRatingValue().toString();
+        return new KeysetCursor(sort, value, rating.getRatingId());
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,104 @@
+package com.gamerecs.gamerecs_backend.service;
+
+import com.gamerecs.gamerecs_backend.dto.GameDTO;
+import com.gamerecs.gamerecs_backend.dto.GameRatingSummary;
+import com.gamerecs.gamerecs_backend.dto.RatingView;
+import com.gamerecs.gamerecs_backend.repository.reactive.GameAttribute;
+import com.gamerecs.gamerecs_backend.repository.reactive.ReactiveGameRepository;
+import com.gamerecs.gamerecs_backend.repository.reactive.ReactiveRatingRepository;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking reads of the game catalog and game ratings.
+ * A page of games costs four queries whatever its size: the games, then their genres, platforms and rating
+ * summaries in parallel; the total count runs alongside. Writes keep going through the JPA services.
+ */
+@Service
+@ConditionalOnProperty(name = "app.reactive.enabled", havingValue = "true")
+public class ReactiveCatalogService {
+
+    private final ReactiveGameRepository gameRepository;
+    private final ReactiveRatingRepository ratingRepository;
+
+    @Autowired
+    public ReactiveCatalogService(ReactiveGameRepository gameRepository, ReactiveRatingRepository ratingRepository) {
+        this.gameRepository = gameRepository;
+        this.ratingRepository = ratingRepository;
+    }
+
+    /**
+     * Get a page of games ordered by ID; the sort of the pageable is ignored
+     * @param pageable the page to get
+     * @return the page of games with their genres, platforms and ratings
+     */
+    public Mono<Page<GameDTO>> getGames(Pageable pageable) {
+        Mono<List<GameDTO>> content = gameRepository.findPage(pageable.getOffset(), pageable.getPageSize())
+                .collectList()
+                .flatMap(this::withDetails);
+        return Mono.zip(content, gameRepository.count())
+                .map(page -> new PageImpl<>(page.getT1(), pageable, page.getT2()));
+    }
+
+    /**
+     * Get a game by ID
+     * @param gameId the ID of the game
+     * @return the game with its genres, platforms and ratings, or empty if it does not exist
+     */
+    public Mono<GameDTO> getGame(Long gameId) {
+        return gameRepository.findById(gameId)
+                .flatMap(game -> withDetails(List.of(game)))
+                .map(games -> games.get(0));
+    }
+
+    /**
+     * Get a page of the ratings of a game, most recently updated first; the sort of the pageable is ignored
+     * @param gameId the ID of the game
+     * @param pageable the page to get
+     * @return the page of ratings, or empty if the game does not exist
+     */
+    public Mono<Page<RatingView>> getGameRatings(Long gameId, Pageable pageable) {
+        return gameRepository.existsById(gameId)
+                .filter(Boolean::booleanValue)
+                .flatMap(exists -> Mono.zip(
+                        ratingRepository.findByGameId(gameId, pageable.getOffset(), pageable.getPageSize())
+                                .collectList(),
+                        ratingRepository.countByGameId(gameId)))
+                .map(page -> new PageImpl<>(page.getT1(), pageable, page.getT2()));
+    }
+
+    private Mono<List<GameDTO>> withDetails(List<GameDTO> games) {
+        if (games.isEmpty()) {
+            return Mono.just(games);
+        }
+        List<Long> gameIds = games.stream().map(GameDTO::getGameId).toList();
+        return Mono.zip(
+                        gameRepository.findGenres(gameIds).collectMultimap(GameAttribute::gameId, GameAttribute::value),
+                        gameRepository.findPlatforms(gameIds).collectMultimap(GameAttribute::gameId, GameAttribute::value),
+                        gameRepository.findRatingSummaries(gameIds).collectMap(GameRatingSummary::getGameId))
+                .map(details -> {
+                    for (GameDTO game : games) {
+                        game.setGenres(values(details.getT1(), game.getGameId()));
+                        game.setPlatforms(values(details.getT2(), game.getGameId()));
+                        GameRatingSummary summary = details.getT3().get(game.getGameId());
+                        game.setAverageRating(summary != null ? summary.getAverageRating() : null);
+                        game.setTotalRatings(summary != null ? summary.getRatingCount() : 0L);
+                    }
+                    return games;
+                });
+    }
+
+    private static List<String> values(Map<Long, Collection<String>> valuesByGame, Long gameId) {
+        Collection<String> values = valuesByGame.get(gameId);
+        return values != null ? new ArrayList<>(values) : new ArrayList<>();
+    }
+}
@@ -0,0 +1,166 @@
+package com.gamerecs.gamerecs_backend.service;
+
+import com.gamerecs.gamerecs_backend.dto.GameRecommendation;
+import com.gamerecs.gamerecs_backend.model.Game;
+import com.gamerecs.gamerecs_backend.recommendation.ItemSimilarity;
+import com.gamerecs.gamerecs_backend.recommendation.NeighbourIndex;
+import com.gamerecs.gamerecs_backend.recommendation.RatingMatrix;
+import com.gamerecs.gamerecs_backend.repository.RatingRepository;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Item-to-item collaborative filtering recommendations.
+ * A {@link NeighbourIndex} of the most similar games of every game is trained from all ratings in the background
+ * once the application is ready, so that training does not delay readiness, and again on
+ * {@code app.recommendations.refresh-cron} when set, from the ratings read by the {@link RatingMatrixLoader}.
+ * Serving a user reads only their own ratings and the index.
+ */
+@Service
+public class RecommendationService {
+
+    private static final Logger log = LoggerFactory.getLogger(RecommendationService.class);
+
+    /**
+     * Maximum number of recommendations returned per request
+     */
+    public static final int MAX_RECOMMENDATIONS = 50;
+
+    private final RatingRepository ratingRepository;
+    private final RatingMatrixLoader ratingMatrixLoader;
+    private final GameService gameService;
+    private final int neighbours;
+    private final int minCommonUsers;
+    private final int parallelism;
+    private final Executor trainingExecutor;
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private volatile NeighbourIndex index = NeighbourIndex.EMPTY;
+
+    @Autowired
+    public RecommendationService(RatingRepository ratingRepository,
+                                 RatingMatrixLoader ratingMatrixLoader,
+                                 GameService gameService,
+                                 @Value("${app.recommendations.neighbours:50}") int neighbours,
+                                 @Value("${app.recommendations.min-common-users:2}") int minCommonUsers,
+                                 @Value("${app.recommendations.parallelism:0}") int parallelism,
+                                 @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+                                 Executor trainingExecutor) {
+        this.ratingRepository = ratingRepository;
+        this.ratingMatrixLoader = ratingMatrixLoader;
+        this.gameService = gameService;
+        this.neighbours = neighbours;
+        this.minCommonUsers = minCommonUsers;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.trainingExecutor = trainingExecutor;
+    }
+
+    /**
+     * Start training the neighbour index in the background; recommendations are empty until it is trained
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        trainingExecutor.execute(() -> {
+            try {
+                refresh();
+            } catch (RuntimeException e) {
+                log.error("Recommendation training failed", e);
+            }
+        });
+    }
+
+    /**
+     * Retrain the neighbour index from every rating; a call made while training is in progress is skipped
+     */
+    @Scheduled(cron = "${app.recommendations.refresh-cron:-}")
+    public void refresh() {
+        if (!refreshLock.tryLock()) {
+            log.info("Recommendation training already in progress, skipping");
+            return;
+        }
+        try {
+            long start = System.nanoTime();
+            RatingMatrix matrix = ratingMatrixLoader.load(true);
+            long loaded = System.nanoTime();
+            // A dedicated pool keeps training off the common pool used by request threads
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            NeighbourIndex trained;
+            try {
+                trained = ItemSimilarity.compute(matrix, neighbours, minCommonUsers, pool);
+            } finally {
+                pool.shutdown();
+            }
+            index = trained;
+            log.info("Trained item neighbours of {} games from {} ratings by {} users: {} neighbours, " +
+                    "loaded in {} ms, computed in {} ms", matrix.games(), matrix.ratings(), matrix.users(),
+                    trained.size(), (loaded - start) / 1_000_000, (System.nanoTime() - loaded) / 1_000_000);
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * Recommend games to a user from their ratings
+     * @param userId the ID of the user
+     * @param limit the maximum number of recommendations, capped at {@link #MAX_RECOMMENDATIONS}
+     * @return the recommendations, best first; empty if the user has not rated any game with neighbours
+     */
+    public List<GameRecommendation> recommend(Long userId, int limit) {
+        NeighbourIndex current = index;
+        List<Object[]> rows = ratingRepository.findRatingSignalsByUser(userId);
+        if (rows.isEmpty() || current.games() == 0) {
+            return List.of();
+        }
+        long[] gameIds = new long[rows.size()];
+        float[] values = new float[rows.size()];
+        double sum = 0;
+        for (int i = 0; i < rows.size(); i++) {
+            Object[] row = rows.get(i);
+            gameIds[i] = (Long) row[0];
+            values[i] = RatingMatrixLoader.signal(row[1], row[2]);
+            sum += values[i];
+        }
+        float mean = (float) (sum / values.length);
+        for (int i = 0; i < values.length; i++) {
+            values[i] -= mean;
+        }
+
+        List<NeighbourIndex.Recommendation> recommendations =
+                current.recommend(gameIds, values, Math.min(Math.max(limit, 1), MAX_RECOMMENDATIONS));
+        if (recommendations.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = new ArrayList<>(recommendations.size());
+        for (NeighbourIndex.Recommendation recommendation : recommendations) {
+            ids.add(recommendation.gameId());
+        }
+        Map<Long, Game> games = new HashMap<>();
+        for (Game game : gameService.findAllByIdInOrder(ids)) {
+            games.put(game.getGameId(), game);
+        }
+        List<GameRecommendation> result = new ArrayList<>(recommendations.size());
+        for (NeighbourIndex.Recommendation recommendation : recommendations) {
+            Game game = games.get(recommendation.gameId());
+            // Skip games deleted since the index was trained
+            if (game != null) {
+                result.add(new GameRecommendation(game.getGameId(), game.getTitle(), game.getCoverImageURL(),
+                        game.getDeveloper(), (double) recommendation.score(), recommendation.becauseOfGameId()));
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,94 @@
+package com.gamerecs.gamerecs_backend.service;
+
+import java.util.Collection;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * In-process user locks backed by a fixed number of lock stripes.
+ * Users are hashed onto {@code app.rating.lock-stripes} reentrant locks, so memory stays constant however many
+ * users write; two users sharing a stripe merely wait for each other. Only serializes writers within this JVM.
+ */
+@Component
+@ConditionalOnProperty(name = "app.rating.lock-strategy", havingValue = "striped", matchIfMissing = true)
+public class StripedUserLockStrategy implements UserLockStrategy {
+
+    private final ReentrantLock[] stripes;
+    private final int mask;
+
+    @Autowired
+    public StripedUserLockStrategy(@Value("${app.rating.lock-stripes:256}") int stripeCount) {
+        if (stripeCount < 1) {
+            throw new IllegalArgumentException("Lock stripe count must be positive");
+        }
+        // Round up to a power of two so that the stripe index is a mask of the hash
+        int size = stripeCount == 1 ? 1 : Integer.highestOneBit(stripeCount - 1) << 1;
+        this.stripes = new ReentrantLock[size];
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    @Override
+    public void lockForTransaction(Long userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("User locks can only be taken inside a transaction");
+        }
+        lockStripe(stripeIndex(userId));
+    }
+
+    @Override
+    public void lockAllForTransaction(Collection<Long> userIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("User locks can only be taken inside a transaction");
+        }
+        // Ordered by stripe rather than by user, since users in different order can share stripes
+        TreeSet<Integer> indexes = new TreeSet<>();
+        for (Long userId : userIds) {
+            indexes.add(stripeIndex(userId));
+        }
+        for (int index : indexes) {
+            lockStripe(index);
+        }
+    }
+
+    private void lockStripe(int index) {
+        ReentrantLock lock = stripes[index];
+        lock.lock();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                lock.unlock();
+            }
+        });
+    }
+
+    @Override
+    public boolean isClusterWide() {
+        return false;
+    }
+
+    /**
+     * Get the number of stripes
+     * @return the stripe count, a power of two
+     */
+    int getStripeCount() {
+        return stripes.length;
+    }
+
+    ReentrantLock stripeFor(Long userId) {
+        return stripes[stripeIndex(userId)];
+    }
+
+    private int stripeIndex(Long userId) {
+        long hash = userId * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+}
@@ -0,0 +1,36 @@
+package com.gamerecs.gamerecs_backend.service;
+
+import java.util.Collection;
+
+/**
+ * Serializes rating writes of a single user.
+ * Locks are taken inside a transaction and held until it completes, so a second writer for the same user
+ * only proceeds once the first writer's changes are committed or rolled back.
+ * The implementation is selected with {@code app.rating.lock-strategy}: {@code striped} (default, one JVM)
+ * or {@code advisory} (PostgreSQL advisory locks, all nodes sharing the database).
+ */
+public interface UserLockStrategy {
+
+    /**
+     * Lock a user until the current transaction completes
+     * @param userId the ID of the user
+     * @throws IllegalStateException if no transaction is active
+     */
+    void lockForTransaction(Long userId);
+
+    /**
+     * Lock several users until the current transaction completes.
+     * The underlying locks are taken in one global order, so that two transactions locking overlapping users
+     * cannot deadlock; users sharing a lock take it once.
+     * @param userIds the IDs of the users, in any order
+     * @throws IllegalStateException if no transaction is active
+     */
+    void lockAllForTransaction(Collection<Long> userIds);
+
+    /**
+     * Check whether the lock also excludes writers on other nodes.
+     * When it does, state cached on this node may miss writes made elsewhere and must be reloaded under the lock.
+     * @return true if the lock is held across all nodes
+     */
+    boolean isClusterWide();
+}
@@ -0,0 +1,148 @@
+package com.gamerecs.gamerecs_backend.service;
+
+import com.gamerecs.gamerecs_backend.model.User;
+import com.gamerecs.gamerecs_backend.repository.RatingRepository;
+import com.gamerecs.gamerecs_backend.util.RatingHistogram;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Per-user index of rating values used for percentile ranks.
+ * A user's histogram is loaded lazily with one grouped query and kept in the {@code userRatingHistograms} cache,
+ * so percentile calculations never hydrate the user's rating history. Changes are applied in place as they
+ * are written; if the surrounding transaction rolls back, the user's histogram is evicted and reloaded on next use.
+ */
+@Component
+public class UserRatingIndex {
+
+    static final String CACHE_NAME = "userRatingHistograms";
+
+    private final CacheManager cacheManager;
+    private final RatingRepository ratingRepository;
+
+    @Autowired
+    public UserRatingIndex(CacheManager cacheManager, RatingRepository ratingRepository) {
+        this.cacheManager = cacheManager;
+        this.ratingRepository = ratingRepository;
+    }
+
+    /**
+     * Get the rating histogram of a user, loading it if it is not cached
+     * @param user the user
+     * @return the user's histogram
+     */
+    public RatingHistogram get(User user) {
+        return get(user.getUserId());
+    }
+
+    /**
+     * Get the rating histogram of a user, loading it if it is not cached
+     * @param userId the ID of the user
+     * @return the user's histogram
+     */
+    public RatingHistogram get(Long userId) {
+        Cache cache = cache();
+        RatingHistogram cached = cache.get(userId, RatingHistogram.class);
+        if (cached != null) {
+            return cached;
+        }
+        // Load outside the cache's compute lock so that the query never runs while a monitor is held,
+        // which would pin a virtual thread; the first histogram stored wins a concurrent load
+        RatingHistogram loaded = load(userId);
+        Cache.ValueWrapper existing = cache.putIfAbsent(userId, loaded);
+        return existing != null && existing.get() instanceof RatingHistogram histogram ? histogram : loaded;
+    }
+
+    /**
+     * Record a new rating of a user
+     * @param user the user
+     * @param ratingValue the rating value
+     */
+    public void recordAdded(User user, int ratingValue) {
+        get(user).add(ratingValue);
+        evictAfterCompletion(user.getUserId(), true);
+    }
+
+    /**
+     * Record a change of one of a user's ratings
+     * @param user the user
+     * @param oldValue the previous rating value
+     * @param newValue the new rating value
+     */
+    public void recordChanged(User user, int oldValue, int newValue) {
+        if (oldValue == newValue) {
+            return;
+        }
+        RatingHistogram histogram = get(user);
+        if (histogram.countEqual(oldValue) == 0) {
+            // The cached histogram missed a change made elsewhere; rebuild it from the database
+            evict(user.getUserId());
+            return;
+        }
+        histogram.remove(oldValue);
+        histogram.add(newValue);
+        evictAfterCompletion(user.getUserId(), true);
+    }
+
+    /**
+     * Record the removal of one of a user's ratings
+     * @param user the user
+     * @param ratingValue the value of the removed rating
+     */
+    public void recordRemoved(User user, int ratingValue) {
+        Cache.ValueWrapper cached = cache().get(user.getUserId());
+        if (cached == null) {
+            return;
+        }
+        RatingHistogram histogram = (RatingHistogram) cached.get();
+        if (histogram.countEqual(ratingValue) == 0) {
+            evict(user.getUserId());
+            return;
+        }
+        histogram.remove(ratingValue);
+        evictAfterCompletion(user.getUserId(), true);
+    }
+
+    /**
+     * Drop a user's histogram so that it is reloaded on next use.
+     * Inside a transaction it is dropped again on completion, so a reload cannot keep uncommitted state.
+     * @param userId the ID of the user
+     */
+    public void evict(Long userId) {
+        cache().evict(userId);
+        evictAfterCompletion(userId, false);
+    }
+
+    private RatingHistogram load(Long userId) {
+        int[] counts = new int[RatingHistogram.BUCKETS];
+        for (Object[] row : ratingRepository.countRatingsByValueForUser(userId)) {
+            counts[(Integer) row[0]] = ((Long) row[1]).intValue();
+        }
+        return RatingHistogram.of(counts);
+    }
+
+    private void evictAfterCompletion(Long userId, boolean onlyOnRollback) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (!onlyOnRollback || status != STATUS_COMMITTED) {
+                        cache().evict(userId);
+                    }
+                }
+            });
+        }
+    }
+
+    private Cache cache() {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache == null) {
+            throw new IllegalStateException("Cache '" + CACHE_NAME + "' is not configured");
+        }
+        return cache;
+    }
+}
@@ -1,14 +1,17 @@
 package com.gamerecs.gamerecs_backend.service;
 
+import com.gamerecs.gamerecs_backend.config.CacheInvalidator;
 import com.gamerecs.gamerecs_backend.dto.UserProfileDTO;
 import com.gamerecs.gamerecs_backend.dto.UserRegistrationDTO;
 import com.gamerecs.gamerecs_backend.exception.UserRegistrationException;
 import com.gamerecs.gamerecs_backend.model.User;
 import com.gamerecs.gamerecs_backend.repository.UserRepository;
+import com.gamerecs.gamerecs_backend.security.TokenRevocationCache;
+import com.gamerecs.gamerecs_backend.security.UserDetailsImpl;
 import java.sql.Timestamp;
-import java.util.Collections;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -18,35 +21,109 @@ import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Service class handling user-related business logic.
+ * Loaded users are kept in the {@code usersByUsername} cache, so token authentication and lookups of public
+ * profiles resolve users from memory; call {@link #evictUser(User)} after changing a user, and
+ * {@link #revokeCredentials(User)} after changing or locking a user's credentials.
+ * The cache holds detached copies of the users without their password hash, shared by every request thread
+ * and to be treated as read-only. Passwords are checked against {@link #loadUserForAuthentication(String)},
+ * which reads the hash from the database on every login.
  */
 @Service
 public class UserService implements UserDetailsService {
 
+    static final String USERS_BY_USERNAME_CACHE = "usersByUsername";
+
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final CacheManager cacheManager;
+    private final CacheInvalidator cacheInvalidator;
+    private final TokenRevocationCache tokenRevocationCache;
 
     @Autowired
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder,
+                       CacheManager cacheManager, CacheInvalidator cacheInvalidator,
+                       TokenRevocationCache tokenRevocationCache) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.cacheManager = cacheManager;
+        this.cacheInvalidator = cacheInvalidator;
+        this.tokenRevocationCache = tokenRevocationCache;
     }
 
     /**
-     * Loads a user's details by username for Spring Security authentication.
+     * Loads a user's details by username for token authentication and profile lookups.
      * 
      * @param username the username to search for
-     * @return UserDetails object containing the user's security information
+     * @return UserDetailsImpl wrapping a cached copy of the user, without the password hash
      * @throws UsernameNotFoundException if the user is not found
      */
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        UserDetailsImpl cached = cache(USERS_BY_USERNAME_CACHE).get(username, UserDetailsImpl.class);
+        if (cached != null) {
+            return cached;
+        }
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
+        return cacheUser(user);
+    }
 
-        return new org.springframework.security.core.userdetails.User(
-                user.getUsername(),
-                user.getPasswordHash(),
-                Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")));
+    /**
+     * Loads a user's details by username with the password hash, for checking a password at login.
+     * Always reads the database and caches nothing, so the hash never sits in a shared cache.
+     *
+     * @param username the username to search for
+     * @return UserDetailsImpl wrapping the user entity
+     * @throws UsernameNotFoundException if the user is not found
+     */
+    public UserDetailsImpl loadUserForAuthentication(String username) throws UsernameNotFoundException {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
+        return new UserDetailsImpl(user);
+    }
+
+    /**
+     * Drops a user from the user caches once the current transaction commits.
+     * Must be called whenever a user's profile, credentials or username change.
+     *
+     * @param user the changed user
+     */
+    public void evictUser(User user) {
+        cacheInvalidator.evict(USERS_BY_USERNAME_CACHE, user.getUsername());
+    }
+
+    /**
+     * Drops a user from the user caches and rejects every token issued to them so far.
+     * Must be called whenever a user's credentials change or the account is locked, so that a stateless
+     * principal built from an old token is not accepted.
+     *
+     * @param user the user whose credentials changed
+     */
+    public void revokeCredentials(User user) {
+        evictUser(user);
+        tokenRevocationCache.revoke(user.getUserId());
+    }
+
+    /**
+     * Changes the password of a user after checking their current password.
+     * Tokens issued before the change are revoked, so the user has to log in again.
+     *
+     * @param username the username of the user
+     * @param currentPassword the user's current password
+     * @param newPassword the new password
+     * @throws UsernameNotFoundException if the user is not found
+     * @throws IllegalArgumentException if the current password is wrong
+     */
+    @Transactional
+    public void changePassword(String username, String currentPassword, String newPassword) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
+        if (!passwordEncoder.matches(currentPassword, user.getPasswordHash())) {
+            throw new IllegalArgumentException("Current password is incorrect");
+        }
+        user.setPasswordHash(passwordEncoder.encode(newPassword));
+        userRepository.save(user);
+        revokeCredentials(user);
     }
 
     /**
@@ -90,8 +167,7 @@ public class UserService implements UserDetailsService {
     }
 
     public UserProfileDTO getUserProfile(String username) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
+        User user = ((UserDetailsImpl) loadUserByUsername(username)).getUser();
 
         return UserProfileDTO.builder()
                 .username(user.getUsername())
@@ -101,4 +177,33 @@ public class UserService implements UserDetailsService {
                 .joinDate(user.getJoinDate() != null ? user.getJoinDate().toLocalDateTime() : null)
                 .build();
     }
+
+    private UserDetailsImpl cacheUser(User user) {
+        UserDetailsImpl userDetails = new UserDetailsImpl(withoutPasswordHash(user));
+        cache(USERS_BY_USERNAME_CACHE).put(user.getUsername(), userDetails);
+        return userDetails;
+    }
+
+    /**
+     * Copy a user without the password hash, detached from the persistence context that loaded it
+     */
+    private static User withoutPasswordHash(User user) {
+        User copy = new User();
+        copy.setUserId(user.getUserId());
+        copy.setUsername(user.getUsername());
+        copy.setEmail(user.getEmail());
+        copy.setProfilePictureURL(user.getProfilePictureURL());
+        copy.setBio(user.getBio());
+        copy.setJoinDate(user.getJoinDate());
+        copy.setLastLogin(user.getLastLogin());
+        return copy;
+    }
+
+    private Cache cache(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            throw new IllegalStateException("Cache '" + cacheName + "' is not configured");
+        }
+        return cache;
+    }
 }
\ No newline at end of file
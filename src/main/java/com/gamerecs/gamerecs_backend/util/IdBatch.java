@@ -0,0 +1,58 @@
+package com.gamerecs.gamerecs_backend.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Loads a batch of entities by ID with a single query and returns them in the order the IDs were requested.
+ * Repeated IDs are looked up and returned once, unknown IDs are skipped, and a batch is capped at
+ * {@link #MAX_SIZE} distinct IDs so one request cannot expand into an unbounded IN list.
+ */
+public final class IdBatch {
+
+    /**
+     * Maximum number of distinct IDs per batch
+     */
+    public static final int MAX_SIZE = 100;
+
+    private IdBatch() {
+    }
+
+    /**
+     * Load a batch and restore the request order
+     * @param ids the requested IDs, in the order the results should be returned
+     * @param loader loads the rows for a set of distinct IDs, in any order
+     * @param idOf the ID of a loaded row
+     * @return the rows that exist, in request order
+     * @throws IllegalArgumentException if more than {@link #MAX_SIZE} distinct IDs are requested
+     */
+    public static <T> List<T> load(Collection<Long> ids, Function<Set<Long>, ? extends Collection<T>> loader,
+                                   Function<? super T, Long> idOf) {
+        Set<Long> distinctIds = new LinkedHashSet<>(ids);
+        if (distinctIds.size() > MAX_SIZE) {
+            throw new IllegalArgumentException("Cannot fetch more than " + MAX_SIZE + " IDs at once");
+        }
+        if (distinctIds.isEmpty()) {
+            return List.of();
+        }
+        Collection<T> rows = loader.apply(distinctIds);
+        Map<Long, T> rowsById = new HashMap<>(rows.size() * 2);
+        for (T row : rows) {
+            rowsById.put(idOf.apply(row), row);
+        }
+        List<T> ordered = new ArrayList<>(rowsById.size());
+        for (Long id : distinctIds) {
+            T row = rowsById.get(id);
+            if (row != null) {
+                ordered.add(row);
+            }
+        }
+        return ordered;
+    }
+}
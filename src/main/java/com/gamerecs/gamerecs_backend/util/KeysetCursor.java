@@ -0,0 +1,106 @@
+package com.gamerecs.gamerecs_backend.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in a keyset-paginated listing: the sort key and unique ID of the last row returned.
+ * The next page is read with a seek predicate on (value, id) over an index, so it costs the same at any depth
+ * and needs no count. Clients receive the cursor as an opaque URL-safe token and pass it back unchanged.
+ * @param sort the name of the sort the cursor belongs to
+ * @param value the sort key of the last row, as text; empty when sorting by ID only
+ * @param id the ID of the last row, which breaks ties between equal sort keys
+ */
+public record KeysetCursor(String sort, String value, long id) {
+
+    /**
+     * Maximum number of rows returned per request
+     */
+    public static final int MAX_SIZE = 100;
+
+    /**
+     * Sort key above every stored timestamp, to start a listing sorted by descending date
+     */
+    public static final LocalDateTime LATEST = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    private static final char SEPARATOR = '\n';
+
+    /**
+     * Decode the cursor sent by a client, or start from the beginning when there is none
+     * @param token the token from a previous response, or null for the first request
+     * @param start the cursor positioned before the first row of the sort
+     * @return the decoded cursor, or {@code start}
+     * @throws IllegalArgumentException if the token is malformed or belongs to another sort
+     */
+    public static KeysetCursor resume(String token, KeysetCursor start) {
+        if (token == null || token.isBlank()) {
+            return start;
+        }
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        int first = decoded.indexOf(SEPARATOR);
+        int last = decoded.lastIndexOf(SEPARATOR);
+        if (first < 0 || first == last) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        if (!decoded.substring(0, first).equals(start.sort())) {
+            throw new IllegalArgumentException("Cursor does not belong to sort '" + start.sort() + "'");
+        }
+        try {
+            return new KeysetCursor(start.sort(), decoded.substring(first + 1, last),
+                    Long.parseLong(decoded.substring(last + 1)));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    /**
+     * Clamp a requested page size to 1..{@link #MAX_SIZE}
+     * @param size the requested size
+     * @return the size to use
+     */
+    public static int limit(int size) {
+        return Math.min(Math.max(size, 1), MAX_SIZE);
+    }
+
+    /**
+     * Encode the cursor as an opaque token
+     * @return the URL-safe token
+     */
+    public String encode() {
+        String text = sort + SEPARATOR + value + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Get the sort key as an integer
+     * @return the sort key
+     * @throws IllegalArgumentException if the sort key is not an integer
+     */
+    public int intValue() {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    /**
+     * Get the sort key as a timestamp
+     * @return the sort key
+     * @throws IllegalArgumentException if the sort key is not a timestamp
+     */
+    public LocalDateTime dateTimeValue() {
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
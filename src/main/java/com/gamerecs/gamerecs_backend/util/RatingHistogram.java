@@ -0,0 +1,149 @@
+package com.gamerecs.gamerecs_backend.util;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Order-statistic index over rating values 0-100.
+ * Keeps a count per rating value plus a Fenwick tree over those counts, so the number of ratings
+ * below a value is answered in O(log 101) and the number of equal ratings and of distinct values in O(1),
+ * regardless of how many ratings were recorded. Instances are thread-safe; they guard their state with a
+ * {@link ReentrantLock} rather than a monitor so that callers on virtual threads are never pinned.
+ */
+public class RatingHistogram {
+
+    public static final int BUCKETS = 101;
+
+    private final int[] counts = new int[BUCKETS];
+    private final int[] tree = new int[BUCKETS + 1];
+    private int total;
+    private int distinct;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Build a histogram from per-value counts
+     * @param counts number of ratings per rating value
+     * @return the histogram
+     */
+    public static RatingHistogram of(int[] counts) {
+        RatingHistogram histogram = new RatingHistogram();
+        for (int value = 0; value < Math.min(counts.length, BUCKETS); value++) {
+            histogram.adjust(value, counts[value]);
+        }
+        return histogram;
+    }
+
+    /**
+     * Record a rating
+     * @param ratingValue the rating value (0-100)
+     */
+    public void add(int ratingValue) {
+        lock.lock();
+        try {
+            adjust(ratingValue, 1);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Remove a recorded rating
+     * @param ratingValue the rating value (0-100)
+     * @throws IllegalStateException if no rating with this value is recorded
+     */
+    public void remove(int ratingValue) {
+        checkRange(ratingValue);
+        lock.lock();
+        try {
+            if (counts[ratingValue] == 0) {
+                throw new IllegalStateException("No rating of " + ratingValue + " recorded");
+            }
+            adjust(ratingValue, -1);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Count the ratings strictly below a value
+     * @param ratingValue the rating value (0-100)
+     * @return the number of lower ratings
+     */
+    public int countBelow(int ratingValue) {
+        checkRange(ratingValue);
+        lock.lock();
+        try {
+            int sum = 0;
+            for (int i = ratingValue; i > 0; i -= i & -i) {
+                sum += tree[i];
+            }
+            return sum;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Count the ratings equal to a value
+     * @param ratingValue the rating value (0-100)
+     * @return the number of equal ratings
+     */
+    public int countEqual(int ratingValue) {
+        checkRange(ratingValue);
+        lock.lock();
+        try {
+            return counts[ratingValue];
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Get the number of distinct rating values recorded
+     * @return the distinct count
+     */
+    public int distinctCount() {
+        lock.lock();
+        try {
+            return distinct;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Get the number of ratings recorded
+     * @return the total count
+     */
+    public int total() {
+        lock.lock();
+        try {
+            return total;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void adjust(int ratingValue, int delta) {
+        checkRange(ratingValue);
+        if (delta == 0) {
+            return;
+        }
+        int before = counts[ratingValue];
+        counts[ratingValue] = before + delta;
+        if (before == 0) {
+            distinct++;
+        } else if (counts[ratingValue] == 0) {
+            distinct--;
+        }
+        total += delta;
+        for (int i = ratingValue + 1; i <= BUCKETS; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    private static void checkRange(int ratingValue) {
+        if (ratingValue < 0 || ratingValue >= BUCKETS) {
+            throw new IllegalArgumentException("Rating value must be between 0 and 100");
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.gamerecs.gamerecs_backend.util;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.function.Supplier;
+
+/**
+ * Small bounded pool of reusable scratch objects, such as the per-query buffers of an in-memory index.
+ * At most {@code capacity} idle objects are kept, so the retained memory is bounded no matter how many threads
+ * query; a caller that finds the pool empty gets a fresh object, which is kept on release only if there is room.
+ * Callers must return an object in the state {@link #acquire()} expects, e.g. with its counters reset.
+ * @param <T> the type of the scratch objects
+ */
+public final class ScratchPool<T> {
+
+    private final ArrayBlockingQueue<T> idle;
+    private final Supplier<T> factory;
+
+    /**
+     * @param capacity the maximum number of idle objects kept
+     * @param factory creates an object when none is idle
+     */
+    public ScratchPool(int capacity, Supplier<T> factory) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Scratch pool needs room for at least one object");
+        }
+        this.idle = new ArrayBlockingQueue<>(capacity);
+        this.factory = factory;
+    }
+
+    /**
+     * Create a pool that keeps one idle object per available processor
+     * @param factory creates an object when none is idle
+     * @return the pool
+     */
+    public static <T> ScratchPool<T> perProcessor(Supplier<T> factory) {
+        return new ScratchPool<>(Runtime.getRuntime().availableProcessors(), factory);
+    }
+
+    /**
+     * Take an idle object, or create one if none is idle
+     * @return the object, owned by the caller until it is released
+     */
+    public T acquire() {
+        T scratch = idle.poll();
+        return scratch != null ? scratch : factory.get();
+    }
+
+    /**
+     * Return an object for reuse; it is dropped if the pool is full
+     * @param scratch the object, no longer used by the caller
+     */
+    public void release(T scratch) {
+        idle.offer(scratch);
+    }
+
+    /**
+     * Drop every idle object, e.g. after the objects the factory creates have changed size
+     */
+    public void clear() {
+        idle.clear();
+    }
+}
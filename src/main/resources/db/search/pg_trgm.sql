@@ -0,0 +1,6 @@
+-- Index for app.search.backend=postgres (PostgresTrigramGameSearchBackend).
+-- The GIN trigram index serves both the ILIKE '%text%' substring match and the % similarity operator.
+-- Table and column names assume Spring Boot's default naming strategy (Game.Title -> game.title).
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_game_title_trgm ON game USING gin (title gin_trgm_ops);
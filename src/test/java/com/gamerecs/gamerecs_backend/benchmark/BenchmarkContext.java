@@ -0,0 +1,58 @@
+package com.gamerecs.gamerecs_backend.benchmark;
+
+import com.gamerecs.gamerecs_backend.GameRecsBackendApplication;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Starts the application on a random port against a private in-memory H2 database, for JMH benchmarks
+ * that need the real service, repository, security and transaction stack.
+ * Set {@code -Dbenchmark.datasource.url} (plus {@code .username} and {@code .password}) to run against
+ * another database instead, e.g. PostgreSQL for benchmarks of database-specific features. The schema of an
+ * external database is left untouched, so only benchmarks that do not need the application tables can use it.
+ */
+final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    /**
+     * Start an application context
+     * @param databaseName name of the in-memory database, unique per benchmark
+     * @param overrides additional properties, e.g. {@code app.rating.lock-strategy}
+     * @return the running context; close it in the benchmark's tear-down
+     */
+    static ConfigurableApplicationContext start(String databaseName, String... overrides) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("spring.datasource.url", System.getProperty("benchmark.datasource.url",
+                "jdbc:h2:mem:" + databaseName + ";DB_CLOSE_DELAY=-1"));
+        properties.put("spring.datasource.username", System.getProperty("benchmark.datasource.username", "sa"));
+        properties.put("spring.datasource.password", System.getProperty("benchmark.datasource.password", ""));
+        // Never create or drop tables in a database the benchmark does not own
+        properties.put("spring.jpa.hibernate.ddl-auto", isExternalDatabase() ? "none" : "create-drop");
+        properties.put("spring.jpa.show-sql", "false");
+        properties.put("spring.main.banner-mode", "off");
+        properties.put("logging.level.root", "WARN");
+        properties.put("server.port", "0");
+        properties.put("server.servlet.context-path", "/");
+        properties.put("jwt.secret", "ZGV2ZWxvcG1lbnQtb25seS1iZW5jaG1hcmstc2lnbmluZy1rZXktMzItYnl0ZXM=");
+        properties.put("jwt.expiration", "3600000");
+        for (String override : overrides) {
+            int separator = override.indexOf('=');
+            properties.put(override.substring(0, separator), override.substring(separator + 1));
+        }
+        return new SpringApplicationBuilder(GameRecsBackendApplication.class)
+                .properties(properties)
+                .run();
+    }
+
+    /**
+     * Check whether benchmarks run against an external database instead of H2
+     * @return true if {@code benchmark.datasource.url} is set
+     */
+    static boolean isExternalDatabase() {
+        return System.getProperty("benchmark.datasource.url") != null;
+    }
+}
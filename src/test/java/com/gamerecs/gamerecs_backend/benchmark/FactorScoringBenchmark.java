@@ -0,0 +1,114 @@
+package com.gamerecs.gamerecs_backend.benchmark;
+
+import com.gamerecs.gamerecs_backend.recommendation.FactorModel;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Latency of ranking 100k candidate games for one user with a {@link FactorModel} loaded from a saved file,
+ * keeping the top 20: every game of the model in order, and the same games as a shuffled candidate list,
+ * as candidates coming from another source would be.
+ * Scoring should not allocate: check {@code gc.alloc.rate.norm} stays near zero with {@code -prof gc}.
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark=FactorScoringBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class FactorScoringBenchmark {
+
+    private static final int USERS = 1000;
+    private static final int LIMIT = 20;
+
+    @Param({"100000"})
+    public int candidates;
+
+    @Param({"32", "64"})
+    public int rank;
+
+    private Path file;
+    private FactorModel model;
+    private int[] candidateIndexes;
+    private final int[] gameIndexes = new int[LIMIT];
+    private final float[] scores = new float[LIMIT];
+    private int user;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Random random = new Random(42);
+        long[] userIds = new long[USERS];
+        float[] userFactors = new float[USERS * rank];
+        long[] gameIds = new long[candidates];
+        float[] gameFactors = new float[candidates * rank];
+        for (int i = 0; i < USERS; i++) {
+            userIds[i] = i + 1;
+        }
+        for (int i = 0; i < candidates; i++) {
+            gameIds[i] = i + 1;
+        }
+        for (int i = 0; i < userFactors.length; i++) {
+            userFactors[i] = (float) random.nextGaussian() * 0.1f;
+        }
+        for (int i = 0; i < gameFactors.length; i++) {
+            gameFactors[i] = (float) random.nextGaussian() * 0.1f;
+        }
+        file = Files.createTempFile("factor-model", ".bin");
+        FactorModel.of(userIds, gameIds, rank, userFactors, gameFactors).save(file);
+        model = FactorModel.load(file);
+
+        candidateIndexes = new int[candidates];
+        for (int i = 0; i < candidates; i++) {
+            candidateIndexes[i] = i;
+        }
+        for (int i = candidateIndexes.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = candidateIndexes[i];
+            candidateIndexes[i] = candidateIndexes[j];
+            candidateIndexes[j] = swap;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public int allGames() {
+        user = (user + 1) % USERS;
+        return model.topCandidates(user, null, 0, LIMIT, gameIndexes, scores);
+    }
+
+    @Benchmark
+    public int candidateList() {
+        user = (user + 1) % USERS;
+        return model.topCandidates(user, candidateIndexes, candidateIndexes.length, LIMIT, gameIndexes, scores);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(FactorScoringBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,105 @@
+package com.gamerecs.gamerecs_backend.benchmark;
+
+import com.gamerecs.gamerecs_backend.search.TrigramIndex;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Latency of one page of title search over a synthetic catalog, for the in-process {@link TrigramIndex}
+ * against a full scan with a case-insensitive substring match, which is the work {@code LIKE '%title%'}
+ * makes the database do for every search.
+ * Queries range from a rare full title word to a common short prefix, which has the longest posting lists.
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark=GameSearchBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class GameSearchBenchmark {
+
+    private static final String[] WORDS = {
+        "legend", "dragon", "quest", "fantasy", "final", "dark", "souls", "shadow", "knight", "hollow",
+        "super", "mario", "kart", "galaxy", "zelda", "ocarina", "time", "wild", "breath", "star",
+        "wars", "empire", "age", "kingdom", "hearts", "metal", "gear", "solid", "resident", "evil",
+        "silent", "hill", "street", "fighter", "mortal", "kombat", "tekken", "racing", "rally", "drift",
+        "city", "builder", "farm", "simulator", "space", "station", "ocean", "island", "castle", "tower"
+    };
+
+    @Param({"500000"})
+    public int catalogSize;
+
+    @Param({"ocarina", "dark so", "kingdm hearts"})
+    public String query;
+
+    private String[] lowerCaseTitles;
+    private TrigramIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        lowerCaseTitles = new String[catalogSize];
+        index = new TrigramIndex();
+        for (int i = 0; i < catalogSize; i++) {
+            int words = 2 + random.nextInt(4);
+            StringBuilder title = new StringBuilder();
+            for (int w = 0; w < words; w++) {
+                if (w > 0) {
+                    title.append(' ');
+                }
+                String word = WORDS[random.nextInt(WORDS.length)];
+                title.append(Character.toUpperCase(word.charAt(0))).append(word, 1, word.length());
+            }
+            title.append(' ').append(i);
+            lowerCaseTitles[i] = title.toString().toLowerCase(Locale.ROOT);
+            index.put(i, title.toString());
+        }
+    }
+
+    @Benchmark
+    public TrigramIndex.Result trigramIndex() {
+        return index.search(query, 0, 20);
+    }
+
+    @Benchmark
+    public List<Long> substringScan() {
+        String needle = query.toLowerCase(Locale.ROOT);
+        List<Long> page = new ArrayList<>(20);
+        long total = 0;
+        for (int i = 0; i < lowerCaseTitles.length; i++) {
+            if (lowerCaseTitles[i].contains(needle)) {
+                if (page.size() < 20) {
+                    page.add((long) i);
+                }
+                total++;
+            }
+        }
+        page.add(total);
+        return page;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(GameSearchBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,85 @@
+package com.gamerecs.gamerecs_backend.benchmark;
+
+import com.gamerecs.gamerecs_backend.model.User;
+import com.gamerecs.gamerecs_backend.security.JwtAuthenticationFilter;
+import com.gamerecs.gamerecs_backend.security.JwtService;
+import com.gamerecs.gamerecs_backend.security.TokenRevocationCache;
+import com.gamerecs.gamerecs_backend.security.UserDetailsImpl;
+import jakarta.servlet.ServletException;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Cost of the JWT filter for one authenticated request, with the verified-token cache enabled and disabled.
+ * The user lookup is stubbed, so the figures isolate token verification and security context setup.
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark=JwtFilterBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtFilterBenchmark {
+
+    /**
+     * Size of the verified-token cache; 0 parses and verifies the token on every request.
+     */
+    @Param({"0", "10000"})
+    public long verifiedTokenCacheSize;
+
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() throws ReflectiveOperationException {
+        JwtService jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secretKey", "development-only-benchmark-signing-key-32-bytes");
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 3_600_000L);
+        ReflectionTestUtils.setField(jwtService, "verifiedTokenCacheSize", verifiedTokenCacheSize);
+        Method init = JwtService.class.getDeclaredMethod("init");
+        init.setAccessible(true);
+        init.invoke(jwtService);
+
+        User user = new User();
+        user.setUserId(1L);
+        user.setUsername("benchmark");
+        UserDetails userDetails = new UserDetailsImpl(user);
+        filter = new JwtAuthenticationFilter(jwtService, username -> userDetails,
+                new TokenRevocationCache(3_600_000L), false, "striped");
+
+        request = new MockHttpServletRequest("GET", "/api/games");
+        request.addHeader("Authorization", "Bearer " + jwtService.generateToken(userDetails));
+    }
+
+    @Benchmark
+    public void authenticatedRequest(Blackhole blackhole) throws ServletException, IOException {
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+            blackhole.consume(SecurityContextHolder.getContext().getAuthentication());
+        } finally {
+            SecurityContextHolder.clearContext();
+            request.removeAttribute(JwtAuthenticationFilter.class.getName() + ".FILTERED");
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.gamerecs.gamerecs_backend.benchmark;
+
+import com.gamerecs.gamerecs_backend.model.Game;
+import com.gamerecs.gamerecs_backend.model.Rating;
+import com.gamerecs.gamerecs_backend.model.User;
+import com.gamerecs.gamerecs_backend.repository.CatalogDictionary;
+import com.gamerecs.gamerecs_backend.repository.GameRepository;
+import com.gamerecs.gamerecs_backend.repository.RatingRepository;
+import com.gamerecs.gamerecs_backend.repository.UserRepository;
+import com.gamerecs.gamerecs_backend.service.RatingService;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Latency of {@link RatingService#addOrUpdateRating} against the size of the user's rating history.
+ * Each invocation changes the same rating, which moves its value across the user's distribution and
+ * triggers the percentile refresh of the ratings in between.
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark=RatingWriteBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RatingWriteBenchmark {
+
+    @Param({"5", "500", "5000"})
+    public int historySize;
+
+    private ConfigurableApplicationContext context;
+    private RatingService ratingService;
+    private User user;
+    private Game target;
+    private int nextValue;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("ratingwrite" + historySize);
+        ratingService = context.getBean(RatingService.class);
+        GameRepository gameRepository = context.getBean(GameRepository.class);
+        CatalogDictionary catalogDictionary = context.getBean(CatalogDictionary.class);
+        RatingRepository ratingRepository = context.getBean(RatingRepository.class);
+
+        user = context.getBean(UserRepository.class)
+                .save(new User("benchmark", "benchmark@example.com", "hashedPassword"));
+
+        List<Game> games = new ArrayList<>();
+        for (int i = 0; i <= historySize; i++) {
+            Game game = new Game("Benchmark Game " + i);
+            game.setGenres(Arrays.asList("Action"));
+            game.setPlatforms(Arrays.asList("PC"));
+            catalogDictionary.resolve(game);
+            games.add(game);
+        }
+        games = gameRepository.saveAll(games);
+        target = games.get(historySize);
+
+        List<Rating> history = new ArrayList<>();
+        for (int i = 0; i < historySize; i++) {
+            history.add(new Rating(user, games.get(i), i % 101));
+        }
+        ratingRepository.saveAll(history);
+        ratingService.addOrUpdateRating(user, target, 50);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Rating addOrUpdateRating() {
+        nextValue = (nextValue + 37) % 101;
+        return ratingService.addOrUpdateRating(user, target, nextValue);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RatingWriteBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
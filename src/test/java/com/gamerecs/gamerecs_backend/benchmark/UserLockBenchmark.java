@@ -0,0 +1,94 @@
+package com.gamerecs.gamerecs_backend.benchmark;
+
+import com.gamerecs.gamerecs_backend.service.UserLockStrategy;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Throughput of short transactions that take a user lock, for each lock strategy and contention level.
+ * With {@code users = 1} every thread competes for the same user; with more users contention is spread out
+ * (and, for striped locks, limited by stripe collisions).
+ * The advisory strategy needs PostgreSQL:
+ * {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark=UserLockBenchmark -Dbenchmark.datasource.url=jdbc:postgresql://...}.
+ * Without it, run {@link #main} to measure only the striped strategy.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class UserLockBenchmark {
+
+    @Param({"striped", "advisory"})
+    public String lockStrategy;
+
+    @Param({"1", "16", "1024"})
+    public int users;
+
+    /**
+     * Simulated work done while holding the lock, in {@link Blackhole#consumeCPU} tokens.
+     */
+    @Param({"5000"})
+    public long holdTokens;
+
+    private ConfigurableApplicationContext context;
+    private UserLockStrategy userLockStrategy;
+    private TransactionTemplate transactionTemplate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if ("advisory".equals(lockStrategy) && !BenchmarkContext.isExternalDatabase()) {
+            throw new IllegalStateException("The advisory lock strategy needs -Dbenchmark.datasource.url pointing at PostgreSQL");
+        }
+        context = BenchmarkContext.start("userlock", "app.rating.lock-strategy=" + lockStrategy);
+        userLockStrategy = context.getBean(UserLockStrategy.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void lockAndWrite(Blackhole blackhole) {
+        long userId = ThreadLocalRandom.current().nextInt(users);
+        transactionTemplate.executeWithoutResult(status -> {
+            userLockStrategy.lockForTransaction(userId);
+            Blackhole.consumeCPU(holdTokens);
+            blackhole.consume(userId);
+        });
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        OptionsBuilder options = new OptionsBuilder();
+        options.include(UserLockBenchmark.class.getSimpleName());
+        if (!BenchmarkContext.isExternalDatabase()) {
+            options.param("lockStrategy", "striped");
+        }
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,82 @@
+package com.gamerecs.gamerecs_backend.config;
+
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.data.domain.PageImpl;
+
+class CacheConfigTest {
+
+    private CacheProperties cacheProperties;
+    private CacheConfig cacheConfig;
+
+    @BeforeEach
+    void setUp() {
+        cacheProperties = new CacheProperties();
+        cacheConfig = new CacheConfig();
+    }
+
+    @Test
+    void cacheManager_RegistersAllDeclaredCaches() {
+        CacheManager cacheManager = cacheConfig.cacheManager(cacheProperties);
+
+        assertTrue(cacheManager.getCacheNames().containsAll(
+            List.of("userRatings", "gameRatings", "averageRatings", "userBacklog", "backlogStats")));
+    }
+
+    @Test
+    void cacheManager_RecordsHitAndMissStatistics() {
+        CacheManager cacheManager = cacheConfig.cacheManager(cacheProperties);
+        Cache cache = cacheManager.getCache("averageRatings");
+
+        assertNull(cache.get(1L));
+        cache.put(1L, 85.0);
+        assertNotNull(cache.get(1L));
+
+        var stats = ((CaffeineCache) cache).getNativeCache().stats();
+        assertEquals(1, stats.hitCount());
+        assertEquals(1, stats.missCount());
+    }
+
+    @Test
+    void cacheManager_WeightBoundCountsPageElements() {
+        cacheProperties.getCaches().put("gameRatings", new CacheProperties.Spec(null, 10L, null));
+        CacheManager cacheManager = cacheConfig.cacheManager(cacheProperties);
+        CaffeineCache cache = (CaffeineCache) cacheManager.getCache("gameRatings");
+
+        cache.put("1:page:0", new PageImpl<>(List.of(1, 2, 3, 4)));
+        cache.put("2:page:0", new PageImpl<>(List.of(1, 2, 3, 4)));
+        cache.put("3:page:0", new PageImpl<>(List.of(1, 2, 3, 4)));
+        cache.getNativeCache().cleanUp();
+
+        assertTrue(cache.getNativeCache().policy().eviction().orElseThrow().weightedSize().getAsLong() <= 10L);
+    }
+
+    @Test
+    void resolve_OverrideInheritsUnsetValuesFromDefaults() {
+        cacheProperties.getCaches().put("userBacklog", new CacheProperties.Spec(null, 500L, null));
+
+        CacheProperties.Spec spec = cacheProperties.resolve("userBacklog");
+
+        assertNull(spec.getMaximumSize());
+        assertEquals(500L, spec.getMaximumWeight());
+        assertEquals(cacheProperties.getDefaults().getExpireAfterWrite(), spec.getExpireAfterWrite());
+    }
+
+    @Test
+    void cacheManager_SizeAndWeightTogether_ThrowsException() {
+        cacheProperties.getCaches().put("backlogStats", new CacheProperties.Spec(100L, 100L, null));
+
+        assertThrows(IllegalStateException.class, () -> cacheConfig.cacheManager(cacheProperties));
+    }
+
+    @Test
+    void weigh_ScalarValue_HasUnitWeight() {
+        assertEquals(1, CacheConfig.weigh("key", 42.0));
+        assertEquals(4, CacheConfig.weigh("key", List.of(1, 2, 3)));
+    }
+}
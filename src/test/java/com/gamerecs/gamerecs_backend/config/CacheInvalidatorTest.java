@@ -0,0 +1,78 @@
+package com.gamerecs.gamerecs_backend.config;
+
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+class CacheInvalidatorTest {
+
+    private CacheManager cacheManager;
+    private CacheInvalidator cacheInvalidator;
+
+    @BeforeEach
+    void setUp() {
+        CacheProperties cacheProperties = new CacheProperties();
+        cacheProperties.getDefaults().setMaximumSize(100_000L);
+        cacheManager = new CacheConfig().cacheManager(cacheProperties);
+        cacheInvalidator = new CacheInvalidator(cacheManager);
+    }
+
+    @Test
+    void evictScope_RemovesOnlyEntriesOfThatOwner() {
+        Cache userRatings = cacheManager.getCache("userRatings");
+        userRatings.put("1:page:0", "user 1 page");
+        userRatings.put("1:game:7", "user 1 game 7");
+        userRatings.put("12:page:0", "user 12 page");
+        userRatings.put("2:game:1", "user 2 game 1");
+
+        cacheInvalidator.evictScope("userRatings", 1L);
+
+        assertNull(userRatings.get("1:page:0"));
+        assertNull(userRatings.get("1:game:7"));
+        assertNotNull(userRatings.get("12:page:0"));
+        assertNotNull(userRatings.get("2:game:1"));
+    }
+
+    @Test
+    void evictScopes_RemovesEntriesOfEveryGivenOwner() {
+        Cache gameRatings = cacheManager.getCache("gameRatings");
+        gameRatings.put("1:page:0", "game 1 page");
+        gameRatings.put("2:page:0", "game 2 page");
+        gameRatings.put("3:page:0", "game 3 page");
+
+        cacheInvalidator.evictScopes("gameRatings", List.of(1L, 3L));
+
+        assertNull(gameRatings.get("1:page:0"));
+        assertNotNull(gameRatings.get("2:page:0"));
+        assertNull(gameRatings.get("3:page:0"));
+    }
+
+    @Test
+    void evictAll_RemovesEveryGivenKey() {
+        Cache averageRatings = cacheManager.getCache("averageRatings");
+        averageRatings.put(1L, 80.0);
+        averageRatings.put(2L, 60.0);
+        averageRatings.put(3L, 70.0);
+
+        cacheInvalidator.evictAll("averageRatings", List.of(1L, 3L));
+
+        assertNull(averageRatings.get(1L));
+        assertNotNull(averageRatings.get(2L));
+        assertNull(averageRatings.get(3L));
+    }
+
+    @Test
+    void evict_RemovesSingleKey() {
+        Cache averageRatings = cacheManager.getCache("averageRatings");
+        averageRatings.put(1L, 80.0);
+        averageRatings.put(2L, 60.0);
+
+        cacheInvalidator.evict("averageRatings", 1L);
+
+        assertNull(averageRatings.get(1L));
+        assertNotNull(averageRatings.get(2L));
+    }
+}
@@ -0,0 +1,71 @@
+package com.gamerecs.gamerecs_backend.config;
+
+import com.gamerecs.gamerecs_backend.model.BacklogStatus;
+import com.gamerecs.gamerecs_backend.model.User;
+import com.gamerecs.gamerecs_backend.service.BacklogItemService;
+import java.lang.reflect.Method;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+class PagedCacheKeyGeneratorTest {
+
+    private PagedCacheKeyGenerator keyGenerator;
+    private PagedCachePolicy pagedCachePolicy;
+    private Method method;
+    private User testUser;
+
+    @BeforeEach
+    void setUp() throws NoSuchMethodException {
+        keyGenerator = new PagedCacheKeyGenerator();
+        pagedCachePolicy = new PagedCachePolicy(new CacheProperties());
+        method = BacklogItemService.class.getMethod("getUserBacklog", User.class, BacklogStatus.class, Pageable.class);
+
+        testUser = new User();
+        testUser.setUserId(7L);
+    }
+
+    @Test
+    void generate_DifferentPageSizes_ProduceDifferentKeys() {
+        Object small = keyGenerator.generate(null, method, testUser, null, PageRequest.of(0, 10));
+        Object large = keyGenerator.generate(null, method, testUser, null, PageRequest.of(0, 20));
+
+        assertNotEquals(small, large);
+    }
+
+    @Test
+    void generate_DifferentSorts_ProduceDifferentKeys() {
+        Object byStatus = keyGenerator.generate(null, method, testUser, null, PageRequest.of(0, 10, Sort.by("status")));
+        Object byId = keyGenerator.generate(null, method, testUser, null, PageRequest.of(0, 10, Sort.by("backlogItemId")));
+
+        assertNotEquals(byStatus, byId);
+    }
+
+    @Test
+    void generate_DifferentFilters_ProduceDifferentKeys() {
+        Object toPlay = keyGenerator.generate(null, method, testUser, BacklogStatus.TO_PLAY, PageRequest.of(0, 10));
+        Object completed = keyGenerator.generate(null, method, testUser, BacklogStatus.COMPLETED, PageRequest.of(0, 10));
+
+        assertNotEquals(toPlay, completed);
+    }
+
+    @Test
+    void generate_KeyIsScopedToOwner() {
+        Object key = keyGenerator.generate(null, method, testUser, null, PageRequest.of(2, 10));
+
+        assertEquals("7", CacheInvalidator.scopeOf(key));
+        assertEquals(key, keyGenerator.generate(null, method, testUser, null, PageRequest.of(2, 10)));
+    }
+
+    @Test
+    void isCacheable_OnlyHotPagesWithinSizeLimit() {
+        assertTrue(pagedCachePolicy.isCacheable(PageRequest.of(0, 20)));
+        assertTrue(pagedCachePolicy.isCacheable(PageRequest.of(2, 50)));
+        assertFalse(pagedCachePolicy.isCacheable(PageRequest.of(3, 20)));
+        assertFalse(pagedCachePolicy.isCacheable(PageRequest.of(0, 51)));
+        assertFalse(pagedCachePolicy.isCacheable(Pageable.unpaged()));
+    }
+}
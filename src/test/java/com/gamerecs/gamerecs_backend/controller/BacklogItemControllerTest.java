@@ -1,5 +1,6 @@
 package com.gamerecs.gamerecs_backend.controller;
 
+import com.gamerecs.gamerecs_backend.dto.BacklogBatchUpdateResult;
 import com.gamerecs.gamerecs_backend.exception.BacklogException;
 import com.gamerecs.gamerecs_backend.model.BacklogItem;
 import com.gamerecs.gamerecs_backend.model.BacklogStatus;
@@ -261,6 +262,38 @@ class BacklogItemControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("Batch Update Status Tests")
+    class BatchUpdateStatusTests {
+
+        @Test
+        @DisplayName("Should return per-game results of a batch update")
+        void shouldReturnBatchResult() {
+            Map<Long, BacklogStatus> updates = Map.of(1L, BacklogStatus.IN_PROGRESS);
+            BacklogBatchUpdateResult result = new BacklogBatchUpdateResult();
+            result.addSuccess(1L, BacklogStatus.IN_PROGRESS);
+            when(backlogItemService.batchUpdateStatus(testUser, updates)).thenReturn(result);
+
+            ResponseEntity<?> response = backlogItemController.batchUpdateStatus(userDetails, updates);
+
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            assertSame(result, response.getBody());
+            verify(backlogItemService).batchUpdateStatus(testUser, updates);
+        }
+
+        @Test
+        @DisplayName("Should return 400 when the batch is rejected")
+        void shouldReturnBadRequestWhenBatchRejected() {
+            Map<Long, BacklogStatus> updates = Map.of(1L, BacklogStatus.IN_PROGRESS);
+            when(backlogItemService.batchUpdateStatus(testUser, updates))
+                .thenThrow(new BacklogException("Batch size must not exceed 500 games"));
+
+            ResponseEntity<?> response = backlogItemController.batchUpdateStatus(userDetails, updates);
+
+            assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        }
+    }
+
     @Nested
     @DisplayName("Get Backlog by Status Tests")
     class GetBacklogByStatusTests {
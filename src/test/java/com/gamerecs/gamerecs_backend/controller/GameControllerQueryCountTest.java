@@ -0,0 +1,119 @@
+package com.gamerecs.gamerecs_backend.controller;
+
+import com.gamerecs.gamerecs_backend.model.Game;
+import com.gamerecs.gamerecs_backend.model.GameRatingStats;
+import com.gamerecs.gamerecs_backend.model.Rating;
+import com.gamerecs.gamerecs_backend.model.User;
+import com.gamerecs.gamerecs_backend.repository.CatalogDictionary;
+import com.gamerecs.gamerecs_backend.repository.GameRatingStatsRepository;
+import com.gamerecs.gamerecs_backend.repository.GameRepository;
+import com.gamerecs.gamerecs_backend.repository.RatingRepository;
+import com.gamerecs.gamerecs_backend.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Verifies that listing games does not issue rating queries per game.
+ * Counts prepared statements rather than executed queries, so entity and collection fetches count too.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@Transactional
+class GameControllerQueryCountTest {
+
+    private static final int PAGE_SIZE = 50;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private CatalogDictionary catalogDictionary;
+
+    @Autowired
+    private RatingRepository ratingRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private GameRatingStatsRepository gameRatingStatsRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        User user = userRepository.save(new User("querycount", "querycount@example.com", "hashedPassword"));
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            Game game = new Game("Query Count Game " + i);
+            game.setGenres(Arrays.asList("RPG"));
+            game.setPlatforms(Arrays.asList("PC"));
+            catalogDictionary.resolve(game);
+            game = gameRepository.save(game);
+            ratingRepository.save(new Rating(user, game, i * 2));
+            // Ratings are saved directly, so their summaries are written the way RatingService would
+            GameRatingStats stats = new GameRatingStats(game.getGameId());
+            stats.add(i * 2);
+            gameRatingStatsRepository.save(stats);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void getAllGames_FullPage_RunsConstantNumberOfQueries() throws Exception {
+        mockMvc.perform(get("/api/games")
+                .param("page", "0")
+                .param("size", String.valueOf(PAGE_SIZE)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(PAGE_SIZE))
+                .andExpect(jsonPath("$.content[0].totalRatings").value(1));
+
+        // Page select, page count, one summary lookup and one batch each for genres and platforms
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(5);
+    }
+
+    @Test
+    void getGamesByIds_FullBatch_RunsConstantNumberOfQueries() throws Exception {
+        String ids = gameRepository.findAll().stream()
+                .map(game -> String.valueOf(game.getGameId()))
+                .collect(Collectors.joining(","));
+        entityManager.clear();
+        statistics.clear();
+
+        mockMvc.perform(get("/api/games/batch").param("ids", ids))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(PAGE_SIZE))
+                .andExpect(jsonPath("$[0].genres[0]").value("RPG"))
+                .andExpect(jsonPath("$[0].totalRatings").value(1));
+
+        // One select of the games, one summary lookup and one batch each for genres and platforms
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(4);
+    }
+}
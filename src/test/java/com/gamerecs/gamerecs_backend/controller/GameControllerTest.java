@@ -2,9 +2,15 @@ package com.gamerecs.gamerecs_backend.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.gamerecs.gamerecs_backend.dto.GameDTO;
+import com.gamerecs.gamerecs_backend.dto.GameRatingSummary;
+import com.gamerecs.gamerecs_backend.dto.GameSuggestion;
+import com.gamerecs.gamerecs_backend.dto.KeysetSlice;
 import com.gamerecs.gamerecs_backend.model.Game;
+import com.gamerecs.gamerecs_backend.search.FacetIndex;
 import com.gamerecs.gamerecs_backend.security.JwtService;
+import com.gamerecs.gamerecs_backend.service.GameFacetService;
 import com.gamerecs.gamerecs_backend.service.GameService;
+import com.gamerecs.gamerecs_backend.service.GameSuggestionService;
 import com.gamerecs.gamerecs_backend.service.RatingService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -26,9 +32,11 @@ import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -47,6 +55,12 @@ class GameControllerTest {
     @MockBean
     private RatingService ratingService;
 
+    @MockBean
+    private GameSuggestionService gameSuggestionService;
+
+    @MockBean
+    private GameFacetService gameFacetService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -100,8 +114,8 @@ class GameControllerTest {
     @Test
     void getGameById_ExistingGame_ReturnsGame() throws Exception {
         when(gameService.findById(1L)).thenReturn(Optional.of(testGame));
-        when(ratingService.getAverageRating(1L)).thenReturn(85.0);
-        when(ratingService.getRatingCount(1L)).thenReturn(100L);
+        when(ratingService.getRatingSummaries(anyCollection()))
+                .thenReturn(Map.of(1L, new GameRatingSummary(1L, 85.0, 100L)));
 
         mockMvc.perform(get("/api/games/1"))
                 .andExpect(status().isOk())
@@ -128,8 +142,8 @@ class GameControllerTest {
         List<Game> games = Arrays.asList(testGame);
         Page<Game> gamePage = new PageImpl<>(games);
         when(gameService.searchByTitle(eq("Test"), any(PageRequest.class))).thenReturn(gamePage);
-        when(ratingService.getAverageRating(1L)).thenReturn(85.0);
-        when(ratingService.getRatingCount(1L)).thenReturn(100L);
+        when(ratingService.getRatingSummaries(anyCollection()))
+                .thenReturn(Map.of(1L, new GameRatingSummary(1L, 85.0, 100L)));
 
         mockMvc.perform(get("/api/games/search")
                 .param("title", "Test")
@@ -145,8 +159,8 @@ class GameControllerTest {
         List<Game> games = Arrays.asList(testGame);
         Page<Game> gamePage = new PageImpl<>(games);
         when(gameService.findByGenre(eq("RPG"), any(PageRequest.class))).thenReturn(gamePage);
-        when(ratingService.getAverageRating(1L)).thenReturn(85.0);
-        when(ratingService.getRatingCount(1L)).thenReturn(100L);
+        when(ratingService.getRatingSummaries(anyCollection()))
+                .thenReturn(Map.of(1L, new GameRatingSummary(1L, 85.0, 100L)));
 
         mockMvc.perform(get("/api/games/genre/RPG")
                 .param("page", "0")
@@ -161,8 +175,8 @@ class GameControllerTest {
         List<Game> games = Arrays.asList(testGame);
         Page<Game> gamePage = new PageImpl<>(games);
         when(gameService.findByPlatform(eq("PC"), any(PageRequest.class))).thenReturn(gamePage);
-        when(ratingService.getAverageRating(1L)).thenReturn(85.0);
-        when(ratingService.getRatingCount(1L)).thenReturn(100L);
+        when(ratingService.getRatingSummaries(anyCollection()))
+                .thenReturn(Map.of(1L, new GameRatingSummary(1L, 85.0, 100L)));
 
         mockMvc.perform(get("/api/games/platform/PC")
                 .param("page", "0")
@@ -177,8 +191,8 @@ class GameControllerTest {
         List<Game> games = Arrays.asList(testGame);
         Page<Game> gamePage = new PageImpl<>(games);
         when(gameService.findByDeveloper(eq("Test Developer"), any(PageRequest.class))).thenReturn(gamePage);
-        when(ratingService.getAverageRating(1L)).thenReturn(85.0);
-        when(ratingService.getRatingCount(1L)).thenReturn(100L);
+        when(ratingService.getRatingSummaries(anyCollection()))
+                .thenReturn(Map.of(1L, new GameRatingSummary(1L, 85.0, 100L)));
 
         mockMvc.perform(get("/api/games/developer/Test Developer")
                 .param("page", "0")
@@ -192,8 +206,8 @@ class GameControllerTest {
     @WithMockUser(roles = "USER")
     void addGame_ValidGame_ReturnsCreatedGame() throws Exception {
         when(gameService.addGame(any(Game.class))).thenReturn(testGame);
-        when(ratingService.getAverageRating(1L)).thenReturn(85.0);
-        when(ratingService.getRatingCount(1L)).thenReturn(100L);
+        when(ratingService.getRatingSummaries(anyCollection()))
+                .thenReturn(Map.of(1L, new GameRatingSummary(1L, 85.0, 100L)));
 
         mockMvc.perform(post("/api/games")
                 .header("Authorization", "Bearer " + jwtToken)
@@ -223,8 +237,8 @@ class GameControllerTest {
         List<Game> games = Arrays.asList(testGame);
         Page<Game> gamePage = new PageImpl<>(games);
         when(gameService.getAllGames(any(PageRequest.class))).thenReturn(gamePage);
-        when(ratingService.getAverageRating(1L)).thenReturn(85.0);
-        when(ratingService.getRatingCount(1L)).thenReturn(100L);
+        when(ratingService.getRatingSummaries(anyCollection()))
+                .thenReturn(Map.of(1L, new GameRatingSummary(1L, 85.0, 100L)));
 
         mockMvc.perform(get("/api/games")
                 .param("page", "0")
@@ -233,4 +247,97 @@ class GameControllerTest {
                 .andExpect(jsonPath("$.content[0].title").value("Test Game"))
                 .andExpect(jsonPath("$.content[0].averageRating").value(85.0));
     }
-} 
\ No newline at end of file
+
+    @Test
+    void getGamesByIds_ReturnsGamesInRequestOrder() throws Exception {
+        Game otherGame = new Game("Other Game");
+        otherGame.setGameId(2L);
+        when(gameService.findAllByIdInOrder(Arrays.asList(2L, 1L))).thenReturn(Arrays.asList(otherGame, testGame));
+        when(ratingService.getRatingSummaries(anyCollection()))
+                .thenReturn(Map.of(1L, new GameRatingSummary(1L, 85.0, 100L)));
+
+        mockMvc.perform(get("/api/games/batch")
+                .param("ids", "2,1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].gameId").value(2))
+                .andExpect(jsonPath("$[0].totalRatings").value(0))
+                .andExpect(jsonPath("$[1].gameId").value(1))
+                .andExpect(jsonPath("$[1].averageRating").value(85.0));
+    }
+
+    @Test
+    void getGamesByIds_TooManyIds_ReturnsBadRequest() throws Exception {
+        when(gameService.findAllByIdInOrder(any()))
+                .thenThrow(new IllegalArgumentException("Cannot fetch more than 100 games at once"));
+
+        mockMvc.perform(get("/api/games/batch")
+                .param("ids", "1,2"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Cannot fetch more than 100 games at once"));
+    }
+
+    @Test
+    void suggestGames_ReturnsSuggestions() throws Exception {
+        when(gameSuggestionService.suggest("zel", 5)).thenReturn(List.of(
+                new GameSuggestion(1L, "The Legend of Zelda", "Nintendo", "Nintendo", "title", 42L)));
+
+        mockMvc.perform(get("/api/games/suggest")
+                .param("q", "zel")
+                .param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].gameId").value(1))
+                .andExpect(jsonPath("$[0].matchedField").value("title"))
+                .andExpect(jsonPath("$[0].ratingCount").value(42));
+    }
+
+    @Test
+    void filterGames_ReturnsGamesAndFacetCounts() throws Exception {
+        when(gameFacetService.filter(List.of("RPG"), null, null, null, true, 0, 20)).thenReturn(
+                new FacetIndex.Result(List.of(1L), 1, Map.of(
+                        FacetIndex.Facet.GENRE, Map.of("RPG", 1L, "Action", 1L))));
+        when(gameService.findAllByIdInOrder(List.of(1L))).thenReturn(List.of(testGame));
+        when(ratingService.getRatingSummaries(anyCollection())).thenReturn(Map.of());
+
+        mockMvc.perform(get("/api/games/filter")
+                .param("genre", "RPG")
+                .param("match", "all"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.games[0].gameId").value(1))
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andExpect(jsonPath("$.size").value(20))
+                .andExpect(jsonPath("$.facets.genre.Action").value(1));
+    }
+
+    @Test
+    void filterGames_InvalidMatch_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/games/filter")
+                .param("match", "some"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void scrollGames_ReturnsGamesAndNextCursor() throws Exception {
+        when(gameService.scrollGames("title", "abc", 1)).thenReturn(new KeysetSlice<>(List.of(testGame), "def", true));
+        when(ratingService.getRatingSummaries(anyCollection())).thenReturn(Map.of());
+
+        mockMvc.perform(get("/api/games/scroll")
+                .param("sort", "title")
+                .param("cursor", "abc")
+                .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].gameId").value(1))
+                .andExpect(jsonPath("$.nextCursor").value("def"))
+                .andExpect(jsonPath("$.hasNext").value(true));
+    }
+
+    @Test
+    void scrollGames_InvalidCursor_ReturnsBadRequest() throws Exception {
+        when(gameService.scrollGames("id", "bad", 20)).thenThrow(new IllegalArgumentException("Invalid cursor"));
+
+        mockMvc.perform(get("/api/games/scroll")
+                .param("cursor", "bad"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid cursor"));
+    }
+}
@@ -1,5 +1,6 @@
 package com.gamerecs.gamerecs_backend.controller;
 
+import com.gamerecs.gamerecs_backend.dto.UserGameRating;
 import com.gamerecs.gamerecs_backend.model.Game;
 import com.gamerecs.gamerecs_backend.model.Rating;
 import com.gamerecs.gamerecs_backend.model.User;
@@ -22,6 +23,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import java.time.LocalDateTime;
 import java.sql.Timestamp;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
@@ -150,4 +152,31 @@ class RatingControllerTest {
                 .with(user(userDetails)))
                 .andExpect(status().isNotFound());
     }
-} 
\ No newline at end of file
+
+    @Test
+    void getUserRatingsForGames_ReturnsRatings() throws Exception {
+        testUser.setUserId(7L);
+        when(ratingService.getUserRatingsForGames(7L, Arrays.asList(1L, 2L)))
+                .thenReturn(List.of(new UserGameRating(1L, 85, 75, LocalDateTime.now())));
+
+        mockMvc.perform(get("/api/ratings/users/me/games")
+                .with(user(userDetails))
+                .param("ids", "1,2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].gameId").value(1))
+                .andExpect(jsonPath("$[0].ratingValue").value(85))
+                .andExpect(jsonPath("$[0].percentileRank").value(75));
+    }
+
+    @Test
+    void getUserRatingsForGames_TooManyGames_ReturnsBadRequest() throws Exception {
+        when(ratingService.getUserRatingsForGames(any(), any()))
+                .thenThrow(new IllegalArgumentException("Cannot look up more than 100 games at once"));
+
+        mockMvc.perform(get("/api/ratings/users/me/games")
+                .with(user(userDetails))
+                .param("ids", "1,2"))
+                .andExpect(status().isBadRequest());
+    }
+}
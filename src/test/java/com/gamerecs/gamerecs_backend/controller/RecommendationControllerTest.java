@@ -0,0 +1,76 @@
+package com.gamerecs.gamerecs_backend.controller;
+
+import com.gamerecs.gamerecs_backend.dto.GameRecommendation;
+import com.gamerecs.gamerecs_backend.model.User;
+import com.gamerecs.gamerecs_backend.security.UserDetailsImpl;
+import com.gamerecs.gamerecs_backend.service.FactorRecommendationService;
+import com.gamerecs.gamerecs_backend.service.RecommendationService;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.Mockito.*;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.userdetails.UserDetails;
+
+@ExtendWith(MockitoExtension.class)
+class RecommendationControllerTest {
+
+    @Mock
+    private RecommendationService recommendationService;
+
+    @Mock
+    private FactorRecommendationService factorRecommendationService;
+
+    @InjectMocks
+    private RecommendationController recommendationController;
+
+    private UserDetails userDetails;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setUserId(1L);
+        user.setUsername("testUser");
+        userDetails = new UserDetailsImpl(user);
+    }
+
+    @Test
+    void getMyRecommendations_ReturnsRecommendationsOfCurrentUser() {
+        List<GameRecommendation> recommendations = List.of(
+                new GameRecommendation(20L, "Game 20", null, "Studio", 12.5, 10L));
+        when(recommendationService.recommend(1L, 5)).thenReturn(recommendations);
+
+        ResponseEntity<?> response = recommendationController.getMyRecommendations(userDetails, 5);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(recommendations, response.getBody());
+    }
+
+    @Test
+    void getMyRecommendations_ServiceFails_ReturnsInternalServerError() {
+        when(recommendationService.recommend(1L, 10)).thenThrow(new RuntimeException("boom"));
+
+        ResponseEntity<?> response = recommendationController.getMyRecommendations(userDetails, 10);
+
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
+    }
+
+    @Test
+    void getMyFactorRecommendations_ReturnsFactorRecommendationsOfCurrentUser() {
+        List<GameRecommendation> recommendations = List.of(
+                new GameRecommendation(30L, "Game 30", null, "Studio", 0.8, null));
+        when(factorRecommendationService.recommend(1L, 10)).thenReturn(recommendations);
+
+        ResponseEntity<?> response = recommendationController.getMyFactorRecommendations(userDetails, 10);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(recommendations, response.getBody());
+        verifyNoInteractions(recommendationService);
+    }
+}
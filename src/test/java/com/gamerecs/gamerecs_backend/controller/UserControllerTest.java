@@ -1,6 +1,8 @@
 package com.gamerecs.gamerecs_backend.controller;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -21,11 +23,14 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gamerecs.gamerecs_backend.dto.ChangePasswordDTO;
 import com.gamerecs.gamerecs_backend.dto.LoginDTO;
 import com.gamerecs.gamerecs_backend.dto.UserProfileDTO;
 import com.gamerecs.gamerecs_backend.dto.UserRegistrationDTO;
+import com.gamerecs.gamerecs_backend.exception.PasswordEncoderBusyException;
 import com.gamerecs.gamerecs_backend.exception.UserRegistrationException;
 import com.gamerecs.gamerecs_backend.security.JwtService;
 import com.gamerecs.gamerecs_backend.service.UserService;
@@ -144,9 +149,7 @@ public class UserControllerTest {
                 .thenReturn("dummy.jwt.token");
 
         // Act & Assert
-        mockMvc.perform(post("/users/login")
-                .contentType(MediaType.APPLICATION_JSON)
-                .content(objectMapper.writeValueAsString(validLoginDTO)))
+        mockMvc.perform(asyncDispatch(login(validLoginDTO)))
                 .andExpect(status().isOk())
                 .andExpect(header().exists("Authorization"))
                 .andExpect(jsonPath("$.token").exists())
@@ -162,12 +165,22 @@ public class UserControllerTest {
                         new org.springframework.security.authentication.BadCredentialsException("Invalid credentials"));
 
         // Act & Assert
-        mockMvc.perform(post("/users/login")
-                .contentType(MediaType.APPLICATION_JSON)
-                .content(objectMapper.writeValueAsString(validLoginDTO)))
+        mockMvc.perform(asyncDispatch(login(validLoginDTO)))
                 .andExpect(status().isUnauthorized());
     }
 
+    @Test
+    @DisplayName("Should return 503 when password hashing is saturated")
+    void authenticateUser_WithBusyPasswordEncoder_ShouldReturn503() throws Exception {
+        // Arrange
+        when(authenticationManager.authenticate(any(Authentication.class)))
+                .thenThrow(new PasswordEncoderBusyException("Too many concurrent password operations"));
+
+        // Act & Assert
+        mockMvc.perform(asyncDispatch(login(validLoginDTO)))
+                .andExpect(status().isServiceUnavailable());
+    }
+
     @Test
     @DisplayName("Should return 400 when login with missing credentials")
     void authenticateUser_WithMissingCredentials_ShouldReturn400() throws Exception {
@@ -215,4 +228,61 @@ public class UserControllerTest {
         mockMvc.perform(get("/users/profile"))
                 .andExpect(status().isNotFound());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should change the password of the current user")
+    @WithMockUser(username = "testuser")
+    void changePassword_WithValidData_ShouldReturn204() throws Exception {
+        // Arrange
+        ChangePasswordDTO changePasswordDTO = new ChangePasswordDTO();
+        changePasswordDTO.setCurrentPassword("password123");
+        changePasswordDTO.setNewPassword("newPassword456");
+
+        // Act & Assert
+        mockMvc.perform(put("/users/password")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(changePasswordDTO)))
+                .andExpect(status().isNoContent());
+        verify(userService).changePassword("testuser", "password123", "newPassword456");
+    }
+
+    @Test
+    @DisplayName("Should return 400 when the current password is wrong")
+    @WithMockUser(username = "testuser")
+    void changePassword_WithWrongCurrentPassword_ShouldReturn400() throws Exception {
+        // Arrange
+        ChangePasswordDTO changePasswordDTO = new ChangePasswordDTO();
+        changePasswordDTO.setCurrentPassword("wrong");
+        changePasswordDTO.setNewPassword("newPassword456");
+        doThrow(new IllegalArgumentException("Current password is incorrect"))
+                .when(userService).changePassword("testuser", "wrong", "newPassword456");
+
+        // Act & Assert
+        mockMvc.perform(put("/users/password")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(changePasswordDTO)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Current password is incorrect"));
+    }
+
+    @Test
+    @DisplayName("Should return 401 when changing the password without authentication")
+    void changePassword_WithoutAuth_ShouldReturn401() throws Exception {
+        ChangePasswordDTO changePasswordDTO = new ChangePasswordDTO();
+        changePasswordDTO.setCurrentPassword("password123");
+        changePasswordDTO.setNewPassword("newPassword456");
+
+        mockMvc.perform(put("/users/password")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(changePasswordDTO)))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private MvcResult login(LoginDTO loginDTO) throws Exception {
+        return mockMvc.perform(post("/users/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loginDTO)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+}
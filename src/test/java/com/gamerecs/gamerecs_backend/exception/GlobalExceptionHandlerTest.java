@@ -51,6 +51,18 @@ class GlobalExceptionHandlerTest {
         assertEquals(401, response.getBody().getStatus());
     }
 
+    @Test
+    void handlePasswordEncoderBusyException() {
+        PasswordEncoderBusyException exception = new PasswordEncoderBusyException("Too many concurrent password operations");
+
+        ResponseEntity<ErrorResponse> response = exceptionHandler.handlePasswordEncoderBusyException(exception);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("1", response.getHeaders().getFirst("Retry-After"));
+        assertNotNull(response.getBody());
+        assertEquals(503, response.getBody().getStatus());
+    }
+
     @Test
     void handleUsernameNotFoundException() {
         String errorMessage = "User not found";
@@ -0,0 +1,26 @@
+package com.gamerecs.gamerecs_backend.load;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Latency helpers shared by the load tests.
+ */
+final class LoadStats {
+
+    private LoadStats() {
+    }
+
+    /**
+     * Get a percentile of recorded latencies using the nearest-rank method
+     * @param latencies the recorded latencies
+     * @param quantile the quantile, e.g. 0.99
+     * @return the latency at that quantile
+     */
+    static long percentile(List<Long> latencies, double quantile) {
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        return sorted.get(Math.max((int) Math.ceil(quantile * sorted.size()) - 1, 0));
+    }
+}
@@ -0,0 +1,148 @@
+package com.gamerecs.gamerecs_backend.load;
+
+import com.gamerecs.gamerecs_backend.model.Game;
+import com.gamerecs.gamerecs_backend.model.User;
+import com.gamerecs.gamerecs_backend.repository.CatalogDictionary;
+import com.gamerecs.gamerecs_backend.repository.GameRepository;
+import com.gamerecs.gamerecs_backend.repository.UserRepository;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that a storm of logins does not stall cheap reads.
+ * The servlet pool is deliberately small and password hashing is limited to two threads with a short queue;
+ * logins wait for the hash without holding a request thread, and surplus logins are rejected with 503.
+ * Excluded from the default build; run with {@code mvn -Pload-test test}.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "server.servlet.context-path=/",
+        "server.tomcat.threads.max=16",
+        "app.security.password-encoder.threads=2",
+        "app.security.password-encoder.queue-capacity=4"
+})
+class LoginStormLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(LoginStormLoadTest.class);
+
+    private static final int LOGIN_CLIENTS = 64;
+    private static final int READ_SAMPLES = 300;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private CatalogDictionary catalogDictionary;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        if (userRepository.findByUsername("stormuser").isEmpty()) {
+            userRepository.save(new User("stormuser", "storm@example.com", passwordEncoder.encode("password123")));
+            for (int i = 0; i < 20; i++) {
+                Game game = new Game("Storm Game " + i);
+                game.setGenres(Arrays.asList("RPG"));
+                game.setPlatforms(Arrays.asList("PC"));
+                catalogDictionary.resolve(game);
+                gameRepository.save(game);
+            }
+        }
+    }
+
+    @Test
+    void readLatency_StaysFlatDuringLoginStorm() throws Exception {
+        // Warm up, then measure reads without contention
+        measureReads(100);
+        long baselineP99 = LoadStats.percentile(measureReads(READ_SAMPLES), 0.99);
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        ExecutorService storm = Executors.newFixedThreadPool(LOGIN_CLIENTS);
+        for (int i = 0; i < LOGIN_CLIENTS; i++) {
+            storm.submit(() -> {
+                while (running.get()) {
+                    int status = login();
+                    if (status == 200) {
+                        accepted.incrementAndGet();
+                    } else if (status == 503) {
+                        rejected.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+
+        long stormP99;
+        try {
+            Thread.sleep(500);
+            stormP99 = LoadStats.percentile(measureReads(READ_SAMPLES), 0.99);
+        } finally {
+            running.set(false);
+            storm.shutdown();
+            storm.awaitTermination(30, TimeUnit.SECONDS);
+        }
+
+        log.info("Read p99: baseline {} ms, during login storm {} ms (logins accepted {}, rejected {})",
+                baselineP99, stormP99, accepted.get(), rejected.get());
+        assertThat(accepted.get()).isPositive();
+        assertThat(rejected.get()).isPositive();
+        assertThat(stormP99).isLessThanOrEqualTo(Math.max(baselineP99 * 5, 100));
+    }
+
+    private List<Long> measureReads(int samples) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/games?size=10"))
+                .GET()
+                .build();
+        List<Long> latencies = new ArrayList<>(samples);
+        for (int i = 0; i < samples; i++) {
+            long start = System.nanoTime();
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            latencies.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            assertThat(response.statusCode()).isEqualTo(200);
+        }
+        return latencies;
+    }
+
+    private int login() throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/users/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"stormuser\",\"password\":\"password123\"}"))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
@@ -0,0 +1,132 @@
+package com.gamerecs.gamerecs_backend.load;
+
+import com.gamerecs.gamerecs_backend.GameRecsBackendApplication;
+import com.gamerecs.gamerecs_backend.model.Game;
+import com.gamerecs.gamerecs_backend.repository.CatalogDictionary;
+import com.gamerecs.gamerecs_backend.repository.GameRepository;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares throughput and p99 latency of blocking JPA reads served on platform threads and on virtual threads.
+ * Both runs cap Tomcat at the same number of platform threads and offer more concurrent clients than that,
+ * so the platform run queues on the thread pool while the virtual run is only limited by the connection pool.
+ * Needs Java 21 and is excluded from the default build; run with {@code mvn -Pjava21,load-test test}.
+ */
+@Tag("load")
+@EnabledForJreRange(min = JRE.JAVA_21)
+class VirtualThreadsLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadsLoadTest.class);
+
+    private static final int CLIENTS = 256;
+    private static final int TOMCAT_THREADS = 32;
+    private static final Duration WARMUP = Duration.ofSeconds(3);
+    private static final Duration MEASUREMENT = Duration.ofSeconds(10);
+
+    @Test
+    void virtualThreads_KeepUpWithPlatformThreads() throws Exception {
+        Result platform = run(false);
+        Result virtual = run(true);
+
+        log.info("Platform threads: {} req/s, p99 {} ms", Math.round(platform.throughput()), platform.p99());
+        log.info("Virtual threads:  {} req/s, p99 {} ms", Math.round(virtual.throughput()), virtual.p99());
+        assertThat(platform.errors()).isZero();
+        assertThat(virtual.errors()).isZero();
+        assertThat(virtual.throughput()).isGreaterThanOrEqualTo(platform.throughput() * 0.8);
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        String mode = virtualThreads ? "virtual" : "platform";
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("spring.datasource.url", "jdbc:h2:mem:vt-" + mode + ";DB_CLOSE_DELAY=-1");
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.datasource.password", "");
+        properties.put("spring.datasource.hikari.maximum-pool-size", "20");
+        properties.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+        properties.put("spring.main.banner-mode", "off");
+        properties.put("logging.level.root", "WARN");
+        properties.put("server.port", "0");
+        properties.put("server.servlet.context-path", "/");
+        properties.put("server.tomcat.threads.max", String.valueOf(TOMCAT_THREADS));
+        properties.put("spring.threads.virtual.enabled", String.valueOf(virtualThreads));
+        properties.put("jwt.secret", "load-test-only-signing-key-that-is-32-bytes-or-more");
+        properties.put("jwt.expiration", "3600000");
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(GameRecsBackendApplication.class)
+                .properties(properties)
+                .run()) {
+            GameRepository gameRepository = context.getBean(GameRepository.class);
+            CatalogDictionary catalogDictionary = context.getBean(CatalogDictionary.class);
+            for (int i = 0; i < 50; i++) {
+                Game game = new Game("Load Game " + i);
+                game.setGenres(Arrays.asList("RPG"));
+                game.setPlatforms(Arrays.asList("PC"));
+                catalogDictionary.resolve(game);
+                gameRepository.save(game);
+            }
+            String port = context.getEnvironment().getProperty("local.server.port");
+            URI uri = URI.create("http://localhost:" + port + "/api/games?size=20");
+
+            drive(uri, WARMUP);
+            return drive(uri, MEASUREMENT);
+        }
+    }
+
+    private Result drive(URI uri, Duration duration) throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        HttpRequest request = HttpRequest.newBuilder(uri).GET().build();
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger errors = new AtomicInteger();
+        long deadline = System.nanoTime() + duration.toNanos();
+
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        for (int i = 0; i < CLIENTS; i++) {
+            clients.submit(() -> {
+                while (System.nanoTime() < deadline) {
+                    long start = System.nanoTime();
+                    try {
+                        int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        if (status != 200) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    }
+                    latencies.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                }
+            });
+        }
+        clients.shutdown();
+        clients.awaitTermination(duration.toSeconds() + 30, TimeUnit.SECONDS);
+
+        double throughput = latencies.size() / (double) duration.toSeconds();
+        return new Result(throughput, LoadStats.percentile(latencies, 0.99), errors.get());
+    }
+
+    private record Result(double throughput, long p99, int errors) {
+    }
+}
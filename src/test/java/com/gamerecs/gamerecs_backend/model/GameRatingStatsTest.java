@@ -0,0 +1,118 @@
+package com.gamerecs.gamerecs_backend.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class GameRatingStatsTest {
+
+    private GameRatingStats stats;
+
+    @BeforeEach
+    void setUp() {
+        stats = new GameRatingStats(1L);
+    }
+
+    @Test
+    void newStats_HasNoRatings() {
+        assertEquals(0, stats.getRatingCount());
+        assertNull(stats.getAverageRating());
+        assertNull(stats.getMinRating());
+        assertNull(stats.getMaxRating());
+    }
+
+    @Test
+    void add_UpdatesSumCountAndBounds() {
+        stats.add(40);
+        stats.add(90);
+        stats.add(65);
+
+        assertEquals(3, stats.getRatingCount());
+        assertEquals(195, stats.getRatingSum());
+        assertEquals(65.0, stats.getAverageRating());
+        assertEquals(40, stats.getMinRating());
+        assertEquals(90, stats.getMaxRating());
+        assertEquals(1, stats.getHistogram()[65]);
+    }
+
+    @Test
+    void remove_LastRatingAtBound_RecomputesBoundFromHistogram() {
+        stats.add(10);
+        stats.add(50);
+        stats.add(50);
+        stats.add(100);
+
+        stats.remove(10);
+        stats.remove(100);
+
+        assertEquals(50, stats.getMinRating());
+        assertEquals(50, stats.getMaxRating());
+        assertEquals(2, stats.getRatingCount());
+        assertEquals(50.0, stats.getAverageRating());
+    }
+
+    @Test
+    void remove_AllRatings_ClearsBounds() {
+        stats.add(0);
+        stats.remove(0);
+
+        assertEquals(0, stats.getRatingCount());
+        assertNull(stats.getMinRating());
+        assertNull(stats.getAverageRating());
+    }
+
+    @Test
+    void remove_UnrecordedValue_ThrowsException() {
+        stats.add(30);
+
+        assertThrows(IllegalStateException.class, () -> stats.remove(31));
+    }
+
+    @Test
+    void replace_MovesRatingBetweenBuckets() {
+        stats.add(20);
+        stats.add(60);
+
+        stats.replace(20, 80);
+
+        assertEquals(2, stats.getRatingCount());
+        assertEquals(140, stats.getRatingSum());
+        assertEquals(60, stats.getMinRating());
+        assertEquals(80, stats.getMaxRating());
+        assertEquals(0, stats.getHistogram()[20]);
+    }
+
+    @Test
+    void add_OutOfRange_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> stats.add(101));
+        assertThrows(IllegalArgumentException.class, () -> stats.add(-1));
+    }
+
+    @Test
+    void resetTo_DerivesEveryField() {
+        int[] counts = new int[GameRatingStats.BUCKETS];
+        counts[25] = 2;
+        counts[75] = 2;
+
+        stats.add(99);
+        stats.resetTo(counts);
+
+        assertEquals(4, stats.getRatingCount());
+        assertEquals(200, stats.getRatingSum());
+        assertEquals(25, stats.getMinRating());
+        assertEquals(75, stats.getMaxRating());
+        assertEquals(0, stats.getHistogram()[99]);
+    }
+
+    @Test
+    void histogramConverter_RoundTrips() {
+        GameRatingStats.HistogramConverter converter = new GameRatingStats.HistogramConverter();
+        stats.add(0);
+        stats.add(100);
+        stats.add(100);
+
+        int[] restored = converter.convertToEntityAttribute(converter.convertToDatabaseColumn(stats.getHistogram()));
+
+        assertArrayEquals(stats.getHistogram(), restored);
+    }
+}
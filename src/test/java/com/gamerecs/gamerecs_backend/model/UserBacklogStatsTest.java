@@ -0,0 +1,46 @@
+package com.gamerecs.gamerecs_backend.model;
+
+import java.util.Map;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+class UserBacklogStatsTest {
+
+    @Test
+    void newStats_HasZeroCountForEveryStatus() {
+        UserBacklogStats stats = new UserBacklogStats(1L);
+
+        Map<BacklogStatus, Long> counts = stats.toMap();
+
+        assertEquals(BacklogStatus.values().length, counts.size());
+        counts.values().forEach(count -> assertEquals(0L, count));
+    }
+
+    @Test
+    void adjust_ChangesOnlyTheGivenStatus() {
+        UserBacklogStats stats = new UserBacklogStats(1L);
+
+        stats.adjust(BacklogStatus.TO_PLAY, 3);
+        stats.adjust(BacklogStatus.TO_PLAY, -1);
+        stats.adjust(BacklogStatus.ABANDONED, 1);
+
+        assertEquals(2L, stats.getCount(BacklogStatus.TO_PLAY));
+        assertEquals(1L, stats.getCount(BacklogStatus.ABANDONED));
+        assertEquals(0L, stats.getCount(BacklogStatus.IN_PROGRESS));
+        assertEquals(0L, stats.getCount(BacklogStatus.COMPLETED));
+    }
+
+    @Test
+    void resetTo_ReplacesEveryCount() {
+        UserBacklogStats stats = new UserBacklogStats(1L);
+        stats.adjust(BacklogStatus.TO_PLAY, 5);
+        stats.adjust(BacklogStatus.COMPLETED, 2);
+
+        stats.resetTo(Map.of(BacklogStatus.TO_PLAY, 1L, BacklogStatus.IN_PROGRESS, 4L));
+
+        assertEquals(1L, stats.getCount(BacklogStatus.TO_PLAY));
+        assertEquals(4L, stats.getCount(BacklogStatus.IN_PROGRESS));
+        assertEquals(0L, stats.getCount(BacklogStatus.COMPLETED));
+        assertEquals(0L, stats.getCount(BacklogStatus.ABANDONED));
+    }
+}
@@ -0,0 +1,103 @@
+package com.gamerecs.gamerecs_backend.recommendation;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AlternatingLeastSquaresTest {
+
+    private ForkJoinPool pool;
+    private RatingMatrix.Builder builder;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ForkJoinPool(2);
+        // Users 1 and 2 like games 10 and 20 and dislike 30; user 3 the opposite; user 4 liked 10 and disliked 30
+        builder = RatingMatrix.builder(11)
+                .add(1L, 10L, 0.9f).add(1L, 20L, 0.8f).add(1L, 30L, 0.1f)
+                .add(2L, 10L, 0.8f).add(2L, 20L, 0.9f).add(2L, 30L, 0.2f)
+                .add(3L, 10L, 0.3f).add(3L, 20L, 0.2f).add(3L, 30L, 0.7f)
+                .add(4L, 10L, 1.0f).add(4L, 30L, 0.0f);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void train_Explicit_PredictsTasteOfSimilarUsers() {
+        FactorModel model = AlternatingLeastSquares.train(builder.build(true),
+                new AlternatingLeastSquares.Settings(4, 10, 0.05f, false, 0f), pool);
+
+        int user = model.userIndex(4L);
+        assertTrue(model.score(user, model.gameIndex(20L)) > model.score(user, model.gameIndex(30L)));
+        assertTrue(model.score(user, model.gameIndex(10L)) > model.score(user, model.gameIndex(30L)));
+    }
+
+    @Test
+    void train_Implicit_RanksCoRatedGamesAboveOthers() {
+        RatingMatrix matrix = RatingMatrix.builder(5)
+                .add(1L, 10L, 1f).add(1L, 20L, 1f)
+                .add(2L, 10L, 1f).add(2L, 20L, 1f)
+                .add(3L, 10L, 1f).add(3L, 30L, 1f)
+                .build(false);
+
+        FactorModel model = AlternatingLeastSquares.train(matrix,
+                new AlternatingLeastSquares.Settings(2, 10, 0.1f, true, 40f), pool);
+
+        int user = model.userIndex(1L);
+        assertTrue(model.score(user, model.gameIndex(20L)) > model.score(user, model.gameIndex(30L)));
+    }
+
+    @Test
+    void train_SameModelForAnySharding() {
+        Random random = new Random(7);
+        RatingMatrix.Builder large = RatingMatrix.builder(2000);
+        for (long user = 1; user <= 200; user++) {
+            for (long game = 1; game <= 100; game++) {
+                if (random.nextInt(10) == 0) {
+                    large.add(user, game, random.nextInt(101) / 100f);
+                }
+            }
+        }
+        RatingMatrix matrix = large.build(true);
+        AlternatingLeastSquares.Settings settings = new AlternatingLeastSquares.Settings(8, 3, 0.1f, false, 0f);
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool wide = new ForkJoinPool(8);
+        try {
+            FactorModel expected = AlternatingLeastSquares.train(matrix, settings, single);
+            FactorModel actual = AlternatingLeastSquares.train(matrix, settings, wide);
+
+            for (int user = 0; user < matrix.users(); user++) {
+                for (int game = 0; game < matrix.games(); game++) {
+                    assertEquals(expected.score(user, game), actual.score(user, game));
+                }
+            }
+        } finally {
+            single.shutdown();
+            wide.shutdown();
+        }
+    }
+
+    @Test
+    void solve_SymmetricPositiveDefiniteSystem() {
+        // Only the lower triangle of {{4, 2}, {2, 3}} is read
+        double[] a = {4, 0, 2, 3};
+        double[] b = {10, 8};
+
+        AlternatingLeastSquares.solve(a, b, 2);
+
+        assertEquals(1.75, b[0], 1e-9);
+        assertEquals(1.5, b[1], 1e-9);
+    }
+
+    @Test
+    void settings_InvalidRank_Throws() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new AlternatingLeastSquares.Settings(0, 10, 0.1f, false, 0f));
+    }
+}
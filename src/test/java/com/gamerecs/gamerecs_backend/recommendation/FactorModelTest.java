@@ -0,0 +1,84 @@
+package com.gamerecs.gamerecs_backend.recommendation;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FactorModelTest {
+
+    @TempDir
+    Path directory;
+
+    private FactorModel model;
+
+    @BeforeEach
+    void setUp() {
+        model = FactorModel.of(new long[] {7L, 9L}, new long[] {10L, 20L, 30L}, 2,
+                new float[] {1f, 0f, 0f, 1f},
+                new float[] {0.5f, 0.1f, 0.9f, 0.2f, 0.1f, 0.8f});
+    }
+
+    @Test
+    void score_IsDotProductOfFactors() {
+        assertEquals(0, model.userIndex(7L));
+        assertEquals(-1, model.userIndex(8L));
+        assertEquals(0.9f, model.score(0, model.gameIndex(20L)), 1e-6);
+        assertEquals(0.8f, model.score(model.userIndex(9L), model.gameIndex(30L)), 1e-6);
+    }
+
+    @Test
+    void topCandidates_AllGames_BestFirstUpToLimit() {
+        int[] games = new int[2];
+        float[] scores = new float[2];
+
+        int count = model.topCandidates(0, null, 0, 2, games, scores);
+
+        assertEquals(2, count);
+        assertEquals(20L, model.gameId(games[0]));
+        assertEquals(10L, model.gameId(games[1]));
+        assertEquals(0.9f, scores[0], 1e-6);
+    }
+
+    @Test
+    void topCandidates_GivenCandidates_OnlyScoresThem() {
+        int[] games = new int[3];
+        float[] scores = new float[3];
+
+        int count = model.topCandidates(1, new int[] {0, 2, 1}, 2, 3, games, scores);
+
+        assertEquals(2, count);
+        assertEquals(30L, model.gameId(games[0]));
+        assertEquals(10L, model.gameId(games[1]));
+    }
+
+    @Test
+    void saveAndLoad_MapsSameModel() throws IOException {
+        Path path = directory.resolve("model.bin");
+        model.save(path);
+
+        FactorModel loaded = FactorModel.load(path);
+
+        assertEquals(2, loaded.rank());
+        assertEquals(2, loaded.users());
+        assertEquals(3, loaded.games());
+        assertEquals(1, loaded.userIndex(9L));
+        assertEquals(30L, loaded.gameId(2));
+        for (int user = 0; user < 2; user++) {
+            for (int game = 0; game < 3; game++) {
+                assertEquals(model.score(user, game), loaded.score(user, game));
+            }
+        }
+    }
+
+    @Test
+    void load_NotAModelFile_Throws() throws IOException {
+        Path path = directory.resolve("other.bin");
+        Files.write(path, new byte[64]);
+
+        assertThrows(IOException.class, () -> FactorModel.load(path));
+    }
+}
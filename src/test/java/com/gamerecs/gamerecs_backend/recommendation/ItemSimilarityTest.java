@@ -0,0 +1,133 @@
+package com.gamerecs.gamerecs_backend.recommendation;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ItemSimilarityTest {
+
+    private ForkJoinPool pool;
+    private RatingMatrix matrix;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ForkJoinPool(2);
+        // Games 10 and 20 are liked and disliked together, game 30 goes the other way
+        matrix = RatingMatrix.builder(9)
+                .add(1L, 10L, 90).add(1L, 20L, 80).add(1L, 30L, 10)
+                .add(2L, 10L, 80).add(2L, 20L, 90).add(2L, 30L, 20)
+                .add(3L, 10L, 30).add(3L, 20L, 20).add(3L, 30L, 70)
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void build_CentersRatingsOnUserMean() {
+        assertEquals(3, matrix.users());
+        assertEquals(3, matrix.games());
+        assertEquals(9, matrix.ratings());
+        // User 1 rated 90, 80 and 10: a mean of 60
+        assertEquals(30f, matrix.userValues[0], 1e-4);
+        assertEquals(-50f, matrix.userValues[2], 1e-4);
+    }
+
+    @Test
+    void compute_KeepsPositiveAdjustedCosineNeighbours() {
+        NeighbourIndex index = ItemSimilarity.compute(matrix, 5, 2, pool);
+
+        List<NeighbourIndex.Neighbour> neighbours = index.neighboursOf(10L);
+        assertEquals(1, neighbours.size());
+        assertEquals(20L, neighbours.get(0).gameId());
+        assertEquals(0.8956f, neighbours.get(0).similarity(), 1e-3);
+        assertEquals(List.of(), index.neighboursOf(30L));
+        assertEquals(List.of(), index.neighboursOf(99L));
+    }
+
+    @Test
+    void compute_TooFewCommonUsers_NoNeighbours() {
+        NeighbourIndex index = ItemSimilarity.compute(matrix, 5, 4, pool);
+
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void compute_SameNeighboursForAnySharding() {
+        Random random = new Random(42);
+        RatingMatrix.Builder builder = RatingMatrix.builder(4000);
+        for (long user = 1; user <= 200; user++) {
+            for (long game = 1; game <= 100; game++) {
+                if (random.nextInt(5) == 0) {
+                    builder.add(user, game, random.nextInt(101));
+                }
+            }
+        }
+        RatingMatrix large = builder.build();
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool wide = new ForkJoinPool(8);
+        try {
+            NeighbourIndex expected = ItemSimilarity.compute(large, 10, 2, single);
+            NeighbourIndex actual = ItemSimilarity.compute(large, 10, 2, wide);
+
+            assertTrue(expected.size() > 0);
+            for (long game = 1; game <= 100; game++) {
+                List<NeighbourIndex.Neighbour> neighbours = actual.neighboursOf(game);
+                assertEquals(expected.neighboursOf(game), neighbours);
+                assertTrue(neighbours.size() <= 10);
+                for (int i = 1; i < neighbours.size(); i++) {
+                    assertTrue(neighbours.get(i - 1).similarity() >= neighbours.get(i).similarity());
+                }
+            }
+        } finally {
+            single.shutdown();
+            wide.shutdown();
+        }
+    }
+
+    @Test
+    void recommend_ScoresNeighboursOfRatedGamesAndExcludesRatedGames() {
+        NeighbourIndex index = ItemSimilarity.compute(matrix, 5, 2, pool);
+
+        List<NeighbourIndex.Recommendation> recommendations =
+                index.recommend(new long[] {10L, 30L}, new float[] {50f, -50f}, 10);
+
+        assertEquals(1, recommendations.size());
+        assertEquals(20L, recommendations.get(0).gameId());
+        assertEquals(10L, recommendations.get(0).becauseOfGameId());
+        assertEquals(0.8956f * 50f, recommendations.get(0).score(), 0.1);
+    }
+
+    @Test
+    void recommend_DislikedGame_NoPositiveScore() {
+        NeighbourIndex index = ItemSimilarity.compute(matrix, 5, 2, pool);
+
+        assertEquals(List.of(), index.recommend(new long[] {10L}, new float[] {-20f}, 10));
+        assertEquals(List.of(), NeighbourIndex.EMPTY.recommend(new long[] {10L}, new float[] {20f}, 10));
+    }
+
+    @Test
+    void recommend_ConcurrentQueries_ShareScratchWithoutInterference() {
+        NeighbourIndex index = ItemSimilarity.compute(matrix, 5, 2, pool);
+        List<NeighbourIndex.Recommendation> expected =
+                index.recommend(new long[] {10L, 30L}, new float[] {50f, -50f}, 10);
+
+        // More concurrent queries than pooled scratch sets, interleaved with a query that touches other games
+        List<List<NeighbourIndex.Recommendation>> results = IntStream.range(0, 200).parallel()
+                .mapToObj(i -> i % 2 == 0
+                        ? index.recommend(new long[] {10L, 30L}, new float[] {50f, -50f}, 10)
+                        : index.recommend(new long[] {20L}, new float[] {40f}, 10))
+                .toList();
+
+        for (int i = 0; i < results.size(); i += 2) {
+            assertEquals(expected, results.get(i));
+        }
+    }
+}
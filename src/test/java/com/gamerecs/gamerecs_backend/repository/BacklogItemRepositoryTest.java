@@ -1,5 +1,6 @@
 package com.gamerecs.gamerecs_backend.repository;
 
+import com.gamerecs.gamerecs_backend.dto.BacklogStatusCount;
 import com.gamerecs.gamerecs_backend.model.BacklogItem;
 import com.gamerecs.gamerecs_backend.model.BacklogStatus;
 import com.gamerecs.gamerecs_backend.model.Game;
@@ -15,17 +16,22 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 
 @DataJpaTest
+@Import(CatalogDictionary.class)
 class BacklogItemRepositoryTest {
 
     @Autowired
     private TestEntityManager entityManager;
 
+    @Autowired
+    private CatalogDictionary catalogDictionary;
+
     @Autowired
     private BacklogItemRepository backlogItemRepository;
 
@@ -51,6 +57,7 @@ class BacklogItemRepositoryTest {
         testGame1.setIgdbId(1L);
         testGame1.setGenres(Arrays.asList("Action", "Adventure"));
         testGame1.setPlatforms(Arrays.asList("PC", "PS5"));
+        catalogDictionary.resolve(testGame1);
         entityManager.persist(testGame1);
 
         testGame2 = new Game();
@@ -58,6 +65,7 @@ class BacklogItemRepositoryTest {
         testGame2.setIgdbId(2L);
         testGame2.setGenres(Arrays.asList("RPG", "Strategy"));
         testGame2.setPlatforms(Arrays.asList("Xbox Series X", "Nintendo Switch"));
+        catalogDictionary.resolve(testGame2);
         entityManager.persist(testGame2);
 
         // Create test backlog items
@@ -77,6 +85,7 @@ class BacklogItemRepositoryTest {
         testGame3.setIgdbId(3L);
         testGame3.setGenres(Arrays.asList("RPG", "Action"));
         testGame3.setPlatforms(Arrays.asList("PC", "PS5"));
+        catalogDictionary.resolve(testGame3);
         entityManager.persist(testGame3);
         
         BacklogItem newBacklogItem = new BacklogItem(testUser, testGame3, BacklogStatus.TO_PLAY);
@@ -139,6 +148,42 @@ class BacklogItemRepositoryTest {
         assertThat(count).isEqualTo(1);
     }
 
+    @Test
+    void shouldCountByUserGroupByStatus() {
+        // when
+        List<BacklogStatusCount> counts = backlogItemRepository.countByUserGroupByStatus(testUser);
+
+        // then
+        assertThat(counts).containsExactlyInAnyOrder(
+            new BacklogStatusCount(BacklogStatus.TO_PLAY, 1L),
+            new BacklogStatusCount(BacklogStatus.IN_PROGRESS, 1L));
+    }
+
+    @Test
+    void shouldFindItemStatusesByUserAndGameIds() {
+        // when
+        List<Object[]> rows = backlogItemRepository.findItemStatusesByUserAndGameIds(
+            testUser, List.of(testGame1.getGameId()));
+
+        // then
+        assertThat(rows).hasSize(1);
+        assertThat(rows.get(0)).containsExactly(
+            testBacklogItem1.getBacklogItemId(), testGame1.getGameId(), BacklogStatus.TO_PLAY);
+    }
+
+    @Test
+    void shouldUpdateStatusByIds() {
+        // when
+        int updated = backlogItemRepository.updateStatusByIds(
+            List.of(testBacklogItem1.getBacklogItemId(), testBacklogItem2.getBacklogItemId()),
+            BacklogStatus.COMPLETED);
+        entityManager.clear();
+
+        // then
+        assertThat(updated).isEqualTo(2);
+        assertThat(backlogItemRepository.countByUserAndStatus(testUser, BacklogStatus.COMPLETED)).isEqualTo(2);
+    }
+
     @Test
     void shouldFindByUserAndStatusIn() {
         // given
@@ -307,6 +352,7 @@ class BacklogItemRepositoryTest {
         testGame3.setIgdbId(3L);
         testGame3.setGenres(Arrays.asList("RPG", "Action"));
         testGame3.setPlatforms(Arrays.asList("PC", "PS5"));
+        catalogDictionary.resolve(testGame3);
         entityManager.persist(testGame3);
 
         Game testGame4 = new Game();
@@ -314,6 +360,7 @@ class BacklogItemRepositoryTest {
         testGame4.setIgdbId(4L);
         testGame4.setGenres(Arrays.asList("Strategy", "Simulation"));
         testGame4.setPlatforms(Arrays.asList("PC", "Xbox"));
+        catalogDictionary.resolve(testGame4);
         entityManager.persist(testGame4);
         
         List<BacklogItem> batchItems = Arrays.asList(
@@ -0,0 +1,90 @@
+package com.gamerecs.gamerecs_backend.repository;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CatalogMigrationTest {
+
+    private JdbcDataSource dataSource;
+    private Connection keepAlive;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:catalogmigration;DB_CLOSE_DELAY=-1");
+        keepAlive = dataSource.getConnection();
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        try (Statement statement = keepAlive.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+        keepAlive.close();
+    }
+
+    @Test
+    void migrate_OldLayout_MovesNamesToDictionaryTables() throws SQLException {
+        execute("CREATE TABLE game_genres (game_game_id BIGINT NOT NULL, genres VARCHAR(255))",
+                "CREATE TABLE game_platforms (game_game_id BIGINT NOT NULL, platforms VARCHAR(255))",
+                "INSERT INTO game_genres VALUES (1, 'Action'), (1, 'RPG'), (2, 'Action')",
+                "INSERT INTO game_platforms VALUES (1, 'PC'), (2, 'PC'), (2, 'Switch')");
+
+        new CatalogMigration(dataSource).migrate();
+
+        assertEquals(List.of("1:Action", "1:RPG", "2:Action"), query(
+                "SELECT gg.game_id, g.name FROM game_genres gg JOIN genre g ON g.genre_id = gg.genre_id " +
+                "ORDER BY gg.game_id, g.name"));
+        assertEquals(List.of("1:PC", "2:PC", "2:Switch"), query(
+                "SELECT gp.game_id, p.name FROM game_platforms gp JOIN platform p ON p.platform_id = gp.platform_id " +
+                "ORDER BY gp.game_id, p.name"));
+        assertEquals(List.of("2"), query("SELECT COUNT(*) FROM genre"));
+        assertEquals(List.of("3"), query("SELECT COUNT(*) FROM game_genres_legacy"));
+    }
+
+    @Test
+    void migrate_NewLayout_LeavesTablesUntouched() throws SQLException {
+        execute("CREATE TABLE game_genres (game_id BIGINT NOT NULL, genre_id INTEGER NOT NULL)",
+                "INSERT INTO game_genres VALUES (1, 7)");
+
+        CatalogMigration migration = new CatalogMigration(dataSource);
+        migration.migrate();
+        migration.migrate();
+
+        assertEquals(List.of("1:7"), query("SELECT game_id, genre_id FROM game_genres"));
+        assertEquals(List.of("0"), query("SELECT COUNT(*) FROM information_schema.tables " +
+                "WHERE table_name IN ('GENRE', 'GAME_GENRES_LEGACY')"));
+    }
+
+    private void execute(String... statements) throws SQLException {
+        try (Statement statement = keepAlive.createStatement()) {
+            for (String sql : statements) {
+                statement.execute(sql);
+            }
+        }
+    }
+
+    private List<String> query(String sql) throws SQLException {
+        List<String> rows = new ArrayList<>();
+        try (Statement statement = keepAlive.createStatement(); ResultSet resultSet = statement.executeQuery(sql)) {
+            int columns = resultSet.getMetaData().getColumnCount();
+            while (resultSet.next()) {
+                StringBuilder row = new StringBuilder(resultSet.getString(1));
+                for (int c = 2; c <= columns; c++) {
+                    row.append(':').append(resultSet.getString(c));
+                }
+                rows.add(row.toString());
+            }
+        }
+        return rows;
+    }
+}
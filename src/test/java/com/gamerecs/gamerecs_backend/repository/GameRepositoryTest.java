@@ -0,0 +1,124 @@
+package com.gamerecs.gamerecs_backend.repository;
+
+import com.gamerecs.gamerecs_backend.model.Game;
+import java.util.List;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+
+@DataJpaTest
+@Import(CatalogDictionary.class)
+class GameRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private CatalogDictionary catalogDictionary;
+
+    private Game zelda;
+    private Game doom;
+
+    @BeforeEach
+    void setUp() {
+        zelda = new Game("The Legend of Zelda");
+        zelda.setGenres(List.of("Adventure", "Action"));
+        zelda.setPlatforms(List.of("Switch"));
+        catalogDictionary.resolve(zelda);
+        entityManager.persist(zelda);
+
+        doom = new Game("Doom");
+        doom.setGenres(List.of("Action", "Shooter"));
+        doom.setPlatforms(List.of("PC", "Switch"));
+        catalogDictionary.resolve(doom);
+        entityManager.persist(doom);
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void genres_StoredAsDictionaryIds_ReadBackAsSharedNames() {
+        Game first = gameRepository.findById(zelda.getGameId()).orElseThrow();
+        Game second = gameRepository.findById(doom.getGameId()).orElseThrow();
+
+        assertThat(first.getGenres()).containsExactlyInAnyOrder("Adventure", "Action");
+        assertThat(second.getPlatforms()).containsExactlyInAnyOrder("PC", "Switch");
+        assertThat(first.getGenres()).filteredOn("Action"::equals).first()
+            .isSameAs(second.getGenres().stream().filter("Action"::equals).findFirst().orElseThrow());
+        assertThat(catalogDictionary.genres().nameOf(catalogDictionary.genres().idOf("Shooter")))
+            .isEqualTo("Shooter");
+    }
+
+    @Test
+    void findByGenreIn_ReturnsEachMatchingGameOnce() {
+        Page<Game> games = gameRepository.findByGenreIn(List.of("Action", "Adventure"), PageRequest.of(0, 10));
+
+        assertThat(games.getTotalElements()).isEqualTo(2);
+        assertThat(games.getContent()).extracting(Game::getTitle)
+            .containsExactlyInAnyOrder("The Legend of Zelda", "Doom");
+    }
+
+    @Test
+    void findByPlatformIn_ReturnsGamesOnPlatform() {
+        Page<Game> games = gameRepository.findByPlatformIn(List.of("PC"), PageRequest.of(0, 10));
+
+        assertThat(games.getContent()).extracting(Game::getTitle).containsExactly("Doom");
+    }
+
+    @Test
+    void findGenreRows_ReturnsOneRowPerGameAndGenre() {
+        List<Object[]> rows = gameRepository.findGenreRows();
+
+        assertThat(rows).extracting(row -> row[0] + ":" + row[1])
+            .contains(zelda.getGameId() + ":Adventure", doom.getGameId() + ":Shooter");
+    }
+
+    @Test
+    void findAfterTitle_ContinuesFromCursorInTitleOrder() {
+        Slice<Game> first = gameRepository.findAfterTitle("", 0L, PageRequest.of(0, 1));
+        Game last = first.getContent().get(0);
+        Slice<Game> second = gameRepository.findAfterTitle(last.getTitle(), last.getGameId(), PageRequest.of(0, 1));
+
+        assertThat(last.getTitle()).isEqualTo("Doom");
+        assertThat(first.hasNext()).isTrue();
+        assertThat(second.getContent()).extracting(Game::getTitle).containsExactly("The Legend of Zelda");
+        assertThat(second.hasNext()).isFalse();
+    }
+
+    @Test
+    void resolve_NewGenre_NotSharedBeforeCommit() {
+        Game hades = new Game("Hades");
+        hades.setGenres(List.of("Roguelike"));
+        hades.setPlatforms(List.of("PC"));
+
+        catalogDictionary.resolve(hades);
+        catalogDictionary.resolve(hades);
+        entityManager.persistAndFlush(hades);
+
+        assertThat(catalogDictionary.genres().nameOf(catalogDictionary.genres().idOf("Roguelike")))
+            .isEqualTo("Roguelike");
+        assertThat(catalogDictionary.genres().namesMatching("Roguelike")).isEmpty();
+    }
+
+    @Test
+    void persist_UnresolvedGenre_Throws() {
+        Game hades = new Game("Hades");
+        hades.setGenres(List.of("Roguelike"));
+        hades.setPlatforms(List.of("PC"));
+
+        assertThatThrownBy(() -> entityManager.persistAndFlush(hades))
+            .hasStackTraceContaining("Unresolved genre: Roguelike");
+    }
+}
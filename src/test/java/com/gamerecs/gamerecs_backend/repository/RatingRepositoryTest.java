@@ -0,0 +1,128 @@
+package com.gamerecs.gamerecs_backend.repository;
+
+import com.gamerecs.gamerecs_backend.dto.UserGameRating;
+import com.gamerecs.gamerecs_backend.model.Game;
+import com.gamerecs.gamerecs_backend.model.Rating;
+import com.gamerecs.gamerecs_backend.model.User;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+
+@DataJpaTest
+@Import(CatalogDictionary.class)
+class RatingRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private CatalogDictionary catalogDictionary;
+
+    @Autowired
+    private RatingRepository ratingRepository;
+
+    private User testUser;
+    private User otherUser;
+    private List<Game> games = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        testUser = entityManager.persist(new User("testuser", "test@example.com", "hashedPassword123"));
+        otherUser = entityManager.persist(new User("otheruser", "other@example.com", "hashedPassword123"));
+
+        int[] values = {40, 60, 60, 80};
+        for (int i = 0; i < values.length; i++) {
+            Game game = new Game("Test Game " + i);
+            game.setGenres(Arrays.asList("Action"));
+            game.setPlatforms(Arrays.asList("PC"));
+            catalogDictionary.resolve(game);
+            entityManager.persist(game);
+            games.add(game);
+
+            Rating rating = new Rating(testUser, game, values[i]);
+            rating.setPercentileRank(10);
+            entityManager.persist(rating);
+
+            Rating otherRating = new Rating(otherUser, game, values[i]);
+            otherRating.setPercentileRank(10);
+            entityManager.persist(otherRating);
+        }
+        entityManager.flush();
+    }
+
+    @Test
+    void countRatingsByValueForUser_GroupsByValue() {
+        List<Object[]> rows = ratingRepository.countRatingsByValueForUser(testUser.getUserId());
+
+        assertThat(rows).extracting(row -> row[0] + "=" + row[1])
+            .containsExactlyInAnyOrder("40=1", "60=2", "80=1");
+    }
+
+    @Test
+    void updatePercentileRanks_UpdatesOnlyChangedRowsOfUser() {
+        List<Long> updated = ratingRepository.updatePercentileRanks(testUser.getUserId(), Map.of(40, 10, 60, 37, 80, 87));
+        entityManager.clear();
+
+        // The 40 already had rank 10, so only the two 60s and the 80 are written
+        assertThat(updated).containsExactlyInAnyOrder(
+            games.get(1).getGameId(), games.get(2).getGameId(), games.get(3).getGameId());
+        assertThat(ratingRepository.findByUserOrderByRatingValueAsc(testUser))
+            .extracting(Rating::getPercentileRank)
+            .containsExactly(10, 37, 37, 87);
+        assertThat(ratingRepository.findByUserOrderByRatingValueAsc(otherUser))
+            .extracting(Rating::getPercentileRank)
+            .containsOnly(10);
+    }
+
+    @Test
+    void updatePercentileRanks_PaddedCase_AppliesEachRank() {
+        // Three values are bound into a CASE padded to four branches
+        ratingRepository.updatePercentileRanks(testUser.getUserId(), Map.of(40, 5, 60, 50, 80, 95));
+        entityManager.clear();
+
+        assertThat(ratingRepository.findByUserOrderByRatingValueAsc(testUser))
+            .extracting(Rating::getPercentileRank)
+            .containsExactly(5, 50, 50, 95);
+    }
+
+    @Test
+    void updatePercentileRanks_EmptyMap_UpdatesNothing() {
+        assertThat(ratingRepository.updatePercentileRanks(testUser.getUserId(), Map.of())).isEmpty();
+    }
+
+    @Test
+    void findUserRatingsForGames_ReturnsOnlyRequestedGamesOfUser() {
+        List<Long> gameIds = List.of(games.get(0).getGameId(), games.get(3).getGameId());
+
+        List<UserGameRating> ratings = ratingRepository.findUserRatingsForGames(testUser.getUserId(), gameIds);
+
+        assertThat(ratings).extracting(UserGameRating::getGameId).containsExactlyInAnyOrderElementsOf(gameIds);
+        assertThat(ratings).extracting(UserGameRating::getRatingValue).containsExactlyInAnyOrder(40, 80);
+        assertThat(ratings).extracting(UserGameRating::getPercentileRank).containsOnly(10);
+    }
+
+    @Test
+    void findByUserBeforeValue_SeeksPastLastRatingWithoutGapsOrRepeats() {
+        Slice<Rating> first = ratingRepository.findByUserBeforeValue(testUser, Integer.MAX_VALUE, Long.MAX_VALUE,
+            PageRequest.of(0, 2));
+        Rating last = first.getContent().get(1);
+        Slice<Rating> second = ratingRepository.findByUserBeforeValue(testUser, last.getRatingValue(),
+            last.getRatingId(), PageRequest.of(0, 2));
+
+        assertThat(first.hasNext()).isTrue();
+        assertThat(first.getContent()).extracting(Rating::getRatingValue).containsExactly(80, 60);
+        assertThat(second.getContent()).extracting(Rating::getRatingValue).containsExactly(60, 40);
+        assertThat(second.hasNext()).isFalse();
+        assertThat(second.getContent().get(0).getRatingId()).isLessThan(last.getRatingId());
+    }
+}
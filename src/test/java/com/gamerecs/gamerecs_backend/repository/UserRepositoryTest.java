@@ -10,10 +10,12 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
 
 import com.gamerecs.gamerecs_backend.model.User;
 
 @DataJpaTest
+@Import(CatalogDictionary.class)
 class UserRepositoryTest {
 
     @Autowired
@@ -0,0 +1,142 @@
+package com.gamerecs.gamerecs_backend.search;
+
+import com.gamerecs.gamerecs_backend.search.FacetIndex.Facet;
+import com.gamerecs.gamerecs_backend.search.FacetIndex.Filter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongPredicate;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class FacetIndexTest {
+
+    private FacetIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new FacetIndex();
+        index.put(1L, Map.of(Facet.GENRE, List.of("RPG", "Action"), Facet.PLATFORM, List.of("PC", "PS5"),
+                Facet.DEVELOPER, List.of("FromSoftware")));
+        index.put(2L, Map.of(Facet.GENRE, List.of("RPG"), Facet.PLATFORM, List.of("PC"),
+                Facet.DEVELOPER, List.of("CD Projekt Red")));
+        index.put(3L, Map.of(Facet.GENRE, List.of("Action"), Facet.PLATFORM, List.of("Switch"),
+                Facet.DEVELOPER, List.of("Nintendo")));
+        index.optimize();
+    }
+
+    @Test
+    void filter_NoFilters_ReturnsAllGamesInIdOrder() {
+        FacetIndex.Result result = index.filter(List.of(), 0, 10);
+
+        assertEquals(List.of(1L, 2L, 3L), result.gameIds());
+        assertEquals(3, result.total());
+    }
+
+    @Test
+    void filter_SeveralValues_MatchAnyOrAll() {
+        assertEquals(List.of(1L, 2L, 3L), gameIds(new Filter(Facet.GENRE, List.of("rpg", "ACTION"), false)));
+        assertEquals(List.of(1L), gameIds(new Filter(Facet.GENRE, List.of("rpg", "ACTION"), true)));
+    }
+
+    @Test
+    void filter_SeveralFacets_AllMustMatch() {
+        assertEquals(List.of(1L), gameIds(
+                new Filter(Facet.GENRE, List.of("Action"), false),
+                new Filter(Facet.PLATFORM, List.of("PC"), false)));
+        assertEquals(List.of(), gameIds(
+                new Filter(Facet.GENRE, List.of("RPG"), false),
+                new Filter(Facet.PLATFORM, List.of("Xbox"), false)));
+    }
+
+    @Test
+    void filter_Counts_IgnoreTheFiltersOfTheirOwnFacet() {
+        FacetIndex.Result result = index.filter(List.of(new Filter(Facet.GENRE, List.of("RPG"), false)), 0, 10);
+
+        assertEquals(Map.of("RPG", 2L, "Action", 2L), result.counts().get(Facet.GENRE));
+        assertEquals(Map.of("PC", 2L, "PS5", 1L), result.counts().get(Facet.PLATFORM));
+        assertEquals(List.of("PC", "PS5"), List.copyOf(result.counts().get(Facet.PLATFORM).keySet()));
+    }
+
+    @Test
+    void filter_ManyValues_CountsOnlyTheTopValuesExactly() {
+        // 500 games over 30 developers of skewed size, so the top values must be picked, ties broken by name
+        index.clear();
+        Map<Long, String> developers = new HashMap<>();
+        for (long game = 1; game <= 500; game++) {
+            String developer = "Studio " + (game % 60 < 30 ? game % 60 : game % 7);
+            developers.put(game, developer);
+            index.put(game, Map.of(Facet.DEVELOPER, List.of(developer),
+                    Facet.PLATFORM, List.of(game % 3 == 0 ? "PC" : "Switch"),
+                    Facet.GENRE, List.of(game <= 12 ? "Rare" : "Common")));
+        }
+
+        // No filter and a broad filter go through the ranked values
+        assertEquals(expectedDeveloperCounts(developers, game -> true),
+                index.filter(List.of(), 0, 1).counts().get(Facet.DEVELOPER));
+        assertEquals(expectedDeveloperCounts(developers, game -> game % 3 == 0),
+                index.filter(List.of(new Filter(Facet.PLATFORM, List.of("PC"), false)), 0, 1)
+                        .counts().get(Facet.DEVELOPER));
+        // Fewer matching games than developers are counted game by game
+        assertEquals(expectedDeveloperCounts(developers, game -> game <= 12 && game % 3 == 0),
+                index.filter(List.of(new Filter(Facet.PLATFORM, List.of("PC"), false),
+                        new Filter(Facet.GENRE, List.of("Rare"), false)), 0, 1).counts().get(Facet.DEVELOPER));
+    }
+
+    @Test
+    void filter_Paging_SkipsEarlierGames() {
+        FacetIndex.Result result = index.filter(List.of(), 1, 1);
+
+        assertEquals(List.of(2L), result.gameIds());
+        assertEquals(3, result.total());
+        assertEquals(List.of(), index.filter(List.of(), 5, 10).gameIds());
+    }
+
+    @Test
+    void put_ExistingGame_ReplacesItsValues() {
+        index.put(3L, Map.of(Facet.GENRE, List.of("RPG"), Facet.PLATFORM, List.of("Switch")));
+
+        assertEquals(List.of(1L, 2L, 3L), gameIds(new Filter(Facet.GENRE, List.of("RPG"), false)));
+        assertEquals(List.of(1L), gameIds(new Filter(Facet.GENRE, List.of("Action"), false)));
+        assertFalse(index.filter(List.of(), 0, 10).counts().get(Facet.DEVELOPER).containsKey("Nintendo"));
+    }
+
+    @Test
+    void clear_RemovesAllGames() {
+        index.clear();
+
+        assertEquals(0, index.filter(List.of(), 0, 10).total());
+    }
+
+    @Test
+    void rebuild_ReplacesAllGames() {
+        index.rebuild(Map.of(4L, Map.of(Facet.GENRE, List.of("Puzzle"))));
+
+        assertEquals(List.of(4L), index.filter(List.of(), 0, 10).gameIds());
+        assertEquals(Map.of("Puzzle", 1L), index.filter(List.of(), 0, 10).counts().get(Facet.GENRE));
+    }
+
+    private List<Long> gameIds(Filter... filters) {
+        return index.filter(List.of(filters), 0, 10).gameIds();
+    }
+
+    private static Map<String, Long> expectedDeveloperCounts(Map<Long, String> developers,
+                                                             LongPredicate matches) {
+        Map<String, Long> counts = new HashMap<>();
+        developers.forEach((game, developer) -> {
+            if (matches.test(game)) {
+                counts.merge(developer, 1L, Long::sum);
+            }
+        });
+        List<Map.Entry<String, Long>> sorted = new ArrayList<>(counts.entrySet());
+        sorted.sort(Map.Entry.<String, Long>comparingByValue().reversed()
+                .thenComparing(Map.Entry.comparingByKey(Comparator.comparing(String::toLowerCase))));
+        Map<String, Long> top = new LinkedHashMap<>();
+        sorted.stream().limit(FacetIndex.MAX_FACET_VALUES).forEach(entry -> top.put(entry.getKey(), entry.getValue()));
+        return top;
+    }
+}
@@ -0,0 +1,106 @@
+package com.gamerecs.gamerecs_backend.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SuggestionIndexTest {
+
+    private SuggestionIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new SuggestionIndex();
+        index.rebuild(List.of(
+                new SuggestionIndex.Document(1L, "The Legend of Zelda", "Nintendo EAD", "Nintendo", 50),
+                new SuggestionIndex.Document(2L, "Zelda II: The Adventure of Link", "Nintendo R&D4", "Nintendo", 10),
+                new SuggestionIndex.Document(3L, "Hollow Knight", "Team Cherry", "Team Cherry", 80),
+                new SuggestionIndex.Document(4L, "Legend of Grimrock", "Almost Human", null, 5)));
+    }
+
+    @Test
+    void suggest_MatchesAnyTitleWord_MostPopularFirst() {
+        assertEquals(List.of(1L, 2L), gameIds(index.suggest("zel", 10)));
+        assertEquals(List.of(1L, 4L), gameIds(index.suggest("Legend o", 10)));
+    }
+
+    @Test
+    void suggest_MatchesDeveloperAndPublisher() {
+        List<SuggestionIndex.Suggestion> suggestions = index.suggest("team ch", 10);
+
+        assertEquals(List.of(3L), gameIds(suggestions));
+        assertEquals(SuggestionIndex.Field.DEVELOPER, suggestions.get(0).matchedField());
+    }
+
+    @Test
+    void suggest_GameMatchingSeveralKeys_ReturnedOnce() {
+        // Both games match on their developer and their publisher
+        assertEquals(List.of(1L, 2L), gameIds(index.suggest("nintendo", 10)));
+    }
+
+    @Test
+    void suggest_Limit_ReturnsMostPopular() {
+        assertEquals(List.of(3L), gameIds(index.suggest("t", 1)));
+    }
+
+    @Test
+    void rebuild_ManyKeys_FindsEveryPrefixRange() {
+        // Enough keys that the sort merges runs instead of only insertion-sorting them
+        List<SuggestionIndex.Document> documents = new ArrayList<>();
+        String[] words = {"zeta", "alpha", "mid", "beta", "omega", "gamma", "delta"};
+        for (int i = 0; i < 300; i++) {
+            documents.add(new SuggestionIndex.Document(i, words[i % words.length] + " " + words[(i * 3) % words.length],
+                    null, null, i));
+        }
+        index.rebuild(documents);
+
+        for (String word : words) {
+            List<Long> expected = documents.stream()
+                    .filter(document -> (" " + document.title()).contains(" " + word))
+                    .map(SuggestionIndex.Document::gameId)
+                    .sorted((a, b) -> Long.compare(b, a))
+                    .limit(20)
+                    .toList();
+            assertEquals(expected, gameIds(index.suggest(word, 20)));
+        }
+    }
+
+    @Test
+    void suggest_NoMatch_ReturnsNothing() {
+        assertTrue(index.suggest("tetris", 10).isEmpty());
+        assertTrue(index.suggest(" ", 10).isEmpty());
+    }
+
+    @Test
+    void put_ReplacesGameAndAddsNewOnes() {
+        index.put(new SuggestionIndex.Document(3L, "Hollow Knight: Silksong", "Team Cherry", "Team Cherry", 80));
+        index.put(new SuggestionIndex.Document(5L, "Zelda Tears", null, null, 100));
+
+        assertEquals(List.of(3L), gameIds(index.suggest("silk", 10)));
+        assertEquals(List.of(5L, 1L, 2L), gameIds(index.suggest("zelda", 10)));
+        assertEquals(1, index.suggest("hollow", 10).size());
+        assertEquals(5, index.size());
+        assertEquals(100, index.popularity(5L));
+    }
+
+    @Test
+    void put_FullDelta_RebuildsSortedKeys() {
+        for (int i = 0; i <= SuggestionIndex.DELTA_LIMIT; i++) {
+            index.put(new SuggestionIndex.Document(100L + i, "Generated " + i, null, null, i));
+        }
+
+        assertEquals(4 + SuggestionIndex.DELTA_LIMIT + 1, index.size());
+        assertEquals(List.of(100L + SuggestionIndex.DELTA_LIMIT), gameIds(index.suggest("generated", 1)));
+        assertEquals(List.of(1L, 2L), gameIds(index.suggest("zel", 10)));
+    }
+
+    private static List<Long> gameIds(List<SuggestionIndex.Suggestion> suggestions) {
+        List<Long> gameIds = new ArrayList<>();
+        for (SuggestionIndex.Suggestion suggestion : suggestions) {
+            gameIds.add(suggestion.document().gameId());
+        }
+        return gameIds;
+    }
+}
@@ -0,0 +1,106 @@
+package com.gamerecs.gamerecs_backend.search;
+
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TrigramIndexTest {
+
+    private TrigramIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TrigramIndex();
+        index.put(1L, "The Legend of Zelda: Ocarina of Time");
+        index.put(2L, "Zelda II: The Adventure of Link");
+        index.put(3L, "Super Mario Odyssey");
+        index.put(4L, "Hollow Knight");
+    }
+
+    @Test
+    void search_PrefixMatchesRankBeforeOtherSubstringMatches() {
+        TrigramIndex.Result result = index.search("zelda", 0, 10);
+
+        assertEquals(List.of(2L, 1L), result.gameIds());
+        assertEquals(2, result.total());
+    }
+
+    @Test
+    void search_PartiallyTypedWord_Matches() {
+        TrigramIndex.Result result = index.search("Hollow Kni", 0, 10);
+
+        assertEquals(List.of(4L), result.gameIds());
+    }
+
+    @Test
+    void search_SubstringWithinWord_MatchesAsLikeDoes() {
+        // LIKE '%ollow kn%' matches, although the query shares neither word's leading trigrams
+        assertEquals(List.of(4L), index.search("ollow kn", 0, 10).gameIds());
+        assertEquals(List.of(3L), index.search("dyss", 0, 10).gameIds());
+    }
+
+    @Test
+    void search_QueryShorterThanTrigram_MatchesAnyContainingTitle() {
+        TrigramIndex.Result result = index.search("dy", 0, 10);
+
+        assertEquals(List.of(3L), result.gameIds());
+        assertEquals(1, result.total());
+    }
+
+    @Test
+    void search_Misspelling_MatchesBySimilarity() {
+        TrigramIndex.Result result = index.search("super maro odyssey", 0, 10);
+
+        assertEquals(List.of(3L), result.gameIds());
+    }
+
+    @Test
+    void search_NoSharedTrigrams_ReturnsNothing() {
+        TrigramIndex.Result result = index.search("tetris", 0, 10);
+
+        assertTrue(result.gameIds().isEmpty());
+        assertEquals(0, result.total());
+    }
+
+    @Test
+    void search_Paging_CountsAllMatches() {
+        TrigramIndex.Result result = index.search("zelda", 1, 1);
+
+        assertEquals(List.of(1L), result.gameIds());
+        assertEquals(2, result.total());
+    }
+
+    @Test
+    void put_ChangedTitle_ReplacesOldTitle() {
+        index.put(4L, "Hollow Knight: Silksong");
+        index.put(3L, "Super Mario Bros. Wonder");
+
+        assertEquals(List.of(4L), index.search("silksong", 0, 10).gameIds());
+        assertTrue(index.search("odyssey", 0, 10).gameIds().isEmpty());
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void put_ManyTitleChanges_CompactsTombstones() {
+        for (int i = 0; i < 500; i++) {
+            index.put(4L, "Hollow Knight " + i);
+        }
+
+        assertTrue(index.entries() < 100);
+        assertEquals(4, index.size());
+        assertEquals(List.of(4L), index.search("hollow knight 499", 0, 10).gameIds());
+        assertEquals(List.of(2L, 1L), index.search("zelda", 0, 10).gameIds());
+    }
+
+    @Test
+    void search_BlankQuery_ReturnsNothing() {
+        assertEquals(0, index.search("  ?! ", 0, 10).total());
+    }
+
+    @Test
+    void trigrams_PadWordsLikePgTrgm() {
+        // "  c", " ca", "cat", "at "
+        assertEquals(4, TrigramIndex.trigrams(TrigramIndex.normalize("Cat")).length);
+    }
+}
@@ -0,0 +1,131 @@
+package com.gamerecs.gamerecs_backend.security;
+
+import com.gamerecs.gamerecs_backend.exception.PasswordEncoderBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+class BoundedPasswordEncoderTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        callers.shutdownNow();
+        if (encoder != null) {
+            encoder.destroy();
+        }
+    }
+
+    @Test
+    void encodeAndMatches_DelegateToWrappedEncoder() {
+        encoder = new BoundedPasswordEncoder(new ReversingEncoder(null), 2, 4, null);
+
+        assertEquals("cba", encoder.encode("abc"));
+        assertTrue(encoder.matches("abc", "cba"));
+        assertFalse(encoder.matches("abc", "abc"));
+    }
+
+    @Test
+    void encode_Saturated_RejectsAndCountsRejection() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CountDownLatch started = new CountDownLatch(1);
+        encoder = new BoundedPasswordEncoder(new ReversingEncoder(() -> {
+            started.countDown();
+            awaitRelease();
+        }), 1, 1, registry);
+
+        // One call occupies the only thread and one waits in the queue
+        callers.submit(() -> encoder.encode("running"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        callers.submit(() -> encoder.encode("queued"));
+        waitUntilQueued(registry);
+
+        assertThrows(PasswordEncoderBusyException.class, () -> encoder.encode("rejected"));
+        assertEquals(1.0, registry.get("password.encoder.rejected").counter().count());
+    }
+
+    @Test
+    void submit_RunsTaskOnEncoderThreadAndNestedCallsInline() throws Exception {
+        // A single thread without a queue would reject a nested call that was not run inline
+        encoder = new BoundedPasswordEncoder(new ReversingEncoder(null), 1, 0, null);
+        String caller = Thread.currentThread().getName();
+
+        CompletableFuture<String> result = encoder.submit(() -> Thread.currentThread().getName() + ":" + encoder.encode("abc"));
+
+        String value = result.get(5, TimeUnit.SECONDS);
+        assertTrue(value.startsWith(BoundedPasswordEncoder.EXECUTOR_NAME + "-"));
+        assertNotEquals(caller, value.substring(0, value.indexOf(':')));
+        assertTrue(value.endsWith(":cba"));
+    }
+
+    @Test
+    void submit_Saturated_FailsFuture() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        encoder = new BoundedPasswordEncoder(new ReversingEncoder(() -> {
+            started.countDown();
+            awaitRelease();
+        }), 1, 0, null);
+
+        callers.submit(() -> encoder.encode("running"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<Boolean> result = encoder.submit(() -> encoder.matches("abc", "cba"));
+        ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(PasswordEncoderBusyException.class, e.getCause());
+    }
+
+    private void waitUntilQueued(SimpleMeterRegistry registry) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (registry.get("executor.queued").tag("name", BoundedPasswordEncoder.EXECUTOR_NAME).gauge().value() < 1) {
+            if (System.nanoTime() > deadline) {
+                fail("Second call was never queued");
+            }
+            Thread.sleep(5);
+        }
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Stand-in for BCrypt that reverses the password and optionally blocks.
+     */
+    private static class ReversingEncoder implements PasswordEncoder {
+
+        private final Runnable onEncode;
+
+        ReversingEncoder(Runnable onEncode) {
+            this.onEncode = onEncode;
+        }
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            if (onEncode != null) {
+                onEncode.run();
+            }
+            return new StringBuilder(rawPassword).reverse().toString();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return new StringBuilder(rawPassword).reverse().toString().equals(encodedPassword);
+        }
+    }
+}
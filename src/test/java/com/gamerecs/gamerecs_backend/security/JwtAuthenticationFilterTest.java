@@ -0,0 +1,111 @@
+package com.gamerecs.gamerecs_backend.security;
+
+import com.gamerecs.gamerecs_backend.model.User;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import static org.mockito.Mockito.*;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthenticationFilterTest {
+
+    @Mock
+    private UserDetailsService userDetailsService;
+
+    private JwtService jwtService;
+    private TokenRevocationCache tokenRevocationCache;
+    private UserDetailsImpl userDetails;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secretKey", "test-only-signing-key-that-is-at-least-32-bytes-long");
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 3_600_000L);
+        ReflectionTestUtils.setField(jwtService, "verifiedTokenCacheSize", 100L);
+        jwtService.init();
+        tokenRevocationCache = new TokenRevocationCache(3_600_000L);
+
+        User user = new User();
+        user.setUserId(7L);
+        user.setUsername("testUser");
+        userDetails = new UserDetailsImpl(user);
+        token = jwtService.generateToken(userDetails);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void doFilter_DefaultMode_LoadsUser() throws Exception {
+        when(userDetailsService.loadUserByUsername("testUser")).thenReturn(userDetails);
+
+        filter(false);
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(authentication);
+        assertSame(userDetails, authentication.getPrincipal());
+    }
+
+    @Test
+    void doFilter_StatelessPrincipal_BuildsPrincipalFromClaims() throws Exception {
+        filter(true);
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(authentication);
+        UserDetailsImpl principal = (UserDetailsImpl) authentication.getPrincipal();
+        assertEquals(7L, principal.getUser().getUserId());
+        assertEquals("testUser", principal.getUsername());
+        assertTrue(authentication.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_USER".equals(authority.getAuthority())));
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void doFilter_RevokedToken_DoesNotAuthenticate() throws Exception {
+        tokenRevocationCache.revoke(7L);
+
+        filter(true);
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void doFilter_TokenIssuedAfterAwaitingRevocation_Authenticates() throws Exception {
+        tokenRevocationCache.revoke(7L);
+        tokenRevocationCache.awaitNewTokens(7L);
+        token = jwtService.generateToken(userDetails);
+
+        filter(true);
+
+        assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    void constructor_StatelessPrincipalWithAdvisoryLocks_Throws() {
+        assertThrows(IllegalStateException.class, () -> new JwtAuthenticationFilter(
+                jwtService, userDetailsService, tokenRevocationCache, true, "advisory"));
+    }
+
+    private void filter(boolean statelessPrincipal) throws Exception {
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(
+                jwtService, userDetailsService, tokenRevocationCache, statelessPrincipal, "striped");
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/backlog");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+    }
+}
@@ -0,0 +1,99 @@
+package com.gamerecs.gamerecs_backend.security;
+
+import com.gamerecs.gamerecs_backend.model.User;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import java.util.Date;
+import java.util.Optional;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class JwtServiceTest {
+
+    private static final String SECRET = "test-only-signing-key-that-is-at-least-32-bytes-long";
+
+    private JwtService jwtService;
+    private UserDetailsImpl userDetails;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = newJwtService(100);
+
+        User user = new User();
+        user.setUserId(1L);
+        user.setUsername("testUser");
+        userDetails = new UserDetailsImpl(user);
+    }
+
+    @Test
+    void verify_ValidToken_ReturnsUsernameAndExpiration() {
+        String token = jwtService.generateToken(userDetails);
+
+        Optional<JwtService.VerifiedToken> verified = jwtService.verify(token);
+
+        assertTrue(verified.isPresent());
+        assertEquals("testUser", verified.get().username());
+        assertTrue(verified.get().expiration().after(new Date()));
+        assertTrue(jwtService.isTokenValid(token, userDetails));
+    }
+
+    @Test
+    void verify_SameToken_ReturnsCachedResult() {
+        String token = jwtService.generateToken(userDetails);
+
+        JwtService.VerifiedToken first = jwtService.verify(token).orElseThrow();
+        JwtService.VerifiedToken second = jwtService.verify(token).orElseThrow();
+
+        assertSame(first, second);
+    }
+
+    @Test
+    void verify_CacheDisabled_StillVerifies() {
+        JwtService uncached = newJwtService(0);
+        String token = uncached.generateToken(userDetails);
+
+        assertTrue(uncached.verify(token).isPresent());
+        assertTrue(uncached.verify(token).isPresent());
+    }
+
+    @Test
+    void verify_TamperedToken_ReturnsEmpty() {
+        String token = jwtService.generateToken(userDetails);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertTrue(jwtService.verify(tampered).isEmpty());
+    }
+
+    @Test
+    void verify_ExpiredToken_ReturnsEmpty() {
+        String token = Jwts.builder()
+                .setSubject("testUser")
+                .setExpiration(new Date(System.currentTimeMillis() - 1000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes()), SignatureAlgorithm.HS256)
+                .compact();
+
+        assertTrue(jwtService.verify(token).isEmpty());
+        assertFalse(jwtService.isTokenValid(token, userDetails));
+    }
+
+    @Test
+    void isTokenValid_OtherUser_ReturnsFalse() {
+        String token = jwtService.generateToken(userDetails);
+        User other = new User();
+        other.setUsername("otherUser");
+
+        assertFalse(jwtService.isTokenValid(token, new UserDetailsImpl(other)));
+    }
+
+    private static JwtService newJwtService(long cacheSize) {
+        JwtService service = new JwtService();
+        ReflectionTestUtils.setField(service, "secretKey", SECRET);
+        ReflectionTestUtils.setField(service, "jwtExpiration", 3_600_000L);
+        ReflectionTestUtils.setField(service, "verifiedTokenCacheSize", cacheSize);
+        service.init();
+        return service;
+    }
+}
@@ -1,16 +1,22 @@
 package com.gamerecs.gamerecs_backend.service;
 
+import com.gamerecs.gamerecs_backend.config.CacheInvalidator;
+import com.gamerecs.gamerecs_backend.dto.BacklogBatchUpdateResult;
+import com.gamerecs.gamerecs_backend.dto.BacklogStatusCount;
 import com.gamerecs.gamerecs_backend.exception.BacklogException;
 import com.gamerecs.gamerecs_backend.model.BacklogItem;
 import com.gamerecs.gamerecs_backend.model.BacklogStatus;
 import com.gamerecs.gamerecs_backend.model.Game;
 import com.gamerecs.gamerecs_backend.model.User;
+import com.gamerecs.gamerecs_backend.model.UserBacklogStats;
 import com.gamerecs.gamerecs_backend.repository.BacklogItemRepository;
+import com.gamerecs.gamerecs_backend.repository.UserBacklogStatsRepository;
 import java.util.*;
 import static org.junit.jupiter.api.Assertions.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import static org.mockito.Mockito.*;
@@ -26,15 +32,22 @@ class BacklogItemServiceTest {
     @Mock
     private BacklogItemRepository backlogItemRepository;
 
+    @Mock
+    private UserBacklogStatsRepository userBacklogStatsRepository;
+
     @Mock
     private GameService gameService;
 
+    @Mock
+    private CacheInvalidator cacheInvalidator;
+
     @InjectMocks
     private BacklogItemService backlogItemService;
 
     private User testUser;
     private Game testGame;
     private BacklogItem testBacklogItem;
+    private UserBacklogStats testStats;
     private Pageable pageable;
 
     @BeforeEach
@@ -50,6 +63,11 @@ class BacklogItemServiceTest {
         testBacklogItem = new BacklogItem(testUser, testGame, BacklogStatus.TO_PLAY);
         testBacklogItem.setBacklogItemId(1L);
 
+        testStats = new UserBacklogStats(testUser.getUserId());
+        testStats.adjust(BacklogStatus.TO_PLAY, 1);
+        lenient().when(userBacklogStatsRepository.findByIdForUpdate(testUser.getUserId()))
+            .thenReturn(Optional.of(testStats));
+
         pageable = PageRequest.of(0, 10);
     }
 
@@ -66,6 +84,61 @@ class BacklogItemServiceTest {
         assertEquals(testGame, result.getGame());
         assertEquals(BacklogStatus.TO_PLAY, result.getStatus());
         verify(backlogItemRepository).save(any(BacklogItem.class));
+        assertEquals(2L, testStats.getCount(BacklogStatus.TO_PLAY));
+    }
+
+    @Test
+    void addToBacklog_NoCounters_InitializesCountersFromBacklog() {
+        UserBacklogStats created = new UserBacklogStats(testUser.getUserId());
+        when(gameService.findById(testGame.getGameId())).thenReturn(Optional.of(testGame));
+        when(backlogItemRepository.findByUserAndGame(testUser, testGame)).thenReturn(Optional.empty());
+        when(userBacklogStatsRepository.insertIfAbsent(testUser.getUserId())).thenReturn(1);
+        when(userBacklogStatsRepository.findByIdForUpdate(testUser.getUserId())).thenReturn(Optional.of(created));
+        when(backlogItemRepository.countByUserGroupByStatus(testUser))
+            .thenReturn(List.of(new BacklogStatusCount(BacklogStatus.COMPLETED, 3L)));
+        when(backlogItemRepository.save(any(BacklogItem.class))).thenReturn(testBacklogItem);
+
+        backlogItemService.addToBacklog(testUser, testGame, BacklogStatus.TO_PLAY);
+
+        assertEquals(3L, created.getCount(BacklogStatus.COMPLETED));
+        assertEquals(1L, created.getCount(BacklogStatus.TO_PLAY));
+        verify(userBacklogStatsRepository, never()).save(any());
+    }
+
+    @Test
+    void addToBacklog_ExistingCounters_DoesNotRecount() {
+        when(gameService.findById(testGame.getGameId())).thenReturn(Optional.of(testGame));
+        when(backlogItemRepository.findByUserAndGame(testUser, testGame)).thenReturn(Optional.empty());
+        when(backlogItemRepository.save(any(BacklogItem.class))).thenReturn(testBacklogItem);
+
+        backlogItemService.addToBacklog(testUser, testGame, BacklogStatus.TO_PLAY);
+
+        // The insert-if-absent found the row, so the counters are only adjusted
+        verify(userBacklogStatsRepository).insertIfAbsent(testUser.getUserId());
+        verify(backlogItemRepository, never()).countByUserGroupByStatus(any());
+        assertEquals(2L, testStats.getCount(BacklogStatus.TO_PLAY));
+    }
+
+    @Test
+    void verifyAndRepair_RecountsOnlyDriftedCounters() {
+        UserBacklogStats accurate = new UserBacklogStats(2L);
+        accurate.adjust(BacklogStatus.COMPLETED, 2);
+        UserBacklogStats drifted = new UserBacklogStats(3L);
+        drifted.adjust(BacklogStatus.TO_PLAY, 5);
+        when(userBacklogStatsRepository.findAll()).thenReturn(List.of(accurate, drifted));
+        when(backlogItemRepository.countGroupByUserAndStatus()).thenReturn(List.of(
+            new Object[] {2L, BacklogStatus.COMPLETED, 2L},
+            new Object[] {3L, BacklogStatus.TO_PLAY, 4L}));
+        when(userBacklogStatsRepository.findByIdForUpdate(3L)).thenReturn(Optional.of(drifted));
+        when(backlogItemRepository.countByUserIdGroupByStatus(3L))
+            .thenReturn(List.of(new BacklogStatusCount(BacklogStatus.TO_PLAY, 4L)));
+
+        int repaired = backlogItemService.verifyAndRepair();
+
+        assertEquals(1, repaired);
+        assertEquals(4L, drifted.getCount(BacklogStatus.TO_PLAY));
+        verify(userBacklogStatsRepository, never()).findByIdForUpdate(2L);
+        verify(cacheInvalidator).evict("backlogStats", 3L);
     }
 
     @Test
@@ -101,6 +174,12 @@ class BacklogItemServiceTest {
         assertNotNull(result);
         assertEquals(BacklogStatus.IN_PROGRESS, result.getStatus());
         verify(backlogItemRepository).save(any(BacklogItem.class));
+        // The item is read under the counters' row lock, so a concurrent change cannot leave it stale
+        InOrder inOrder = inOrder(userBacklogStatsRepository, backlogItemRepository);
+        inOrder.verify(userBacklogStatsRepository).findByIdForUpdate(testUser.getUserId());
+        inOrder.verify(backlogItemRepository).findByUserAndGame(testUser, testGame);
+        assertEquals(0L, testStats.getCount(BacklogStatus.TO_PLAY));
+        assertEquals(1L, testStats.getCount(BacklogStatus.IN_PROGRESS));
     }
 
     @Test
@@ -134,7 +213,13 @@ class BacklogItemServiceTest {
 
         backlogItemService.removeFromBacklog(testUser, testGame);
 
-        verify(backlogItemRepository).delete(testBacklogItem);
+        InOrder inOrder = inOrder(userBacklogStatsRepository, backlogItemRepository);
+        inOrder.verify(userBacklogStatsRepository).findByIdForUpdate(testUser.getUserId());
+        inOrder.verify(backlogItemRepository).findByUserAndGame(testUser, testGame);
+        inOrder.verify(backlogItemRepository).delete(testBacklogItem);
+        assertEquals(0L, testStats.getCount(BacklogStatus.TO_PLAY));
+        verify(cacheInvalidator).evictScope("userBacklog", testUser.getUserId());
+        verify(cacheInvalidator).evict("backlogStats", testUser.getUserId());
     }
 
     @Test
@@ -179,71 +264,110 @@ class BacklogItemServiceTest {
 
     @Test
     void getBacklogStatistics_Success() {
-        when(backlogItemRepository.countByUserAndStatus(eq(testUser), any(BacklogStatus.class)))
-            .thenReturn(1L);
+        testStats.adjust(BacklogStatus.COMPLETED, 2);
+        when(userBacklogStatsRepository.findById(testUser.getUserId())).thenReturn(Optional.of(testStats));
 
         Map<BacklogStatus, Long> result = backlogItemService.getBacklogStatistics(testUser);
 
         assertNotNull(result);
         assertEquals(BacklogStatus.values().length, result.size());
-        result.values().forEach(count -> assertEquals(1L, count));
-        verify(backlogItemRepository, times(BacklogStatus.values().length))
-            .countByUserAndStatus(eq(testUser), any(BacklogStatus.class));
+        assertEquals(1L, result.get(BacklogStatus.TO_PLAY));
+        assertEquals(2L, result.get(BacklogStatus.COMPLETED));
+        assertEquals(0L, result.get(BacklogStatus.IN_PROGRESS));
+        verifyNoInteractions(backlogItemRepository);
     }
 
     @Test
-    void batchUpdateStatus_AllGamesInBacklog_Success() {
-        Map<Game, BacklogStatus> updates = new HashMap<>();
-        updates.put(testGame, BacklogStatus.IN_PROGRESS);
+    void getBacklogStatistics_NoCounters_UsesSingleGroupedQuery() {
+        when(userBacklogStatsRepository.findById(testUser.getUserId())).thenReturn(Optional.empty());
+        when(backlogItemRepository.countByUserGroupByStatus(testUser))
+            .thenReturn(List.of(new BacklogStatusCount(BacklogStatus.IN_PROGRESS, 4L)));
 
-        when(backlogItemRepository.findByUserAndGame(testUser, testGame))
-            .thenReturn(Optional.of(testBacklogItem));
-        when(backlogItemRepository.save(any(BacklogItem.class)))
-            .thenReturn(testBacklogItem);
+        Map<BacklogStatus, Long> result = backlogItemService.getBacklogStatistics(testUser);
 
-        List<BacklogItem> result = backlogItemService.batchUpdateStatus(testUser, updates);
+        assertEquals(BacklogStatus.values().length, result.size());
+        assertEquals(4L, result.get(BacklogStatus.IN_PROGRESS));
+        assertEquals(0L, result.get(BacklogStatus.TO_PLAY));
+        verify(backlogItemRepository).countByUserGroupByStatus(testUser);
+        verify(backlogItemRepository, never()).countByUserAndStatus(any(), any());
+        verify(userBacklogStatsRepository, never()).save(any());
+    }
 
-        assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals(BacklogStatus.IN_PROGRESS, result.get(0).getStatus());
-        verify(backlogItemRepository).save(any(BacklogItem.class));
+    @Test
+    void batchUpdateStatus_AllGamesInBacklog_SingleBulkUpdatePerStatus() {
+        Map<Long, BacklogStatus> updates = new LinkedHashMap<>();
+        updates.put(1L, BacklogStatus.IN_PROGRESS);
+        updates.put(2L, BacklogStatus.IN_PROGRESS);
+        updates.put(3L, BacklogStatus.COMPLETED);
+        testStats.adjust(BacklogStatus.TO_PLAY, 2);
+
+        when(backlogItemRepository.findItemStatusesByUserAndGameIds(testUser, updates.keySet()))
+            .thenReturn(List.of(
+                new Object[]{11L, 1L, BacklogStatus.TO_PLAY},
+                new Object[]{12L, 2L, BacklogStatus.TO_PLAY},
+                new Object[]{13L, 3L, BacklogStatus.TO_PLAY}));
+
+        BacklogBatchUpdateResult result = backlogItemService.batchUpdateStatus(testUser, updates);
+
+        assertEquals(3, result.getUpdatedCount());
+        assertEquals(0, result.getFailedCount());
+        assertEquals(List.of(1L, 2L, 3L), result.getResults().stream()
+            .map(BacklogBatchUpdateResult.ItemResult::getGameId).toList());
+        verify(backlogItemRepository).updateStatusByIds(List.of(11L, 12L), BacklogStatus.IN_PROGRESS);
+        verify(backlogItemRepository).updateStatusByIds(List.of(13L), BacklogStatus.COMPLETED);
+        verify(backlogItemRepository, never()).findByUserAndGame(any(), any());
+        verify(backlogItemRepository, never()).save(any(BacklogItem.class));
+        assertEquals(0L, testStats.getCount(BacklogStatus.TO_PLAY));
+        assertEquals(2L, testStats.getCount(BacklogStatus.IN_PROGRESS));
+        assertEquals(1L, testStats.getCount(BacklogStatus.COMPLETED));
+        verify(cacheInvalidator).evict("backlogStats", testUser.getUserId());
     }
 
     @Test
     void batchUpdateStatus_SomeGamesNotInBacklog_PartialSuccess() {
-        Game game2 = new Game();
-        game2.setGameId(2L);
-        
-        Map<Game, BacklogStatus> updates = new HashMap<>();
-        updates.put(testGame, BacklogStatus.IN_PROGRESS);
-        updates.put(game2, BacklogStatus.TO_PLAY);
+        Map<Long, BacklogStatus> updates = new LinkedHashMap<>();
+        updates.put(1L, BacklogStatus.IN_PROGRESS);
+        updates.put(2L, BacklogStatus.TO_PLAY);
+
+        when(backlogItemRepository.findItemStatusesByUserAndGameIds(testUser, updates.keySet()))
+            .thenReturn(List.<Object[]>of(new Object[]{11L, 1L, BacklogStatus.TO_PLAY}));
+
+        BacklogBatchUpdateResult result = backlogItemService.batchUpdateStatus(testUser, updates);
+
+        assertEquals(1, result.getUpdatedCount());
+        assertEquals(1, result.getFailedCount());
+        BacklogBatchUpdateResult.ItemResult failure = result.getResults().get(1);
+        assertEquals(2L, failure.getGameId());
+        assertFalse(failure.isSuccess());
+        assertEquals("Game not found in user's backlog", failure.getError());
+        verify(backlogItemRepository).updateStatusByIds(List.of(11L), BacklogStatus.IN_PROGRESS);
+    }
 
-        when(backlogItemRepository.findByUserAndGame(testUser, testGame))
-            .thenReturn(Optional.of(testBacklogItem));
-        when(backlogItemRepository.findByUserAndGame(testUser, game2))
-            .thenReturn(Optional.empty());
-        when(backlogItemRepository.save(any(BacklogItem.class)))
-            .thenReturn(testBacklogItem);
+    @Test
+    void batchUpdateStatus_InvalidTransition_ReportsFailure() {
+        Map<Long, BacklogStatus> updates = Map.of(1L, BacklogStatus.TO_PLAY);
 
-        List<BacklogItem> result = backlogItemService.batchUpdateStatus(testUser, updates);
+        when(backlogItemRepository.findItemStatusesByUserAndGameIds(testUser, updates.keySet()))
+            .thenReturn(List.<Object[]>of(new Object[]{11L, 1L, BacklogStatus.COMPLETED}));
 
-        assertNotNull(result);
-        assertEquals(1, result.size());
-        verify(backlogItemRepository).save(any(BacklogItem.class));
+        BacklogBatchUpdateResult result = backlogItemService.batchUpdateStatus(testUser, updates);
+
+        assertEquals(0, result.getUpdatedCount());
+        assertEquals(1, result.getFailedCount());
+        assertFalse(result.getResults().get(0).isSuccess());
+        verify(backlogItemRepository, never()).updateStatusByIds(any(), any());
+        verifyNoInteractions(cacheInvalidator);
     }
 
     @Test
-    void batchUpdateStatus_InvalidTransition_PartialSuccess() {
-        testBacklogItem.setStatus(BacklogStatus.COMPLETED);
-        Map<Game, BacklogStatus> updates = new HashMap<>();
-        updates.put(testGame, BacklogStatus.TO_PLAY);
-
-        when(backlogItemRepository.findByUserAndGame(testUser, testGame))
-            .thenReturn(Optional.of(testBacklogItem));
+    void batchUpdateStatus_TooManyGames_ThrowsException() {
+        Map<Long, BacklogStatus> updates = new HashMap<>();
+        for (long gameId = 1; gameId <= BacklogItemService.MAX_BATCH_SIZE + 1; gameId++) {
+            updates.put(gameId, BacklogStatus.IN_PROGRESS);
+        }
 
-        List<BacklogItem> result = backlogItemService.batchUpdateStatus(testUser, updates);
+        assertThrows(BacklogException.class, () -> backlogItemService.batchUpdateStatus(testUser, updates));
 
-        assertTrue(result.isEmpty());
-        verify(backlogItemRepository, never()).save(any(BacklogItem.class));
+        verifyNoInteractions(backlogItemRepository);
     }
-} 
\ No newline at end of file
+}
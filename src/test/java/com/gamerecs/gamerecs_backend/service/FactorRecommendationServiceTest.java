@@ -0,0 +1,129 @@
+package com.gamerecs.gamerecs_backend.service;
+
+import com.gamerecs.gamerecs_backend.dto.GameRecommendation;
+import com.gamerecs.gamerecs_backend.model.Game;
+import com.gamerecs.gamerecs_backend.recommendation.FactorModel;
+import com.gamerecs.gamerecs_backend.recommendation.RatingMatrix;
+import com.gamerecs.gamerecs_backend.repository.RatingRepository;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import static org.mockito.Mockito.*;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class FactorRecommendationServiceTest {
+
+    @Mock
+    private RatingRepository ratingRepository;
+
+    @Mock
+    private RatingMatrixLoader ratingMatrixLoader;
+
+    @Mock
+    private GameService gameService;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void recommend_UnknownUser_ReturnsEmpty() {
+        FactorRecommendationService service = service("");
+        service.train();
+
+        assertEquals(List.of(), service.recommend(99L, 10));
+        verifyNoInteractions(gameService);
+    }
+
+    @Test
+    void recommend_ExcludesRatedGames() {
+        FactorRecommendationService service = service("");
+        service.train();
+        when(ratingRepository.findRatingSignalsByUser(4L)).thenReturn(List.of(
+                new Object[] {10L, 100, null},
+                new Object[] {30L, 0, null}));
+        when(gameService.findAllByIdInOrder(List.of(20L))).thenReturn(List.of(game(20L)));
+
+        List<GameRecommendation> recommendations = service.recommend(4L, 10);
+
+        assertEquals(1, recommendations.size());
+        assertEquals(20L, recommendations.get(0).getGameId());
+        assertNull(recommendations.get(0).getBecauseYouRatedGameId());
+    }
+
+    @Test
+    void start_SavedModel_LoadsWithoutTraining() throws IOException {
+        Path path = directory.resolve("als.bin");
+        FactorModel.of(new long[] {4L}, new long[] {10L, 20L}, 1, new float[] {1f}, new float[] {0.2f, 0.9f})
+                .save(path);
+        FactorRecommendationService service = service(path.toString());
+        when(ratingRepository.findRatingSignalsByUser(4L)).thenReturn(List.of());
+        when(gameService.findAllByIdInOrder(List.of(20L))).thenReturn(List.of(game(20L)));
+
+        service.start();
+        List<GameRecommendation> recommendations = service.recommend(4L, 1);
+
+        verifyNoInteractions(ratingMatrixLoader);
+        assertEquals(20L, recommendations.get(0).getGameId());
+        assertEquals(0.9, recommendations.get(0).getScore(), 1e-6);
+    }
+
+    @Test
+    void train_WithModelPath_SavesModel() {
+        Path path = directory.resolve("als.bin");
+        service(path.toString()).train();
+
+        FactorRecommendationService restarted = service(path.toString());
+        restarted.start();
+
+        verify(ratingMatrixLoader, times(1)).load(true);
+    }
+
+    @Test
+    void start_NoSavedModel_TrainsOnExecutor() {
+        List<Runnable> tasks = new ArrayList<>();
+        FactorRecommendationService service = service("", tasks::add);
+
+        service.start();
+
+        verifyNoInteractions(ratingMatrixLoader);
+        assertEquals(List.of(), service.recommend(4L, 10));
+        assertEquals(1, tasks.size());
+
+        tasks.get(0).run();
+        when(ratingRepository.findRatingSignalsByUser(4L)).thenReturn(List.of(
+                new Object[] {10L, 100, null},
+                new Object[] {30L, 0, null}));
+        when(gameService.findAllByIdInOrder(List.of(20L))).thenReturn(List.of(game(20L)));
+
+        assertEquals(20L, service.recommend(4L, 10).get(0).getGameId());
+    }
+
+    private FactorRecommendationService service(String modelPath) {
+        return service(modelPath, Runnable::run);
+    }
+
+    private FactorRecommendationService service(String modelPath, Executor trainingExecutor) {
+        lenient().when(ratingMatrixLoader.load(true)).thenReturn(RatingMatrix.builder(11)
+                .add(1L, 10L, 0.9f).add(1L, 20L, 0.8f).add(1L, 30L, 0.1f)
+                .add(2L, 10L, 0.8f).add(2L, 20L, 0.9f).add(2L, 30L, 0.2f)
+                .add(3L, 10L, 0.3f).add(3L, 20L, 0.2f).add(3L, 30L, 0.7f)
+                .add(4L, 10L, 1.0f).add(4L, 30L, 0.0f)
+                .build(true));
+        return new FactorRecommendationService(ratingRepository, ratingMatrixLoader, gameService,
+                4, 10, 0.05f, false, 0f, 2, modelPath, trainingExecutor);
+    }
+
+    private static Game game(Long gameId) {
+        Game game = new Game("Game " + gameId);
+        game.setGameId(gameId);
+        return game;
+    }
+}
@@ -0,0 +1,183 @@
+package com.gamerecs.gamerecs_backend.service;
+
+import com.gamerecs.gamerecs_backend.dto.GameRatingSummary;
+import com.gamerecs.gamerecs_backend.model.GameRatingStats;
+import com.gamerecs.gamerecs_backend.repository.GameRatingStatsRepository;
+import com.gamerecs.gamerecs_backend.repository.RatingRepository;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import static org.mockito.Mockito.*;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class GameRatingStatsServiceTest {
+
+    @Mock
+    private GameRatingStatsRepository statsRepository;
+
+    @Mock
+    private RatingRepository ratingRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private GameRatingStatsService gameRatingStatsService;
+
+    @BeforeEach
+    void setUp() {
+        gameRatingStatsService = new GameRatingStatsService(statsRepository, ratingRepository, transactionManager,
+            1000, Runnable::run);
+    }
+
+    @Test
+    void recordAdded_FirstRating_CreatesSummaryFromRatings() {
+        when(statsRepository.insertIfAbsent(1L)).thenReturn(1);
+        when(statsRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(new GameRatingStats(1L)));
+        when(ratingRepository.countRatingsByValueForGame(1L))
+            .thenReturn(Collections.singletonList(new Object[] {70, 1L}));
+
+        gameRatingStatsService.recordAdded(1L, 70);
+
+        ArgumentCaptor<GameRatingStats> captor = ArgumentCaptor.forClass(GameRatingStats.class);
+        verify(statsRepository).save(captor.capture());
+        assertEquals(1L, captor.getValue().getGameId());
+        assertEquals(1, captor.getValue().getRatingCount());
+        assertEquals(70.0, captor.getValue().getAverageRating());
+    }
+
+    @Test
+    void recordRemoved_MissingSummary_BackfillsFromRatingsInsteadOfFailing() {
+        // The game was rated before summaries were kept; the removed rating is already gone from the table
+        when(statsRepository.insertIfAbsent(1L)).thenReturn(1);
+        when(statsRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(new GameRatingStats(1L)));
+        when(ratingRepository.countRatingsByValueForGame(1L))
+            .thenReturn(Arrays.asList(new Object[] {30, 1L}, new Object[] {90, 2L}));
+
+        gameRatingStatsService.recordRemoved(1L, 50);
+
+        ArgumentCaptor<GameRatingStats> captor = ArgumentCaptor.forClass(GameRatingStats.class);
+        verify(statsRepository).save(captor.capture());
+        assertEquals(3, captor.getValue().getRatingCount());
+        assertEquals(30, captor.getValue().getMinRating());
+        verify(ratingRepository).flush();
+    }
+
+    @Test
+    void recordChanged_SameValue_DoesNotTouchSummary() {
+        gameRatingStatsService.recordChanged(1L, 70, 70);
+
+        verifyNoInteractions(statsRepository);
+    }
+
+    @Test
+    void recordRemoved_UpdatesLockedSummary() {
+        GameRatingStats stats = new GameRatingStats(1L);
+        stats.add(40);
+        stats.add(80);
+        when(statsRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(stats));
+
+        gameRatingStatsService.recordRemoved(1L, 40);
+
+        assertEquals(1, stats.getRatingCount());
+        assertEquals(80, stats.getMinRating());
+        verify(statsRepository).save(stats);
+    }
+
+    @Test
+    void getSummaries_SkipsGamesWithoutRatings() {
+        GameRatingStats rated = new GameRatingStats(1L);
+        rated.add(90);
+        when(statsRepository.findAllById(Arrays.asList(1L, 2L)))
+            .thenReturn(Arrays.asList(rated, new GameRatingStats(2L)));
+
+        Map<Long, GameRatingSummary> summaries = gameRatingStatsService.getSummaries(Arrays.asList(1L, 2L));
+
+        assertEquals(1, summaries.size());
+        assertEquals(90.0, summaries.get(1L).getAverageRating());
+        assertEquals(1L, summaries.get(1L).getRatingCount());
+    }
+
+    @Test
+    void getSummaries_EmptyIds_DoesNotQuery() {
+        assertTrue(gameRatingStatsService.getSummaries(Collections.emptyList()).isEmpty());
+
+        verifyNoInteractions(statsRepository);
+    }
+
+    @Test
+    void verifyAndRepair_RebuildsOnlyDriftedAndMissingSummaries() {
+        int[] accurate = new int[GameRatingStats.BUCKETS];
+        accurate[50] = 2;
+        int[] drifted = new int[GameRatingStats.BUCKETS];
+        drifted[60] = 1;
+        List<Object[]> histograms = Arrays.asList(
+            new Object[] {1L, accurate},
+            new Object[] {2L, drifted});
+        when(statsRepository.findMaxGameId()).thenReturn(2L);
+        when(ratingRepository.findMaxRatedGameId()).thenReturn(3L);
+        when(statsRepository.findHistogramsBetween(0L, 999L)).thenReturn(histograms);
+        when(ratingRepository.countRatingsByGameAndValueBetween(0L, 999L)).thenReturn(Arrays.asList(
+            new Object[] {1L, 50, 2L},
+            new Object[] {2L, 60, 3L},
+            new Object[] {3L, 10, 1L}));
+        when(statsRepository.findByIdForUpdate(anyLong()))
+            .thenAnswer(invocation -> Optional.of(new GameRatingStats(invocation.getArgument(0))));
+        when(ratingRepository.countRatingsByValueForGame(2L))
+            .thenReturn(Collections.singletonList(new Object[] {60, 3L}));
+        when(ratingRepository.countRatingsByValueForGame(3L))
+            .thenReturn(Collections.singletonList(new Object[] {10, 1L}));
+        when(statsRepository.save(any(GameRatingStats.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        int repaired = gameRatingStatsService.verifyAndRepair();
+
+        assertEquals(2, repaired);
+        ArgumentCaptor<GameRatingStats> captor = ArgumentCaptor.forClass(GameRatingStats.class);
+        verify(statsRepository, times(2)).save(captor.capture());
+        assertEquals(3, captor.getAllValues().get(0).getRatingCount());
+        assertEquals(10, captor.getAllValues().get(1).getMinRating());
+        verify(ratingRepository, never()).countRatingsByValueForGame(1L);
+    }
+
+    @Test
+    void verifyAndRepair_ChecksGamesInBatchesOfIds() {
+        gameRatingStatsService = new GameRatingStatsService(statsRepository, ratingRepository, transactionManager,
+            2, Runnable::run);
+        when(statsRepository.findMaxGameId()).thenReturn(5L);
+        when(ratingRepository.findMaxRatedGameId()).thenReturn(null);
+
+        assertEquals(0, gameRatingStatsService.verifyAndRepair());
+
+        verify(ratingRepository).countRatingsByGameAndValueBetween(0L, 1L);
+        verify(ratingRepository).countRatingsByGameAndValueBetween(2L, 3L);
+        verify(ratingRepository).countRatingsByGameAndValueBetween(4L, 5L);
+        verify(ratingRepository, times(3)).countRatingsByGameAndValueBetween(anyLong(), anyLong());
+        verify(transactionManager, times(3)).commit(any());
+    }
+
+    @Test
+    void start_VerifiesOnExecutor() {
+        List<Runnable> tasks = new ArrayList<>();
+        gameRatingStatsService = new GameRatingStatsService(statsRepository, ratingRepository, transactionManager,
+            1000, tasks::add);
+
+        gameRatingStatsService.start();
+
+        verifyNoInteractions(statsRepository, ratingRepository);
+        assertEquals(1, tasks.size());
+
+        tasks.get(0).run();
+
+        verify(statsRepository).findHistogramsBetween(0L, 999L);
+    }
+}
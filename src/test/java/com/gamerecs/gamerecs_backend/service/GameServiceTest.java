@@ -1,16 +1,23 @@
 package com.gamerecs.gamerecs_backend.service;
 
 import com.gamerecs.gamerecs_backend.config.ApplicationConfig;
+import com.gamerecs.gamerecs_backend.dto.KeysetSlice;
 import com.gamerecs.gamerecs_backend.model.Game;
+import com.gamerecs.gamerecs_backend.repository.CatalogDictionary;
 import com.gamerecs.gamerecs_backend.repository.GameRepository;
 import com.gamerecs.gamerecs_backend.repository.RatingRepository;
+import com.gamerecs.gamerecs_backend.search.GameSearchBackend;
+import com.gamerecs.gamerecs_backend.util.IdBatch;
 import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.LongStream;
 import static org.junit.jupiter.api.Assertions.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import static org.mockito.Mockito.*;
@@ -19,6 +26,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 
 @ExtendWith(MockitoExtension.class)
 class GameServiceTest {
@@ -29,6 +37,21 @@ class GameServiceTest {
     @Mock
     private RatingRepository ratingRepository;
 
+    @Mock
+    private GameSearchBackend searchBackend;
+
+    @Mock
+    private GameSuggestionService gameSuggestionService;
+
+    @Mock
+    private GameFacetService gameFacetService;
+
+    @Mock
+    private CatalogDictionary catalogDictionary;
+
+    @Mock
+    private CatalogDictionary.Dictionary dictionary;
+
     @Mock
     private ApplicationConfig applicationConfig;
 
@@ -85,7 +108,7 @@ class GameServiceTest {
     void searchByTitle_WithResults_ReturnsPageOfGames() {
         List<Game> games = Arrays.asList(testGame);
         Page<Game> gamePage = new PageImpl<>(games, pageable, 1);
-        when(gameRepository.findByTitleContainingIgnoreCase(anyString(), any(Pageable.class)))
+        when(searchBackend.search(anyString(), any(Pageable.class)))
             .thenReturn(gamePage);
 
         Page<Game> result = gameService.searchByTitle("Test", pageable);
@@ -93,35 +116,50 @@ class GameServiceTest {
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
         assertEquals(testGame.getTitle(), result.getContent().get(0).getTitle());
-        verify(gameRepository).findByTitleContainingIgnoreCase("Test", pageable);
+        verify(searchBackend).search("Test", pageable);
     }
 
     @Test
     void findByGenre_WithResults_ReturnsPageOfGames() {
         List<Game> games = Arrays.asList(testGame);
         Page<Game> gamePage = new PageImpl<>(games, pageable, 1);
-        when(gameRepository.findByGenre(anyString(), any(Pageable.class)))
+        when(catalogDictionary.genres()).thenReturn(dictionary);
+        when(dictionary.namesMatching("rpg")).thenReturn(List.of("RPG"));
+        when(gameRepository.findByGenreIn(anyCollection(), any(Pageable.class)))
             .thenReturn(gamePage);
 
-        Page<Game> result = gameService.findByGenre("RPG", pageable);
+        Page<Game> result = gameService.findByGenre("rpg", pageable);
 
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
-        verify(gameRepository).findByGenre("RPG", pageable);
+        verify(gameRepository).findByGenreIn(List.of("RPG"), pageable);
+    }
+
+    @Test
+    void findByGenre_UnknownGenre_ReturnsEmptyPageWithoutQuery() {
+        when(catalogDictionary.genres()).thenReturn(dictionary);
+        when(dictionary.namesMatching("Unknown")).thenReturn(List.of());
+
+        Page<Game> result = gameService.findByGenre("Unknown", pageable);
+
+        assertTrue(result.isEmpty());
+        verifyNoInteractions(gameRepository);
     }
 
     @Test
     void findByPlatform_WithResults_ReturnsPageOfGames() {
         List<Game> games = Arrays.asList(testGame);
         Page<Game> gamePage = new PageImpl<>(games, pageable, 1);
-        when(gameRepository.findByPlatform(anyString(), any(Pageable.class)))
+        when(catalogDictionary.platforms()).thenReturn(dictionary);
+        when(dictionary.namesMatching("PC")).thenReturn(List.of("PC"));
+        when(gameRepository.findByPlatformIn(anyCollection(), any(Pageable.class)))
             .thenReturn(gamePage);
 
         Page<Game> result = gameService.findByPlatform("PC", pageable);
 
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
-        verify(gameRepository).findByPlatform("PC", pageable);
+        verify(gameRepository).findByPlatformIn(List.of("PC"), pageable);
     }
 
     @Test
@@ -147,7 +185,12 @@ class GameServiceTest {
 
         assertNotNull(result);
         assertEquals(testGame.getGameId(), result.getGameId());
-        verify(gameRepository).save(testGame);
+        InOrder inOrder = inOrder(catalogDictionary, gameRepository);
+        inOrder.verify(catalogDictionary).resolve(testGame);
+        inOrder.verify(gameRepository).save(testGame);
+        verify(searchBackend).gameSaved(testGame);
+        verify(gameSuggestionService).gameSaved(testGame);
+        verify(gameFacetService).gameSaved(1L, GameFacetService.facetValues(testGame));
     }
 
     @Test
@@ -206,4 +249,56 @@ class GameServiceTest {
         assertEquals(testGame.getGameId(), result.getContent().get(0).getGameId());
         verify(gameRepository).findAll(pageable);
     }
-} 
\ No newline at end of file
+
+    @Test
+    void findAllByIdInOrder_ReturnsGamesInRequestOrder() {
+        Game other = new Game("Other Game");
+        other.setGameId(2L);
+        when(gameRepository.findAllById(any())).thenReturn(Arrays.asList(testGame, other));
+
+        List<Game> result = gameService.findAllByIdInOrder(Arrays.asList(2L, 3L, 1L, 2L));
+
+        assertEquals(Arrays.asList(other, testGame), result);
+        verify(gameRepository).findAllById(new LinkedHashSet<>(Arrays.asList(2L, 3L, 1L)));
+    }
+
+    @Test
+    void findAllByIdInOrder_TooManyIds_ThrowsException() {
+        List<Long> ids = LongStream.rangeClosed(1, IdBatch.MAX_SIZE + 1)
+                .boxed()
+                .toList();
+
+        assertThrows(IllegalArgumentException.class, () -> gameService.findAllByIdInOrder(ids));
+        verifyNoInteractions(gameRepository);
+    }
+
+    @Test
+    void findAllByIdInOrder_NoIds_SkipsQuery() {
+        assertTrue(gameService.findAllByIdInOrder(List.of()).isEmpty());
+        verifyNoInteractions(gameRepository);
+    }
+
+    @Test
+    void scrollGames_ByTitle_ReturnsCursorOfLastGame() {
+        Game next = new Game("Next Game");
+        next.setGameId(2L);
+        when(gameRepository.findAfterTitle("", 0L, PageRequest.of(0, 2)))
+            .thenReturn(new SliceImpl<>(List.of(testGame, next), PageRequest.of(0, 2), true));
+        when(gameRepository.findAfterTitle("Next Game", 2L, PageRequest.of(0, 2)))
+            .thenReturn(new SliceImpl<>(List.of(), PageRequest.of(0, 2), false));
+
+        KeysetSlice<Game> first = gameService.scrollGames("title", null, 2);
+        KeysetSlice<Game> second = gameService.scrollGames("title", first.getNextCursor(), 2);
+
+        assertEquals(List.of(testGame, next), first.getContent());
+        assertTrue(first.isHasNext());
+        assertTrue(second.getContent().isEmpty());
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    void scrollGames_UnknownSort_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> gameService.scrollGames("rating", null, 10));
+        verifyNoInteractions(gameRepository);
+    }
+}
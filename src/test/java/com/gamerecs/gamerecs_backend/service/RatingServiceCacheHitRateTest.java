@@ -0,0 +1,160 @@
+package com.gamerecs.gamerecs_backend.service;
+
+import com.gamerecs.gamerecs_backend.config.CacheConfig;
+import com.gamerecs.gamerecs_backend.config.CacheInvalidator;
+import com.gamerecs.gamerecs_backend.config.CacheProperties;
+import com.gamerecs.gamerecs_backend.config.PagedCacheKeyGenerator;
+import com.gamerecs.gamerecs_backend.config.PagedCachePolicy;
+import com.gamerecs.gamerecs_backend.model.Game;
+import com.gamerecs.gamerecs_backend.model.User;
+import com.gamerecs.gamerecs_backend.repository.RatingRepository;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Replays a mixed read/write workload through {@link RatingService}, so that the hit rate of the rating caches
+ * reflects the evictions the service actually makes, including the pages of games whose ranks a write shifts.
+ */
+@SpringBootTest(classes = {CacheConfig.class, CacheProperties.class, CacheInvalidator.class,
+        PagedCacheKeyGenerator.class, PagedCachePolicy.class, UserRatingIndex.class, PercentileRankMaintainer.class,
+        RatingService.class})
+class RatingServiceCacheHitRateTest {
+
+    private static final Logger log = LoggerFactory.getLogger(RatingServiceCacheHitRateTest.class);
+
+    private static final int USERS = 200;
+    private static final int GAMES = 200;
+    private static final int OPERATIONS = 50_000;
+    private static final double WRITE_RATIO = 0.1;
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, 20);
+
+    @MockBean
+    private RatingRepository ratingRepository;
+
+    @MockBean
+    private GameRatingStatsService gameRatingStatsService;
+
+    @MockBean
+    private UserLockStrategy userLockStrategy;
+
+    @Autowired
+    private RatingService ratingService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    /** The games each user has rated, whose ranks a new rating of the user shifts */
+    private final Map<Long, Set<Long>> ratedGames = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        // Every user has enough distinct ratings for a new one to be accepted
+        List<Object[]> histogram = new ArrayList<>();
+        for (int value = 10; value <= 50; value += 10) {
+            histogram.add(new Object[] {value, 1L});
+        }
+        when(ratingRepository.countRatingsByValueForUser(anyLong())).thenReturn(histogram);
+        when(ratingRepository.updatePercentileRanks(anyLong(), anyMap())).thenAnswer(invocation ->
+                List.copyOf(ratedGames.getOrDefault(invocation.<Long>getArgument(0), Set.of())));
+        Page<Object> empty = new PageImpl<>(List.of());
+        doReturn(empty).when(ratingRepository).findByUser(any(User.class), any(Pageable.class));
+        doReturn(empty).when(ratingRepository).findByGame(any(Game.class), any(Pageable.class));
+    }
+
+    @Test
+    void mixedReadWriteWorkload_ScopedEvictionImprovesHitRate() {
+        double clearAllHitRate = runWorkload(false);
+        double scopedHitRate = runWorkload(true);
+
+        log.info("Rating cache hit rate with {}% writes: allEntries={}, scoped={}",
+                Math.round(WRITE_RATIO * 100), String.format("%.3f", clearAllHitRate), String.format("%.3f", scopedHitRate));
+        assertTrue(scopedHitRate > clearAllHitRate + 0.3,
+                "Scoped eviction should keep the hit rate well above full cache clears");
+    }
+
+    /**
+     * Replay the same read/write mix through the rating service.
+     * Reads fetch a game's average, a game's first page or a user's first page; writes are single ratings.
+     * @param scoped whether writes keep the service's own evictions or also clear the caches entirely
+     * @return the combined hit rate of the rating caches
+     */
+    private double runWorkload(boolean scoped) {
+        Cache[] caches = {cacheManager.getCache("userRatings"), cacheManager.getCache("gameRatings"),
+                cacheManager.getCache("averageRatings")};
+        for (Cache cache : caches) {
+            cache.clear();
+        }
+        ratedGames.clear();
+        long[] hitsBefore = new long[caches.length];
+        long[] requestsBefore = new long[caches.length];
+        for (int c = 0; c < caches.length; c++) {
+            var stats = ((CaffeineCache) caches[c]).getNativeCache().stats();
+            hitsBefore[c] = stats.hitCount();
+            requestsBefore[c] = stats.requestCount();
+        }
+
+        Random random = new Random(42);
+        for (int i = 0; i < OPERATIONS; i++) {
+            User user = user(random.nextInt(USERS));
+            Game game = game(random.nextInt(GAMES));
+            if (random.nextDouble() < WRITE_RATIO) {
+                ratingService.addOrUpdateRating(user, game, random.nextInt(101));
+                ratedGames.computeIfAbsent(user.getUserId(), id -> new HashSet<>()).add(game.getGameId());
+                if (!scoped) {
+                    for (Cache cache : caches) {
+                        cache.clear();
+                    }
+                }
+                continue;
+            }
+            switch (random.nextInt(3)) {
+                case 0 -> ratingService.getAverageRating(game.getGameId());
+                case 1 -> ratingService.getGameRatings(game, FIRST_PAGE);
+                default -> ratingService.getUserRatings(user, FIRST_PAGE);
+            }
+        }
+
+        long hits = 0;
+        long requests = 0;
+        for (int c = 0; c < caches.length; c++) {
+            var stats = ((CaffeineCache) caches[c]).getNativeCache().stats();
+            hits += stats.hitCount() - hitsBefore[c];
+            requests += stats.requestCount() - requestsBefore[c];
+        }
+        return (double) hits / requests;
+    }
+
+    private static User user(long userId) {
+        User user = new User();
+        user.setUserId(userId);
+        return user;
+    }
+
+    private static Game game(long gameId) {
+        Game game = new Game("Game " + gameId);
+        game.setGameId(gameId);
+        return game;
+    }
+}
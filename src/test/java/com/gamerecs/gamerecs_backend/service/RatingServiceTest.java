@@ -1,22 +1,32 @@
 package com.gamerecs.gamerecs_backend.service;
 
+import com.gamerecs.gamerecs_backend.config.CacheInvalidator;
+import com.gamerecs.gamerecs_backend.dto.UserGameRating;
 import com.gamerecs.gamerecs_backend.model.Game;
+import com.gamerecs.gamerecs_backend.model.GameRatingStats;
 import com.gamerecs.gamerecs_backend.model.Rating;
 import com.gamerecs.gamerecs_backend.model.User;
 import com.gamerecs.gamerecs_backend.repository.RatingRepository;
+import com.gamerecs.gamerecs_backend.util.IdBatch;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.LongStream;
 import static org.junit.jupiter.api.Assertions.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import static org.mockito.Mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -28,7 +38,15 @@ class RatingServiceTest {
     @Mock
     private RatingRepository ratingRepository;
 
-    @InjectMocks
+    @Mock
+    private GameRatingStatsService gameRatingStatsService;
+
+    @Mock
+    private UserLockStrategy userLockStrategy;
+
+    @Mock
+    private CacheInvalidator cacheInvalidator;
+
     private RatingService ratingService;
 
     private User testUser;
@@ -39,6 +57,11 @@ class RatingServiceTest {
 
     @BeforeEach
     void setUp() {
+        UserRatingIndex userRatingIndex = new UserRatingIndex(new CaffeineCacheManager(), ratingRepository);
+        PercentileRankMaintainer percentileRankMaintainer = new PercentileRankMaintainer(ratingRepository, userRatingIndex);
+        ratingService = new RatingService(ratingRepository, gameRatingStatsService, userRatingIndex,
+            percentileRankMaintainer, userLockStrategy, cacheInvalidator);
+
         testUser = new User();
         testUser.setUserId(1L);
         testUser.setUsername("testUser");
@@ -71,6 +94,14 @@ class RatingServiceTest {
         return rating;
     }
 
+    private List<Object[]> countByValue(List<Rating> ratings) {
+        Map<Integer, Long> counts = new TreeMap<>();
+        ratings.forEach(r -> counts.merge(r.getRatingValue(), 1L, Long::sum));
+        List<Object[]> rows = new ArrayList<>();
+        counts.forEach((value, count) -> rows.add(new Object[] {value, count}));
+        return rows;
+    }
+
     private int calculateMockPercentile(int value) {
         // Simple mock calculation for test data
         return Math.min((value * 100) / 100, 99);
@@ -83,10 +114,12 @@ class RatingServiceTest {
 
         when(ratingRepository.findByUserAndGame(testUser, testGame))
             .thenReturn(Optional.empty());
-        when(ratingRepository.findByUserOrderByRatingValueAsc(testUser))
-            .thenReturn(existingRatings);
+        when(ratingRepository.countRatingsByValueForUser(testUser.getUserId()))
+            .thenReturn(countByValue(existingRatings));
         when(ratingRepository.save(any(Rating.class)))
             .thenReturn(savedRating);
+        when(ratingRepository.updatePercentileRanks(eq(testUser.getUserId()), anyMap()))
+            .thenReturn(List.of(2L, 3L));
 
         Rating result = ratingService.addOrUpdateRating(testUser, testGame, 85);
 
@@ -95,6 +128,13 @@ class RatingServiceTest {
         assertNotNull(result.getPercentileRank());
         assertTrue(result.getPercentileRank() >= 0 && result.getPercentileRank() <= 99);
         verify(ratingRepository).save(any(Rating.class));
+        verify(gameRatingStatsService).recordAdded(testGame.getGameId(), 85);
+        verify(cacheInvalidator).evictScope("userRatings", testUser.getUserId());
+        verify(cacheInvalidator).evictScope("gameRatings", testGame.getGameId());
+        verify(cacheInvalidator).evict("averageRatings", testGame.getGameId());
+        // The pages of the games whose ratings changed rank are stale too
+        verify(cacheInvalidator).evictScopes("gameRatings", List.of(2L, 3L));
+        verifyNoMoreInteractions(cacheInvalidator);
     }
 
     @Test
@@ -107,8 +147,8 @@ class RatingServiceTest {
 
         when(ratingRepository.findByUserAndGame(testUser, testGame))
             .thenReturn(Optional.of(existingRating));
-        when(ratingRepository.findByUserOrderByRatingValueAsc(testUser))
-            .thenReturn(existingRatings);
+        when(ratingRepository.countRatingsByValueForUser(testUser.getUserId()))
+            .thenReturn(countByValue(existingRatings));
         when(ratingRepository.save(any(Rating.class)))
             .thenReturn(savedRating);
 
@@ -119,6 +159,86 @@ class RatingServiceTest {
         assertNotNull(result.getPercentileRank());
         assertTrue(result.getPercentileRank() >= 0 && result.getPercentileRank() <= 99);
         verify(ratingRepository).save(any(Rating.class));
+        verify(gameRatingStatsService).recordChanged(testGame.getGameId(), 70, 85);
+        verify(gameRatingStatsService, never()).recordAdded(anyLong(), anyInt());
+    }
+
+    @Test
+    void addOrUpdateRating_RepeatedWrites_UseIndexWithoutLoadingHistory() {
+        Game otherGame = new Game();
+        otherGame.setGameId(2L);
+
+        when(ratingRepository.findByUserAndGame(eq(testUser), any(Game.class)))
+            .thenReturn(Optional.empty());
+        when(ratingRepository.countRatingsByValueForUser(testUser.getUserId()))
+            .thenReturn(countByValue(existingRatings));
+        when(ratingRepository.save(any(Rating.class)))
+            .thenAnswer(invocation -> invocation.getArgument(0));
+
+        Rating first = ratingService.addOrUpdateRating(testUser, testGame, 85);
+        Rating second = ratingService.addOrUpdateRating(testUser, otherGame, 90);
+
+        // 5 of 6 ratings are lower, then 6 of 7 once the first write is indexed
+        assertEquals(83, first.getPercentileRank());
+        assertEquals(85, second.getPercentileRank());
+        verify(ratingRepository, times(1)).countRatingsByValueForUser(testUser.getUserId());
+        verify(ratingRepository, never()).findByUserOrderByRatingValueAsc(any(User.class));
+        verify(userLockStrategy, times(2)).lockForTransaction(testUser.getUserId());
+    }
+
+    @Test
+    void addOrUpdateRating_ClusterWideLock_ReloadsHistogramUnderLock() {
+        Game otherGame = new Game();
+        otherGame.setGameId(2L);
+
+        when(userLockStrategy.isClusterWide()).thenReturn(true);
+        when(ratingRepository.findByUserAndGame(eq(testUser), any(Game.class)))
+            .thenReturn(Optional.empty());
+        when(ratingRepository.countRatingsByValueForUser(testUser.getUserId()))
+            .thenReturn(countByValue(existingRatings));
+        when(ratingRepository.save(any(Rating.class)))
+            .thenAnswer(invocation -> invocation.getArgument(0));
+
+        ratingService.addOrUpdateRating(testUser, testGame, 85);
+        ratingService.addOrUpdateRating(testUser, otherGame, 90);
+
+        // Writes from other nodes are only visible in the database
+        verify(ratingRepository, times(2)).countRatingsByValueForUser(testUser.getUserId());
+    }
+
+    @Test
+    void addOrUpdateRating_UpdateExisting_ExcludesReplacedRatingFromPercentile() {
+        Rating existingRating = new Rating(testUser, testGame, 70);
+
+        when(ratingRepository.findByUserAndGame(testUser, testGame))
+            .thenReturn(Optional.of(existingRating));
+        when(ratingRepository.countRatingsByValueForUser(testUser.getUserId()))
+            .thenReturn(countByValue(existingRatings));
+        when(ratingRepository.save(any(Rating.class)))
+            .thenAnswer(invocation -> invocation.getArgument(0));
+
+        Rating result = ratingService.addOrUpdateRating(testUser, testGame, 85);
+
+        // The old 70 is replaced, so 4 of the user's 5 ratings are lower
+        assertEquals(80, result.getPercentileRank());
+        // Only values between the old and the new rating move
+        verify(ratingRepository).updatePercentileRanks(testUser.getUserId(), Map.of(75, 40, 80, 60, 85, 80));
+    }
+
+    @Test
+    void addOrUpdateRating_NewRating_RefreshesRanksOfOtherRatings() {
+        when(ratingRepository.findByUserAndGame(testUser, testGame))
+            .thenReturn(Optional.empty());
+        when(ratingRepository.countRatingsByValueForUser(testUser.getUserId()))
+            .thenReturn(countByValue(existingRatings));
+        when(ratingRepository.save(any(Rating.class)))
+            .thenAnswer(invocation -> invocation.getArgument(0));
+
+        ratingService.addOrUpdateRating(testUser, testGame, 85);
+
+        // A sixth rating shifts the rank of every existing value
+        verify(ratingRepository).updatePercentileRanks(testUser.getUserId(),
+            Map.of(60, 0, 65, 16, 70, 33, 75, 50, 80, 66, 85, 83));
     }
 
     @Test
@@ -134,8 +254,8 @@ class RatingServiceTest {
 
     @Test
     void addOrUpdateRating_InsufficientRatingHistory_ThrowsException() {
-        when(ratingRepository.findByUserOrderByRatingValueAsc(testUser))
-            .thenReturn(Arrays.asList(createRating(70), createRating(70), createRating(70)));
+        when(ratingRepository.countRatingsByValueForUser(testUser.getUserId()))
+            .thenReturn(countByValue(Arrays.asList(createRating(70), createRating(70), createRating(70))));
 
         assertThrows(IllegalArgumentException.class, () ->
             ratingService.addOrUpdateRating(testUser, testGame, 85));
@@ -178,8 +298,8 @@ class RatingServiceTest {
 
         when(ratingRepository.findByUserAndGame(testUser, testGame))
             .thenReturn(Optional.empty());
-        when(ratingRepository.findByUserOrderByRatingValueAsc(testUser))
-            .thenReturn(ratings);
+        when(ratingRepository.countRatingsByValueForUser(testUser.getUserId()))
+            .thenReturn(countByValue(ratings));
         when(ratingRepository.save(any(Rating.class)))
             .thenReturn(savedRating);
 
@@ -236,25 +356,40 @@ class RatingServiceTest {
 
     @Test
     void getAverageRating_ExistingRatings_ReturnsAverage() {
-        when(ratingRepository.calculateAverageRatingByGameId(1L))
-            .thenReturn(85.0);
+        GameRatingStats stats = new GameRatingStats(1L);
+        stats.add(80);
+        stats.add(90);
+        when(gameRatingStatsService.getStats(1L))
+            .thenReturn(Optional.of(stats));
 
         Double result = ratingService.getAverageRating(1L);
 
         assertNotNull(result);
         assertEquals(85.0, result);
-        verify(ratingRepository).calculateAverageRatingByGameId(1L);
+        verify(ratingRepository, never()).calculateAverageRatingByGameId(anyLong());
+    }
+
+    @Test
+    void getAverageRating_NoRatings_ReturnsNull() {
+        when(gameRatingStatsService.getStats(1L))
+            .thenReturn(Optional.empty());
+
+        assertNull(ratingService.getAverageRating(1L));
     }
 
     @Test
     void getRatingCount_ExistingGame_ReturnsCount() {
-        when(ratingRepository.countByGameGameId(1L))
-            .thenReturn(10L);
+        GameRatingStats stats = new GameRatingStats(1L);
+        for (int i = 0; i < 10; i++) {
+            stats.add(50 + i);
+        }
+        when(gameRatingStatsService.getStats(1L))
+            .thenReturn(Optional.of(stats));
 
         long result = ratingService.getRatingCount(1L);
 
         assertEquals(10L, result);
-        verify(ratingRepository).countByGameGameId(1L);
+        verify(ratingRepository, never()).countByGameGameId(anyLong());
     }
 
     @Test
@@ -279,6 +414,7 @@ class RatingServiceTest {
         ratingService.deleteRating(testRating);
 
         verify(ratingRepository).delete(testRating);
+        verify(gameRatingStatsService).recordRemoved(testGame.getGameId(), 85);
     }
 
     @Test
@@ -296,6 +432,39 @@ class RatingServiceTest {
         ratingService.deleteGameRatings(testGame);
 
         verify(ratingRepository).deleteByGame(testGame);
+        verify(gameRatingStatsService).recordAllRemoved(testGame.getGameId());
+    }
+
+    @Test
+    void deleteGameRatings_EvictsOnlyAffectedUsers() {
+        when(ratingRepository.findUserIdsByGame(testGame)).thenReturn(Arrays.asList(1L, 2L));
+
+        ratingService.deleteGameRatings(testGame);
+
+        verify(cacheInvalidator).evictScopes("userRatings", Arrays.asList(1L, 2L));
+        verify(cacheInvalidator).evictScopes("gameRatings", Set.of(testGame.getGameId()));
+        verify(cacheInvalidator).evict("averageRatings", testGame.getGameId());
+        verifyNoMoreInteractions(cacheInvalidator);
+    }
+
+    @Test
+    void deleteGameRatings_LocksAffectedUsersBeforeDeleting() {
+        when(ratingRepository.findUserIdsByGame(testGame)).thenReturn(Arrays.asList(2L, 1L));
+
+        ratingService.deleteGameRatings(testGame);
+
+        InOrder inOrder = inOrder(userLockStrategy, ratingRepository);
+        inOrder.verify(userLockStrategy).lockAllForTransaction(Arrays.asList(2L, 1L));
+        inOrder.verify(ratingRepository).deleteByGame(testGame);
+    }
+
+    @Test
+    void deleteUserRatings_LocksUserBeforeDeleting() {
+        ratingService.deleteUserRatings(testUser);
+
+        InOrder inOrder = inOrder(userLockStrategy, ratingRepository);
+        inOrder.verify(userLockStrategy).lockForTransaction(testUser.getUserId());
+        inOrder.verify(ratingRepository).deleteByUser(testUser);
     }
 
     @Test
@@ -306,4 +475,42 @@ class RatingServiceTest {
 
         verify(ratingRepository).deleteByUser(testUser);
     }
-} 
\ No newline at end of file
+
+    @Test
+    void deleteUserRatings_EvictsOnlyAffectedGames() {
+        when(ratingRepository.findGameIdsAndValuesByUser(testUser)).thenReturn(Arrays.asList(
+            new Object[] {4L, 70},
+            new Object[] {3L, 60}));
+
+        ratingService.deleteUserRatings(testUser);
+
+        InOrder statsOrder = inOrder(gameRatingStatsService);
+        statsOrder.verify(gameRatingStatsService).recordRemoved(3L, 60);
+        statsOrder.verify(gameRatingStatsService).recordRemoved(4L, 70);
+
+        verify(cacheInvalidator).evictScope("userRatings", testUser.getUserId());
+        verify(cacheInvalidator).evictScopes("gameRatings", List.of(3L, 4L));
+        verify(cacheInvalidator).evictAll("averageRatings", List.of(3L, 4L));
+        verifyNoMoreInteractions(cacheInvalidator);
+    }
+
+    @Test
+    void getUserRatingsForGames_ReturnsRatingsInRequestOrder() {
+        UserGameRating first = new UserGameRating(3L, 60, 25, LocalDateTime.now());
+        UserGameRating second = new UserGameRating(5L, 90, 75, LocalDateTime.now());
+        when(ratingRepository.findUserRatingsForGames(eq(1L), any())).thenReturn(Arrays.asList(first, second));
+
+        List<UserGameRating> result = ratingService.getUserRatingsForGames(1L, Arrays.asList(5L, 4L, 3L, 5L));
+
+        assertEquals(Arrays.asList(second, first), result);
+        verify(ratingRepository).findUserRatingsForGames(1L, new LinkedHashSet<>(Arrays.asList(5L, 4L, 3L)));
+    }
+
+    @Test
+    void getUserRatingsForGames_TooManyGames_ThrowsException() {
+        List<Long> gameIds = LongStream.rangeClosed(1, IdBatch.MAX_SIZE + 1).boxed().toList();
+
+        assertThrows(IllegalArgumentException.class, () -> ratingService.getUserRatingsForGames(1L, gameIds));
+        verifyNoInteractions(ratingRepository);
+    }
+}
@@ -0,0 +1,106 @@
+package com.gamerecs.gamerecs_backend.service;
+
+import com.gamerecs.gamerecs_backend.dto.GameDTO;
+import com.gamerecs.gamerecs_backend.dto.GameRatingSummary;
+import com.gamerecs.gamerecs_backend.dto.RatingView;
+import com.gamerecs.gamerecs_backend.repository.reactive.GameAttribute;
+import com.gamerecs.gamerecs_backend.repository.reactive.ReactiveGameRepository;
+import com.gamerecs.gamerecs_backend.repository.reactive.ReactiveRatingRepository;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.Mockito.*;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveCatalogServiceTest {
+
+    @Mock
+    private ReactiveGameRepository gameRepository;
+
+    @Mock
+    private ReactiveRatingRepository ratingRepository;
+
+    @InjectMocks
+    private ReactiveCatalogService catalogService;
+
+    @Test
+    void getGames_LoadsDetailsForWholePageAtOnce() {
+        when(gameRepository.findPage(20L, 20)).thenReturn(Flux.just(game(1L), game(2L)));
+        when(gameRepository.count()).thenReturn(Mono.just(42L));
+        when(gameRepository.findGenres(List.of(1L, 2L))).thenReturn(Flux.just(
+                new GameAttribute(1L, "RPG"), new GameAttribute(1L, "Action"), new GameAttribute(2L, "Puzzle")));
+        when(gameRepository.findPlatforms(List.of(1L, 2L))).thenReturn(Flux.just(new GameAttribute(2L, "PC")));
+        when(gameRepository.findRatingSummaries(List.of(1L, 2L)))
+                .thenReturn(Flux.just(new GameRatingSummary(1L, 75.0, 4L)));
+
+        Page<GameDTO> page = catalogService.getGames(PageRequest.of(1, 20)).block();
+
+        assertNotNull(page);
+        assertEquals(42L, page.getTotalElements());
+        GameDTO first = page.getContent().get(0);
+        assertEquals(List.of("RPG", "Action"), first.getGenres());
+        assertEquals(List.of(), first.getPlatforms());
+        assertEquals(75.0, first.getAverageRating());
+        assertEquals(4L, first.getTotalRatings());
+        GameDTO second = page.getContent().get(1);
+        assertEquals(List.of("Puzzle"), second.getGenres());
+        assertEquals(List.of("PC"), second.getPlatforms());
+        assertNull(second.getAverageRating());
+        assertEquals(0L, second.getTotalRatings());
+    }
+
+    @Test
+    void getGames_EmptyPage_SkipsDetailQueries() {
+        when(gameRepository.findPage(0L, 20)).thenReturn(Flux.empty());
+        when(gameRepository.count()).thenReturn(Mono.just(0L));
+
+        Page<GameDTO> page = catalogService.getGames(PageRequest.of(0, 20)).block();
+
+        assertNotNull(page);
+        assertTrue(page.getContent().isEmpty());
+        verify(gameRepository, never()).findGenres(any());
+        verify(gameRepository, never()).findPlatforms(any());
+        verify(gameRepository, never()).findRatingSummaries(any());
+    }
+
+    @Test
+    void getGame_NotFound_ReturnsEmpty() {
+        when(gameRepository.findById(99L)).thenReturn(Mono.empty());
+
+        assertNull(catalogService.getGame(99L).block());
+    }
+
+    @Test
+    void getGameRatings_ReturnsPage() {
+        RatingView rating = RatingView.builder().ratingId(5L).gameId(1L).userId(3L).ratingValue(80).build();
+        when(gameRepository.existsById(1L)).thenReturn(Mono.just(true));
+        when(ratingRepository.findByGameId(1L, 0L, 10)).thenReturn(Flux.just(rating));
+        when(ratingRepository.countByGameId(1L)).thenReturn(Mono.just(1L));
+
+        Page<RatingView> page = catalogService.getGameRatings(1L, PageRequest.of(0, 10)).block();
+
+        assertNotNull(page);
+        assertEquals(List.of(rating), page.getContent());
+        assertEquals(1L, page.getTotalElements());
+    }
+
+    @Test
+    void getGameRatings_GameNotFound_ReturnsEmpty() {
+        when(gameRepository.existsById(99L)).thenReturn(Mono.just(false));
+
+        assertNull(catalogService.getGameRatings(99L, PageRequest.of(0, 10)).block());
+        verify(ratingRepository, never()).findByGameId(anyLong(), anyLong(), anyInt());
+    }
+
+    private static GameDTO game(Long gameId) {
+        return GameDTO.builder().gameId(gameId).title("Game " + gameId).build();
+    }
+}
@@ -0,0 +1,105 @@
+package com.gamerecs.gamerecs_backend.service;
+
+import com.gamerecs.gamerecs_backend.dto.GameRecommendation;
+import com.gamerecs.gamerecs_backend.model.Game;
+import com.gamerecs.gamerecs_backend.recommendation.RatingMatrix;
+import com.gamerecs.gamerecs_backend.repository.RatingRepository;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import static org.mockito.Mockito.*;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class RecommendationServiceTest {
+
+    @Mock
+    private RatingRepository ratingRepository;
+
+    @Mock
+    private RatingMatrixLoader ratingMatrixLoader;
+
+    @Mock
+    private GameService gameService;
+
+    private RecommendationService recommendationService;
+
+    @BeforeEach
+    void setUp() {
+        recommendationService = new RecommendationService(ratingRepository, ratingMatrixLoader, gameService, 50, 2, 2,
+                Runnable::run);
+    }
+
+    @Test
+    void recommend_BeforeTraining_ReturnsEmpty() {
+        when(ratingRepository.findRatingSignalsByUser(4L)).thenReturn(List.<Object[]>of(new Object[] {10L, 100, null}));
+
+        assertEquals(List.of(), recommendationService.recommend(4L, 10));
+        verifyNoInteractions(gameService);
+    }
+
+    @Test
+    void recommend_AfterTraining_ReturnsGamesSimilarToLikedGames() {
+        train();
+        // Percentile ranks take precedence over raw values: game 10 is the user's favourite
+        when(ratingRepository.findRatingSignalsByUser(4L)).thenReturn(List.of(
+                new Object[] {10L, 60, 100},
+                new Object[] {30L, 70, 0}));
+        Game game = new Game("Game 20");
+        game.setGameId(20L);
+        when(gameService.findAllByIdInOrder(List.of(20L))).thenReturn(List.of(game));
+
+        List<GameRecommendation> recommendations = recommendationService.recommend(4L, 10);
+
+        assertEquals(1, recommendations.size());
+        assertEquals(20L, recommendations.get(0).getGameId());
+        assertEquals("Game 20", recommendations.get(0).getTitle());
+        assertEquals(10L, recommendations.get(0).getBecauseYouRatedGameId());
+        assertTrue(recommendations.get(0).getScore() > 0);
+    }
+
+    @Test
+    void start_TrainsOnExecutor() {
+        List<Runnable> tasks = new ArrayList<>();
+        recommendationService = new RecommendationService(ratingRepository, ratingMatrixLoader, gameService, 50, 2, 2,
+                tasks::add);
+
+        recommendationService.start();
+
+        verifyNoInteractions(ratingMatrixLoader);
+        assertEquals(1, tasks.size());
+
+        stubRatings();
+        tasks.get(0).run();
+
+        verify(ratingMatrixLoader).load(true);
+    }
+
+    @Test
+    void recommend_DeletedGame_IsSkipped() {
+        train();
+        when(ratingRepository.findRatingSignalsByUser(4L)).thenReturn(List.<Object[]>of(
+                new Object[] {10L, 100, null},
+                new Object[] {30L, 0, null}));
+        when(gameService.findAllByIdInOrder(List.of(20L))).thenReturn(List.of());
+
+        assertEquals(List.of(), recommendationService.recommend(4L, 10));
+    }
+
+    private void train() {
+        stubRatings();
+        recommendationService.refresh();
+    }
+
+    private void stubRatings() {
+        when(ratingMatrixLoader.load(true)).thenReturn(RatingMatrix.builder(9)
+                .add(1L, 10L, 0.9f).add(1L, 20L, 0.8f).add(1L, 30L, 0.1f)
+                .add(2L, 10L, 0.8f).add(2L, 20L, 0.9f).add(2L, 30L, 0.2f)
+                .add(3L, 10L, 0.3f).add(3L, 20L, 0.2f).add(3L, 30L, 0.7f)
+                .build());
+    }
+}
@@ -0,0 +1,75 @@
+package com.gamerecs.gamerecs_backend.service;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class StripedUserLockStrategyTest {
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void constructor_RoundsStripeCountToPowerOfTwo() {
+        assertEquals(1, new StripedUserLockStrategy(1).getStripeCount());
+        assertEquals(256, new StripedUserLockStrategy(256).getStripeCount());
+        assertEquals(512, new StripedUserLockStrategy(300).getStripeCount());
+        assertThrows(IllegalArgumentException.class, () -> new StripedUserLockStrategy(0));
+    }
+
+    @Test
+    void stripeFor_ManyUsers_UsesBoundedLockSet() {
+        StripedUserLockStrategy strategy = new StripedUserLockStrategy(16);
+
+        for (long userId = 0; userId < 10_000; userId++) {
+            assertSame(strategy.stripeFor(userId), strategy.stripeFor(userId));
+        }
+        assertEquals(16, strategy.getStripeCount());
+    }
+
+    @Test
+    void lockForTransaction_HeldUntilTransactionCompletes() throws Exception {
+        StripedUserLockStrategy strategy = new StripedUserLockStrategy(16);
+        TransactionSynchronizationManager.initSynchronization();
+
+        strategy.lockForTransaction(42L);
+
+        CompletableFuture<Boolean> otherWriter = CompletableFuture.supplyAsync(() -> strategy.stripeFor(42L).tryLock());
+        assertFalse(otherWriter.get(5, TimeUnit.SECONDS));
+
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        }
+        assertFalse(strategy.stripeFor(42L).isLocked());
+    }
+
+    @Test
+    void lockAllForTransaction_SharedStripe_TakesItOnceUntilTransactionCompletes() {
+        StripedUserLockStrategy strategy = new StripedUserLockStrategy(1);
+        TransactionSynchronizationManager.initSynchronization();
+
+        strategy.lockAllForTransaction(List.of(3L, 1L, 2L));
+
+        assertEquals(1, strategy.stripeFor(1L).getHoldCount());
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        }
+        assertFalse(strategy.stripeFor(1L).isLocked());
+    }
+
+    @Test
+    void lockForTransaction_NoTransaction_ThrowsException() {
+        StripedUserLockStrategy strategy = new StripedUserLockStrategy(16);
+
+        assertThrows(IllegalStateException.class, () -> strategy.lockForTransaction(42L));
+    }
+}
@@ -1,10 +1,15 @@
 package com.gamerecs.gamerecs_backend.service;
 
 import java.sql.Timestamp;
+import java.util.Date;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,21 +18,27 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import com.gamerecs.gamerecs_backend.config.CacheConfig;
+import com.gamerecs.gamerecs_backend.config.CacheInvalidator;
+import com.gamerecs.gamerecs_backend.config.CacheProperties;
 import com.gamerecs.gamerecs_backend.dto.UserProfileDTO;
 import com.gamerecs.gamerecs_backend.dto.UserRegistrationDTO;
 import com.gamerecs.gamerecs_backend.exception.UserRegistrationException;
 import com.gamerecs.gamerecs_backend.model.User;
 import com.gamerecs.gamerecs_backend.repository.UserRepository;
+import com.gamerecs.gamerecs_backend.security.TokenRevocationCache;
+import com.gamerecs.gamerecs_backend.security.UserDetailsImpl;
 
 @ExtendWith(MockitoExtension.class)
 public class UserServiceTest {
@@ -38,14 +49,19 @@ public class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
-    @InjectMocks
     private UserService userService;
+    private TokenRevocationCache tokenRevocationCache;
 
     private UserRegistrationDTO validRegistrationDTO;
     private User validUser;
 
     @BeforeEach
     void setUp() {
+        CacheManager cacheManager = new CacheConfig().cacheManager(new CacheProperties());
+        tokenRevocationCache = new TokenRevocationCache(3_600_000L);
+        userService = new UserService(userRepository, passwordEncoder, cacheManager, new CacheInvalidator(cacheManager),
+                tokenRevocationCache);
+
         // Setup test data
         validRegistrationDTO = new UserRegistrationDTO();
         validRegistrationDTO.setUsername("testuser");
@@ -56,6 +72,7 @@ public class UserServiceTest {
         validRegistrationDTO.setProfilePictureURL("http://example.com/pic.jpg");
 
         validUser = new User();
+        validUser.setUserId(1L);
         validUser.setUsername("testuser");
         validUser.setEmail("test@example.com");
         validUser.setPasswordHash("hashedPassword");
@@ -139,9 +156,64 @@ public class UserServiceTest {
         // Assert
         assertNotNull(result);
         assertEquals(validUser.getUsername(), result.getUsername());
-        assertEquals(validUser.getPasswordHash(), result.getPassword());
+        assertNull(result.getPassword());
         assertTrue(result.getAuthorities().stream()
                 .anyMatch(a -> a.getAuthority().equals("ROLE_USER")));
+        assertTrue(result instanceof UserDetailsImpl);
+        User cached = ((UserDetailsImpl) result).getUser();
+        assertEquals(validUser, cached);
+        assertNotSame(validUser, cached);
+        assertNull(cached.getPasswordHash());
+        assertEquals(validUser.getBio(), cached.getBio());
+        assertEquals(validUser.getJoinDate(), cached.getJoinDate());
+    }
+
+    @Test
+    @DisplayName("Should load the password hash for authentication without caching it")
+    void loadUserForAuthentication_ShouldReadHashOnEveryCall() {
+        // Arrange
+        when(userRepository.findByUsername(validUser.getUsername()))
+                .thenReturn(Optional.of(validUser));
+
+        // Act
+        UserDetails first = userService.loadUserForAuthentication(validUser.getUsername());
+        userService.loadUserForAuthentication(validUser.getUsername());
+
+        // Assert
+        assertEquals("hashedPassword", first.getPassword());
+        verify(userRepository, times(2)).findByUsername(validUser.getUsername());
+    }
+
+    @Test
+    @DisplayName("Should serve repeated lookups by username from the cache")
+    void loadUser_Repeated_ShouldQueryOnce() {
+        // Arrange
+        when(userRepository.findByUsername(validUser.getUsername()))
+                .thenReturn(Optional.of(validUser));
+
+        // Act
+        UserDetails first = userService.loadUserByUsername(validUser.getUsername());
+        UserDetails second = userService.loadUserByUsername(validUser.getUsername());
+
+        // Assert
+        assertSame(first, second);
+        verify(userRepository, times(1)).findByUsername(validUser.getUsername());
+    }
+
+    @Test
+    @DisplayName("Should reload a user after eviction")
+    void evictUser_ShouldReloadOnNextLookup() {
+        // Arrange
+        when(userRepository.findByUsername(validUser.getUsername()))
+                .thenReturn(Optional.of(validUser));
+        userService.loadUserByUsername(validUser.getUsername());
+
+        // Act
+        userService.evictUser(validUser);
+        userService.loadUserByUsername(validUser.getUsername());
+
+        // Assert
+        verify(userRepository, times(2)).findByUsername(validUser.getUsername());
     }
 
     @Test
@@ -184,4 +256,37 @@ public class UserServiceTest {
         // Act & Assert
         assertThrows(UsernameNotFoundException.class, () -> userService.getUserProfile("nonexistent"));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should change the password and revoke earlier tokens")
+    void changePassword_WithCorrectCurrentPassword_ShouldRevokeTokens() {
+        // Arrange
+        Date issuedAt = new Date(System.currentTimeMillis() - 60_000);
+        when(userRepository.findByUsername(validUser.getUsername())).thenReturn(Optional.of(validUser));
+        when(passwordEncoder.matches("password123", "hashedPassword")).thenReturn(true);
+        when(passwordEncoder.encode("newPassword456")).thenReturn("newHash");
+
+        // Act
+        userService.changePassword(validUser.getUsername(), "password123", "newPassword456");
+
+        // Assert
+        assertEquals("newHash", validUser.getPasswordHash());
+        verify(userRepository).save(validUser);
+        assertTrue(tokenRevocationCache.isRevoked(validUser.getUserId(), issuedAt));
+    }
+
+    @Test
+    @DisplayName("Should reject a password change with a wrong current password")
+    void changePassword_WithWrongCurrentPassword_ShouldThrowException() {
+        // Arrange
+        Date issuedAt = new Date(System.currentTimeMillis() - 60_000);
+        when(userRepository.findByUsername(validUser.getUsername())).thenReturn(Optional.of(validUser));
+        when(passwordEncoder.matches("wrong", "hashedPassword")).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> userService.changePassword(validUser.getUsername(), "wrong", "newPassword456"));
+        verify(userRepository, never()).save(any(User.class));
+        assertFalse(tokenRevocationCache.isRevoked(validUser.getUserId(), issuedAt));
+    }
+}
@@ -0,0 +1,46 @@
+package com.gamerecs.gamerecs_backend.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.LongStream;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+class IdBatchTest {
+
+    @Test
+    void load_ReturnsRowsInRequestOrderOnceAndSkipsUnknownIds() {
+        List<Set<Long>> queries = new ArrayList<>();
+
+        List<Long> result = IdBatch.load(List.of(5L, 3L, 9L, 5L), ids -> {
+            queries.add(ids);
+            return List.of(3L, 5L);
+        }, id -> id);
+
+        assertEquals(List.of(5L, 3L), result);
+        assertEquals(List.of(Set.of(5L, 3L, 9L)), queries);
+    }
+
+    @Test
+    void load_NoIds_SkipsLoader() {
+        List<Long> result = IdBatch.load(List.of(), ids -> fail("Loader must not run"), id -> id);
+
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    void load_RepeatedIdsCountOnceAgainstLimit() {
+        List<Long> ids = new ArrayList<>(LongStream.rangeClosed(1, IdBatch.MAX_SIZE).boxed().toList());
+        ids.addAll(ids);
+
+        assertEquals(IdBatch.MAX_SIZE, IdBatch.load(ids, distinct -> distinct, id -> id).size());
+    }
+
+    @Test
+    void load_TooManyDistinctIds_Throws() {
+        List<Long> ids = LongStream.rangeClosed(1, IdBatch.MAX_SIZE + 1).boxed().toList();
+
+        assertThrows(IllegalArgumentException.class, () -> IdBatch.load(ids, distinct -> distinct, id -> id));
+    }
+}
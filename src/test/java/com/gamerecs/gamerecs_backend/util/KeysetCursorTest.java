@@ -0,0 +1,57 @@
+package com.gamerecs.gamerecs_backend.util;
+
+import java.time.LocalDateTime;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+class KeysetCursorTest {
+
+    private static final KeysetCursor START = new KeysetCursor("date", KeysetCursor.LATEST.toString(), Long.MAX_VALUE);
+
+    @Test
+    void resume_NoToken_ReturnsStart() {
+        assertSame(START, KeysetCursor.resume(null, START));
+        assertSame(START, KeysetCursor.resume(" ", START));
+    }
+
+    @Test
+    void resume_EncodedCursor_RoundTrips() {
+        LocalDateTime date = LocalDateTime.of(2024, 5, 1, 12, 30, 15, 123_456_000);
+        String token = new KeysetCursor("date", date.toString(), 42).encode();
+
+        KeysetCursor cursor = KeysetCursor.resume(token, START);
+
+        assertEquals(date, cursor.dateTimeValue());
+        assertEquals(42, cursor.id());
+        assertTrue(token.matches("[A-Za-z0-9_-]+"));
+    }
+
+    @Test
+    void resume_ValueWithSeparators_RoundTrips() {
+        KeysetCursor start = new KeysetCursor("title", "", 0);
+        String token = new KeysetCursor("title", "Line\nbreak", 7).encode();
+
+        assertEquals("Line\nbreak", KeysetCursor.resume(token, start).value());
+    }
+
+    @Test
+    void resume_CursorOfAnotherSort_Throws() {
+        String token = new KeysetCursor("value", "80", 3).encode();
+
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.resume(token, START));
+    }
+
+    @Test
+    void resume_MalformedToken_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.resume("not base64!", START));
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.resume(
+                new KeysetCursor("date", "yesterday", 1).encode(), START).dateTimeValue());
+    }
+
+    @Test
+    void limit_ClampsSize() {
+        assertEquals(1, KeysetCursor.limit(0));
+        assertEquals(20, KeysetCursor.limit(20));
+        assertEquals(KeysetCursor.MAX_SIZE, KeysetCursor.limit(10_000));
+    }
+}
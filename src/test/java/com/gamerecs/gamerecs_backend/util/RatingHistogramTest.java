@@ -0,0 +1,72 @@
+package com.gamerecs.gamerecs_backend.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+class RatingHistogramTest {
+
+    @Test
+    void counts_MatchLinearScanAfterRandomChanges() {
+        RatingHistogram histogram = new RatingHistogram();
+        List<Integer> ratings = new ArrayList<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 5_000; i++) {
+            if (!ratings.isEmpty() && random.nextInt(4) == 0) {
+                histogram.remove(ratings.remove(random.nextInt(ratings.size())));
+            } else {
+                int value = random.nextInt(RatingHistogram.BUCKETS);
+                ratings.add(value);
+                histogram.add(value);
+            }
+        }
+
+        for (int value = 0; value < RatingHistogram.BUCKETS; value++) {
+            final int v = value;
+            assertEquals(ratings.stream().filter(r -> r < v).count(), histogram.countBelow(v));
+            assertEquals(ratings.stream().filter(r -> r == v).count(), histogram.countEqual(v));
+        }
+        assertEquals(ratings.stream().distinct().count(), histogram.distinctCount());
+        assertEquals(ratings.size(), histogram.total());
+    }
+
+    @Test
+    void of_BuildsFromCounts() {
+        int[] counts = new int[RatingHistogram.BUCKETS];
+        counts[0] = 2;
+        counts[50] = 3;
+        counts[100] = 1;
+
+        RatingHistogram histogram = RatingHistogram.of(counts);
+
+        assertEquals(6, histogram.total());
+        assertEquals(3, histogram.distinctCount());
+        assertEquals(2, histogram.countBelow(50));
+        assertEquals(5, histogram.countBelow(100));
+        assertEquals(0, histogram.countBelow(0));
+    }
+
+    @Test
+    void remove_DropsDistinctValueWhenLastRatingRemoved() {
+        RatingHistogram histogram = new RatingHistogram();
+        histogram.add(70);
+        histogram.add(70);
+
+        histogram.remove(70);
+        assertEquals(1, histogram.distinctCount());
+        histogram.remove(70);
+        assertEquals(0, histogram.distinctCount());
+        assertThrows(IllegalStateException.class, () -> histogram.remove(70));
+    }
+
+    @Test
+    void add_OutOfRange_ThrowsException() {
+        RatingHistogram histogram = new RatingHistogram();
+
+        assertThrows(IllegalArgumentException.class, () -> histogram.add(101));
+        assertThrows(IllegalArgumentException.class, () -> histogram.countBelow(-1));
+    }
+}
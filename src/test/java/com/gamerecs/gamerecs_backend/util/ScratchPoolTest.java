@@ -0,0 +1,41 @@
+package com.gamerecs.gamerecs_backend.util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+class ScratchPoolTest {
+
+    @Test
+    void acquire_ReleasedObject_IsReused() {
+        ScratchPool<int[]> pool = new ScratchPool<>(2, () -> new int[4]);
+        int[] scratch = pool.acquire();
+        pool.release(scratch);
+
+        assertSame(scratch, pool.acquire());
+    }
+
+    @Test
+    void release_FullPool_DropsObject() {
+        AtomicInteger created = new AtomicInteger();
+        ScratchPool<Object> pool = new ScratchPool<>(1, () -> created.incrementAndGet());
+        Object first = pool.acquire();
+        Object second = pool.acquire();
+        pool.release(first);
+        pool.release(second);
+
+        assertSame(first, pool.acquire());
+        assertNotSame(second, pool.acquire());
+        assertEquals(3, created.get());
+    }
+
+    @Test
+    void clear_DropsIdleObjects() {
+        ScratchPool<int[]> pool = new ScratchPool<>(2, () -> new int[4]);
+        int[] scratch = pool.acquire();
+        pool.release(scratch);
+        pool.clear();
+
+        assertNotSame(scratch, pool.acquire());
+    }
+}